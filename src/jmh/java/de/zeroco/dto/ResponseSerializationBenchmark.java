@@ -0,0 +1,74 @@
+package de.zeroco.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two largest payloads: a page of employees ({@code GET /api/employees}) and a project
+ * with its members ({@code GET /api/projects/{id}}). Controllers return the response DTOs, so those are serialized here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private Page<EmployeeResponse> employeePage;
+    private ProjectResponse project;
+
+    @Setup
+    public void setUp() {
+        // Same builder Spring Boot uses for the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Project entity = new Project("Benchmark", "Project with " + size + " members", LocalDate.of(2024, 1, 1), null);
+        entity.setId(1L);
+        List<EmployeeResponse> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = new Employee("First" + i, "Last" + i, "employee" + i + "@example.com", "+49 30 1234" + i,
+                    LocalDate.of(2020, 1, 1).plusDays(i), "Engineer", 50000.0 + i);
+            employee.setId((long) i);
+            employees.add(EmployeeResponse.from(employee));
+            entity.addEmployee(employee);
+        }
+        employeePage = new PageImpl<>(employees, PageRequest.of(0, size), size * 10L);
+        project = ProjectResponse.from(entity);
+    }
+
+    @Benchmark
+    public byte[] employeePage() throws Exception {
+        return objectMapper.writeValueAsBytes(employeePage);
+    }
+
+    @Benchmark
+    public byte[] projectWithEmployees() throws Exception {
+        return objectMapper.writeValueAsBytes(project);
+    }
+}
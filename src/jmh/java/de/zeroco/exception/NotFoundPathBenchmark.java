@@ -0,0 +1,63 @@
+package de.zeroco.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throwing an unknown-id error from a call stack of {@code depth} frames (roughly what sits below a controller in
+ * the servlet container) and turning it into the 404 problem response, with the stackless
+ * {@link ResourceNotFoundException} against an exception that fills in its stack trace as it did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public ResponseEntity<Object> stackless() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> withStackTrace() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (RuntimeException e) {
+            return ProblemType.NOT_FOUND.response(e.getMessage());
+        }
+    }
+
+    private static void throwAt(int depth, boolean withStackTrace) {
+        if (depth > 0) {
+            throwAt(depth - 1, withStackTrace);
+            return;
+        }
+        String message = "Employee not found with id: " + depth;
+        throw withStackTrace ? new RuntimeException(message) : new ResourceNotFoundException(message);
+    }
+}
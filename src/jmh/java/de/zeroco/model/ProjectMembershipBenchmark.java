@@ -0,0 +1,74 @@
+package de.zeroco.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Project#addEmployee(Employee)} on a project that already has {@code size} members. Both sides are hash sets
+ * keyed by {@code equals}/{@code hashCode}, so the cost should stay flat as the project grows. Run
+ * with {@code -Djmh.includes=ProjectMembership} when touching either entity's equality.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectMembershipBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private Project project;
+    private Employee newcomer;
+    private Employee member;
+
+    @Setup
+    public void setUp() {
+        project = new Project("Benchmark", null, LocalDate.of(2024, 1, 1), null);
+        project.setId(1L);
+        for (long id = 0; id < size; id++) {
+            project.addEmployee(employee(id));
+        }
+        member = employee(size / 2);
+        newcomer = employee(size);
+    }
+
+    /**
+     * Adds and removes the same employee so the project keeps its size across invocations.
+     */
+    @Benchmark
+    public Project addAndRemoveEmployee() {
+        project.addEmployee(newcomer);
+        project.removeEmployee(newcomer);
+        return project;
+    }
+
+    /**
+     * Re-adding a member is a no-op on both sides.
+     */
+    @Benchmark
+    public Project addExistingEmployee() {
+        project.addEmployee(member);
+        return project;
+    }
+
+    private static Employee employee(long id) {
+        Employee employee = new Employee("First", "Last", "employee" + id + "@example.com", null,
+                LocalDate.of(2020, 1, 1), "Engineer", 50000.0);
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,36 @@
+package de.zeroco.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The role splitting done by {@link UserDetailsServiceImpl#loadUserByUsername(String)}, without the repository lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthoritiesBenchmark {
+
+    @Param({"ROLE_USER", "ROLE_ADMIN,ROLE_USER", " ROLE_ADMIN , ROLE_USER , ROLE_AUDITOR , ROLE_PAYROLL , "})
+    public String roles;
+
+    @Benchmark
+    public List<GrantedAuthority> toAuthorities() {
+        return UserDetailsServiceImpl.toAuthorities(roles);
+    }
+}
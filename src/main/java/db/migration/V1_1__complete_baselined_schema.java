@@ -0,0 +1,106 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Adds what V1 has beyond the schema that {@code ddl-auto=update} created for the entities of the first release:
+ * the optimistic lock columns, the bulk operation audit table and the search and end date indexes.
+ * <p>
+ * Databases created that way are baselined at version 1 ({@code spring.flyway.baseline-*}), so they never run V1;
+ * depending on the release that created them, some of these may already exist. Each one is only added if it is
+ * missing, which also makes this a no-op on databases that ran V1. MySQL has no {@code IF NOT EXISTS} for columns and
+ * indexes, hence the metadata checks in Java.
+ */
+public class V1_1__complete_baselined_schema extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"departments", "employees", "projects"}) {
+                if (!columns(connection, table).contains("version")) {
+                    statement.execute("ALTER TABLE " + table + " ADD COLUMN version BIGINT DEFAULT 0 NOT NULL");
+                }
+            }
+            if (tableName(connection, "bulk_operation_audit") == null) {
+                statement.execute("CREATE TABLE bulk_operation_audit ("
+                        + "id BIGINT NOT NULL AUTO_INCREMENT, "
+                        + "operation VARCHAR(50) NOT NULL, "
+                        + "parameters VARCHAR(500) NOT NULL, "
+                        + "affected_rows INT NOT NULL, "
+                        + "performed_by VARCHAR(50) NOT NULL, "
+                        + "performed_at DATETIME(6) NOT NULL, "
+                        + "PRIMARY KEY (id))");
+            }
+            createIndexIfMissing(connection, statement, "employees", "idx_employees_job_title_hire_date", "job_title, hire_date");
+            createIndexIfMissing(connection, statement, "employees", "idx_employees_job_title_salary", "job_title, salary");
+            createIndexIfMissing(connection, statement, "employees", "idx_employees_hire_date", "hire_date");
+            createIndexIfMissing(connection, statement, "employees", "idx_employees_salary", "salary");
+            createIndexIfMissing(connection, statement, "projects", "idx_projects_end_date", "end_date");
+            createIndexIfMissing(connection, statement, "bulk_operation_audit", "idx_bulk_operation_audit_performed_at", "performed_at");
+        }
+    }
+
+    private static void createIndexIfMissing(Connection connection, Statement statement, String table, String index,
+                                             String columns) throws SQLException {
+        if (!indexes(connection, table).contains(index)) {
+            statement.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    // MySQL reports names as created, H2 in upper case
+    private static String tableName(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), "%",
+                new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (tables.getString("TABLE_NAME").equalsIgnoreCase(table)) {
+                    return tables.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> columns(Connection connection, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        String name = tableName(connection, table);
+        if (name == null) {
+            return columns;
+        }
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet result = metaData.getColumns(connection.getCatalog(), connection.getSchema(), name, "%")) {
+            while (result.next()) {
+                columns.add(result.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    private static Set<String> indexes(Connection connection, String table) throws SQLException {
+        Set<String> indexes = new HashSet<>();
+        String name = tableName(connection, table);
+        if (name == null) {
+            return indexes;
+        }
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet result = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), name, false, false)) {
+            while (result.next()) {
+                String index = result.getString("INDEX_NAME");
+                if (index != null) {
+                    indexes.add(index.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,62 @@
+package de.zeroco.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Period;
+
+/**
+ * Schedule and pacing of the project archival, bound from {@code app.project-archive.*}.
+ */
+@ConfigurationProperties(prefix = "app.project-archive")
+public class ProjectArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Projects are archived once their end date is this far in the past.
+     */
+    private Period gracePeriod = Period.ofDays(30);
+
+    /**
+     * Projects moved per transaction. Their rows stay locked until it commits, so keep batches small.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Pause between two batches, leaving the database to regular traffic.
+     */
+    private Duration batchPause = Duration.ofMillis(200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Period getGracePeriod() {
+        return gracePeriod;
+    }
+
+    public void setGracePeriod(Period gracePeriod) {
+        this.gracePeriod = gracePeriod;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getBatchPause() {
+        return batchPause;
+    }
+
+    public void setBatchPause(Duration batchPause) {
+        this.batchPause = batchPause;
+    }
+}
@@ -0,0 +1,73 @@
+package de.zeroco.archive;
+
+import de.zeroco.service.ProjectArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly job moving projects that ended more than {@code app.project-archive.grace-period} ago, with their
+ * assignments, to the archive tables (see {@link ProjectArchiveService}).
+ * <p>
+ * Works in batches of {@code app.project-archive.batch-size}, each its own transaction, with a pause in between: no
+ * long-running transaction, and locks on a few hundred project rows at a time only. Instances running the job at the
+ * same time skip the projects another one has locked, so a short batch means nothing is left for this instance.
+ * Archived projects are counted in {@code projects.archived}.
+ */
+@Component
+@EnableConfigurationProperties(ProjectArchiveProperties.class)
+public class ProjectArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectArchiver.class);
+
+    private final ProjectArchiveService archiveService;
+    private final ProjectArchiveProperties properties;
+    private final Counter archived;
+
+    public ProjectArchiver(ProjectArchiveService archiveService, ProjectArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.archiveService = archiveService;
+        this.properties = properties;
+        this.archived = Counter.builder("projects.archived")
+                .description("Finished projects moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.project-archive.cron:0 30 2 * * *}")
+    public void archiveOnSchedule() {
+        if (properties.isEnabled()) {
+            archiveEndedProjects();
+        }
+    }
+
+    /**
+     * @return number of archived projects
+     */
+    public int archiveEndedProjects() {
+        LocalDate endedBefore = LocalDate.now().minus(properties.getGracePeriod());
+        int total = 0;
+        while (true) {
+            int batch = archiveService.archiveEndedProjects(endedBefore, properties.getBatchSize()).size();
+            total += batch;
+            archived.increment(batch);
+            if (batch < properties.getBatchSize()) {
+                break;
+            }
+            try {
+                Thread.sleep(properties.getBatchPause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Archived {} projects that ended before {}", total, endedBefore);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,20 @@
+package de.zeroco.audit;
+
+public enum AuditAction {
+
+    CREATE,
+    UPDATE,
+    /**
+     * A JSON Merge Patch applied with a single UPDATE statement.
+     */
+    PATCH,
+    DELETE,
+    /**
+     * An employee was added to the employees of a project; the change is the {@code employeeId}.
+     */
+    ASSIGN,
+    /**
+     * An employee was removed from the employees of a project; the change is the {@code employeeId}.
+     */
+    UNASSIGN
+}
@@ -0,0 +1,272 @@
+package de.zeroco.audit;
+
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures every committed create, update and delete of an {@link Employee}, {@link Project} or {@link Department}
+ * with the changed attributes and the authenticated user, and hands it to the {@link AuditEventBuffer}.
+ * <p>
+ * Registered as Hibernate post-commit listener: it runs on the committing thread once the transaction has committed
+ * (rolled back changes are never recorded), and the old and new attribute values come from the persistence
+ * context, nothing is loaded for the audit. Collections and the version are left out of the diff; employees added to
+ * or removed from a project are recorded as {@link AuditAction#ASSIGN} and {@link AuditAction#UNASSIGN} of the
+ * project, from the collection events of the flush, and handed over once the transaction commits. Merge patches
+ * and bulk operations run as UPDATE statements that Hibernate does not see; their services report them through
+ * {@link #recordPatch(Class, Long, Map, Map)} and {@link #recordBulkUpdate(Class, Map)}.
+ */
+@Component
+public class AuditEntityListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener {
+
+    private static final Set<Class<?>> AUDITED_TYPES = Set.of(Employee.class, Project.class, Department.class);
+    // The owning side of the assignments; Employee.projects is its inverse and changes together with it
+    private static final String PROJECT_EMPLOYEES = Project.class.getName() + ".employees";
+    private static final String SYSTEM_USER = "system";
+
+    private final AuditEventBuffer buffer;
+    private final AuditProperties properties;
+
+    public AuditEntityListener(AuditEventBuffer buffer, AuditProperties properties, EntityManagerFactory entityManagerFactory) {
+        this.buffer = buffer;
+        this.properties = properties;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AUDITED_TYPES.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        Map<String, AuditEvent.FieldChange> changes = new LinkedHashMap<>();
+        forEachAuditedAttribute(persister, (index, name) -> {
+            if (event.getState()[index] != null) {
+                changes.put(name, new AuditEvent.FieldChange(null, event.getState()[index]));
+            }
+        });
+        record(persister, event.getId(), AuditAction.CREATE, changes);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        Map<String, AuditEvent.FieldChange> changes = new LinkedHashMap<>();
+        forEachAuditedAttribute(persister, (index, name) -> {
+            // Without a snapshot (entity updated detached) every attribute is reported with its new value
+            if (oldState == null) {
+                changes.put(name, new AuditEvent.FieldChange(null, state[index]));
+            } else if (!Objects.equals(oldState[index], state[index])) {
+                changes.put(name, new AuditEvent.FieldChange(oldState[index], state[index]));
+            }
+        });
+        if (!changes.isEmpty()) { // Only the version or a collection changed
+            record(persister, event.getId(), AuditAction.UPDATE, changes);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        Object[] deletedState = event.getDeletedState();
+        Map<String, AuditEvent.FieldChange> changes = new LinkedHashMap<>();
+        if (deletedState != null) {
+            forEachAuditedAttribute(persister, (index, name) -> {
+                if (deletedState[index] != null) {
+                    changes.put(name, new AuditEvent.FieldChange(deletedState[index], null));
+                }
+            });
+        }
+        record(persister, event.getId(), AuditAction.DELETE, changes);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        recordAssignments(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        recordAssignments(event);
+    }
+
+    // Nothing was committed, nothing to record
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Whether {@link #recordPatch(Class, Long, Map, Map)} wants the values a patch replaces
+     * ({@code app.audit.patch-previous-values}); reading them costs the patch a locking read before its UPDATE.
+     */
+    public boolean recordsPatchPreviousValues() {
+        return properties.isPatchPreviousValues();
+    }
+
+    /**
+     * Records a merge patch applied with a bulk statement once the surrounding transaction commits.
+     *
+     * @param previous attribute name to value before the patch, as read and locked in the same transaction; has the
+     *                 changed attributes only if {@link #recordsPatchPreviousValues()}
+     * @param changes  attribute name to new value, as applied by the statement
+     */
+    public void recordPatch(Class<?> entityType, Long id, Map<String, Object> previous, Map<String, Object> changes) {
+        Map<String, AuditEvent.FieldChange> fieldChanges = new LinkedHashMap<>();
+        changes.forEach((name, value) -> fieldChanges.put(name, new AuditEvent.FieldChange(previous.get(name), value)));
+        offerAfterCommit(List.of(new AuditEvent(entityType.getSimpleName(), id, AuditAction.PATCH,
+                Collections.unmodifiableMap(fieldChanges), currentUsername(), LocalDateTime.now())));
+    }
+
+    /**
+     * Records the rows changed by one bulk statement as updates once the surrounding transaction commits.
+     *
+     * @param changesById id of every changed entity to its changed attributes, with their values before and after
+     */
+    public void recordBulkUpdate(Class<?> entityType, Map<Long, Map<String, AuditEvent.FieldChange>> changesById) {
+        String changedBy = currentUsername();
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<AuditEvent> events = new ArrayList<>(changesById.size());
+        changesById.forEach((id, changes) -> events.add(new AuditEvent(entityType.getSimpleName(), id, AuditAction.UPDATE,
+                Collections.unmodifiableMap(changes), changedBy, changedAt)));
+        offerAfterCommit(events);
+    }
+
+    // Compares the employee ids of the project with the snapshot taken when the collection was loaded (none if new)
+    private void recordAssignments(AbstractCollectionEvent event) {
+        PersistentCollection<?> collection = event.getCollection();
+        if (!PROJECT_EMPLOYEES.equals(collection.getRole()) || event.getAffectedOwnerIdOrNull() == null) {
+            return;
+        }
+        Set<Long> before = employeeIds(snapshotElements(collection.getStoredSnapshot()));
+        Set<Long> after = employeeIds((Collection<?>) collection);
+        Long projectId = (Long) event.getAffectedOwnerIdOrNull();
+        String changedBy = currentUsername();
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<AuditEvent> events = new ArrayList<>();
+        for (Long employeeId : after) {
+            if (!before.contains(employeeId)) {
+                events.add(new AuditEvent(Project.class.getSimpleName(), projectId, AuditAction.ASSIGN,
+                        Map.of("employeeId", new AuditEvent.FieldChange(null, employeeId)), changedBy, changedAt));
+            }
+        }
+        for (Long employeeId : before) {
+            if (!after.contains(employeeId)) {
+                events.add(new AuditEvent(Project.class.getSimpleName(), projectId, AuditAction.UNASSIGN,
+                        Map.of("employeeId", new AuditEvent.FieldChange(employeeId, null)), changedBy, changedAt));
+            }
+        }
+        if (!events.isEmpty()) {
+            offerAfterCommit(events);
+        }
+    }
+
+    // A set keeps its snapshot as a map of each element to itself
+    private static Collection<?> snapshotElements(Serializable snapshot) {
+        if (snapshot instanceof Map<?, ?> map) {
+            return map.keySet();
+        }
+        return snapshot instanceof Collection<?> elements ? elements : List.of();
+    }
+
+    // Employee proxies return their id without being initialized
+    private static Set<Long> employeeIds(Collection<?> employees) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object employee : employees) {
+            ids.add(((Employee) employee).getId());
+        }
+        return ids;
+    }
+
+    private void offerAfterCommit(List<AuditEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(buffer::offer);
+                }
+            });
+        } else {
+            events.forEach(buffer::offer);
+        }
+    }
+
+    private void record(EntityPersister persister, Object id, AuditAction action, Map<String, AuditEvent.FieldChange> changes) {
+        buffer.offer(new AuditEvent(persister.getMappedClass().getSimpleName(), (Long) id, action,
+                Collections.unmodifiableMap(changes), currentUsername(), LocalDateTime.now()));
+    }
+
+    private static void forEachAuditedAttribute(EntityPersister persister, AttributeVisitor visitor) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        int version = persister.isVersioned() ? persister.getVersionProperty() : -1;
+        for (int i = 0; i < names.length; i++) {
+            if (i != version && !types[i].isCollectionType() && !types[i].isEntityType()) {
+                visitor.visit(i, names[i]);
+            }
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? SYSTEM_USER : authentication.getName();
+    }
+
+    @FunctionalInterface
+    private interface AttributeVisitor {
+        void visit(int index, String name);
+    }
+}
@@ -0,0 +1,25 @@
+package de.zeroco.audit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One committed change of an audited entity, as captured on the committing thread. The field values are the
+ * immutable attribute values (strings, numbers, dates), so the event can be handed to the writer thread as is.
+ *
+ * @param changes attribute name to its value before and after the change, in attribute order
+ */
+public record AuditEvent(String entityType, Long entityId, AuditAction action, Map<String, FieldChange> changes,
+                         String changedBy, LocalDateTime changedAt) {
+
+    /**
+     * @param from value before the change, omitted if {@code null} (always for created entities, and for patches
+     *             without {@code app.audit.patch-previous-values})
+     * @param to   value after the change, omitted if {@code null} (always for deleted entities)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record FieldChange(Object from, Object to) {
+    }
+}
@@ -0,0 +1,90 @@
+package de.zeroco.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-over between the committing request threads and the {@link AuditWriter}: a preallocated ring
+ * ({@link ArrayBlockingQueue}) of {@code app.audit.capacity} events.
+ * <p>
+ * Backpressure: if the writer falls behind and the ring is full, a committing thread waits up to
+ * {@code app.audit.max-enqueue-wait} for room. After that the event is dropped and counted instead of holding the
+ * request any longer; the change itself is already committed. Accepted and dropped events are counted in
+ * {@code audit.events}, the fill level is the {@code audit.buffer.size} gauge.
+ */
+@Component
+public class AuditEventBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventBuffer.class);
+
+    private final BlockingQueue<AuditEvent> events;
+    private final long maxEnqueueWaitNanos;
+    private final Counter accepted;
+    private final Counter dropped;
+
+    public AuditEventBuffer(AuditProperties properties, MeterRegistry meterRegistry) {
+        this.events = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.maxEnqueueWaitNanos = properties.getMaxEnqueueWait().toNanos();
+        this.accepted = eventCounter(meterRegistry, "accepted");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+        Gauge.builder("audit.buffer.size", events, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} if the event was dropped because the buffer stayed full
+     */
+    public boolean offer(AuditEvent event) {
+        boolean added = events.offer(event);
+        if (!added && maxEnqueueWaitNanos > 0) {
+            try {
+                added = events.offer(event, maxEnqueueWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (added) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+            logger.warn("Audit buffer full, dropped {} change of {} {}", event.action(), event.entityType(), event.entityId());
+        }
+        return added;
+    }
+
+    /**
+     * Waits up to the timeout for the first event, then moves everything available into {@code batch}, at most
+     * {@code maxEvents} events.
+     *
+     * @return number of events added to {@code batch}
+     */
+    int drainTo(List<AuditEvent> batch, int maxEvents, long timeout, TimeUnit unit) throws InterruptedException {
+        AuditEvent first = events.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        batch.add(first);
+        return 1 + events.drainTo(batch, maxEvents - 1);
+    }
+
+    int size() {
+        return events.size();
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.events")
+                .description("Captured entity changes, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package de.zeroco.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the change audit pipeline, bound from {@code app.audit.*}.
+ */
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    /**
+     * Events held in memory while the writer is behind; at about 1 KB per event the default stays below 10 MB.
+     */
+    private int capacity = 8192;
+
+    /**
+     * Most events written by one INSERT.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long a committing request waits for room in a full buffer before the event is dropped (and counted in
+     * {@code audit.events{outcome=dropped}}). Zero drops immediately.
+     */
+    private Duration maxEnqueueWait = Duration.ofMillis(50);
+
+    /**
+     * How long the shutdown waits for the buffered events to be written.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Whether merge patches record the values they replace. That costs every PATCH a locking read of the patched
+     * columns before its UPDATE; without it a PATCH is the UPDATE alone and its audit event has the new values only.
+     */
+    private boolean patchPreviousValues = true;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getMaxEnqueueWait() {
+        return maxEnqueueWait;
+    }
+
+    public void setMaxEnqueueWait(Duration maxEnqueueWait) {
+        this.maxEnqueueWait = maxEnqueueWait;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public boolean isPatchPreviousValues() {
+        return patchPreviousValues;
+    }
+
+    public void setPatchPreviousValues(boolean patchPreviousValues) {
+        this.patchPreviousValues = patchPreviousValues;
+    }
+}
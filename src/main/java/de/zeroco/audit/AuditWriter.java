@@ -0,0 +1,143 @@
+package de.zeroco.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single background thread that drains the {@link AuditEventBuffer} into {@code entity_change_audit}, up to
+ * {@code app.audit.batch-size} events per multi-row INSERT. Under load the batches fill up by themselves; when
+ * idle every event is written as soon as it arrives.
+ * <p>
+ * The writer stops after the web server (lower phase), then writes what is still buffered, waiting at most
+ * {@code app.audit.shutdown-timeout}. A failed batch is logged and counted in {@code audit.events{outcome=failed}},
+ * it is not retried; the writer goes on with the next one.
+ */
+@Component
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditWriter.class);
+
+    private static final String[] COLUMNS = {"entity_type", "entity_id", "action", "changes", "changed_by", "changed_at"};
+    private static final String PLACEHOLDERS = "(" + String.join(", ", Collections.nCopies(COLUMNS.length, "?")) + ")";
+    private static final long POLL_MILLIS = 200;
+
+    private final AuditEventBuffer buffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditProperties properties;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AuditWriter(AuditEventBuffer buffer, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                       AuditProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = buffer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.written = writeCounter(meterRegistry, "written");
+        this.failed = writeCounter(meterRegistry, "failed");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive() || buffer.size() > 0) {
+            logger.warn("Audit writer stopped with {} events not written", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stopped after the web server (WebServerStartStopLifecycle, DEFAULT_PHASE - 2048): no request commits a change
+    // once the remaining events are being flushed
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (true) {
+            boolean stopping = !running;
+            try {
+                int drained = buffer.drainTo(batch, properties.getBatchSize(), stopping ? 0 : POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (drained == 0) {
+                    if (stopping) {
+                        return; // Flushed
+                    }
+                    continue;
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | JsonProcessingException e) {
+                // Whatever failed, the thread keeps draining: it is the only one, without it the buffer fills up
+                failed.increment(batch.size());
+                logger.error("Could not write {} audit events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) throws JsonProcessingException {
+        Object[] parameters = new Object[batch.size() * COLUMNS.length];
+        StringBuilder sql = new StringBuilder(64 + batch.size() * (PLACEHOLDERS.length() + 2))
+                .append("INSERT INTO entity_change_audit (").append(String.join(", ", COLUMNS)).append(") VALUES ");
+        int p = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            AuditEvent event = batch.get(row);
+            sql.append(row == 0 ? "" : ", ").append(PLACEHOLDERS);
+            parameters[p++] = event.entityType();
+            parameters[p++] = event.entityId();
+            parameters[p++] = event.action().name();
+            parameters[p++] = objectMapper.writeValueAsString(event.changes());
+            parameters[p++] = event.changedBy();
+            parameters[p++] = Timestamp.valueOf(event.changedAt());
+        }
+        jdbcTemplate.update(sql.toString(), parameters);
+        written.increment(batch.size());
+    }
+
+    private static Counter writeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.events")
+                .description("Captured entity changes, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package de.zeroco.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Application-level read-through caches in front of the department and project services.
+ * <p>
+ * The caches hold immutable response DTOs, never managed entities. Every cache is size bounded and records
+ * hit/miss statistics (see {@code GET /api/cache/application}). Evictions are deferred until the surrounding
+ * transaction commits, so a concurrent reader cannot re-populate an entry with data that is about to change.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DEPARTMENTS = "departments";
+    public static final String DEPARTMENT_LIST = "departmentList";
+    public static final String PROJECTS = "projects";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Departments change rarely, the full list is a single entry used by dropdowns
+        cacheManager.registerCustomCache(DEPARTMENTS, Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofHours(12))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(DEPARTMENT_LIST, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofHours(12))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PROJECTS, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .recordStats()
+                .build());
+        // Only the caches registered above exist, a typo in a cache name fails instead of creating a new cache
+        cacheManager.setCacheNames(List.of());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
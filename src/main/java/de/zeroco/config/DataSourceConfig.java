@@ -0,0 +1,92 @@
+package de.zeroco.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import de.zeroco.monitoring.StatementTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Boot's single pool with a primary pool ({@code spring.datasource.*}) and one pool per replica
+ * ({@code app.datasource.replicas}), routed by {@link ReadWriteRoutingDataSource}. All pools share the
+ * {@code spring.datasource.hikari.*} settings and report to Micrometer ({@code hikaricp.*}, tagged with the pool name).
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class DataSourceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                        ReplicaRoutingProperties routingProperties, Environment environment,
+                                                        MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MicrometerMetricsTrackerFactory poolMetrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(poolMetrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replicaProperties : routingProperties.getReplicas()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replicaProperties.getUrl())
+                    .username(replicaProperties.getUsername() != null
+                            ? replicaProperties.getUsername() : dataSourceProperties.determineUsername())
+                    .password(replicaProperties.getPassword() != null
+                            ? replicaProperties.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(routingProperties.getFailoverTimeout().toMillis());
+            replica.setMetricsTrackerFactory(poolMetrics);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, routingProperties.getReadYourWritesWindow(),
+                DataSourceConfig::currentUsername);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource, MeterRegistry meterRegistry,
+                                 @Value("${app.slow-query-log.threshold:200ms}") Duration slowQueryThreshold,
+                                 @Value("${app.slow-query-log.sample-rate:1.0}") double slowQuerySampleRate,
+                                 @Value("${app.slow-query-log.log-parameters:false}") boolean logSlowQueryParameters) {
+        DataSource observed = ProxyDataSourceBuilder.create("routing", routingDataSource)
+                .listener(new SlowQueryLog(slowQueryThreshold, slowQuerySampleRate, logSlowQueryParameters, meterRegistry))
+                .listener(new StatementTracker())
+                .build();
+        return new LazyConnectionDataSourceProxy(observed);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,231 @@
+package de.zeroco.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import de.zeroco.dto.DataSourceRouteStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * <p>
+ * The route is decided when a connection is requested, so this data source has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the physical connection is then fetched
+ * on the first statement, after the transaction manager has published the read-only flag.
+ * <ul>
+ *     <li>Read your own writes: after a user's write transaction commits, that user's reads stay on the primary for
+ *     the configured window, so they never see a replica that has not caught up yet.</li>
+ *     <li>Failover: a replica that refuses a connection is taken out of rotation and the read is served by the primary.
+ *     {@link #checkReplicas()} probes all replicas periodically and puts recovered ones back.</li>
+ * </ul>
+ * Per route it reports {@code datasource.route.connections}, {@code datasource.route.failures} and
+ * {@code datasource.route.healthy}, tagged with the pool name and role.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements MeterBinder, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Route primary;
+    private final List<Route> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final Supplier<String> currentUser;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param currentUser name of the user running the current transaction, {@code null} if anonymous
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      Duration readYourWritesWindow, Supplier<String> currentUser) {
+        this.primary = new Route(primary, "PRIMARY");
+        this.replicas = new ArrayList<>(replicas.size());
+        for (HikariDataSource replica : replicas) {
+            this.replicas.add(new Route(replica, "REPLICA"));
+        }
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.currentUser = currentUser;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return primary.connect();
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCommit();
+            return primary.connect();
+        }
+        String user = currentUser.get();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return primary.connect();
+        }
+
+        Route replica = nextHealthyReplica();
+        if (replica != null) {
+            try {
+                return replica.connect();
+            } catch (SQLException ex) {
+                replica.failures.incrementAndGet();
+                markHealthy(replica, false, ex.getMessage());
+            }
+        }
+        return primary.connect();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections always use the configured credentials");
+    }
+
+    /**
+     * Probes every replica and updates whether it takes part in read routing.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        for (Route replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                boolean valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+                markHealthy(replica, valid, valid ? null : "connection is not valid");
+            } catch (SQLException ex) {
+                markHealthy(replica, false, ex.getMessage());
+            }
+        }
+    }
+
+    public List<DataSourceRouteStats> getRouteStats() {
+        List<DataSourceRouteStats> result = new ArrayList<>(replicas.size() + 1);
+        result.add(primary.stats());
+        for (Route replica : replicas) {
+            result.add(replica.stats());
+        }
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindTo(registry, primary);
+        for (Route replica : replicas) {
+            bindTo(registry, replica);
+        }
+    }
+
+    private static void bindTo(MeterRegistry registry, Route route) {
+        Tags tags = Tags.of("pool", route.dataSource.getPoolName(), "role", route.role);
+        FunctionCounter.builder("datasource.route.connections", route, r -> r.connections.get())
+                .description("Connections handed out through this route")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("datasource.route.failures", route, r -> r.failures.get())
+                .description("Failed connection attempts that were retried on the primary")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("datasource.route.healthy", route, r -> r.healthy ? 1 : 0)
+                .description("1 while reads are routed here")
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        primary.dataSource.close();
+        for (Route replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    private void rememberWriterOnCommit() {
+        String user = currentUser.get();
+        if (user == null || replicas.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private Route nextHealthyReplica() {
+        int size = replicas.size();
+        for (int i = 0; i < size; i++) {
+            Route replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), size));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void markHealthy(Route replica, boolean healthy, String reason) {
+        if (replica.healthy == healthy) {
+            return;
+        }
+        replica.healthy = healthy;
+        if (healthy) {
+            logger.info("Replica {} is reachable again, routing reads to it", replica.dataSource.getPoolName());
+        } else {
+            logger.warn("Replica {} taken out of read routing: {}", replica.dataSource.getPoolName(), reason);
+            // Pooled connections to the failed endpoint are most likely dead, reconnect from scratch once it is back
+            HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                pool.softEvictConnections();
+            }
+        }
+    }
+
+    private static final class Route {
+
+        private final HikariDataSource dataSource;
+        private final String role;
+        private final AtomicLong connections = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile boolean healthy = true;
+
+        private Route(HikariDataSource dataSource, String role) {
+            this.dataSource = dataSource;
+            this.role = role;
+        }
+
+        private Connection connect() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            connections.incrementAndGet();
+            return connection;
+        }
+
+        private DataSourceRouteStats stats() {
+            // The pool starts with the first connection, until then there is nothing to report
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return new DataSourceRouteStats(dataSource.getPoolName(), role, healthy, connections.get(), failures.get(),
+                    pool == null ? 0 : pool.getActiveConnections(),
+                    pool == null ? 0 : pool.getIdleConnections(),
+                    pool == null ? 0 : pool.getThreadsAwaitingConnection());
+        }
+    }
+}
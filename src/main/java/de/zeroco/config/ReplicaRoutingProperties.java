@@ -0,0 +1,93 @@
+package de.zeroco.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas used by {@link ReadWriteRoutingDataSource}, bound from {@code app.datasource.*}.
+ * Without replicas every connection comes from the primary configured by {@code spring.datasource.*}.
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaRoutingProperties {
+
+    /**
+     * Replica endpoints; read-only transactions are spread over the healthy ones round robin.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long after a committed write the same user keeps reading from the primary, should be above the replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * How long a read waits for a replica connection before it falls back to the primary (Hikari minimum is 250ms).
+     */
+    private Duration failoverTimeout = Duration.ofSeconds(1);
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public Duration getFailoverTimeout() {
+        return failoverTimeout;
+    }
+
+    public void setFailoverTimeout(Duration failoverTimeout) {
+        this.failoverTimeout = failoverTimeout;
+    }
+
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * Defaults to {@code spring.datasource.username}.
+         */
+        private String username;
+
+        /**
+         * Defaults to {@code spring.datasource.password}.
+         */
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package de.zeroco.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces {@code spring.jpa.show-sql}: only statements slower than the threshold are considered, every one of them is
+ * counted ({@code db.queries.slow}) and a random sample is logged with its SQL. Bind values are only logged when
+ * enabled, they may hold personal data (e-mail addresses, salaries).
+ */
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final boolean logParameters;
+    private final Counter slowQueries;
+
+    /**
+     * @param sampleRate    fraction of slow statements that is logged, 1.0 logs all of them
+     * @param logParameters whether the bind values are logged next to the SQL
+     */
+    public SlowQueryLog(Duration threshold, double sampleRate, boolean logParameters, MeterRegistry meterRegistry) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.logParameters = logParameters;
+        this.slowQueries = Counter.builder("db.queries.slow")
+                .description("Statements slower than the slow-query threshold, logged or not")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(this::describe).collect(Collectors.joining("; "));
+        logger.warn("Slow query ({} ms{}{}): {}", execInfo.getElapsedTime(),
+                execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                execInfo.isSuccess() ? "" : ", failed", sql);
+    }
+
+    private String describe(QueryInfo query) {
+        if (!logParameters || query.getParametersList().isEmpty()) {
+            return query.getQuery();
+        }
+        // Batches are logged with their first parameter set only
+        List<ParameterSetOperation> operations = query.getParametersList().get(0);
+        return query.getQuery() + " " + operations.stream()
+                .map(operation -> operation.getArgs().length > 1 ? String.valueOf(operation.getArgs()[1]) : "null")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
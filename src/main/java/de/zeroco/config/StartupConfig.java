@@ -0,0 +1,40 @@
+package de.zeroco.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailSender;
+
+/**
+ * Startup tuning used by the {@code fast-startup} profile (see {@code application-fast-startup.properties}).
+ * <p>
+ * With {@code app.startup.lazy-optional-beans=true} the springdoc beans (OpenAPI document and Swagger UI) and the
+ * mail sender are only created when first used, e.g. by the first {@code /v3/api-docs} request or the first
+ * registration e-mail. Everything else stays eager, so configuration errors still fail the startup.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    // Static: a BeanFactoryPostProcessor must not pull its configuration class into early instantiation
+    @Bean
+    @ConditionalOnProperty(name = "app.startup.lazy-optional-beans", havingValue = "true")
+    public static BeanFactoryPostProcessor optionalBeansLazyInitialization() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+                if (beanDefinition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                    continue;
+                }
+                // Type from the definition only, resolving it must not initialize a FactoryBean this early
+                Class<?> type = beanFactory.getType(beanName, false);
+                if (type != null && (type.getName().startsWith(SPRINGDOC_PACKAGE) || MailSender.class.isAssignableFrom(type))) {
+                    beanDefinition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
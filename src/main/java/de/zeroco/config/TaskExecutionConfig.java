@@ -0,0 +1,19 @@
+package de.zeroco.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@code @Async} methods (e.g. the registration e-mail) on Spring Boot's {@code applicationTaskExecutor} and
+ * {@code @Scheduled} methods (e.g. the replica health check) on its {@code taskScheduler}.
+ * <p>
+ * Both are bounded platform thread pools by default. With the {@code virtual-threads} profile on Java 21+
+ * ({@code spring.threads.virtual.enabled=true}) Boot replaces them with virtual threads, as it does for
+ * Tomcat request handling.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class TaskExecutionConfig {
+}
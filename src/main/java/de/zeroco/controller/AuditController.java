@@ -0,0 +1,55 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.EntityChangeAuditResponse;
+import de.zeroco.service.EntityChangeAuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Audit", description = "Who changed which employee, project or department, and when")
+@RestController
+@RequestMapping("/api/audit")
+@SecurityRequirement(name = "bearerAuth")
+public class AuditController {
+
+    @Autowired
+    private EntityChangeAuditService entityChangeAuditService;
+
+    @Operation(summary = "Entity change log",
+               description = "Committed creates, updates, patches and deletes with their changed fields, newest first. "
+                             + "Filter by entityType (optionally with entityId) or by changedBy. Changes are written "
+                             + "asynchronously and appear shortly after their commit. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit records",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown entity type or unsupported filter combination",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Page<EntityChangeAuditResponse> getChanges(
+            @Parameter(description = "Employee, Project or Department", example = "Employee") @RequestParam(required = false) String entityType,
+            @Parameter(description = "Id of the entity, requires entityType", example = "42") @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Username of the user who made the changes", example = "admin") @RequestParam(required = false) String changedBy,
+            @Parameter(description = "Page number, 0-indexed", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        return entityChangeAuditService.getChanges(entityType, entityId, changedBy,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "changedAt").and(Sort.by(Sort.Direction.DESC, "id"))));
+    }
+}
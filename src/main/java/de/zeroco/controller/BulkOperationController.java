@@ -0,0 +1,127 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.BulkOperationAuditResponse;
+import de.zeroco.dto.BulkOperationResult;
+import de.zeroco.service.BulkOperationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+@Tag(name = "Bulk Operations", description = "Set-based changes over many employees or projects, each executed as a single statement")
+@RestController
+@RequestMapping("/api/bulk")
+@SecurityRequirement(name = "bearerAuth")
+public class BulkOperationController {
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Operation(summary = "Raise salaries by job title",
+               description = "Changes the salary of every employee with the job title by a percentage (negative to reduce). "
+                             + "With dryRun=true only the number of matching employees is returned. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Salaries changed, or matching employees counted",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = BulkOperationResult.class))),
+            @ApiResponse(responseCode = "400", description = "Missing job title or percentage out of range",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @PostMapping("/employees/salary-raise")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> raiseSalaries(
+            @Parameter(description = "Job title of the employees to change", required = true, example = "Software Engineer")
+            @RequestParam String jobTitle,
+            @Parameter(description = "Percentage to add to the salary", required = true, example = "3.5")
+            @RequestParam double percent,
+            @Parameter(description = "Only count the employees that would change", example = "true")
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        return run(() -> bulkOperationService.raiseSalaries(jobTitle, percent, dryRun));
+    }
+
+    @Operation(summary = "Reassign a job title",
+               description = "Gives every employee with the job title a new one. "
+                             + "With dryRun=true only the number of matching employees is returned. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job titles changed, or matching employees counted",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = BulkOperationResult.class))),
+            @ApiResponse(responseCode = "400", description = "Missing, too long or identical job titles",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @PostMapping("/employees/job-title")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> reassignJobTitle(
+            @Parameter(description = "Current job title", required = true, example = "Developer")
+            @RequestParam String jobTitle,
+            @Parameter(description = "New job title", required = true, example = "Software Engineer")
+            @RequestParam String newJobTitle,
+            @Parameter(description = "Only count the employees that would change", example = "true")
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        return run(() -> bulkOperationService.reassignJobTitle(jobTitle, newJobTitle, dryRun));
+    }
+
+    @Operation(summary = "Close ended projects",
+               description = "Closes the open projects that ended before the given date; their employee assignments are kept. "
+                             + "With dryRun=true only the number of projects is returned. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projects closed, or counted",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = BulkOperationResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @PostMapping("/projects/close")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> closeEndedProjects(
+            @Parameter(description = "Projects with an end date before this date are closed", required = true, example = "2024-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endedBefore,
+            @Parameter(description = "Only count the projects that would be closed", example = "true")
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        return run(() -> bulkOperationService.closeEndedProjects(endedBefore, dryRun));
+    }
+
+    @Operation(summary = "Bulk operation audit log", description = "Executed bulk operations, newest first. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit records",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/audit")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Page<BulkOperationAuditResponse> getAuditLog(
+            @Parameter(description = "Page number, 0-indexed", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10") @RequestParam(defaultValue = "10") int size) {
+        return bulkOperationService.getAuditLog(
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "performedAt").and(Sort.by(Sort.Direction.DESC, "id"))));
+    }
+
+    private static ResponseEntity<?> run(Supplier<BulkOperationResult> operation) {
+        return ResponseEntity.ok(operation.get());
+    }
+}
@@ -0,0 +1,60 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.CacheRegionStats;
+import de.zeroco.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Cache Statistics", description = "Hit/miss statistics of the caches, used for sizing")
+@RestController
+@RequestMapping("/api/cache")
+@SecurityRequirement(name = "bearerAuth")
+public class CacheStatisticsController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Operation(summary = "Second-level cache region statistics",
+               description = "Hibernate second-level cache counters per entity and natural id region. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Region statistics",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = CacheRegionStats.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/regions")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<CacheRegionStats> getRegionStats() {
+        return cacheStatisticsService.getSecondLevelCacheStats();
+    }
+
+    @Operation(summary = "Application cache statistics",
+               description = "Hit ratios of the read-through caches in front of the department and project services. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = CacheRegionStats.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/application")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<CacheRegionStats> getApplicationCacheStats() {
+        return cacheStatisticsService.getApplicationCacheStats();
+    }
+}
@@ -0,0 +1,53 @@
+package de.zeroco.controller;
+
+import de.zeroco.feed.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@Tag(name = "Change Feed", description = "Server-sent events for committed changes of employees, projects and departments")
+@RestController
+@RequestMapping("/api/changes")
+@SecurityRequirement(name = "bearerAuth")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Operation(summary = "Subscribe to changes",
+               description = "Opens a text/event-stream. Every committed create, update, delete and assignment is sent as one "
+                             + "event with JSON data {type, action, id, version, employeeId, data}. Clients that fall behind "
+                             + "are disconnected and should reload before reconnecting; events are not replayed. "
+                             + "Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream",
+                         content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Unknown topic or too many topics",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Too many open streams on this instance",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter stream(
+            @Parameter(description = "Topics to receive, all changes if omitted: employees, projects, departments, "
+                                     + "or employee:<id>, project:<id>, department:<id>", example = "projects,employee:42")
+            @RequestParam(required = false) List<String> topics) {
+        return changeFeed.subscribe(topics == null ? Set.of() : Set.copyOf(topics));
+    }
+}
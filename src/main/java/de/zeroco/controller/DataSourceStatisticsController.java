@@ -0,0 +1,45 @@
+package de.zeroco.controller;
+
+import de.zeroco.config.ReadWriteRoutingDataSource;
+import de.zeroco.dto.DataSourceRouteStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Data Source Statistics", description = "Read/write routing and connection pool state per database endpoint")
+@RestController
+@RequestMapping("/api/datasource")
+@SecurityRequirement(name = "bearerAuth")
+public class DataSourceStatisticsController {
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Operation(summary = "Route statistics",
+               description = "Primary first, then the replicas: health, routed connections, failovers and pool usage. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Route statistics",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = DataSourceRouteStats.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/routes")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<DataSourceRouteStats> getRouteStats() {
+        return routingDataSource.getRouteStats();
+    }
+}
@@ -1,6 +1,7 @@
 package de.zeroco.controller;
 
-import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.exception.StaleVersionException;
 import de.zeroco.model.Department;
 import de.zeroco.service.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,13 +17,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +34,8 @@ import java.util.Map;
 @SecurityRequirement(name = "bearerAuth")
 public class DepartmentController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @Autowired
     private DepartmentService departmentService;
 
@@ -40,11 +44,12 @@ public class DepartmentController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of departments",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                                             schema = @Schema(implementation = Page.class))), // Updated schema
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public Page<Department> getAllDepartments(
+    public ResponseEntity<Page<DepartmentResponse>> getAllDepartments(
             @Parameter(description = "Page number, 0-indexed", example = "0") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by column", example = "id") @RequestParam(defaultValue = "id") String sortBy,
@@ -52,40 +57,36 @@ public class DepartmentController {
 
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        return departmentService.getAllDepartments(pageable);
+        Page<DepartmentResponse> departments = departmentService.getAllDepartments(pageable);
+        return ETags.ok(ETags.forPage(departments, department -> department.getId() + ":" + department.getVersion()), departments);
     }
 
     @Operation(summary = "Get a department by ID", description = "Retrieves a specific department by its ID. Requires authentication.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved department",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Department.class))),
+                                            schema = @Schema(implementation = DepartmentResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Department unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Department not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getDepartmentById(
             @Parameter(description = "ID of the department to be retrieved", required = true, example = "1")
             @PathVariable Long id) {
-        try {
-            Department department = departmentService.getDepartmentById(id);
-            return ResponseEntity.ok(department);
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+        DepartmentResponse department = departmentService.getDepartmentById(id);
+        return ETags.ok(ETags.forVersion(department.getVersion()), department);
     }
 
     @Operation(summary = "Create a new department", description = "Creates a new department. Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Department created successfully",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Department.class))),
+                                            schema = @Schema(implementation = DepartmentResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input (e.g., duplicate name)",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class))),
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
     })
@@ -98,51 +99,93 @@ public class DepartmentController {
                     content = @Content(schema = @Schema(implementation = Department.class))
             )
             @RequestBody Department department) {
-        try {
-            Department createdDepartment = departmentService.createDepartment(department);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdDepartment);
-        } catch (IllegalArgumentException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        DepartmentResponse createdDepartment = departmentService.createDepartment(department);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdDepartment);
     }
 
     @Operation(summary = "Update an existing department", description = "Updates an existing department's details. Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Department updated successfully",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Department.class))),
+                                            schema = @Schema(implementation = DepartmentResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input (e.g., name taken by another department)",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class))),
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
             @ApiResponse(responseCode = "404", description = "Department not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "The version in the body is outdated",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "The department changed since the ETag sent in If-Match",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<?> updateDepartment(
             @Parameter(description = "ID of the department to be updated", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "ETag of the department as last read; the update only succeeds if it is still current", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Updated department object",
                     required = true,
                     content = @Content(schema = @Schema(implementation = Department.class))
             )
             @RequestBody Department departmentDetails) {
-        try {
-            Department updatedDepartment = departmentService.updateDepartment(id, departmentDetails);
-            return ResponseEntity.ok(updatedDepartment);
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        } catch (IllegalArgumentException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        if (ifMatch != null) {
+            DepartmentResponse current = departmentService.getDepartmentById(id);
+            if (!ETags.matches(ifMatch, ETags.forVersion(current.getVersion()))) {
+                throw new StaleVersionException(Department.class, id);
+            }
+            departmentDetails.setVersion(current.getVersion());
         }
+        DepartmentResponse updatedDepartment = departmentService.updateDepartment(id, departmentDetails);
+        return ResponseEntity.ok().eTag(ETags.forVersion(updatedDepartment.getVersion())).body(updatedDepartment);
+    }
+
+    @Operation(summary = "Partially update a department",
+               description = "Applies a JSON Merge Patch (RFC 7396): fields present in the body are changed, null clears a field, "
+                             + "absent fields are kept. Runs as a single version-guarded UPDATE without loading the department. "
+                             + "Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Department patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid patch (unknown or read-only field, invalid value, name taken)",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Department not found",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "The version in the patch is outdated",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "The department changed since the ETag sent in If-Match",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> patchDepartment(
+            @Parameter(description = "ID of the department to be patched", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the department as last read; the patch only applies if it is still current", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Merge patch with the fields to change; may carry the expected \"version\" instead of If-Match",
+                    required = true,
+                    content = @Content(mediaType = MERGE_PATCH_JSON_VALUE, schema = @Schema(type = "object", example = "{\"location\": \"Building B\", \"version\": 0}"))
+            )
+            @RequestBody Map<String, Object> patch) {
+        Long ifMatchVersion = ETags.parseVersion(ifMatch);
+        if (ifMatch != null && ifMatchVersion == null && !ifMatch.trim().equals("*")) {
+            DepartmentResponse current = departmentService.getDepartmentById(id);
+            if (!ETags.matches(ifMatch, ETags.forVersion(current.getVersion()))) {
+                throw new StaleVersionException(Department.class, id);
+            }
+            ifMatchVersion = current.getVersion();
+        }
+        Long newVersion = departmentService.patchDepartment(id, patch, ifMatchVersion);
+        // Without a known base version the new one is unknown too; clients re-read the resource for a fresh tag
+        return newVersion == null
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.noContent().eTag(ETags.forVersion(newVersion)).build();
     }
 
     @Operation(summary = "Delete a department", description = "Deletes a department by its ID. Requires ADMIN role.")
@@ -151,20 +194,14 @@ public class DepartmentController {
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
             @ApiResponse(responseCode = "404", description = "Department not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<?> deleteDepartment(
             @Parameter(description = "ID of the department to be deleted", required = true, example = "1")
             @PathVariable Long id) {
-        try {
-            departmentService.deleteDepartment(id);
-            return ResponseEntity.noContent().build(); // HTTP 204 No Content
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+        departmentService.deleteDepartment(id);
+        return ResponseEntity.noContent().build(); // HTTP 204 No Content
     }
 }
@@ -0,0 +1,102 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.ProjectMemberResponse;
+import de.zeroco.dto.ProjectResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Strong ETags derived from the {@code @Version} columns, so they can be computed without serializing the body.
+ * <p>
+ * Detail resources use their version directly. A project view also lists its employees, whose updates do not touch
+ * the project version, so its tag covers the member versions too. Page tags are a digest over the page request,
+ * the total count and the id/version of every element on the page.
+ */
+final class ETags {
+
+    // Clients may keep the body but have to revalidate it; replaces Spring Security's default "no-store"
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * 200 response carrying the ETag. For GET requests Spring answers 304 without writing the body
+     * when the tag matches {@code If-None-Match}.
+     */
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(body);
+    }
+
+    static String forVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    static String forProject(ProjectResponse project) {
+        if (project.getEmployees().isEmpty()) {
+            return forVersion(project.getVersion());
+        }
+        StringBuilder state = new StringBuilder().append(project.getVersion());
+        for (ProjectMemberResponse member : project.getEmployees()) {
+            state.append(';').append(member.getId()).append(':').append(member.getVersion());
+        }
+        return digest(state);
+    }
+
+    /**
+     * @param elementState id and version (plus anything else rendered that can change independently) of one element
+     */
+    static <T> String forPage(Page<T> page, Function<T, String> elementState) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getNumber()).append('/').append(page.getSize()).append('/').append(page.getSort())
+                .append('/').append(page.getTotalElements());
+        for (T element : page.getContent()) {
+            state.append(';').append(elementState.apply(element));
+        }
+        return digest(state);
+    }
+
+    /**
+     * Strong comparison as required for {@code If-Match}: weak tags never match, {@code *} matches any tag.
+     */
+    static boolean matches(String ifMatchHeader, String currentEtag) {
+        if (currentEtag == null) {
+            return false;
+        }
+        for (String candidate : ifMatchHeader.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version named by an {@code If-Match} header holding a single version tag, {@code null} for anything
+     * else ({@code *}, several tags, digest tags); those have to be compared with {@link #matches}.
+     */
+    static Long parseVersion(String ifMatchHeader) {
+        if (ifMatchHeader == null) {
+            return null;
+        }
+        String tag = ifMatchHeader.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String digest(CharSequence state) {
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
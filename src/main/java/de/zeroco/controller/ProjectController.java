@@ -1,10 +1,14 @@
 package de.zeroco.controller;
 
-import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.StaleVersionException;
 import de.zeroco.model.Project;
+import de.zeroco.service.ProjectArchiveService;
+import de.zeroco.service.ProjectCalendarService;
 import de.zeroco.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,13 +20,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -32,60 +39,105 @@ import java.util.Map;
 @SecurityRequirement(name = "bearerAuth")
 public class ProjectController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @Autowired
     private ProjectService projectService;
 
-    @Operation(summary = "Get all projects", description = "Retrieves a list of all projects. Requires authentication.")
+    @Autowired
+    private ProjectArchiveService projectArchiveService;
+
+    @Autowired
+    private ProjectCalendarService projectCalendarService;
+
+    @Operation(summary = "Get all projects",
+               description = "Retrieves a page of active projects. Finished projects are archived some time after their "
+                             + "end date; includeArchived=true lists them too (sortBy id, name, startDate or endDate). "
+                             + "Requires authentication.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of projects",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                                             schema = @Schema(implementation = Page.class))), // Updated schema
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sortBy with includeArchived",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public Page<Project> getAllProjects(
+    public ResponseEntity<Page<ProjectResponse>> getAllProjects(
             @Parameter(description = "Page number, 0-indexed", example = "0") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by column", example = "id") @RequestParam(defaultValue = "id") String sortBy,
-            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Also list archived projects", example = "false") @RequestParam(defaultValue = "false") boolean includeArchived) {
 
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        return projectService.getAllProjects(pageable);
+        Page<ProjectResponse> projects = includeArchived
+                ? projectArchiveService.getProjectsIncludingArchived(pageable)
+                : projectService.getAllProjects(pageable);
+        // Assigned employees are rendered too, so their versions are part of the tag
+        return ETags.ok(ETags.forPage(projects, project -> project.getId() + ":" + ETags.forProject(project)), projects);
     }
 
-    @Operation(summary = "Get a project by ID", description = "Retrieves a specific project by its ID. Requires authentication.")
+    @Operation(summary = "Get the projects active in a date range",
+               description = "Lists the active projects running on at least one day between from and to (both inclusive), "
+                             + "ordered by start date, for calendar views. A project without start or end date is open-ended "
+                             + "on that side; archived projects only with includeArchived=true. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the projects",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = ProjectResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "from is after to, or more than " + ProjectCalendarService.MAX_RESULTS
+                                                            + " projects overlap the range",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/active")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<ProjectResponse>> getProjectsActiveBetween(
+            @Parameter(description = "First day of the range", required = true, example = "2024-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range", required = true, example = "2024-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Also list archived projects", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(projectCalendarService.getProjectsActiveBetween(from, to, includeArchived));
+    }
+
+    @Operation(summary = "Get a project by ID",
+               description = "Retrieves a specific project by its ID; archived projects only with includeArchived=true. "
+                             + "Requires authentication.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved project",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Project.class))),
+                                            schema = @Schema(implementation = ProjectResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Project unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Project not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getProjectById(
             @Parameter(description = "ID of the project to be retrieved", required = true, example = "1")
-            @PathVariable Long id) {
-        try {
-            Project project = projectService.getProjectById(id);
-            return ResponseEntity.ok(project);
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+            @PathVariable Long id,
+            @Parameter(description = "Also look the project up in the archive", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        ProjectResponse project = includeArchived
+                ? projectArchiveService.getProjectIncludingArchived(id)
+                : projectService.getProjectById(id);
+        return ETags.ok(ETags.forProject(project), project);
     }
 
     @Operation(summary = "Create a new project", description = "Creates a new project. Employee assignments are done via separate endpoints. Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Project created successfully",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Project.class))),
+                                            schema = @Schema(implementation = ProjectResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input (e.g., duplicate name)",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class))),
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
     })
@@ -98,51 +150,92 @@ public class ProjectController {
                     content = @Content(schema = @Schema(implementation = Project.class))
             )
             @RequestBody Project project) {
-        try {
-            Project createdProject = projectService.createProject(project);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdProject);
-        } catch (IllegalArgumentException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        ProjectResponse createdProject = projectService.createProject(project);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdProject);
     }
 
     @Operation(summary = "Update an existing project", description = "Updates an existing project's details (name, description, dates). Employee assignments are managed via separate endpoints. Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Project updated successfully",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Project.class))),
+                                            schema = @Schema(implementation = ProjectResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input (e.g., name taken by another project)",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class))),
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
             @ApiResponse(responseCode = "404", description = "Project not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "The version in the body is outdated",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "The project changed since the ETag sent in If-Match",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<?> updateProject(
             @Parameter(description = "ID of the project to be updated", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "ETag of the project as last read; the update only succeeds if it is still current", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Updated project object. Employee list in the request body is ignored.",
                     required = true,
                     content = @Content(schema = @Schema(implementation = Project.class))
             )
             @RequestBody Project projectDetails) {
-        try {
-            Project updatedProject = projectService.updateProject(id, projectDetails);
-            return ResponseEntity.ok(updatedProject);
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        } catch (IllegalArgumentException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        if (ifMatch != null) {
+            ProjectResponse current = projectService.getProjectById(id);
+            if (!ETags.matches(ifMatch, ETags.forProject(current))) {
+                throw new StaleVersionException(Project.class, id);
+            }
+            projectDetails.setVersion(current.getVersion());
         }
+        ProjectResponse updatedProject = projectService.updateProject(id, projectDetails);
+        return ResponseEntity.ok().eTag(ETags.forProject(updatedProject)).body(updatedProject);
+    }
+
+    @Operation(summary = "Partially update a project",
+               description = "Applies a JSON Merge Patch (RFC 7396): fields present in the body are changed, null clears a field, "
+                             + "absent fields are kept. Runs as a single version-guarded UPDATE without loading the project. "
+                             + "Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Project patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid patch (unknown or read-only field, invalid value, name taken)",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Project not found",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "The version in the patch is outdated",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "412", description = "The project changed since the ETag sent in If-Match",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> patchProject(
+            @Parameter(description = "ID of the project to be patched", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the project as last read; the patch only applies if it is still current", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Merge patch with the fields to change; may carry the expected \"version\" instead of If-Match",
+                    required = true,
+                    content = @Content(mediaType = MERGE_PATCH_JSON_VALUE, schema = @Schema(type = "object", example = "{\"endDate\": \"2024-12-31\"}"))
+            )
+            @RequestBody Map<String, Object> patch) {
+        // Project tags also cover the members, so they are always compared against the current (cached) view
+        Long ifMatchVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            ProjectResponse current = projectService.getProjectById(id);
+            if (!ETags.matches(ifMatch, ETags.forProject(current))) {
+                throw new StaleVersionException(Project.class, id);
+            }
+            ifMatchVersion = current.getVersion();
+        }
+        projectService.patchProject(id, patch, ifMatchVersion);
+        // The new tag depends on the members as well; clients re-read the project for it
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Delete a project", description = "Deletes a project by its ID. This also removes associations in the project_employee join table. Requires ADMIN role.")
@@ -151,32 +244,30 @@ public class ProjectController {
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
             @ApiResponse(responseCode = "404", description = "Project not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<?> deleteProject(
             @Parameter(description = "ID of the project to be deleted", required = true, example = "1")
             @PathVariable Long id) {
-        try {
-            projectService.deleteProject(id);
-            return ResponseEntity.noContent().build();
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+        projectService.deleteProject(id);
+        return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Assign an employee to a project", description = "Assigns an existing employee to an existing project. Requires ADMIN role.")
+    @Operation(summary = "Assign an employee to a project",
+               description = "Assigns an existing employee to an existing project, unless that puts the employee on more "
+                             + "projects at the same time than allowed (app.staffing.max-concurrent-projects). Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee successfully assigned to project",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Project.class))), // Returns the updated project
+                                            schema = @Schema(implementation = ProjectResponse.class))), // Returns the updated project
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Project or Employee not found",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "409", description = "The employee would be over-allocated in the project's date range",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @PostMapping("/{projectId}/employees/{employeeId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -185,25 +276,19 @@ public class ProjectController {
             @PathVariable Long projectId,
             @Parameter(description = "ID of the employee to be assigned", required = true, example = "101")
             @PathVariable Long employeeId) {
-        try {
-            Project updatedProject = projectService.assignEmployeeToProject(projectId, employeeId);
-            return ResponseEntity.ok(updatedProject);
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+        ProjectResponse updatedProject = projectService.assignEmployeeToProject(projectId, employeeId);
+        return ResponseEntity.ok(updatedProject);
     }
 
     @Operation(summary = "Remove an employee from a project", description = "Removes an employee's assignment from a project. Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee successfully removed from project",
                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                            schema = @Schema(implementation = Project.class))), // Returns the updated project
+                                            schema = @Schema(implementation = ProjectResponse.class))), // Returns the updated project
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Project or Employee not found / Employee not assigned to this project",
-                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)))
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
     })
     @DeleteMapping("/{projectId}/employees/{employeeId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -212,13 +297,33 @@ public class ProjectController {
             @PathVariable Long projectId,
             @Parameter(description = "ID of the employee to be removed", required = true, example = "101")
             @PathVariable Long employeeId) {
-        try {
-            Project updatedProject = projectService.removeEmployeeFromProject(projectId, employeeId);
-            return ResponseEntity.ok(updatedProject);
-        } catch (ResourceNotFoundException ex) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+        ProjectResponse updatedProject = projectService.removeEmployeeFromProject(projectId, employeeId);
+        return ResponseEntity.ok(updatedProject);
+    }
+
+    @Operation(summary = "Restore an archived project",
+               description = "Moves an archived project and its remaining assignments back to the active projects. Pass "
+                             + "endDate to extend the project; otherwise the next archival run archives it again if it "
+                             + "ended long enough ago. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Project restored",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = ProjectResponse.class))),
+            @ApiResponse(responseCode = "400", description = "The name is taken by an active project, or endDate is before the start date",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "No archived project with this ID",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/{id}/restore")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ProjectResponse> restoreProject(
+            @Parameter(description = "ID of the archived project", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "New end date of the restored project", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        ProjectResponse project = projectArchiveService.restoreProject(id, endDate);
+        return ResponseEntity.ok().eTag(ETags.forProject(project)).body(project);
     }
 }
@@ -0,0 +1,54 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.OverallocationResponse;
+import de.zeroco.service.AllocationConflictService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Staffing", description = "Reports on employee project assignments")
+@RestController
+@RequestMapping("/api/staffing")
+@SecurityRequirement(name = "bearerAuth")
+public class StaffingController {
+
+    @Autowired
+    private AllocationConflictService allocationConflictService;
+
+    @Operation(summary = "Find over-allocated employees",
+               description = "Lists the periods in which an employee is assigned to more than maxConcurrent projects at the "
+                             + "same time (by default the limit new assignments are checked against), ordered by employee "
+                             + "and date. Each period has a constant set of projects. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Over-allocated periods",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = OverallocationResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "maxConcurrent below 1 or limit out of range",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/overallocations")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<OverallocationResponse>> getOverallocations(
+            @Parameter(description = "Number of concurrent projects still allowed", example = "2")
+            @RequestParam(required = false) Integer maxConcurrent,
+            @Parameter(description = "Maximum number of periods returned (at most " + AllocationConflictService.MAX_RESULTS + ")", example = "1000")
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(allocationConflictService.findOverallocations(maxConcurrent, limit));
+    }
+}
@@ -0,0 +1,79 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.TypeaheadIndexStats;
+import de.zeroco.dto.TypeaheadSuggestion;
+import de.zeroco.service.TypeaheadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Typeahead", description = "Name prefix search served from an in-memory index")
+@RestController
+@RequestMapping("/api/typeahead")
+@SecurityRequirement(name = "bearerAuth")
+public class TypeaheadController {
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Operation(summary = "Suggest names by prefix",
+               description = "Returns employees, projects or departments whose name has words starting with every word of the query. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching names",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = TypeaheadSuggestion.class)))),
+            @ApiResponse(responseCode = "400", description = "Unknown type",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{type}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> suggest(
+            @Parameter(description = "One of employees, projects, departments", required = true, example = "employees")
+            @PathVariable String type,
+            @Parameter(description = "Name prefix typed by the user", example = "jan do") @RequestParam(name = "q") String query,
+            @Parameter(description = "Maximum number of suggestions (at most 50)", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        TypeaheadService.IndexType indexType = TypeaheadService.IndexType.fromKey(type);
+        List<TypeaheadSuggestion> suggestions = typeaheadService.suggest(indexType, query, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @Operation(summary = "Rebuild the typeahead indexes", description = "Reloads all names from the database. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Indexes rebuilt, returns the new index statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<TypeaheadIndexStats> rebuild() {
+        typeaheadService.rebuild();
+        return typeaheadService.getStats();
+    }
+
+    @Operation(summary = "Typeahead index statistics", description = "Entry counts and estimated memory footprint per index. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Index statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<TypeaheadIndexStats> getStats() {
+        return typeaheadService.getStats();
+    }
+}
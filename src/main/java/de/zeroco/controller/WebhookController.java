@@ -0,0 +1,87 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.WebhookSubscriptionRequest;
+import de.zeroco.dto.WebhookSubscriptionResponse;
+import de.zeroco.service.WebhookSubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Webhooks", description = "Employee and project change notifications pushed to other systems")
+@RestController
+@RequestMapping("/api/webhooks")
+@SecurityRequirement(name = "bearerAuth")
+public class WebhookController {
+
+    @Autowired
+    private WebhookSubscriptionService webhookSubscriptionService;
+
+    @Operation(summary = "List webhook subscriptions",
+               description = "All receivers with their delivery state: acknowledged outbox offset, failed attempts and "
+                             + "last error. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscriptions",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = WebhookSubscriptionResponse.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<WebhookSubscriptionResponse> getSubscriptions() {
+        return webhookSubscriptionService.getSubscriptions();
+    }
+
+    @Operation(summary = "Subscribe to employee and project changes",
+               description = "Changes committed from now on are POSTed to the URL in batches: "
+                             + "{\"subscription\": name, \"events\": [{\"id\", \"occurredAt\", \"change\"}]}, oldest first. "
+                             + "A batch counts as delivered on any 2xx answer and is retried with backoff otherwise; "
+                             + "receivers should skip event ids they have already processed. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Subscription created",
+                         content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = WebhookSubscriptionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid URL or entity type, or the name is taken",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role")
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<WebhookSubscriptionResponse> createSubscription(@Valid @RequestBody WebhookSubscriptionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(webhookSubscriptionService.createSubscription(request));
+    }
+
+    @Operation(summary = "Delete a webhook subscription", description = "Stops delivery to the receiver. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Subscription deleted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Subscription not found",
+                         content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<Void> deleteSubscription(
+            @Parameter(description = "ID of the subscription to be deleted", required = true, example = "1")
+            @PathVariable Long id) {
+        webhookSubscriptionService.deleteSubscription(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,395 @@
+package de.zeroco.datagen;
+
+import de.zeroco.config.ReadWriteRoutingDataSource;
+import de.zeroco.service.ProjectCalendarService;
+import de.zeroco.service.TypeaheadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a deterministic synthetic dataset (departments, employees, projects and {@code project_employee}
+ * assignments) with multi-row INSERTs over plain JDBC, bypassing JPA, the statement listeners and the caches.
+ * Secondary indexes are dropped for the load and rebuilt afterwards; the application caches are cleared and the
+ * typeahead indexes rebuilt once the rows are in.
+ * <p>
+ * Works on MySQL and H2. On MySQL unique and foreign key checks are switched off for the loading session, the
+ * generated rows satisfy them by construction.
+ */
+@Component
+public class BulkDataLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDataLoader.class);
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Anita", "Barbara", "Bjarne", "Brian", "Carol",
+            "Dennis", "Donald", "Edsger", "Frances", "Grace", "Guido", "Hedy", "James", "Jean", "John", "Joan", "Ken",
+            "Leslie", "Linus", "Margaret", "Mary", "Niklaus", "Radia", "Robin", "Shafi", "Sophie", "Tim", "Yukihiro"};
+    private static final String[] LAST_NAMES = {"Allen", "Backus", "Bartik", "Borg", "Dijkstra", "Goldwasser",
+            "Gosling", "Hamilton", "Hopper", "Kay", "Kernighan", "Knuth", "Lamarr", "Lamport", "Liskov", "Lovelace",
+            "Matsumoto", "McCarthy", "Milner", "Perlman", "Ritchie", "Rossum", "Sammet", "Stroustrup", "Thompson",
+            "Torvalds", "Turing", "Wilson", "Wirth", "Wong"};
+    private static final String[] JOB_TITLES = {"Software Engineer", "Senior Software Engineer", "Engineering Manager",
+            "Designer", "Product Manager", "Data Analyst", "Accountant", "Recruiter", "Support Specialist",
+            "Sales Representative"};
+    private static final String[] LOCATIONS = {"Berlin", "Hamburg", "Munich", "Cologne", "Frankfurt", "Remote"};
+    private static final LocalDate EPOCH = LocalDate.of(2000, 1, 1);
+
+    private static final String DEPARTMENTS = "departments";
+    private static final String EMPLOYEES = "employees";
+    private static final String PROJECTS = "projects";
+    private static final String PROJECT_EMPLOYEE = "project_employee";
+
+    private final ReadWriteRoutingDataSource dataSource;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TypeaheadService typeaheadService;
+    private final ProjectCalendarService projectCalendarService;
+
+    /**
+     * Takes the routing data source instead of the primary {@code dataSource} bean: outside a transaction it hands
+     * out primary connections, without the per-statement listeners of the proxy in front of it.
+     */
+    @Autowired
+    public BulkDataLoader(ReadWriteRoutingDataSource dataSource, CacheManager cacheManager,
+                          EntityManagerFactory entityManagerFactory, TypeaheadService typeaheadService,
+                          ProjectCalendarService projectCalendarService) {
+        this.dataSource = dataSource;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.typeaheadService = typeaheadService;
+        this.projectCalendarService = projectCalendarService;
+    }
+
+    public BulkLoadResult load(DataGeneratorProperties spec) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        BulkLoadResult result;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            List<SecondaryIndex> droppedIndexes = new ArrayList<>();
+            try {
+                if (spec.isRebuildIndexes()) {
+                    dropSecondaryIndexes(connection, mysql, droppedIndexes, DEPARTMENTS, EMPLOYEES, PROJECTS, PROJECT_EMPLOYEE);
+                }
+                setMySqlChecks(connection, mysql, false);
+
+                long firstDepartmentId = nextId(connection, DEPARTMENTS);
+                insertDepartments(connection, spec, random, firstDepartmentId);
+                long firstEmployeeId = nextId(connection, EMPLOYEES);
+                insertEmployees(connection, spec, random, firstEmployeeId);
+                long firstProjectId = nextId(connection, PROJECTS);
+                insertProjects(connection, spec, random, firstProjectId);
+                long assignments = insertAssignments(connection, spec, random, firstProjectId, firstEmployeeId);
+
+                if (!mysql) {
+                    restartIdentity(connection, DEPARTMENTS, firstDepartmentId + spec.getDepartments());
+                    restartIdentity(connection, EMPLOYEES, firstEmployeeId + spec.getEmployees());
+                    restartIdentity(connection, PROJECTS, firstProjectId + spec.getProjects());
+                }
+                result = new BulkLoadResult(firstDepartmentId, spec.getDepartments(), firstEmployeeId, spec.getEmployees(),
+                        firstProjectId, spec.getProjects(), assignments, Duration.ofNanos(System.nanoTime() - start));
+            } finally {
+                // Every statement commits on success; after a failure this discards the one that was running
+                connection.rollback();
+                setMySqlChecks(connection, mysql, true);
+                createIndexes(connection, droppedIndexes);
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load failed", e);
+        }
+
+        cacheManager.getCacheNames().stream().map(cacheManager::getCache).forEach(Cache::clear);
+        entityManagerFactory.getCache().evictAll();
+        typeaheadService.rebuild();
+        projectCalendarService.rebuild();
+        logger.info("Bulk loaded {}, {} ms including index rebuild", result,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return result;
+    }
+
+    private static void insertDepartments(Connection connection, DataGeneratorProperties spec, SplittableRandom random,
+                                          long firstId) throws SQLException {
+        insertRows(connection, DEPARTMENTS, new String[]{"id", "name", "location", "version"}, spec.getDepartments(),
+                spec.getRowsPerStatement(), (statement, index, row) -> {
+                    long id = firstId + row;
+                    statement.setLong(index++, id);
+                    statement.setString(index++, "Department " + id);
+                    statement.setString(index++, LOCATIONS[random.nextInt(LOCATIONS.length)]);
+                    statement.setLong(index++, 0);
+                    return index;
+                });
+    }
+
+    private static void insertEmployees(Connection connection, DataGeneratorProperties spec, SplittableRandom random,
+                                        long firstId) throws SQLException {
+        insertRows(connection, EMPLOYEES, new String[]{"id", "first_name", "last_name", "email", "phone_number",
+                        "hire_date", "job_title", "salary", "version"}, spec.getEmployees(), spec.getRowsPerStatement(),
+                (statement, index, row) -> {
+                    long id = firstId + row;
+                    String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    statement.setLong(index++, id);
+                    statement.setString(index++, firstName);
+                    statement.setString(index++, lastName);
+                    // The id keeps the address unique, also across repeated loads
+                    statement.setString(index++, (firstName + "." + lastName + "." + id + "@example.com").toLowerCase(Locale.ROOT));
+                    statement.setString(index++, "+49 30 " + (1_000_000 + random.nextInt(9_000_000)));
+                    statement.setDate(index++, Date.valueOf(EPOCH.plusDays(random.nextInt(9000))));
+                    statement.setString(index++, JOB_TITLES[random.nextInt(JOB_TITLES.length)]);
+                    statement.setDouble(index++, 30000 + random.nextInt(9000) * 10);
+                    statement.setLong(index++, 0);
+                    return index;
+                });
+    }
+
+    private static void insertProjects(Connection connection, DataGeneratorProperties spec, SplittableRandom random,
+                                       long firstId) throws SQLException {
+        insertRows(connection, PROJECTS, new String[]{"id", "name", "description", "start_date", "end_date", "version"},
+                spec.getProjects(), spec.getRowsPerStatement(), (statement, index, row) -> {
+                    long id = firstId + row;
+                    LocalDate startDate = EPOCH.plusDays(random.nextInt(9000));
+                    statement.setLong(index++, id);
+                    statement.setString(index++, "Project " + id);
+                    statement.setString(index++, "Synthetic project " + id);
+                    statement.setDate(index++, Date.valueOf(startDate));
+                    // A third of the projects is open ended
+                    statement.setDate(index++, random.nextInt(3) == 0 ? null : Date.valueOf(startDate.plusDays(30 + random.nextInt(720))));
+                    statement.setLong(index++, 0);
+                    return index;
+                });
+    }
+
+    private static long insertAssignments(Connection connection, DataGeneratorProperties spec, SplittableRandom random,
+                                          long firstProjectId, long firstEmployeeId) throws SQLException {
+        int members = Math.min(spec.getMembersPerProject(), spec.getEmployees());
+        long rows = (long) spec.getProjects() * members;
+        if (rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many assignments for one load: " + rows);
+        }
+        long[] projectMembers = new long[members];
+        insertRows(connection, PROJECT_EMPLOYEE, new String[]{"project_id", "employee_id"}, (int) rows,
+                spec.getRowsPerStatement(), (statement, index, row) -> {
+                    int member = (int) (row % members);
+                    if (member == 0) {
+                        pickDistinct(random, spec.getEmployees(), projectMembers);
+                    }
+                    statement.setLong(index++, firstProjectId + row / members);
+                    statement.setLong(index++, firstEmployeeId + projectMembers[member]);
+                    return index;
+                });
+        return rows;
+    }
+
+    /**
+     * Fills {@code picked} with distinct offsets below {@code bound}; linear duplicate checks are fine for the few
+     * members of one project.
+     */
+    private static void pickDistinct(SplittableRandom random, int bound, long[] picked) {
+        for (int i = 0; i < picked.length; i++) {
+            long candidate;
+            boolean duplicate;
+            do {
+                candidate = random.nextInt(bound);
+                duplicate = false;
+                for (int j = 0; j < i && !duplicate; j++) {
+                    duplicate = picked[j] == candidate;
+                }
+            } while (duplicate);
+            picked[i] = candidate;
+        }
+    }
+
+    /**
+     * Inserts {@code rows} rows, {@code rowsPerStatement} per INSERT, committing after every statement.
+     */
+    private static void insertRows(Connection connection, String table, String[] columns, int rows, int rowsPerStatement,
+                                   RowBinder binder) throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        int fullStatementRows = Math.min(rows, rowsPerStatement);
+        try (PreparedStatement full = connection.prepareStatement(insertSql(table, columns, fullStatementRows))) {
+            long row = 0;
+            while (rows - row >= fullStatementRows) {
+                row = bind(full, binder, row, fullStatementRows);
+                full.executeUpdate();
+                connection.commit();
+            }
+            int remaining = (int) (rows - row);
+            if (remaining > 0) {
+                try (PreparedStatement tail = connection.prepareStatement(insertSql(table, columns, remaining))) {
+                    bind(tail, binder, row, remaining);
+                    tail.executeUpdate();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static long bind(PreparedStatement statement, RowBinder binder, long firstRow, int rows) throws SQLException {
+        int index = 1;
+        for (long row = firstRow; row < firstRow + rows; row++) {
+            index = binder.bind(statement, index, row);
+        }
+        return firstRow + rows;
+    }
+
+    private static String insertSql(String table, String[] columns, int rows) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        StringBuilder sql = new StringBuilder(32 + rows * (placeholders.length() + 2))
+                .append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "" : ", ").append(placeholders);
+        }
+        return sql.toString();
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * H2 does not move an identity column past explicitly inserted ids; MySQL's AUTO_INCREMENT does on its own.
+     */
+    private static void restartIdentity(Connection connection, String table, long nextId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+        }
+        connection.commit();
+    }
+
+    private static void setMySqlChecks(Connection connection, boolean mysql, boolean enabled) throws SQLException {
+        if (!mysql) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET unique_checks = " + (enabled ? 1 : 0) + ", foreign_key_checks = " + (enabled ? 1 : 0));
+        }
+    }
+
+    /**
+     * Drops the non-unique indexes of the given tables, except those backing a foreign key (MySQL refuses to drop
+     * them, and they are needed for the constraint anyway). Unique indexes stay, they enforce the constraints.
+     * Every dropped index is added to {@code dropped} right away, so a failure halfway still recreates it.
+     */
+    private static void dropSecondaryIndexes(Connection connection, boolean mysql, List<SecondaryIndex> dropped,
+                                             String... tables) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : tables) {
+            String storedName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            Set<List<String>> foreignKeyColumns = foreignKeyColumns(metaData, connection, storedName);
+            Map<String, List<String>> indexColumns = new LinkedHashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), storedName, false, true)) {
+                while (indexes.next()) {
+                    String indexName = indexes.getString("INDEX_NAME");
+                    if (indexName == null || !indexes.getBoolean("NON_UNIQUE")) {
+                        continue;
+                    }
+                    indexColumns.computeIfAbsent(indexName, name -> new ArrayList<>())
+                            .add(indexes.getString("COLUMN_NAME"));
+                }
+            }
+            for (Map.Entry<String, List<String>> index : indexColumns.entrySet()) {
+                if (backsForeignKey(index.getValue(), foreignKeyColumns)) {
+                    continue;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(mysql ? "DROP INDEX " + index.getKey() + " ON " + table : "DROP INDEX " + index.getKey());
+                }
+                dropped.add(new SecondaryIndex(table, index.getKey(), index.getValue()));
+            }
+        }
+        connection.commit();
+        if (!dropped.isEmpty()) {
+            logger.info("Dropped {} secondary index(es) for the bulk load", dropped.size());
+        }
+    }
+
+    private static Set<List<String>> foreignKeyColumns(DatabaseMetaData metaData, Connection connection, String table)
+            throws SQLException {
+        Map<String, List<String>> columnsByKey = new LinkedHashMap<>();
+        try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+            while (keys.next()) {
+                columnsByKey.computeIfAbsent(keys.getString("FK_NAME"), name -> new ArrayList<>())
+                        .add(keys.getString("FKCOLUMN_NAME"));
+            }
+        }
+        return new HashSet<>(columnsByKey.values());
+    }
+
+    private static boolean backsForeignKey(List<String> indexColumns, Set<List<String>> foreignKeyColumns) {
+        for (List<String> keyColumns : foreignKeyColumns) {
+            if (indexColumns.size() >= keyColumns.size()
+                    && indexColumns.subList(0, keyColumns.size()).equals(keyColumns)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void createIndexes(Connection connection, List<SecondaryIndex> indexes) throws SQLException {
+        long start = System.nanoTime();
+        for (SecondaryIndex index : indexes) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX " + index.name + " ON " + index.table + " (" + String.join(", ", index.columns) + ")");
+            }
+        }
+        connection.commit();
+        if (!indexes.isEmpty()) {
+            logger.info("Recreated {} secondary index(es) in {} ms", indexes.size(),
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+
+        /**
+         * Binds the columns of {@code row} starting at {@code parameterIndex} and returns the next free index.
+         */
+        int bind(PreparedStatement statement, int parameterIndex, long row) throws SQLException;
+    }
+
+    private static final class SecondaryIndex {
+
+        private final String table;
+        private final String name;
+        private final List<String> columns;
+
+        private SecondaryIndex(String table, String name, List<String> columns) {
+            this.table = table;
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+}
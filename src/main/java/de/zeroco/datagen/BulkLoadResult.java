@@ -0,0 +1,69 @@
+package de.zeroco.datagen;
+
+import java.time.Duration;
+
+/**
+ * Ids written by one {@link BulkDataLoader#load(DataGeneratorProperties)} run. Every table gets a contiguous id range
+ * starting at {@code first*Id}.
+ */
+public class BulkLoadResult {
+
+    private final long firstDepartmentId;
+    private final int departments;
+    private final long firstEmployeeId;
+    private final int employees;
+    private final long firstProjectId;
+    private final int projects;
+    private final long assignments;
+    private final Duration duration;
+
+    public BulkLoadResult(long firstDepartmentId, int departments, long firstEmployeeId, int employees,
+                          long firstProjectId, int projects, long assignments, Duration duration) {
+        this.firstDepartmentId = firstDepartmentId;
+        this.departments = departments;
+        this.firstEmployeeId = firstEmployeeId;
+        this.employees = employees;
+        this.firstProjectId = firstProjectId;
+        this.projects = projects;
+        this.assignments = assignments;
+        this.duration = duration;
+    }
+
+    public long getFirstDepartmentId() {
+        return firstDepartmentId;
+    }
+
+    public int getDepartments() {
+        return departments;
+    }
+
+    public long getFirstEmployeeId() {
+        return firstEmployeeId;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public long getFirstProjectId() {
+        return firstProjectId;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public long getAssignments() {
+        return assignments;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return departments + " departments, " + employees + " employees, " + projects + " projects and "
+                + assignments + " assignments in " + duration.toMillis() + " ms";
+    }
+}
@@ -0,0 +1,38 @@
+package de.zeroco.datagen;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the {@code app.datagen.*} dataset into the configured database and exits, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=datagen -Dspring-boot.run.arguments=--app.datagen.employees=1000000}.
+ */
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class DataGenerationRunner implements ApplicationRunner {
+
+    private final BulkDataLoader bulkDataLoader;
+    private final DataGeneratorProperties properties;
+    private final ApplicationContext applicationContext;
+
+    @Autowired
+    public DataGenerationRunner(BulkDataLoader bulkDataLoader, DataGeneratorProperties properties,
+                                ApplicationContext applicationContext) {
+        this.bulkDataLoader = bulkDataLoader;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        bulkDataLoader.load(properties);
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
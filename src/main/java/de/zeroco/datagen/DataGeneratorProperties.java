@@ -0,0 +1,91 @@
+package de.zeroco.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and shape of the synthetic dataset written by {@link BulkDataLoader}, bound from {@code app.datagen.*}.
+ * The same seed always produces the same rows; ids continue after the rows already in the tables.
+ */
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorProperties {
+
+    private int departments = 100;
+
+    private int employees = 1_000_000;
+
+    private int projects = 20_000;
+
+    /**
+     * Distinct employees assigned to every project.
+     */
+    private int membersPerProject = 10;
+
+    private long seed = 42;
+
+    /**
+     * Rows per multi-row INSERT; 1000 rows of the widest table stay well below the 65535 bind parameter limit of MySQL.
+     */
+    private int rowsPerStatement = 1000;
+
+    /**
+     * Drops the non-unique secondary indexes of the loaded tables before the load and recreates them afterwards,
+     * building an index once is much cheaper than maintaining it row by row.
+     */
+    private boolean rebuildIndexes = true;
+
+    public int getDepartments() {
+        return departments;
+    }
+
+    public void setDepartments(int departments) {
+        this.departments = departments;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public void setProjects(int projects) {
+        this.projects = projects;
+    }
+
+    public int getMembersPerProject() {
+        return membersPerProject;
+    }
+
+    public void setMembersPerProject(int membersPerProject) {
+        this.membersPerProject = membersPerProject;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getRowsPerStatement() {
+        return rowsPerStatement;
+    }
+
+    public void setRowsPerStatement(int rowsPerStatement) {
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    public boolean isRebuildIndexes() {
+        return rebuildIndexes;
+    }
+
+    public void setRebuildIndexes(boolean rebuildIndexes) {
+        this.rebuildIndexes = rebuildIndexes;
+    }
+}
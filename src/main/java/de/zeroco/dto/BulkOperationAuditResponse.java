@@ -0,0 +1,97 @@
+package de.zeroco.dto;
+
+import de.zeroco.model.BulkOperationAudit;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Schema(description = "Read-only view of one executed bulk mutation")
+public final class BulkOperationAuditResponse {
+
+    @Schema(description = "Unique identifier of the audit record", example = "1")
+    private final Long id;
+
+    @Schema(description = "Executed operation", example = "SALARY_RAISE")
+    private final String operation;
+
+    @Schema(description = "Filter and operation parameters as given by the caller", example = "jobTitle=Software Engineer, percent=3.5")
+    private final String parameters;
+
+    @Schema(description = "Number of rows changed by the statement", example = "1250")
+    private final int affectedRows;
+
+    @Schema(description = "User who ran the operation", example = "admin")
+    private final String performedBy;
+
+    @Schema(description = "When the operation ran", example = "2024-03-01T09:30:00")
+    private final LocalDateTime performedAt;
+
+    public BulkOperationAuditResponse(Long id, String operation, String parameters, int affectedRows,
+                                      String performedBy, LocalDateTime performedAt) {
+        this.id = id;
+        this.operation = operation;
+        this.parameters = parameters;
+        this.affectedRows = affectedRows;
+        this.performedBy = performedBy;
+        this.performedAt = performedAt;
+    }
+
+    public static BulkOperationAuditResponse from(BulkOperationAudit audit) {
+        return new BulkOperationAuditResponse(audit.getId(), audit.getOperation(), audit.getParameters(),
+                audit.getAffectedRows(), audit.getPerformedBy(), audit.getPerformedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public LocalDateTime getPerformedAt() {
+        return performedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkOperationAuditResponse that = (BulkOperationAuditResponse) o;
+        return affectedRows == that.affectedRows &&
+               Objects.equals(id, that.id) &&
+               Objects.equals(operation, that.operation) &&
+               Objects.equals(parameters, that.parameters) &&
+               Objects.equals(performedBy, that.performedBy) &&
+               Objects.equals(performedAt, that.performedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, operation, parameters, affectedRows, performedBy, performedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationAuditResponse{" +
+               "id=" + id +
+               ", operation='" + operation + '\'' +
+               ", affectedRows=" + affectedRows +
+               ", performedBy='" + performedBy + '\'' +
+               ", performedAt=" + performedAt +
+               '}';
+    }
+}
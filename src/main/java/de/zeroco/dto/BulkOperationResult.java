@@ -0,0 +1,80 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+@Schema(description = "Outcome of a bulk mutation, or of its dry run")
+public final class BulkOperationResult {
+
+    @Schema(description = "Operation that was run", example = "SALARY_RAISE")
+    private final String operation;
+
+    @Schema(description = "Filter and operation parameters", example = "jobTitle=Software Engineer, percent=3.5")
+    private final String parameters;
+
+    @Schema(description = "True if nothing was changed and affectedRows is only the number of matching rows", example = "false")
+    private final boolean dryRun;
+
+    @Schema(description = "Number of rows changed, or that would be changed by a dry run", example = "1250")
+    private final long affectedRows;
+
+    @Schema(description = "Id of the audit record of an executed operation, null for dry runs", example = "17")
+    private final Long auditId;
+
+    public BulkOperationResult(String operation, String parameters, boolean dryRun, long affectedRows, Long auditId) {
+        this.operation = operation;
+        this.parameters = parameters;
+        this.dryRun = dryRun;
+        this.affectedRows = affectedRows;
+        this.auditId = auditId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public long getAffectedRows() {
+        return affectedRows;
+    }
+
+    public Long getAuditId() {
+        return auditId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkOperationResult that = (BulkOperationResult) o;
+        return dryRun == that.dryRun &&
+               affectedRows == that.affectedRows &&
+               Objects.equals(operation, that.operation) &&
+               Objects.equals(parameters, that.parameters) &&
+               Objects.equals(auditId, that.auditId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, parameters, dryRun, affectedRows, auditId);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationResult{" +
+               "operation='" + operation + '\'' +
+               ", parameters='" + parameters + '\'' +
+               ", dryRun=" + dryRun +
+               ", affectedRows=" + affectedRows +
+               ", auditId=" + auditId +
+               '}';
+    }
+}
@@ -0,0 +1,56 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Hit/miss counters of one cache region since startup")
+public class CacheRegionStats {
+
+    @Schema(description = "Region or cache name", example = "de.zeroco.model.Department")
+    private final String region;
+
+    @Schema(description = "Number of lookups served from the cache", example = "950")
+    private final long hitCount;
+
+    @Schema(description = "Number of lookups that fell through to the database", example = "50")
+    private final long missCount;
+
+    @Schema(description = "Number of entries written to the cache, -1 if the provider does not report it", example = "50")
+    private final long putCount;
+
+    @Schema(description = "Number of entries currently held, -1 if the provider does not report it", example = "42")
+    private final long elementCount;
+
+    public CacheRegionStats(String region, long hitCount, long missCount, long putCount, long elementCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCount = elementCount;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    @Schema(description = "hits / (hits + misses), 0 when the region has not been read yet", example = "0.95")
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+}
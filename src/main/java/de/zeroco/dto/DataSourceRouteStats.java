@@ -0,0 +1,75 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Routing counters and connection pool state of one database endpoint")
+public class DataSourceRouteStats {
+
+    @Schema(description = "Pool name", example = "replica-1")
+    private final String name;
+
+    @Schema(description = "PRIMARY or REPLICA", example = "REPLICA")
+    private final String role;
+
+    @Schema(description = "Whether reads are currently routed here; the primary is always considered healthy", example = "true")
+    private final boolean healthy;
+
+    @Schema(description = "Connections handed out through this route since startup", example = "1200")
+    private final long routedConnections;
+
+    @Schema(description = "Connection attempts that failed and were retried on the primary", example = "0")
+    private final long failedConnections;
+
+    @Schema(description = "Connections currently in use", example = "3")
+    private final int activeConnections;
+
+    @Schema(description = "Open connections waiting in the pool", example = "7")
+    private final int idleConnections;
+
+    @Schema(description = "Threads waiting for a connection", example = "0")
+    private final int threadsAwaitingConnection;
+
+    public DataSourceRouteStats(String name, String role, boolean healthy, long routedConnections, long failedConnections,
+                                int activeConnections, int idleConnections, int threadsAwaitingConnection) {
+        this.name = name;
+        this.role = role;
+        this.healthy = healthy;
+        this.routedConnections = routedConnections;
+        this.failedConnections = failedConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getRoutedConnections() {
+        return routedConnections;
+    }
+
+    public long getFailedConnections() {
+        return failedConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+}
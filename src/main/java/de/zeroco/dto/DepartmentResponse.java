@@ -0,0 +1,75 @@
+package de.zeroco.dto;
+
+import de.zeroco.model.Department;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+@Schema(description = "Read-only view of a department")
+public final class DepartmentResponse {
+
+    @Schema(description = "Unique identifier of the department", example = "1")
+    private final Long id;
+
+    @Schema(description = "Name of the department", example = "Human Resources")
+    private final String name;
+
+    @Schema(description = "Location of the department", example = "Building A, Floor 2")
+    private final String location;
+
+    @Schema(description = "Version of the department, changes on every update", example = "0")
+    private final Long version;
+
+    public DepartmentResponse(Long id, String name, String location, Long version) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.version = version;
+    }
+
+    public static DepartmentResponse from(Department department) {
+        return new DepartmentResponse(department.getId(), department.getName(), department.getLocation(), department.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DepartmentResponse that = (DepartmentResponse) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(location, that.location) &&
+               Objects.equals(version, that.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, location, version);
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentResponse{" +
+               "id=" + id +
+               ", name='" + name + '\'' +
+               ", location='" + location + '\'' +
+               ", version=" + version +
+               '}';
+    }
+}
@@ -0,0 +1,126 @@
+package de.zeroco.dto;
+
+import de.zeroco.model.Employee;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Schema(description = "Read-only view of an employee")
+public final class EmployeeResponse {
+
+    @Schema(description = "Unique identifier of the employee", example = "1")
+    private final Long id;
+
+    @Schema(description = "First name of the employee", example = "Jane")
+    private final String firstName;
+
+    @Schema(description = "Last name of the employee", example = "Doe")
+    private final String lastName;
+
+    @Schema(description = "Email address of the employee", example = "jane.doe@example.com")
+    private final String email;
+
+    @Schema(description = "Phone number of the employee", example = "555-1234")
+    private final String phoneNumber;
+
+    @Schema(description = "Date when the employee was hired", example = "2022-08-15")
+    private final LocalDate hireDate;
+
+    @Schema(description = "Job title of the employee", example = "Software Engineer")
+    private final String jobTitle;
+
+    @Schema(description = "Salary of the employee", example = "75000.00")
+    private final Double salary;
+
+    @Schema(description = "Version of the employee, changes on every update", example = "0")
+    private final Long version;
+
+    public EmployeeResponse(Long id, String firstName, String lastName, String email, String phoneNumber,
+                            LocalDate hireDate, String jobTitle, Double salary, Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.hireDate = hireDate;
+        this.jobTitle = jobTitle;
+        this.salary = salary;
+        this.version = version;
+    }
+
+    public static EmployeeResponse from(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getPhoneNumber(), employee.getHireDate(), employee.getJobTitle(), employee.getSalary(),
+                employee.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmployeeResponse that = (EmployeeResponse) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(firstName, that.firstName) &&
+               Objects.equals(lastName, that.lastName) &&
+               Objects.equals(email, that.email) &&
+               Objects.equals(phoneNumber, that.phoneNumber) &&
+               Objects.equals(hireDate, that.hireDate) &&
+               Objects.equals(jobTitle, that.jobTitle) &&
+               Objects.equals(salary, that.salary) &&
+               Objects.equals(version, that.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstName, lastName, email, phoneNumber, hireDate, jobTitle, salary, version);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeResponse{" +
+               "id=" + id +
+               ", firstName='" + firstName + '\'' +
+               ", lastName='" + lastName + '\'' +
+               ", email='" + email + '\'' +
+               ", jobTitle='" + jobTitle + '\'' +
+               ", version=" + version +
+               '}';
+    }
+}
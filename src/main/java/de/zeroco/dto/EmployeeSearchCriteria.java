@@ -0,0 +1,119 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Schema(description = "Optional filters for the employee search. Filters that are not set are ignored.")
+public class EmployeeSearchCriteria {
+
+    @Schema(description = "Exact job title", example = "Software Engineer")
+    private String jobTitle;
+
+    @Schema(description = "Earliest hire date (inclusive)", example = "2020-01-01")
+    private LocalDate hireDateFrom;
+
+    @Schema(description = "Latest hire date (inclusive)", example = "2022-12-31")
+    private LocalDate hireDateTo;
+
+    @Schema(description = "Minimum salary (inclusive)", example = "50000")
+    private Double minSalary;
+
+    @Schema(description = "Maximum salary (inclusive)", example = "90000")
+    private Double maxSalary;
+
+    @Schema(description = "Case-insensitive text contained in the first or last name", example = "doe")
+    private String name;
+
+    public EmployeeSearchCriteria() {
+    }
+
+    public EmployeeSearchCriteria(String jobTitle, LocalDate hireDateFrom, LocalDate hireDateTo,
+                                  Double minSalary, Double maxSalary, String name) {
+        this.jobTitle = jobTitle;
+        this.hireDateFrom = hireDateFrom;
+        this.hireDateTo = hireDateTo;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.name = name;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public LocalDate getHireDateFrom() {
+        return hireDateFrom;
+    }
+
+    public void setHireDateFrom(LocalDate hireDateFrom) {
+        this.hireDateFrom = hireDateFrom;
+    }
+
+    public LocalDate getHireDateTo() {
+        return hireDateTo;
+    }
+
+    public void setHireDateTo(LocalDate hireDateTo) {
+        this.hireDateTo = hireDateTo;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmployeeSearchCriteria that = (EmployeeSearchCriteria) o;
+        return Objects.equals(jobTitle, that.jobTitle) &&
+               Objects.equals(hireDateFrom, that.hireDateFrom) &&
+               Objects.equals(hireDateTo, that.hireDateTo) &&
+               Objects.equals(minSalary, that.minSalary) &&
+               Objects.equals(maxSalary, that.maxSalary) &&
+               Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobTitle, hireDateFrom, hireDateTo, minSalary, maxSalary, name);
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeSearchCriteria{" +
+               "jobTitle='" + jobTitle + '\'' +
+               ", hireDateFrom=" + hireDateFrom +
+               ", hireDateTo=" + hireDateTo +
+               ", minSalary=" + minSalary +
+               ", maxSalary=" + maxSalary +
+               ", name='" + name + '\'' +
+               '}';
+    }
+}
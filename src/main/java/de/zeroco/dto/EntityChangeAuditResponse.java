@@ -0,0 +1,110 @@
+package de.zeroco.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import de.zeroco.model.EntityChangeAudit;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Schema(description = "One committed change of an employee, project or department")
+public final class EntityChangeAuditResponse {
+
+    @Schema(description = "Unique identifier of the audit record", example = "1")
+    private final Long id;
+
+    @Schema(description = "Changed entity", example = "Employee", allowableValues = {"Employee", "Project", "Department"})
+    private final String entityType;
+
+    @Schema(description = "Id of the changed entity", example = "42")
+    private final Long entityId;
+
+    @Schema(description = "Kind of change", example = "UPDATE", allowableValues = {"CREATE", "UPDATE", "PATCH", "DELETE", "ASSIGN", "UNASSIGN"})
+    private final String action;
+
+    @Schema(description = "Changed attributes with their old (from) and new (to) value; null values are left out",
+            example = "{\"salary\":{\"from\":70000.0,\"to\":75000.0}}", type = "object")
+    @JsonRawValue // Stored as JSON, written as is
+    private final String changes;
+
+    @Schema(description = "User who made the change", example = "admin")
+    private final String changedBy;
+
+    @Schema(description = "When the change was committed", example = "2024-03-01T09:30:00")
+    private final LocalDateTime changedAt;
+
+    public EntityChangeAuditResponse(Long id, String entityType, Long entityId, String action, String changes,
+                                     String changedBy, LocalDateTime changedAt) {
+        this.id = id;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.changes = changes;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    public static EntityChangeAuditResponse from(EntityChangeAudit audit) {
+        return new EntityChangeAuditResponse(audit.getId(), audit.getEntityType(), audit.getEntityId(), audit.getAction(),
+                audit.getChanges(), audit.getChangedBy(), audit.getChangedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EntityChangeAuditResponse that = (EntityChangeAuditResponse) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(entityType, that.entityType) &&
+               Objects.equals(entityId, that.entityId) &&
+               Objects.equals(action, that.action) &&
+               Objects.equals(changes, that.changes) &&
+               Objects.equals(changedBy, that.changedBy) &&
+               Objects.equals(changedAt, that.changedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, entityType, entityId, action, changes, changedBy, changedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangeAuditResponse{" +
+               "id=" + id +
+               ", entityType='" + entityType + '\'' +
+               ", entityId=" + entityId +
+               ", action='" + action + '\'' +
+               ", changedBy='" + changedBy + '\'' +
+               ", changedAt=" + changedAt +
+               '}';
+    }
+}
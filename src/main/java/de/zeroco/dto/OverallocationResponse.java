@@ -0,0 +1,72 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+@Schema(description = "A period in which an employee is assigned to more projects at the same time than allowed")
+public class OverallocationResponse {
+
+    @Schema(description = "Identifier of the over-allocated employee", example = "101")
+    private final Long employeeId;
+
+    @Schema(description = "First day of the period; null if one of the projects has no start date", example = "2024-03-01")
+    private final LocalDate from;
+
+    @Schema(description = "Last day of the period; null while the projects are open-ended", example = "2024-03-31")
+    private final LocalDate to;
+
+    @Schema(description = "Projects the employee works on throughout the period", example = "[1, 4, 7]")
+    private final List<Long> projectIds;
+
+    public OverallocationResponse(Long employeeId, LocalDate from, LocalDate to, List<Long> projectIds) {
+        this.employeeId = employeeId;
+        this.from = from;
+        this.to = to;
+        this.projectIds = projectIds;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public List<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OverallocationResponse that = (OverallocationResponse) o;
+        return Objects.equals(employeeId, that.employeeId) &&
+               Objects.equals(from, that.from) &&
+               Objects.equals(to, that.to) &&
+               Objects.equals(projectIds, that.projectIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, from, to, projectIds);
+    }
+
+    @Override
+    public String toString() {
+        return "OverallocationResponse{" +
+               "employeeId=" + employeeId +
+               ", from=" + from +
+               ", to=" + to +
+               ", projectIds=" + projectIds +
+               '}';
+    }
+}
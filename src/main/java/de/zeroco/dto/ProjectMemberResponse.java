@@ -0,0 +1,97 @@
+package de.zeroco.dto;
+
+import de.zeroco.model.Employee;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+@Schema(description = "Employee assigned to a project, as listed in a project view")
+public final class ProjectMemberResponse {
+
+    @Schema(description = "Unique identifier of the employee", example = "1")
+    private final Long id;
+
+    @Schema(description = "First name of the employee", example = "Jane")
+    private final String firstName;
+
+    @Schema(description = "Last name of the employee", example = "Doe")
+    private final String lastName;
+
+    @Schema(description = "Email address of the employee", example = "jane.doe@example.com")
+    private final String email;
+
+    @Schema(description = "Job title of the employee", example = "Software Engineer")
+    private final String jobTitle;
+
+    @Schema(description = "Version of the employee, changes on every update", example = "0")
+    private final Long version;
+
+    public ProjectMemberResponse(Long id, String firstName, String lastName, String email, String jobTitle,
+                                 Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.jobTitle = jobTitle;
+        this.version = version;
+    }
+
+    public static ProjectMemberResponse from(Employee employee) {
+        return new ProjectMemberResponse(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getJobTitle(), employee.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProjectMemberResponse that = (ProjectMemberResponse) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(firstName, that.firstName) &&
+               Objects.equals(lastName, that.lastName) &&
+               Objects.equals(email, that.email) &&
+               Objects.equals(jobTitle, that.jobTitle) &&
+               Objects.equals(version, that.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstName, lastName, email, jobTitle, version);
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectMemberResponse{" +
+               "id=" + id +
+               ", firstName='" + firstName + '\'' +
+               ", lastName='" + lastName + '\'' +
+               ", email='" + email + '\'' +
+               ", jobTitle='" + jobTitle + '\'' +
+               ", version=" + version +
+               '}';
+    }
+}
@@ -0,0 +1,162 @@
+package de.zeroco.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import de.zeroco.model.ArchivedProject;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Schema(description = "Read-only view of a project including its assigned employees")
+public final class ProjectResponse {
+
+    @Schema(description = "Unique identifier of the project", example = "1")
+    private final Long id;
+
+    @Schema(description = "Name of the project", example = "New Website Launch")
+    private final String name;
+
+    @Schema(description = "Detailed description of the project", example = "Launch of the new corporate website with enhanced features.")
+    private final String description;
+
+    @Schema(description = "Start date of the project", example = "2023-01-10")
+    private final LocalDate startDate;
+
+    @Schema(description = "End date of the project", example = "2023-06-30")
+    private final LocalDate endDate;
+
+    @Schema(description = "When the project was closed; only present for closed projects", example = "2024-01-15T09:30:00")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final LocalDateTime closedAt;
+
+    @Schema(description = "Version of the project, changes on every update", example = "0")
+    private final Long version;
+
+    @Schema(description = "Employees assigned to this project, ordered by id")
+    private final List<ProjectMemberResponse> employees;
+
+    @Schema(description = "When the finished project was moved to the archive; only present for archived projects", example = "2024-03-01T02:30:00")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final LocalDateTime archivedAt;
+
+    public ProjectResponse(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+                           Long version, List<ProjectMemberResponse> employees) {
+        this(id, name, description, startDate, endDate, null, version, employees, null);
+    }
+
+    public ProjectResponse(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+                           LocalDateTime closedAt, Long version, List<ProjectMemberResponse> employees,
+                           LocalDateTime archivedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.closedAt = closedAt;
+        this.version = version;
+        this.employees = employees == null ? List.of() : List.copyOf(employees);
+        this.archivedAt = archivedAt;
+    }
+
+    /**
+     * Copies the project and its employees; must be called while the employees collection can still be loaded.
+     */
+    public static ProjectResponse from(Project project) {
+        return new ProjectResponse(project.getId(), project.getName(), project.getDescription(), project.getStartDate(),
+                project.getEndDate(), project.getClosedAt(), project.getVersion(), members(project.getEmployees()), null);
+    }
+
+    /**
+     * Copies the archived project and its employees at the time of archival; same loading rules as {@link #from(Project)}.
+     */
+    public static ProjectResponse from(ArchivedProject project) {
+        return new ProjectResponse(project.getId(), project.getName(), project.getDescription(), project.getStartDate(),
+                project.getEndDate(), project.getClosedAt(), project.getVersion(), members(project.getEmployees()),
+                project.getArchivedAt());
+    }
+
+    private static List<ProjectMemberResponse> members(Set<Employee> employees) {
+        return employees.stream()
+                .map(ProjectMemberResponse::from)
+                .sorted(Comparator.comparing(ProjectMemberResponse::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<ProjectMemberResponse> getEmployees() {
+        return employees;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProjectResponse that = (ProjectResponse) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(description, that.description) &&
+               Objects.equals(startDate, that.startDate) &&
+               Objects.equals(endDate, that.endDate) &&
+               Objects.equals(closedAt, that.closedAt) &&
+               Objects.equals(version, that.version) &&
+               Objects.equals(employees, that.employees) &&
+               Objects.equals(archivedAt, that.archivedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, description, startDate, endDate, closedAt, version, employees, archivedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectResponse{" +
+               "id=" + id +
+               ", name='" + name + '\'' +
+               ", description='" + description + '\'' +
+               ", startDate=" + startDate +
+               ", endDate=" + endDate +
+               ", closedAt=" + closedAt +
+               ", version=" + version +
+               ", employee_count=" + employees.size() +
+               ", archivedAt=" + archivedAt +
+               '}';
+    }
+}
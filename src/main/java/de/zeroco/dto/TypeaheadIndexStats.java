@@ -0,0 +1,50 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Size and memory footprint of one typeahead index")
+public class TypeaheadIndexStats {
+
+    @Schema(description = "Kind of entity covered by the index", example = "employees")
+    private final String type;
+
+    @Schema(description = "Number of indexed entities", example = "1200")
+    private final int indexedIds;
+
+    @Schema(description = "Number of (token, id) entries", example = "2400")
+    private final int tokenEntries;
+
+    @Schema(description = "Estimated retained heap size in bytes", example = "250000")
+    private final long estimatedBytes;
+
+    @Schema(description = "Epoch millis of the last full rebuild, 0 if never rebuilt", example = "1716800000000")
+    private final long lastRebuiltAt;
+
+    public TypeaheadIndexStats(String type, int indexedIds, int tokenEntries, long estimatedBytes, long lastRebuiltAt) {
+        this.type = type;
+        this.indexedIds = indexedIds;
+        this.tokenEntries = tokenEntries;
+        this.estimatedBytes = estimatedBytes;
+        this.lastRebuiltAt = lastRebuiltAt;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getIndexedIds() {
+        return indexedIds;
+    }
+
+    public int getTokenEntries() {
+        return tokenEntries;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getLastRebuiltAt() {
+        return lastRebuiltAt;
+    }
+}
@@ -0,0 +1,60 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+@Schema(description = "A single typeahead match")
+public class TypeaheadSuggestion {
+
+    @Schema(description = "Kind of entity that matched", example = "employees")
+    private final String type;
+
+    @Schema(description = "Identifier of the matching entity", example = "1")
+    private final Long id;
+
+    @Schema(description = "Display name of the matching entity", example = "Jane Doe")
+    private final String name;
+
+    public TypeaheadSuggestion(String type, Long id, String name) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TypeaheadSuggestion that = (TypeaheadSuggestion) o;
+        return Objects.equals(type, that.type) &&
+               Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id, name);
+    }
+
+    @Override
+    public String toString() {
+        return "TypeaheadSuggestion{" +
+               "type='" + type + '\'' +
+               ", id=" + id +
+               ", name='" + name + '\'' +
+               '}';
+    }
+}
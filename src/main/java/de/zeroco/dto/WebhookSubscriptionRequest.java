@@ -0,0 +1,71 @@
+package de.zeroco.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "A new receiver of employee and project change notifications")
+public class WebhookSubscriptionRequest {
+
+    @Schema(description = "Unique name, sent with every batch", example = "payroll")
+    @NotBlank(message = "Name cannot be blank")
+    @Size(max = 100, message = "Name must be less than 100 characters")
+    private String name;
+
+    @Schema(description = "http(s) URL the batches are POSTed to", example = "https://payroll.example.com/hooks/employees")
+    @NotBlank(message = "URL cannot be blank")
+    @Size(max = 500, message = "URL must be less than 500 characters")
+    private String url;
+
+    @Schema(description = "Entity types to receive, all if empty", example = "[\"employee\"]", allowableValues = {"employee", "project"})
+    private List<String> entityTypes;
+
+    @Schema(description = "Optional key; if set, every request carries an X-Webhook-Signature: sha256=<HMAC of the body>",
+            example = "change-me")
+    @Size(max = 100, message = "Secret must be less than 100 characters")
+    private String secret;
+
+    public WebhookSubscriptionRequest() {
+    }
+
+    public WebhookSubscriptionRequest(String name, String url, List<String> entityTypes, String secret) {
+        this.name = name;
+        this.url = url;
+        this.entityTypes = entityTypes;
+        this.secret = secret;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public List<String> getEntityTypes() {
+        return entityTypes;
+    }
+
+    public void setEntityTypes(List<String> entityTypes) {
+        this.entityTypes = entityTypes;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+}
@@ -0,0 +1,141 @@
+package de.zeroco.dto;
+
+import de.zeroco.model.WebhookSubscription;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Schema(description = "A webhook receiver and its delivery state")
+public final class WebhookSubscriptionResponse {
+
+    @Schema(description = "Unique identifier of the subscription", example = "1")
+    private final Long id;
+
+    @Schema(description = "Name of the subscription", example = "payroll")
+    private final String name;
+
+    @Schema(description = "URL the batches are POSTed to", example = "https://payroll.example.com/hooks/employees")
+    private final String url;
+
+    @Schema(description = "Received entity types, empty for all", example = "[\"employee\"]")
+    private final List<String> entityTypes;
+
+    @Schema(description = "Whether requests are signed (the secret itself is never returned)", example = "true")
+    private final boolean signed;
+
+    @Schema(description = "Outbox id of the last event the receiver acknowledged", example = "1234")
+    private final long deliveredOffset;
+
+    @Schema(description = "Failed deliveries since the last successful one", example = "0")
+    private final int failedAttempts;
+
+    @Schema(description = "Earliest time of the next delivery attempt after failures", example = "2024-03-01T09:30:00")
+    private final LocalDateTime nextAttemptAt;
+
+    @Schema(description = "Cause of the last failed delivery, null once delivery succeeds again", example = "HTTP 503")
+    private final String lastError;
+
+    @Schema(description = "When the subscription was created; it receives the changes made after that", example = "2024-03-01T09:00:00")
+    private final LocalDateTime createdAt;
+
+    public WebhookSubscriptionResponse(Long id, String name, String url, List<String> entityTypes, boolean signed,
+                                       long deliveredOffset, int failedAttempts, LocalDateTime nextAttemptAt,
+                                       String lastError, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.url = url;
+        this.entityTypes = entityTypes;
+        this.signed = signed;
+        this.deliveredOffset = deliveredOffset;
+        this.failedAttempts = failedAttempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+        this.createdAt = createdAt;
+    }
+
+    public static WebhookSubscriptionResponse from(WebhookSubscription subscription) {
+        List<String> entityTypes = subscription.getEntityTypes() == null
+                ? List.of() : List.of(subscription.getEntityTypes().split(","));
+        return new WebhookSubscriptionResponse(subscription.getId(), subscription.getName(), subscription.getUrl(),
+                entityTypes, subscription.getSecret() != null, subscription.getDeliveredOffset(),
+                subscription.getFailedAttempts(), subscription.getNextAttemptAt(), subscription.getLastError(),
+                subscription.getCreatedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public List<String> getEntityTypes() {
+        return entityTypes;
+    }
+
+    public boolean isSigned() {
+        return signed;
+    }
+
+    public long getDeliveredOffset() {
+        return deliveredOffset;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WebhookSubscriptionResponse that = (WebhookSubscriptionResponse) o;
+        return signed == that.signed &&
+               deliveredOffset == that.deliveredOffset &&
+               failedAttempts == that.failedAttempts &&
+               Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(url, that.url) &&
+               Objects.equals(entityTypes, that.entityTypes) &&
+               Objects.equals(nextAttemptAt, that.nextAttemptAt) &&
+               Objects.equals(lastError, that.lastError) &&
+               Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, url, entityTypes, signed, deliveredOffset, failedAttempts, nextAttemptAt, lastError, createdAt);
+    }
+
+    @Override
+    public String toString() {
+        return "WebhookSubscriptionResponse{" +
+               "id=" + id +
+               ", name='" + name + '\'' +
+               ", url='" + url + '\'' +
+               ", entityTypes=" + entityTypes +
+               ", deliveredOffset=" + deliveredOffset +
+               ", failedAttempts=" + failedAttempts +
+               ", lastError='" + lastError + '\'' +
+               '}';
+    }
+}
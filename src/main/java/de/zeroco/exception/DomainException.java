@@ -0,0 +1,13 @@
+package de.zeroco.exception;
+
+/**
+ * Base of the exceptions for routine request outcomes (unknown id, duplicate user or e-mail). They are mapped to a
+ * problem response by {@link GlobalExceptionHandler} and never logged, so they are created without a stack trace:
+ * filling it in is most of the cost of throwing, and bad clients or scrapers can trigger them at request rate.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package de.zeroco.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
     public EmailAlreadyExistsException(String message) {
         super(message);
     }
@@ -1,61 +1,124 @@
 package de.zeroco.exception;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * The single place where exceptions become HTTP responses: RFC 7807 problem details built from {@link ProblemType}
+ * templates. Controllers do not catch anything; Spring MVC's own exceptions (unreadable body, missing parameter,
+ * unsupported method, ...) get problem responses from the base class, with the same {@code message} member.
+ */
 @ControllerAdvice
-public class GlobalExceptionHandler {
-
-    @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<Object> handleUserAlreadyExistsException(UserAlreadyExistsException ex, WebRequest request) {
-        Map<String, String> body = new HashMap<>();
-        body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
-    }
-
-    @ExceptionHandler(EmailAlreadyExistsException.class)
-    public ResponseEntity<Object> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex, WebRequest request) {
-        Map<String, String> body = new HashMap<>();
-        body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
-    }
-
-    // Handler for @Valid annotation failures
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", System.currentTimeMillis());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        
-        // Collect all field errors
-        Map<String, String> errors = ex.getBindingResult()
-            .getFieldErrors()
-            .stream()
-            .collect(Collectors.toMap(
-                fieldError -> fieldError.getField(),
-                fieldError -> fieldError.getDefaultMessage() == null ? "Invalid value" : fieldError.getDefaultMessage()
-            ));
-        body.put("errors", errors);
-        body.put("message", "Validation failed for one or more fields.");
-
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
-    }
-
-    // Generic exception handler as a fallback
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Object> handleResourceNotFound(ResourceNotFoundException ex) {
+        return ProblemType.NOT_FOUND.response(ex.getMessage());
+    }
+
+    @ExceptionHandler({UserAlreadyExistsException.class, EmailAlreadyExistsException.class})
+    public ResponseEntity<Object> handleAlreadyExists(DomainException ex) {
+        return ProblemType.ALREADY_EXISTS.response(ex.getMessage());
+    }
+
+    @ExceptionHandler(OverallocationException.class)
+    public ResponseEntity<Object> handleOverallocation(OverallocationException ex) {
+        return ProblemType.OVERALLOCATED.response(ex.getMessage());
+    }
+
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<Object> handleRequestInProgress(RequestInProgressException ex) {
+        return ProblemType.REQUEST_IN_PROGRESS.response(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return ProblemType.IDEMPOTENCY_KEY_REUSED.response(ex.getMessage());
+    }
+
+    @ExceptionHandler(SubscriberLimitExceededException.class)
+    public ResponseEntity<Object> handleSubscriberLimitExceeded(SubscriberLimitExceededException ex) {
+        return ProblemType.SERVICE_UNAVAILABLE.response(ex.getMessage());
+    }
+
+    // Only this subtype: any other IllegalArgumentException is a bug, answered by the catch-all below
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequest(InvalidRequestException ex) {
+        return ProblemType.INVALID_REQUEST.response(ex.getMessage());
+    }
+
+    /**
+     * 412 if the request carried If-Match (its ETag is outdated), 409 if the outdated version came in the body or
+     * the conflict was detected on flush.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        ProblemType type = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? ProblemType.PRECONDITION_FAILED
+                : ProblemType.VERSION_CONFLICT;
+        String resource = ex instanceof ObjectOptimisticLockingFailureException stale && stale.getPersistentClassName() != null
+                ? ClassUtils.getShortName(stale.getPersistentClassName()) + " with id: " + stale.getIdentifier()
+                : "The resource";
+        return type.response(resource + " was modified by someone else. Reload it and retry.");
+    }
+
+    // A failed login; the message does not tell whether the username or the password was wrong
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<Object> handleBadCredentials(BadCredentialsException ex) {
+        return ProblemType.INVALID_CREDENTIALS.response("Incorrect username or password");
+    }
+
+    // Rethrown so Spring Security answers them (401/403) instead of the catch-all below
+    @ExceptionHandler({AccessDeniedException.class, AuthenticationException.class})
+    public void rethrowSecurityException(RuntimeException ex) {
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleGlobalException(Exception ex, WebRequest request) {
-        Map<String, String> body = new HashMap<>();
-        body.put("message", "An unexpected error occurred: " + ex.getMessage());
-        // It's good practice to log the exception here
-        // log.error("Unexpected error:", ex); 
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<Object> handleUnexpected(Exception ex) {
+        logger.error("Unexpected error", ex);
+        return ProblemType.INTERNAL_ERROR.response("An unexpected error occurred.");
+    }
+
+    // @Valid failures: one entry per rejected field
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
+            errors.putIfAbsent(fieldError.getField(),
+                    fieldError.getDefaultMessage() == null ? "Invalid value" : fieldError.getDefaultMessage());
+        }
+        ProblemDetail problem = ProblemType.VALIDATION_FAILED.problem("Validation failed for one or more fields.");
+        problem.setProperty("errors", errors);
+        return ProblemType.VALIDATION_FAILED.response(problem);
+    }
+
+    // Problems built by the base class for Spring MVC exceptions
+    @Override
+    protected ResponseEntity<Object> createResponseEntity(@Nullable Object body, HttpHeaders headers,
+                                                          HttpStatusCode statusCode, WebRequest request) {
+        if (body instanceof ProblemDetail problem && problem.getDetail() != null) {
+            problem.setProperty(ProblemType.MESSAGE, problem.getDetail());
+        }
+        return super.createResponseEntity(body, headers, statusCode, request);
     }
 }
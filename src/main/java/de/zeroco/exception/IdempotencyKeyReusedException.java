@@ -0,0 +1,11 @@
+package de.zeroco.exception;
+
+/**
+ * An {@code Idempotency-Key} was sent again with a different request body, answered with 422.
+ */
+public class IdempotencyKeyReusedException extends DomainException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package de.zeroco.exception;
+
+/**
+ * Rejected client input (invalid filter, patch or bulk parameters, name already taken), answered with 400.
+ * <p>
+ * Stays an {@link IllegalArgumentException} for callers that catch that; stackless like {@link DomainException}.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
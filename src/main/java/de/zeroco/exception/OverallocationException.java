@@ -0,0 +1,11 @@
+package de.zeroco.exception;
+
+/**
+ * An assignment would put an employee on more projects at the same time than allowed, answered with 409.
+ */
+public class OverallocationException extends DomainException {
+
+    public OverallocationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package de.zeroco.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+
+/**
+ * Templates of the RFC 7807 problem responses written by {@link GlobalExceptionHandler}. Status, type and title are
+ * built once; per error only the problem with its detail is allocated.
+ * <p>
+ * Every problem also carries the detail as {@code message}, the member clients read before problem responses.
+ */
+enum ProblemType {
+
+    NOT_FOUND(HttpStatus.NOT_FOUND, "not-found", "Resource not found"),
+    ALREADY_EXISTS(HttpStatus.CONFLICT, "already-exists", "Resource already exists"),
+    VERSION_CONFLICT(HttpStatus.CONFLICT, "version-conflict", "Resource was modified"),
+    OVERALLOCATED(HttpStatus.CONFLICT, "overallocated", "Employee over-allocated"),
+    REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "request-in-progress", "Request in progress"),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "idempotency-key-reused", "Idempotency key reused"),
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "invalid-credentials", "Invalid credentials"),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "precondition-failed", "Resource was modified"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "invalid-request", "Invalid request"),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "validation-failed", "Validation failed"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "service-unavailable", "Service unavailable"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal-error", "Internal server error");
+
+    static final String MESSAGE = "message";
+
+    private final HttpStatus status;
+    private final URI type;
+    private final String title;
+
+    ProblemType(HttpStatus status, String name, String title) {
+        this.status = status;
+        this.type = URI.create("urn:problem-type:company-management:" + name);
+        this.title = title;
+    }
+
+    ProblemDetail problem(String detail) {
+        ProblemDetail problem = ProblemDetail.forStatus(status);
+        problem.setType(type);
+        problem.setTitle(title);
+        problem.setDetail(detail);
+        problem.setProperty(MESSAGE, detail);
+        return problem;
+    }
+
+    ResponseEntity<Object> response(String detail) {
+        return response(problem(detail));
+    }
+
+    ResponseEntity<Object> response(ProblemDetail problem) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(problem);
+    }
+}
@@ -0,0 +1,12 @@
+package de.zeroco.exception;
+
+/**
+ * A retry arrived while the first request with its {@code Idempotency-Key} was still running and did not finish in
+ * time, answered with 409. The client retries later and gets the stored response.
+ */
+public class RequestInProgressException extends DomainException {
+
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package de.zeroco.exception;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * The version a client sent (in the body or as If-Match ETag) is no longer the current one, detected before anything
+ * was written. Answered with 409, or 412 for If-Match requests.
+ * <p>
+ * Stays an {@link ObjectOptimisticLockingFailureException}, the same outcome as a conflict Hibernate detects on
+ * flush; stackless like {@link DomainException}.
+ */
+public class StaleVersionException extends ObjectOptimisticLockingFailureException {
+
+    public StaleVersionException(Class<?> persistentClass, Object identifier) {
+        super(persistentClass, identifier);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
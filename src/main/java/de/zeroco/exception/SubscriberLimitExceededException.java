@@ -0,0 +1,11 @@
+package de.zeroco.exception;
+
+/**
+ * The instance serves as many change feed streams as it is configured for, answered with 503.
+ */
+public class SubscriberLimitExceededException extends DomainException {
+
+    public SubscriberLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,189 @@
+package de.zeroco.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.SubscriberLimitExceededException;
+import de.zeroco.service.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Server-sent events for every committed {@link EntityChangedEvent}, so clients can update the rows they show
+ * instead of reloading whole pages.
+ * <p>
+ * Streams are Servlet async requests: an open, idle stream holds no thread. A committed change is serialized once
+ * and queued for every subscriber whose topics match; a small delivery pool writes the queues. A subscriber whose
+ * queue overflows ({@code app.change-feed.buffer-size}) is disconnected and counted in
+ * {@code change.feed.dropped}; it is expected to reload and reconnect, events are not replayed. Bulk operations
+ * announce every row they change, so one that changes more rows than fit in the queue disconnects the subscribers of
+ * the whole kind (e.g. {@code employees}), who have to reload either way.
+ * <p>
+ * Topics: {@code employees}, {@code projects}, {@code departments} for all changes of one kind, or
+ * {@code employee:<id>}, {@code project:<id>}, {@code department:<id>} for one entity. Assignment events belong
+ * to the project and to the assigned employee. Idle streams get a comment every
+ * {@code app.change-feed.heartbeat-interval}, which keeps proxies from closing them and detects dead clients.
+ */
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+
+    public static final int MAX_TOPICS = 50;
+
+    private static final Pattern TOPIC = Pattern.compile("(employees|projects|departments)|(employee|project|department):[1-9][0-9]{0,18}");
+
+    private final Set<ChangeFeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slots taken by open or opening streams, reserved before a subscriber is added so the limit holds under races
+    private final AtomicInteger slots = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedProperties properties;
+    private final ExecutorService delivery;
+    private final Counter dropped;
+
+    public ChangeFeed(ObjectMapper objectMapper, ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.delivery = Executors.newFixedThreadPool(properties.getDeliveryThreads(), deliveryThreadFactory());
+        this.dropped = Counter.builder("change.feed.dropped")
+                .description("Subscribers disconnected because they did not keep up")
+                .register(meterRegistry);
+        Gauge.builder("change.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the given topics (all changes if empty).
+     *
+     * @throws InvalidRequestException          for unknown topics or too many of them
+     * @throws SubscriberLimitExceededException if {@code app.change-feed.max-subscribers} streams are open
+     */
+    public SseEmitter subscribe(Set<String> topics) {
+        if (topics.size() > MAX_TOPICS) {
+            throw new InvalidRequestException("At most " + MAX_TOPICS + " topics can be subscribed.");
+        }
+        for (String topic : topics) {
+            if (!TOPIC.matcher(topic).matches()) {
+                throw new InvalidRequestException("Unknown topic: " + topic);
+            }
+        }
+        if (slots.incrementAndGet() > properties.getMaxSubscribers()) {
+            slots.decrementAndGet();
+            throw new SubscriberLimitExceededException("Too many open change feed streams, retry later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(emitter, Set.copyOf(topics), properties.getBufferSize(), delivery);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        emitter.onTimeout(emitter::complete); // Ends the stream normally, the client reconnects
+        subscribers.add(subscriber);
+        subscriber.offer(ChangeFeedSubscriber.CONNECTED); // Commits the response headers right away
+        return emitter;
+    }
+
+    // After commit, on the committing thread: only serialization and non-blocking queue offers happen here
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialize {} {} {}", event.type(), event.id(), event.action(), e);
+            return;
+        }
+        ChangeFeedSubscriber.Frame frame = ChangeFeedSubscriber.Frame.event(sequence.incrementAndGet(), json);
+        List<String> eventTopics = topicsOf(event);
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(eventTopics) && !subscriber.offer(frame)) {
+                disconnectSlowSubscriber(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-feed.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.close();
+        }
+        delivery.shutdown();
+        if (!delivery.awaitTermination(5, TimeUnit.SECONDS)) {
+            delivery.shutdownNow();
+        }
+    }
+
+    static List<String> topicsOf(EntityChangedEvent event) {
+        String type = event.type().key();
+        List<String> topics = new ArrayList<>(3);
+        topics.add(type + "s");
+        topics.add(type + ":" + event.id());
+        if (event.employeeId() != null) {
+            topics.add(EntityChangedEvent.Type.EMPLOYEE.key() + ":" + event.employeeId());
+        }
+        return topics;
+    }
+
+    // Frees the slot once, whichever of completion, error, overflow or shutdown comes first
+    private boolean remove(ChangeFeedSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slots.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void disconnectSlowSubscriber(ChangeFeedSubscriber subscriber) {
+        if (remove(subscriber)) {
+            dropped.increment();
+            subscriber.close();
+        }
+    }
+
+    private static ThreadFactory deliveryThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
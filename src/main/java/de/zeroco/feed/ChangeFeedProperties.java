@@ -0,0 +1,65 @@
+package de.zeroco.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the server-sent change feed, bound from {@code app.change-feed.*}.
+ */
+@ConfigurationProperties(prefix = "app.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Open streams per instance; further subscriptions are refused with 503.
+     */
+    private int maxSubscribers = 20_000;
+
+    /**
+     * Events queued per subscriber. A subscriber that falls this far behind is disconnected.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Threads writing queued events to the streams. A write to a client that stopped reading blocks its thread until
+     * the connection times out, so keep a few more than expected stalled clients.
+     */
+    private int deliveryThreads = 16;
+
+    /**
+     * Streams are closed after this long, clients reconnect (EventSource does so by itself).
+     */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getDeliveryThreads() {
+        return deliveryThreads;
+    }
+
+    public void setDeliveryThreads(int deliveryThreads) {
+        this.deliveryThreads = deliveryThreads;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
@@ -0,0 +1,144 @@
+package de.zeroco.feed;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open stream: its topic filter and a bounded queue of frames not yet written.
+ * <p>
+ * Nothing holds a thread while the queue is empty. Offering a frame schedules a drain on the delivery executor
+ * unless one is scheduled already, so at most one thread writes to the stream at a time and an idle subscriber
+ * costs its emitter and the (empty) queue only.
+ */
+final class ChangeFeedSubscriber implements Runnable {
+
+    static final Frame CONNECTED = new Frame(null, null, "connected");
+    static final Frame HEARTBEAT = new Frame(null, null, "heartbeat");
+
+    private final SseEmitter emitter;
+    private final Set<String> topics;
+    private final BlockingQueue<Frame> frames;
+    private final Executor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private boolean completed; // Drain thread only, handed over by the scheduled flag
+
+    /**
+     * @param topics topics to receive, empty for all of them
+     */
+    ChangeFeedSubscriber(SseEmitter emitter, Set<String> topics, int bufferSize, Executor executor) {
+        this.emitter = emitter;
+        this.topics = topics;
+        this.frames = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+    }
+
+    boolean accepts(List<String> eventTopics) {
+        if (topics.isEmpty()) {
+            return true;
+        }
+        for (String topic : eventTopics) {
+            if (topics.contains(topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code false} if the queue is full, the subscriber is not keeping up
+     */
+    boolean offer(Frame frame) {
+        if (closed) {
+            return true;
+        }
+        if (!frames.offer(frame)) {
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    // Only for idle streams, a stream with queued events proves it is alive when they are written
+    void heartbeat() {
+        if (frames.isEmpty()) {
+            offer(HEARTBEAT);
+        }
+    }
+
+    /**
+     * Drops the queued frames and completes the stream on the delivery executor, never on the caller's thread: a
+     * write in progress holds the emitter's lock.
+     */
+    void close() {
+        closed = true;
+        schedule();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!completed) {
+                Frame frame;
+                while (!closed && (frame = frames.poll()) != null) {
+                    emitter.send(frame.toEvent());
+                }
+                if (closed) {
+                    frames.clear();
+                    completed = true;
+                    emitter.complete();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or stream already completed; the container completes the request and calls onError
+            closed = true;
+            completed = true;
+            frames.clear();
+        } finally {
+            scheduled.set(false);
+        }
+        // Offered or closed while this drain was finishing
+        if (!completed && (closed || !frames.isEmpty())) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false); // Shutting down
+            }
+        }
+    }
+
+    /**
+     * An event ({@code id} and JSON {@code data}, serialized once for all subscribers) or a comment.
+     */
+    record Frame(String id, String data, String comment) {
+
+        static Frame event(long id, String json) {
+            return new Frame(Long.toString(id), json, null);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (data == null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event().id(id).data(data);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.zeroco.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code Idempotency-Key} handling, bound from {@code app.idempotency.*}.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * POST endpoints honouring the header, as Ant-style path patterns.
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/employees", "/api/projects", "/api/projects/*/employees/*"));
+
+    /**
+     * How long the response to a key is replayed. Clients must not retry with the same key after this.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Responses kept in memory per instance; the oldest are dropped first. With {@code jdbc-enabled} they are
+     * still found in the table.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * How long a retry waits for the first request with its key to finish before it is answered with 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Also store keys and responses in the {@code idempotency_key} table, so a retry routed to another instance is
+     * replayed as well.
+     */
+    private boolean jdbcEnabled = false;
+
+    /**
+     * With {@code jdbc-enabled}: an instance that stops while running a request leaves its key claimed for this long.
+     */
+    private Duration processingTimeout = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public boolean isJdbcEnabled() {
+        return jdbcEnabled;
+    }
+
+    public void setJdbcEnabled(boolean jdbcEnabled) {
+        this.jdbcEnabled = jdbcEnabled;
+    }
+
+    public Duration getProcessingTimeout() {
+        return processingTimeout;
+    }
+
+    public void setProcessingTimeout(Duration processingTimeout) {
+        this.processingTimeout = processingTimeout;
+    }
+}
@@ -0,0 +1,241 @@
+package de.zeroco.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.zeroco.exception.IdempotencyKeyReusedException;
+import de.zeroco.exception.RequestInProgressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Claims {@code Idempotency-Key}s and keeps the responses to them.
+ * <p>
+ * The first request for a key claims it and runs; retries arriving meanwhile on the same instance wait on its
+ * future instead of running again, and get its response once it completes. Completed responses stay in a bounded
+ * in-memory cache for {@code app.idempotency.ttl}. With {@code app.idempotency.jdbc-enabled} a key is additionally
+ * claimed by inserting its row into {@code idempotency_key} (the primary key decides between instances), retries on
+ * other instances poll that row, and the response is written to it when the request completes.
+ * <p>
+ * A request that fails with a server error or an exception gives its key up, so a retry runs again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private static final String CLAIM = "INSERT INTO idempotency_key (scope_key, fingerprint, created_at, expires_at) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String FIND = "SELECT fingerprint, status, content_type, location, etag, body, expires_at "
+            + "FROM idempotency_key WHERE scope_key = ?";
+    private static final String COMPLETE = "UPDATE idempotency_key SET status = ?, content_type = ?, location = ?, etag = ?, "
+            + "body = ?, expires_at = ? WHERE scope_key = ?";
+    private static final String RELEASE = "DELETE FROM idempotency_key WHERE scope_key = ?";
+    private static final String RELEASE_EXPIRED = "DELETE FROM idempotency_key WHERE scope_key = ? AND expires_at = ?";
+    private static final String PURGE = "DELETE FROM idempotency_key WHERE expires_at < ?";
+
+    // A status of 0 (NULL in the table) means the request is still running
+    private static final RowMapper<Row> ROW = (rs, rowNum) -> {
+        String body = rs.getString("body");
+        return new Row(rs.getTimestamp("expires_at"), new StoredResponse(rs.getString("fingerprint"),
+                rs.getInt("status"), rs.getString("content_type"), rs.getString("location"), rs.getString("etag"),
+                body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8)));
+    };
+
+    private final IdempotencyProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, StoredResponse> completed;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyProperties properties, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxEntries())
+                .build();
+    }
+
+    /**
+     * Claims the key for a request, or returns the response to replay if the key has been answered already,
+     * waiting up to {@code app.idempotency.wait-timeout} for a request still running with it.
+     *
+     * @return {@code null} if the caller has claimed the key and must run the request, then call
+     * {@link #complete(String, StoredResponse)} or {@link #release(String)}
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     * @throws RequestInProgressException    if the request with the key did not finish in time
+     */
+    StoredResponse claim(String scopeKey, String fingerprint) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            StoredResponse response = completed.getIfPresent(scopeKey);
+            if (response != null) {
+                return checked(response, fingerprint);
+            }
+            InFlight claim = new InFlight(fingerprint);
+            InFlight running = inFlight.putIfAbsent(scopeKey, claim);
+            if (running == null) {
+                return claimed(scopeKey, claim, deadline);
+            }
+            if (!running.fingerprint.equals(fingerprint)) {
+                throw reused();
+            }
+            try {
+                response = running.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw inProgress();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            if (response != null) {
+                return response;
+            }
+            // Released after a failure: claim it again
+        }
+    }
+
+    /**
+     * Stores the response to a claimed key and hands it to the retries waiting for it.
+     */
+    void complete(String scopeKey, StoredResponse response) {
+        completed.put(scopeKey, response);
+        try {
+            if (properties.isJdbcEnabled()) {
+                jdbcTemplate.update(COMPLETE, response.status(), response.contentType(), response.location(), response.etag(),
+                        new String(response.body(), StandardCharsets.UTF_8),
+                        Timestamp.valueOf(LocalDateTime.now().plus(properties.getTtl())), scopeKey);
+            }
+        } finally {
+            finish(scopeKey, response);
+        }
+    }
+
+    /**
+     * Gives a claimed key up after the request failed; waiting retries claim it again.
+     */
+    void release(String scopeKey) {
+        try {
+            if (properties.isJdbcEnabled()) {
+                jdbcTemplate.update(RELEASE, scopeKey);
+            }
+        } finally {
+            finish(scopeKey, null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        if (properties.isJdbcEnabled()) {
+            int purged = jdbcTemplate.update(PURGE, Timestamp.valueOf(LocalDateTime.now()));
+            if (purged > 0) {
+                logger.debug("Purged {} expired idempotency keys", purged);
+            }
+        }
+    }
+
+    private StoredResponse claimed(String scopeKey, InFlight claim, long deadline) throws InterruptedException {
+        // Completed and removed between the cache lookup and the claim
+        StoredResponse response = completed.getIfPresent(scopeKey);
+        if (response == null && properties.isJdbcEnabled()) {
+            try {
+                response = claimRow(scopeKey, claim.fingerprint, deadline);
+            } catch (RuntimeException | InterruptedException e) {
+                finish(scopeKey, null);
+                throw e;
+            }
+            if (response != null) {
+                completed.put(scopeKey, response);
+            }
+        }
+        if (response != null) {
+            finish(scopeKey, response);
+            return checked(response, claim.fingerprint);
+        }
+        return null;
+    }
+
+    // Inserts the row, or polls the row of the instance running the request until it has the response
+    private StoredResponse claimRow(String scopeKey, String fingerprint, long deadline) throws InterruptedException {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                jdbcTemplate.update(CLAIM, scopeKey, fingerprint, Timestamp.valueOf(now),
+                        Timestamp.valueOf(now.plus(properties.getProcessingTimeout())));
+                return null;
+            } catch (DuplicateKeyException e) {
+                // Claimed before, look at the row
+            }
+            List<Row> rows = jdbcTemplate.query(FIND, ROW, scopeKey);
+            if (rows.isEmpty()) {
+                continue; // Released meanwhile
+            }
+            Row row = rows.get(0);
+            if (row.expiresAt().toLocalDateTime().isBefore(now)) {
+                jdbcTemplate.update(RELEASE_EXPIRED, scopeKey, row.expiresAt());
+                continue;
+            }
+            if (!row.response().fingerprint().equals(fingerprint)) {
+                throw reused();
+            }
+            if (row.response().status() != 0) {
+                return row.response();
+            }
+            if (System.nanoTime() >= deadline) {
+                throw inProgress();
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    private void finish(String scopeKey, StoredResponse response) {
+        InFlight claim = inFlight.remove(scopeKey);
+        if (claim != null) {
+            claim.future.complete(response);
+        }
+    }
+
+    private static StoredResponse checked(StoredResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw reused();
+        }
+        return response;
+    }
+
+    private static IdempotencyKeyReusedException reused() {
+        return new IdempotencyKeyReusedException("The Idempotency-Key was already used for a different request.");
+    }
+
+    private static RequestInProgressException inProgress() {
+        return new RequestInProgressException("A request with this Idempotency-Key is still being processed, retry later.");
+    }
+
+    private static final class InFlight {
+
+        final String fingerprint;
+        final CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+
+        InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private record Row(Timestamp expiresAt, StoredResponse response) {
+    }
+}
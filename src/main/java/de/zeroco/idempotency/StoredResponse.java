@@ -0,0 +1,11 @@
+package de.zeroco.idempotency;
+
+/**
+ * The response to the first request with an {@code Idempotency-Key}, replayed to its retries.
+ *
+ * @param fingerprint hash of the request it answered, see {@link IdempotencyFilter}
+ * @param location    {@code Location} header, {@code null} if none
+ * @param etag        {@code ETag} header, {@code null} if none
+ */
+record StoredResponse(String fingerprint, int status, String contentType, String location, String etag, byte[] body) {
+}
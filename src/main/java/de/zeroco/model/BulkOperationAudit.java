@@ -0,0 +1,122 @@
+package de.zeroco.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Schema(description = "Record of one executed bulk mutation")
+@Entity
+@Table(name = "bulk_operation_audit") // Indexes are defined by the schema migrations (db/migration)
+public class BulkOperationAudit {
+
+    @Schema(description = "Unique identifier of the audit record", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Executed operation", example = "SALARY_RAISE")
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+
+    @Schema(description = "Filter and operation parameters as given by the caller", example = "jobTitle=Software Engineer, percent=3.5")
+    @Column(name = "parameters", nullable = false, length = 500)
+    private String parameters;
+
+    @Schema(description = "Number of rows changed by the statement", example = "1250")
+    @Column(name = "affected_rows", nullable = false)
+    private int affectedRows;
+
+    @Schema(description = "User who ran the operation", example = "admin")
+    @Column(name = "performed_by", nullable = false, length = 50)
+    private String performedBy;
+
+    @Schema(description = "When the operation ran", example = "2024-03-01T09:30:00")
+    @Column(name = "performed_at", nullable = false)
+    private LocalDateTime performedAt;
+
+    public BulkOperationAudit() {
+    }
+
+    public BulkOperationAudit(String operation, String parameters, int affectedRows, String performedBy, LocalDateTime performedAt) {
+        this.operation = operation;
+        this.parameters = parameters;
+        this.affectedRows = affectedRows;
+        this.performedBy = performedBy;
+        this.performedAt = performedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+
+    public void setAffectedRows(int affectedRows) {
+        this.affectedRows = affectedRows;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
+    public LocalDateTime getPerformedAt() {
+        return performedAt;
+    }
+
+    public void setPerformedAt(LocalDateTime performedAt) {
+        this.performedAt = performedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkOperationAudit that = (BulkOperationAudit) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationAudit{" +
+               "id=" + id +
+               ", operation='" + operation + '\'' +
+               ", parameters='" + parameters + '\'' +
+               ", affectedRows=" + affectedRows +
+               ", performedBy='" + performedBy + '\'' +
+               ", performedAt=" + performedAt +
+               '}';
+    }
+}
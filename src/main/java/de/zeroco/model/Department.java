@@ -2,11 +2,20 @@ package de.zeroco.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.util.Objects;
 
 @Schema(description = "Represents a department within the company")
 @Entity
 @Table(name = "departments")
+// Second-level cached (regions configured in ehcache.xml); name lookups resolve through the natural id cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class Department {
 
     @Schema(description = "Unique identifier of the department", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
@@ -15,6 +24,7 @@ public class Department {
     private Long id;
 
     @Schema(description = "Name of the department", example = "Human Resources", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NaturalId(mutable = true)
     @Column(name = "name", nullable = false, unique = true, length = 100)
     private String name;
 
@@ -22,6 +32,12 @@ public class Department {
     @Column(name = "location", length = 100)
     private String location;
 
+    @Schema(description = "Optimistic lock version, incremented on every update. Also used as the ETag.", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // JPA requires a no-arg constructor
     public Department() {
     }
@@ -56,6 +72,14 @@ public class Department {
         this.location = location;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -3,6 +3,7 @@ package de.zeroco.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Objects;
@@ -10,7 +11,7 @@ import java.util.Set;
 
 @Schema(description = "Represents an employee in the company")
 @Entity
-@Table(name = "employees")
+@Table(name = "employees") // Indexes are defined by the schema migrations (db/migration)
 // Using JsonIgnoreProperties for simplicity to handle potential Jackson recursion with bidirectional relationships.
 // "projects" refers to the field name in this Employee class.
 @JsonIgnoreProperties(value = {"projects"}, allowSetters = true)
@@ -49,6 +50,12 @@ public class Employee {
     @Column(name = "salary")
     private Double salary;
 
+    @Schema(description = "Optimistic lock version, incremented on every update. Also used as the ETag.", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Schema(description = "Set of projects the employee is assigned to. Managed via specific project assignment endpoints.", accessMode = Schema.AccessMode.READ_ONLY)
     @ManyToMany(mappedBy = "employees", fetch = FetchType.LAZY)
     private Set<Project> projects = new HashSet<>();
@@ -134,6 +141,14 @@ public class Employee {
         this.salary = salary;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Project> getProjects() {
         return projects;
     }
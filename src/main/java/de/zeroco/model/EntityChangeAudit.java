@@ -0,0 +1,92 @@
+package de.zeroco.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Read side of the change audit log; rows are inserted by {@code de.zeroco.audit.AuditWriter} with plain JDBC.
+ */
+@Entity
+@Table(name = "entity_change_audit") // Indexes are defined by the schema migrations (db/migration)
+public class EntityChangeAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "action", nullable = false, length = 10)
+    private String action;
+
+    @Column(name = "changes", nullable = false, columnDefinition = "TEXT")
+    private String changes;
+
+    @Column(name = "changed_by", nullable = false, length = 50)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public EntityChangeAudit() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EntityChangeAudit that = (EntityChangeAudit) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangeAudit{" +
+               "id=" + id +
+               ", entityType='" + entityType + '\'' +
+               ", entityId=" + entityId +
+               ", action='" + action + '\'' +
+               ", changedBy='" + changedBy + '\'' +
+               ", changedAt=" + changedAt +
+               '}';
+    }
+}
@@ -1,15 +1,27 @@
 package de.zeroco.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 @Schema(description = "Represents a project in the company")
 @Entity
-@Table(name = "projects")
+@Table(name = "projects") // Indexes are defined by the schema migrations (db/migration)
+// Second-level cached (regions configured in ehcache.xml); name lookups resolve through the natural id cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class Project {
 
     @Schema(description = "Unique identifier of the project", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
@@ -18,6 +30,7 @@ public class Project {
     private Long id;
 
     @Schema(description = "Name of the project", example = "New Website Launch", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NaturalId(mutable = true)
     @Column(name = "name", nullable = false, unique = true, length = 100)
     private String name;
 
@@ -33,8 +46,22 @@ public class Project {
     @Column(name = "end_date")
     private LocalDate endDate;
 
+    @Schema(description = "When the project was closed; null while it is open. Closing keeps the employee assignments.", example = "2024-01-15T09:30:00", accessMode = Schema.AccessMode.READ_ONLY)
+    // Only set by the bulk close (BulkOperationService), never from a request body
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Schema(description = "Optimistic lock version, incremented on every update. Also used as the ETag.", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Schema(description = "Set of employees assigned to this project. Managed via specific assignment endpoints.", accessMode = Schema.AccessMode.READ_ONLY)
     @ManyToMany(fetch = FetchType.LAZY)
+    // Project lists are mapped to views inside the service transaction; load the members of up to 50 projects per query
+    @BatchSize(size = 50)
     @JoinTable(
             name = "project_employee",
             joinColumns = @JoinColumn(name = "project_id"),
@@ -94,6 +121,10 @@ public class Project {
         this.endDate = endDate;
     }
 
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
     public Set<Employee> getEmployees() {
         return employees;
     }
@@ -102,6 +133,14 @@ public class Project {
         this.employees = employees;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Helper methods for managing the bidirectional relationship
     public void addEmployee(Employee employee) {
         this.employees.add(employee);
@@ -136,6 +175,7 @@ public class Project {
                ", description='" + description + '\'' +
                ", startDate=" + startDate +
                ", endDate=" + endDate +
+               ", closedAt=" + closedAt +
                // Avoid printing employees to prevent recursion and large logs
                ", employee_count=" + (employees != null ? employees.size() : 0) +
                '}';
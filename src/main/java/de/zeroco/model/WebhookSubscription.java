@@ -0,0 +1,100 @@
+package de.zeroco.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A receiver of the outbox events. Delivery state ({@code deliveredOffset}, {@code failedAttempts},
+ * {@code nextAttemptAt}, {@code lastError} and the lease columns) is written by {@code de.zeroco.webhook.WebhookRelay}
+ * with plain JDBC.
+ */
+@Entity
+@Table(name = "webhook_subscription") // Constraints are defined by the schema migrations (db/migration)
+public class WebhookSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name", nullable = false, unique = true, length = 100)
+    private String name;
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "entity_types", length = 100) // Comma-separated, null for all
+    private String entityTypes;
+
+    @Column(name = "secret", length = 100)
+    private String secret;
+
+    @Column(name = "delivered_offset", nullable = false)
+    private long deliveredOffset;
+
+    @Column(name = "failed_attempts", nullable = false)
+    private int failedAttempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public WebhookSubscription() {
+    }
+
+    public WebhookSubscription(String name, String url, String entityTypes, String secret, long deliveredOffset,
+                               LocalDateTime createdAt) {
+        this.name = name;
+        this.url = url;
+        this.entityTypes = entityTypes;
+        this.secret = secret;
+        this.deliveredOffset = deliveredOffset;
+        this.nextAttemptAt = createdAt;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getEntityTypes() {
+        return entityTypes;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public long getDeliveredOffset() {
+        return deliveredOffset;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
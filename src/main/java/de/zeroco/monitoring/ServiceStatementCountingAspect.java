@@ -0,0 +1,34 @@
+package de.zeroco.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the statements of each public service method call. Runs outside the transaction and cache advice, so the
+ * statements flushed on commit are included and cache hits count as zero.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceStatementCountingAspect {
+
+    @Autowired
+    private StatementCountReporter reporter;
+
+    @Around("within(de.zeroco.service..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        StatementTracker.Scope scope = StatementTracker.open(name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            reporter.report(scope, "service", name);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.zeroco.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Publishes the statement count of a finished {@link StatementTracker.Scope} ({@code db.statements}, tagged with the
+ * scope kind and name) and warns about N+1 patterns in it ({@code db.n_plus_one}).
+ */
+@Component
+public class StatementCountReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementCountReporter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    @Autowired
+    public StatementCountReporter(MeterRegistry meterRegistry, @Value("${app.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    /**
+     * @param kind {@code request} or {@code service}
+     * @param name route template or {@code Class.method}
+     */
+    public void report(StatementTracker.Scope scope, String kind, String name) {
+        DistributionSummary.builder("db.statements")
+                .description("JDBC statements executed per HTTP request or service method call")
+                .tag("kind", kind)
+                .tag("name", name)
+                .register(meterRegistry)
+                .record(scope.getStatementCount());
+
+        for (Map.Entry<String, Integer> repeated : scope.takeUnreportedRepeatedStatements(nPlusOneThreshold).entrySet()) {
+            Counter.builder("db.n_plus_one")
+                    .description("Statements repeated with different parameters within one request or service call")
+                    .tag("kind", kind)
+                    .tag("name", name)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Possible N+1 in {}: {} executions with different parameters of: {}",
+                    name, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package de.zeroco.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements of each HTTP request, including the ones run by the security filters.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private StatementCountReporter reporter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementTracker.Scope scope = StatementTracker.open(request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // The route template keeps the tag cardinality bounded, ids in the path would not
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            reporter.report(scope, "request", request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package de.zeroco.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the JDBC statements executed by the current thread into nested {@link Scope}s (an HTTP request, a service
+ * method, a test assertion).
+ * <p>
+ * Besides the count, every scope remembers how often each SQL string ran and with how many different parameter sets.
+ * The same statement running again and again with different parameters is the N+1 signature: one query per row of a
+ * previous result, typically a lazy association loaded in a loop.
+ */
+public class StatementTracker implements QueryExecutionListener {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Parameter sets remembered per statement, far above any useful N+1 threshold but bounded for bulk work.
+     */
+    private static final int MAX_DISTINCT_PARAMETERS = 1_000;
+
+    /**
+     * Starts counting on the current thread until the returned scope is closed. Scopes nest: a statement is counted in
+     * every open scope.
+     */
+    public static Scope open(String name) {
+        Scope scope = new Scope(name);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<Object> parameters = parameterValues(query);
+            for (Scope scope : scopes) {
+                scope.record(query.getQuery(), parameters);
+            }
+        }
+    }
+
+    private static List<Object> parameterValues(QueryInfo query) {
+        if (query.getParametersList().isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Only the first parameter set of a batch, enough to tell the executions apart
+        List<ParameterSetOperation> operations = query.getParametersList().get(0);
+        List<Object> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            values.add(args.length > 1 ? args[1] : null);
+        }
+        return values;
+    }
+
+    /**
+     * Statements counted between {@link StatementTracker#open(String)} and {@link #close()}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Map<String, Execution> executions = new LinkedHashMap<>();
+        private final Set<String> reported = new HashSet<>();
+        private int statementCount;
+        private boolean closed;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void record(String sql, List<Object> parameters) {
+            statementCount++;
+            executions.computeIfAbsent(sql, key -> new Execution()).record(parameters);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        /**
+         * Executed SQL strings in first-execution order, with how often each one ran.
+         */
+        public Map<String, Integer> getStatementCounts() {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            executions.forEach((sql, execution) -> result.put(sql, execution.count));
+            return result;
+        }
+
+        /**
+         * SQL strings that ran with at least {@code threshold} different parameter sets, and how many.
+         */
+        public Map<String, Integer> getRepeatedStatements(int threshold) {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            executions.forEach((sql, execution) -> {
+                if (execution.distinctParameters.size() >= threshold) {
+                    result.put(sql, execution.distinctParameters.size());
+                }
+            });
+            return result;
+        }
+
+        /**
+         * Like {@link #getRepeatedStatements(int)}, minus the statements an inner scope already reported, and marks the
+         * result as reported in every enclosing scope so a request does not repeat what its service method said.
+         */
+        Map<String, Integer> takeUnreportedRepeatedStatements(int threshold) {
+            Map<String, Integer> result = getRepeatedStatements(threshold);
+            result.keySet().removeAll(reported);
+            for (Scope scope : SCOPES.get()) {
+                if (scope != this) {
+                    scope.reported.addAll(result.keySet());
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Deque<Scope> scopes = SCOPES.get();
+            scopes.remove(this);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(name).append(": ").append(statementCount).append(" statement(s)");
+            executions.forEach((sql, execution) -> result.append(System.lineSeparator())
+                    .append("  ").append(execution.count).append("x ").append(sql));
+            return result.toString();
+        }
+    }
+
+    private static final class Execution {
+
+        private final Set<List<Object>> distinctParameters = new HashSet<>();
+        private int count;
+
+        private void record(List<Object> parameters) {
+            count++;
+            if (distinctParameters.size() < MAX_DISTINCT_PARAMETERS) {
+                distinctParameters.add(parameters);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.ArchivedProject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArchivedProjectRepository extends JpaRepository<ArchivedProject, Long>, ArchivedProjectRepositoryCustom {
+
+    @Query("select p.id as id, p.startDate as startDate, p.endDate as endDate from ArchivedProject p")
+    List<DateRangeView> findAllDateRanges();
+
+    // Like ProjectRepository#findIdsActiveBetween; served by idx_projects_archive_end_date
+    @Query("select p.id from ArchivedProject p where (p.endDate is null or p.endDate >= :from) "
+            + "and (p.startDate is null or p.startDate <= :to)")
+    List<Long> findIdsActiveBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Served by the index of the employee_id foreign key of project_employee_archive
+    @Query("select p.id from ArchivedProject p join p.employees e where e.id = :employeeId")
+    List<Long> findIdsByEmployeeId(@Param("employeeId") Long employeeId);
+}
@@ -0,0 +1,38 @@
+package de.zeroco.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedProjectRepositoryCustom {
+
+    /**
+     * Moves up to {@code limit} projects that ended before the given date, oldest end date first, and their
+     * assignments to the archive tables. The projects are selected and locked in one statement skipping rows that
+     * another transaction has locked, so instances archiving at the same time take disjoint batches without waiting.
+     *
+     * @return ids of the archived projects, fewer than {@code limit} only if no other unlocked project qualifies
+     */
+    List<Long> archiveEndedBefore(LocalDate endedBefore, int limit, LocalDateTime archivedAt);
+
+    /**
+     * Moves an archived project and its assignments back, optionally with a new end date. Assignments of employees
+     * deleted in the meantime are gone already (cascading foreign key). A concurrent restore of the same project
+     * waits for the lock on its archived row, then finds it gone.
+     *
+     * @return {@code false} if the project is not archived
+     */
+    boolean restore(Long projectId, LocalDate newEndDate);
+
+    /**
+     * One page of active and archived projects, sorted by {@code sortColumn} and then id.
+     *
+     * @param sortColumn one of {@code id}, {@code name}, {@code start_date}, {@code end_date}
+     */
+    List<ProjectRef> findPageIncludingArchived(String sortColumn, boolean descending, long offset, int size);
+
+    long countIncludingArchived();
+
+    record ProjectRef(Long id, boolean archived) {
+    }
+}
@@ -0,0 +1,114 @@
+package de.zeroco.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves projects between the hot and the archive tables with set-based statements. Each statement declares the
+ * tables it changes, so Hibernate evicts only the second-level cache regions of those tables (the projects and
+ * their natural ids) instead of all of them.
+ */
+public class ArchivedProjectRepositoryCustomImpl implements ArchivedProjectRepositoryCustom {
+
+    private static final String PROJECT_COLUMNS = "id, name, description, start_date, end_date, closed_at, version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public List<Long> archiveEndedBefore(LocalDate endedBefore, int limit, LocalDateTime archivedAt) {
+        entityManager.flush();
+        // Row locks on the batch only, held until the (short) transaction of the batch commits. Rows locked by
+        // another archiver are skipped rather than waited for, it archives them itself
+        List<Long> ids = ids(entityManager.createNativeQuery("select id from projects where end_date < :endedBefore "
+                        + "order by end_date, id limit :limit for update skip locked")
+                .setParameter("endedBefore", endedBefore)
+                .setParameter("limit", limit));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        execute(entityManager.createNativeQuery("insert into projects_archive (" + PROJECT_COLUMNS + ", archived_at) "
+                        + "select " + PROJECT_COLUMNS + ", :archivedAt from projects where id in (:ids)")
+                .setParameter("archivedAt", archivedAt), ids, "projects_archive");
+        execute(entityManager.createNativeQuery("insert into project_employee_archive (project_id, employee_id) "
+                + "select project_id, employee_id from project_employee where project_id in (:ids)"), ids, "project_employee_archive");
+        execute(entityManager.createNativeQuery("delete from project_employee where project_id in (:ids)"), ids, "project_employee");
+        execute(entityManager.createNativeQuery("delete from projects where id in (:ids)"), ids, "projects");
+        entityManager.clear();
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public boolean restore(Long projectId, LocalDate newEndDate) {
+        entityManager.flush();
+        List<Long> ids = ids(entityManager.createNativeQuery("select id from projects_archive where id in (:ids) for update")
+                .setParameter("ids", List.of(projectId)));
+        if (ids.isEmpty()) {
+            return false;
+        }
+        execute(entityManager.createNativeQuery("insert into projects (" + PROJECT_COLUMNS + ") "
+                + "select " + PROJECT_COLUMNS + " from projects_archive where id in (:ids)"), ids, "projects");
+        execute(entityManager.createNativeQuery("insert into project_employee (project_id, employee_id) "
+                + "select project_id, employee_id from project_employee_archive where project_id in (:ids)"), ids, "project_employee");
+        // Cascades to project_employee_archive
+        execute(entityManager.createNativeQuery("delete from projects_archive where id in (:ids)"), ids,
+                "projects_archive", "project_employee_archive");
+        if (newEndDate != null) {
+            execute(entityManager.createNativeQuery("update projects set end_date = :endDate, version = version + 1 where id in (:ids)")
+                    .setParameter("endDate", newEndDate), ids, "projects");
+        }
+        entityManager.clear();
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectRef> findPageIncludingArchived(String sortColumn, boolean descending, long offset, int size) {
+        String order = " order by " + sortColumn + (descending ? " desc" : "") + ", id" + (descending ? " desc" : "");
+        // Each side returns its first offset + size rows in index order, only those are merged and sorted
+        String sql = "(select id, 0 as archived, " + sortColumn + " as sort_key from projects" + order + " limit :top)"
+                + " union all "
+                + "(select id, 1 as archived, " + sortColumn + " as sort_key from projects_archive" + order + " limit :top)"
+                + " order by sort_key" + (descending ? " desc" : "") + ", id" + (descending ? " desc" : "")
+                + " limit :size offset :offset";
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("top", offset + size)
+                .setParameter("size", size)
+                .setParameter("offset", offset)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ProjectRef(((Number) row[0]).longValue(), ((Number) row[1]).intValue() == 1))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countIncludingArchived() {
+        return ((Number) entityManager.createNativeQuery(
+                        "select (select count(*) from projects) + (select count(*) from projects_archive)")
+                .getSingleResult()).longValue();
+    }
+
+    private static void execute(Query query, List<Long> ids, String... changedTables) {
+        NativeQuery<?> nativeQuery = query.setParameter("ids", ids).unwrap(NativeQuery.class);
+        for (String table : changedTables) {
+            nativeQuery.addSynchronizedQuerySpace(table);
+        }
+        nativeQuery.executeUpdate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(Query query) {
+        return ((List<Number>) query.getResultList()).stream().map(Number::longValue).toList();
+    }
+}
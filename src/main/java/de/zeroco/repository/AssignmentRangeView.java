@@ -0,0 +1,18 @@
+package de.zeroco.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of one project assignment with the project's date range, used for the over-allocation report without
+ * loading the entities.
+ */
+public interface AssignmentRangeView {
+
+    Long getEmployeeId();
+
+    Long getProjectId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
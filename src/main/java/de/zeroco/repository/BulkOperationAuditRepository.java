@@ -0,0 +1,9 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.BulkOperationAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BulkOperationAuditRepository extends JpaRepository<BulkOperationAudit, Long> {
+}
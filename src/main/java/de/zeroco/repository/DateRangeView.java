@@ -0,0 +1,16 @@
+package de.zeroco.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a project's id and date range, used to build the in-memory interval index without loading full
+ * entities.
+ */
+public interface DateRangeView {
+
+    Long getId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
@@ -2,12 +2,16 @@ package de.zeroco.repository;
 
 import de.zeroco.model.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>, DepartmentRepositoryCustom {
 
-    Optional<Department> findByName(String name);
+    // findByName(String) is a natural id lookup, see DepartmentRepositoryCustomImpl
+
+    @Query("select d.id as id, d.name as name from Department d")
+    List<NameView> findAllNames();
 }
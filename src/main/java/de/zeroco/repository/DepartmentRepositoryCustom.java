@@ -0,0 +1,29 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.Department;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface DepartmentRepositoryCustom {
+
+    /**
+     * Looks the department up by its natural id (name), resolving through the second-level natural id cache.
+     */
+    Optional<Department> findByName(String name);
+
+    /**
+     * Applies the changes to one department in a single version-guarded UPDATE, see {@link VersionedUpdate}.
+     *
+     * @return number of updated rows, 0 if the department does not exist or its version is not {@code expectedVersion}
+     */
+    int patch(Long id, Long expectedVersion, Map<String, Object> changes);
+
+    /**
+     * Reads and locks the current values of the attributes a patch is about to change, see {@link VersionedUpdate}.
+     *
+     * @return attribute name to current value, empty if the department does not exist
+     */
+    Optional<Map<String, Object>> lockCurrentValues(Long id, Collection<String> attributes);
+}
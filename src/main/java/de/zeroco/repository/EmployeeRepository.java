@@ -1,14 +1,55 @@
 package de.zeroco.repository;
 
 import de.zeroco.model.Employee;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
 
     // Example of a custom query method (optional for now, but good to have as an example)
     Optional<Employee> findByEmail(String email);
+
+    @Query("select e.id as id, concat(e.firstName, ' ', e.lastName) as name from Employee e")
+    List<NameView> findAllNames();
+
+    // Projects the employee is assigned to
+    @Query("select p.id from Project p join p.employees e where e.id = :id")
+    List<Long> findProjectIdsById(@Param("id") Long id);
+
+    // Set-based salary and job title changes, see BulkOperationService. Each is one UPDATE over the job_title index,
+    // preceded by a locking read of the rows it will change
+
+    long countByJobTitleAndSalaryIsNotNull(String jobTitle);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.version as version, e.salary as salary from Employee e "
+            + "where e.jobTitle = :jobTitle and e.salary is not null")
+    List<SalaryView> lockSalariesByJobTitle(@Param("jobTitle") String jobTitle);
+
+    // The explicit cast gives the parameter a concrete SQL type inside round(), which some dialects cannot infer
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.salary = round(e.salary * cast(:factor as Double), 2), e.version = e.version + 1 "
+            + "where e.jobTitle = :jobTitle and e.salary is not null")
+    int multiplySalaryByJobTitle(@Param("jobTitle") String jobTitle, @Param("factor") double factor);
+
+    long countByJobTitle(String jobTitle);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.version as version from Employee e where e.jobTitle = :jobTitle")
+    List<VersionView> lockByJobTitle(@Param("jobTitle") String jobTitle);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.jobTitle = :newJobTitle, e.version = e.version + 1 where e.jobTitle = :jobTitle")
+    int renameJobTitle(@Param("jobTitle") String jobTitle, @Param("newJobTitle") String newJobTitle);
 }
@@ -0,0 +1,28 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(Long id, Long expectedVersion, Map<String, Object> changes) {
+        return VersionedUpdate.execute(entityManager, Employee.class, id, expectedVersion, changes);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Map<String, Object>> lockCurrentValues(Long id, Collection<String> attributes) {
+        return VersionedUpdate.lockCurrentValues(entityManager, Employee.class, id, attributes);
+    }
+}
@@ -0,0 +1,80 @@
+package de.zeroco.repository;
+
+import de.zeroco.dto.EmployeeSearchCriteria;
+import de.zeroco.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Composable filters for {@link EmployeeRepository#findAll(Specification, org.springframework.data.domain.Pageable)}.
+ * Each filter returns {@code null} when its value is not set, which {@link Specification#and} ignores.
+ * <p>
+ * The equality/range filters line up with the composite indexes declared on {@link Employee}:
+ * job title (+ hire date or salary), hire date and salary. The name filter is a contains match and is
+ * evaluated as a residual predicate on the rows selected by the other filters.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeSearchCriteria criteria) {
+        return Specification.where(hasJobTitle(criteria.getJobTitle()))
+                .and(hiredOnOrAfter(criteria.getHireDateFrom()))
+                .and(hiredOnOrBefore(criteria.getHireDateTo()))
+                .and(salaryAtLeast(criteria.getMinSalary()))
+                .and(salaryAtMost(criteria.getMaxSalary()))
+                .and(nameContains(criteria.getName()));
+    }
+
+    public static Specification<Employee> hasJobTitle(String jobTitle) {
+        if (jobTitle == null || jobTitle.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("jobTitle"), jobTitle.trim());
+    }
+
+    public static Specification<Employee> hiredOnOrAfter(LocalDate from) {
+        if (from == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("hireDate"), from);
+    }
+
+    public static Specification<Employee> hiredOnOrBefore(LocalDate to) {
+        if (to == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("hireDate"), to);
+    }
+
+    public static Specification<Employee> salaryAtLeast(Double min) {
+        if (min == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("salary"), min);
+    }
+
+    public static Specification<Employee> salaryAtMost(Double max) {
+        if (max == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("salary"), max);
+    }
+
+    public static Specification<Employee> nameContains(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(name.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("lastName")), pattern, '\\'));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,21 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.EntityChangeAudit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Pages sorted by {@code changedAt} are read in index order for one entity, one user and the unfiltered log (see
+ * V3__create_entity_change_audit.sql); by entity type alone the index only narrows the rows, they are sorted after.
+ */
+@Repository
+public interface EntityChangeAuditRepository extends JpaRepository<EntityChangeAudit, Long> {
+
+    Page<EntityChangeAudit> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
+
+    Page<EntityChangeAudit> findByEntityType(String entityType, Pageable pageable);
+
+    Page<EntityChangeAudit> findByChangedBy(String changedBy, Pageable pageable);
+}
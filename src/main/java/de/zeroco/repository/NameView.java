@@ -0,0 +1,12 @@
+package de.zeroco.repository;
+
+/**
+ * Lightweight projection of an entity's id and display name, used to build in-memory indexes
+ * without loading full entities.
+ */
+public interface NameView {
+
+    Long getId();
+
+    String getName();
+}
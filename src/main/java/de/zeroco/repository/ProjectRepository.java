@@ -1,15 +1,61 @@
 package de.zeroco.repository;
 
 import de.zeroco.model.Project;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
 
-    Optional<Project> findByName(String name);
+    // findByName(String) is a natural id lookup, see ProjectRepositoryCustomImpl
+
+    @Query("select p.id as id, p.name as name from Project p")
+    List<NameView> findAllNames();
+
+    @Query("select p.id as id, p.startDate as startDate, p.endDate as endDate from Project p")
+    List<DateRangeView> findAllDateRanges();
+
+    // Projects overlapping [from, to], missing dates are open-ended; served by idx_projects_end_date_start_date
+    @Query("select p.id from Project p where (p.endDate is null or p.endDate >= :from) "
+            + "and (p.startDate is null or p.startDate <= :to)")
+    List<Long> findIdsActiveBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Ordered so the assignments of one employee are adjacent; the join table can be read in the order of the index
+    // of its employee_id foreign key
+    @Query("select e.id as employeeId, p.id as projectId, p.startDate as startDate, p.endDate as endDate "
+            + "from Project p join p.employees e order by e.id")
+    List<AssignmentRangeView> findAllAssignmentRanges();
+
+    @Query("select p.id as id, p.startDate as startDate, p.endDate as endDate from Project p join p.employees e "
+            + "where e.id = :employeeId")
+    List<DateRangeView> findDateRangesByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // All assignments of the employees assigned to the project, ordered like findAllAssignmentRanges
+    @Query("select e.id as employeeId, p.id as projectId, p.startDate as startDate, p.endDate as endDate "
+            + "from Project p join p.employees e "
+            + "where e.id in (select m.id from Project q join q.employees m where q.id = :projectId) order by e.id")
+    List<AssignmentRangeView> findAssignmentRangesOfEmployeesOf(@Param("projectId") Long projectId);
+
+    long countByEndDateBeforeAndClosedAtIsNull(LocalDate endedBefore);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.id as id, p.version as version from Project p where p.endDate < :endedBefore and p.closedAt is null")
+    List<VersionView> lockOpenProjectsEndedBefore(@Param("endedBefore") LocalDate endedBefore);
+
+    // Closing keeps the assignments; only the project rows change
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Project p set p.closedAt = :closedAt, p.version = p.version + 1 "
+            + "where p.endDate < :endedBefore and p.closedAt is null")
+    int closeProjectsEndedBefore(@Param("endedBefore") LocalDate endedBefore, @Param("closedAt") LocalDateTime closedAt);
 
     // Consider adding methods for querying projects by employee if needed in the future, e.g.:
     // List<Project> findByEmployees_Id(Long employeeId);
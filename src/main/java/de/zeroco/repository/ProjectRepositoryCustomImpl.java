@@ -0,0 +1,37 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Project> findByName(String name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Project.class)
+                .loadOptional(name);
+    }
+
+    @Override
+    @Transactional
+    public int patch(Long id, Long expectedVersion, Map<String, Object> changes) {
+        return VersionedUpdate.execute(entityManager, Project.class, id, expectedVersion, changes);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Map<String, Object>> lockCurrentValues(Long id, Collection<String> attributes) {
+        return VersionedUpdate.lockCurrentValues(entityManager, Project.class, id, attributes);
+    }
+}
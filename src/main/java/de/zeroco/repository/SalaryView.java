@@ -0,0 +1,9 @@
+package de.zeroco.repository;
+
+/**
+ * Projection of an employee's id, version and salary, read around a bulk salary change for its audit record.
+ */
+public interface SalaryView extends VersionView {
+
+    Double getSalary();
+}
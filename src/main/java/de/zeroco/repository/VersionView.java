@@ -0,0 +1,12 @@
+package de.zeroco.repository;
+
+/**
+ * Projection of an entity's id and version, read before a bulk UPDATE to announce each changed row with the version
+ * the statement gives it.
+ */
+public interface VersionView {
+
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,93 @@
+package de.zeroco.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds a single {@code UPDATE ... SET <changed columns>, version = version + 1 WHERE id = ? [AND version = ?]}
+ * for entities with an {@code id} and a {@code version} attribute. The entity is not loaded; the values a change
+ * replaces can be read and locked beforehand with {@link #lockCurrentValues(EntityManager, Class, Long, Collection)}.
+ * <p>
+ * Like every bulk statement it bypasses the persistence context; Hibernate invalidates the entity's
+ * second-level cache regions when it executes.
+ */
+final class VersionedUpdate {
+
+    private VersionedUpdate() {
+    }
+
+    /**
+     * Reads the given attributes of one row with {@code SELECT ... FOR UPDATE}, so they are still the values before
+     * the change when the UPDATE runs later in the same transaction.
+     *
+     * @return attribute name to current value ({@code null} for empty columns); empty if the id does not exist
+     */
+    static <T> Optional<Map<String, Object>> lockCurrentValues(EntityManager entityManager, Class<T> entityType, Long id,
+                                                               Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections).where(cb.equal(root.get("id"), id));
+
+        List<Tuple> rows = entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Object> values = new HashMap<>();
+        for (String attribute : attributes) {
+            values.put(attribute, rows.get(0).get(attribute));
+        }
+        return Optional.of(values);
+    }
+
+    /**
+     * @param changes         attribute name to new value ({@code null} clears the column)
+     * @param expectedVersion only update if the row still has this version; {@code null} updates unconditionally
+     * @return number of updated rows, 0 if the id does not exist or the version did not match
+     */
+    static <T> int execute(EntityManager entityManager, Class<T> entityType, Long id, Long expectedVersion,
+                           Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityType);
+        Root<T> root = update.from(entityType);
+
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            Path<Object> attribute = root.get(change.getKey());
+            if (change.getValue() == null) {
+                Expression<Object> nullValue = cb.nullLiteral(Object.class);
+                update.<Object>set(attribute, nullValue);
+            } else {
+                update.set(attribute, change.getValue());
+            }
+        }
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+
+        if (expectedVersion == null) {
+            update.where(cb.equal(root.get("id"), id));
+        } else {
+            update.where(cb.equal(root.get("id"), id), cb.equal(version, expectedVersion));
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
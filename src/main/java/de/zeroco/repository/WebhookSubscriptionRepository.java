@@ -0,0 +1,18 @@
+package de.zeroco.repository;
+
+import de.zeroco.model.WebhookSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WebhookSubscriptionRepository extends JpaRepository<WebhookSubscription, Long> {
+
+    boolean existsByName(String name);
+
+    /**
+     * Id of the newest outbox event, where a new subscription starts; 0 if the outbox is empty.
+     */
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM outbox_event", nativeQuery = true)
+    long findLatestOutboxId();
+}
@@ -1,5 +1,7 @@
 package de.zeroco.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,9 +25,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "none";
 
         final String authorizationHeader = request.getHeader("Authorization");
 
@@ -39,6 +46,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             } catch (Exception e) {
                 // Log or handle JWT parsing exceptions (e.g., expired, malformed)
                 logger.warn("JWT token processing error: " + e.getMessage());
+                outcome = "rejected";
             }
         }
 
@@ -51,8 +59,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 usernamePasswordAuthenticationToken
                         .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                outcome = "authenticated";
+            } else {
+                outcome = "rejected";
             }
         }
+        // Only the token check itself is timed, not the rest of the chain
+        sample.stop(Timer.builder("jwt.filter")
+                .description("Time spent validating the bearer token and loading the user")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
         filterChain.doFilter(request, response);
     }
 }
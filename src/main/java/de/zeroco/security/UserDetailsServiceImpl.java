@@ -25,21 +25,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        List<GrantedAuthority> authorities;
-        if (user.getRoles() == null || user.getRoles().trim().isEmpty()) {
-            authorities = List.of(); // No roles
-        } else {
-            authorities = Arrays.stream(user.getRoles().split(","))
-                    .map(String::trim)
-                    .filter(role -> !role.isEmpty())
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
-        }
-
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
-                authorities
+                toAuthorities(user.getRoles())
         );
     }
+
+    /**
+     * Splits the comma separated roles column, e.g. {@code "ROLE_ADMIN, ROLE_USER"}.
+     */
+    static List<GrantedAuthority> toAuthorities(String roles) {
+        if (roles == null || roles.trim().isEmpty()) {
+            return List.of(); // No roles
+        }
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,242 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.OverallocationResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.OverallocationException;
+import de.zeroco.model.Project;
+import de.zeroco.repository.AssignmentRangeView;
+import de.zeroco.repository.DateRangeView;
+import de.zeroco.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds employees assigned to more projects at the same time than {@code app.staffing.max-concurrent-projects}
+ * allows, using {@link AllocationSweep} on each employee's project date ranges.
+ * <p>
+ * The report reads all assignments in one query, grouped by employee, and sweeps the employees in partitions on a
+ * dedicated fork-join pool ({@code app.staffing.sweep-parallelism}, the number of cores by default), so it neither
+ * competes with the common pool nor holds request threads longer than the query.
+ * <p>
+ * With {@code app.staffing.check-on-assign} (off by default) {@link ProjectService} also rejects new assignments and
+ * changes of project dates that over-allocate an employee. Two concurrent changes for the same employee are checked
+ * independently and can both pass.
+ * <p>
+ * A project without an end date counts as running for {@code app.staffing.open-ended-horizon} after today, or after
+ * its start if that is later; further ahead it is not planned yet. Otherwise two open-ended projects would block
+ * their employees for good.
+ */
+@Service
+public class AllocationConflictService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationConflictService.class);
+
+    public static final int MAX_RESULTS = 10_000;
+
+    // Employees swept by one fork-join task without splitting further
+    private static final int EMPLOYEES_PER_TASK = 512;
+
+    private final ProjectRepository projectRepository;
+    private final int maxConcurrentProjects;
+    private final boolean checkOnAssign;
+    private final Period openEndedHorizon;
+    private final ForkJoinPool sweepPool;
+
+    @Autowired
+    public AllocationConflictService(ProjectRepository projectRepository,
+                                     @Value("${app.staffing.max-concurrent-projects:2}") int maxConcurrentProjects,
+                                     @Value("${app.staffing.check-on-assign:false}") boolean checkOnAssign,
+                                     @Value("${app.staffing.open-ended-horizon:P6M}") Period openEndedHorizon,
+                                     @Value("${app.staffing.sweep-parallelism:0}") int sweepParallelism) {
+        if (maxConcurrentProjects < 1) {
+            throw new IllegalArgumentException("app.staffing.max-concurrent-projects must be at least 1");
+        }
+        if (openEndedHorizon.isNegative()) {
+            throw new IllegalArgumentException("app.staffing.open-ended-horizon must not be negative");
+        }
+        this.projectRepository = projectRepository;
+        this.maxConcurrentProjects = maxConcurrentProjects;
+        this.checkOnAssign = checkOnAssign;
+        this.openEndedHorizon = openEndedHorizon;
+        int parallelism = sweepParallelism > 0 ? sweepParallelism : Runtime.getRuntime().availableProcessors();
+        this.sweepPool = new ForkJoinPool(parallelism, sweepThreadFactory(), null, false);
+    }
+
+    /**
+     * Periods in which an employee works on more than {@code maxConcurrent} projects, ordered by employee and date.
+     *
+     * @param maxConcurrent allowed number of concurrent projects, {@code null} for the configured one
+     * @param limit         maximum number of periods returned, at most {@link #MAX_RESULTS}
+     */
+    @Transactional(readOnly = true)
+    public List<OverallocationResponse> findOverallocations(Integer maxConcurrent, int limit) {
+        int allowed = maxConcurrent != null ? maxConcurrent : maxConcurrentProjects;
+        if (allowed < 1) {
+            throw new InvalidRequestException("maxConcurrent must be at least 1.");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_RESULTS + ".");
+        }
+        long start = System.currentTimeMillis();
+        List<AssignmentRangeView> rows = projectRepository.findAllAssignmentRanges();
+
+        List<Long> employeeIds = new ArrayList<>();
+        List<List<AllocationSweep.Assignment>> assignments = new ArrayList<>();
+        group(rows, LocalDate.now(), employeeIds, assignments);
+
+        List<OverallocationResponse> found = sweepPool.invoke(
+                new SweepTask(employeeIds, assignments, allowed, 0, employeeIds.size()));
+        logger.debug("Swept {} assignments of {} employees in {} ms, {} over-allocated periods", rows.size(),
+                employeeIds.size(), System.currentTimeMillis() - start, found.size());
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Rejects assigning the employee to the project if that puts them on more than the allowed number of projects
+     * on any day of it. Sorts and sweeps only the employee's own k assignments, O(k log k).
+     *
+     * @throws OverallocationException if the assignment would over-allocate the employee
+     */
+    public void checkAssignment(Project project, Long employeeId) {
+        if (!checkOnAssign) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<DateRangeView> ranges = projectRepository.findDateRangesByEmployeeId(employeeId);
+        List<AllocationSweep.Assignment> existing = new ArrayList<>(ranges.size());
+        for (DateRangeView range : ranges) {
+            existing.add(assignment(range.getId(), range.getStartDate(), range.getEndDate(), today));
+        }
+        check(assignment(project.getId(), project.getStartDate(), project.getEndDate(), today), employeeId, existing);
+    }
+
+    /**
+     * Rejects moving the project to the new dates if that puts one of its employees on more than the allowed number
+     * of projects on any day of it. Reads the assignments of the project's employees in one query.
+     *
+     * @throws OverallocationException if the new dates would over-allocate an employee of the project
+     */
+    public void checkDateChange(Long projectId, LocalDate startDate, LocalDate endDate) {
+        if (!checkOnAssign) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<Long> employeeIds = new ArrayList<>();
+        List<List<AllocationSweep.Assignment>> assignments = new ArrayList<>();
+        group(projectRepository.findAssignmentRangesOfEmployeesOf(projectId), today, employeeIds, assignments);
+        AllocationSweep.Assignment moved = assignment(projectId, startDate, endDate, today);
+        for (int i = 0; i < employeeIds.size(); i++) {
+            check(moved, employeeIds.get(i), assignments.get(i));
+        }
+    }
+
+    private void check(AllocationSweep.Assignment added, Long employeeId, List<AllocationSweep.Assignment> existing) {
+        List<Long> conflicts = AllocationSweep.conflictsWith(added, existing, maxConcurrentProjects);
+        if (!conflicts.isEmpty()) {
+            throw new OverallocationException("Employee " + employeeId + " would work on more than "
+                    + maxConcurrentProjects + " projects at the same time, together with projects " + conflicts + ".");
+        }
+    }
+
+    // Rows are ordered by employee, each employee's assignments become one list
+    private void group(List<AssignmentRangeView> rows, LocalDate today, List<Long> employeeIds,
+                       List<List<AllocationSweep.Assignment>> assignments) {
+        Long current = null;
+        for (AssignmentRangeView row : rows) {
+            if (!Objects.equals(row.getEmployeeId(), current)) {
+                current = row.getEmployeeId();
+                employeeIds.add(current);
+                assignments.add(new ArrayList<>(4));
+            }
+            assignments.get(assignments.size() - 1).add(
+                    assignment(row.getProjectId(), row.getStartDate(), row.getEndDate(), today));
+        }
+    }
+
+    private AllocationSweep.Assignment assignment(Long projectId, LocalDate startDate, LocalDate endDate, LocalDate today) {
+        if (endDate == null) {
+            LocalDate from = startDate != null && startDate.isAfter(today) ? startDate : today;
+            endDate = from.plus(openEndedHorizon);
+        }
+        return new AllocationSweep.Assignment(projectId, startDate, endDate);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sweepPool.shutdown();
+        if (!sweepPool.awaitTermination(5, TimeUnit.SECONDS)) {
+            sweepPool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory sweepThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("allocation-sweep-" + count.incrementAndGet());
+            return thread;
+        };
+    }
+
+    /**
+     * Sweeps the employees in {@code [from, to)}, halving the range until it is small enough. Results keep the
+     * order of the employees.
+     */
+    private static final class SweepTask extends RecursiveTask<List<OverallocationResponse>> {
+
+        private final List<Long> employeeIds;
+        private final List<List<AllocationSweep.Assignment>> assignments;
+        private final int maxConcurrent;
+        private final int from;
+        private final int to;
+
+        SweepTask(List<Long> employeeIds, List<List<AllocationSweep.Assignment>> assignments, int maxConcurrent,
+                  int from, int to) {
+            this.employeeIds = employeeIds;
+            this.assignments = assignments;
+            this.maxConcurrent = maxConcurrent;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<OverallocationResponse> compute() {
+            if (to - from <= EMPLOYEES_PER_TASK) {
+                List<OverallocationResponse> result = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    Long employeeId = employeeIds.get(i);
+                    for (AllocationSweep.Overallocation period : AllocationSweep.overallocations(assignments.get(i), maxConcurrent)) {
+                        result.add(new OverallocationResponse(employeeId, period.from(), period.to(), period.projectIds()));
+                    }
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            SweepTask left = new SweepTask(employeeIds, assignments, maxConcurrent, from, mid);
+            left.fork();
+            List<OverallocationResponse> right = new SweepTask(employeeIds, assignments, maxConcurrent, mid, to).compute();
+            List<OverallocationResponse> result = left.join();
+            if (result.isEmpty()) {
+                return right;
+            }
+            result.addAll(right);
+            return result;
+        }
+    }
+}
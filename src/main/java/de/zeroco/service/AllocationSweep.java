@@ -0,0 +1,123 @@
+package de.zeroco.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Sweep-line checks over the date ranges of one employee's project assignments.
+ * <p>
+ * Ranges are closed (both dates inclusive); a missing start or end date leaves that side open. Both checks sort the
+ * k ranges once and walk them in date order, O(k log k) plus the size of what they report.
+ */
+public final class AllocationSweep {
+
+    /**
+     * One assignment: the project and its date range.
+     */
+    public record Assignment(long projectId, LocalDate start, LocalDate end) {
+    }
+
+    /**
+     * A maximal period in which the employee works on more than the allowed number of projects. {@code to} is
+     * {@code null} if the period is open-ended, {@code from} if it reaches back indefinitely.
+     */
+    public record Overallocation(LocalDate from, LocalDate to, List<Long> projectIds) {
+    }
+
+    private AllocationSweep() {
+    }
+
+    /**
+     * Periods in which more than {@code maxConcurrent} of the assignments run at the same time, in date order. The
+     * set of projects is constant within a period; adjacent periods differ in at least one project.
+     */
+    public static List<Overallocation> overallocations(List<Assignment> assignments, int maxConcurrent) {
+        if (assignments.size() <= maxConcurrent) {
+            return List.of();
+        }
+        // A start event on its first day, an end event on the day after its last one; ends first on the same day
+        long[][] events = new long[assignments.size() * 2][];
+        int count = 0;
+        for (Assignment assignment : assignments) {
+            events[count++] = new long[]{startDay(assignment.start()), 1, assignment.projectId()};
+            long end = endDay(assignment.end());
+            if (end != Long.MAX_VALUE) {
+                events[count++] = new long[]{end + 1, -1, assignment.projectId()};
+            }
+        }
+        Arrays.sort(events, 0, count, Comparator.<long[]>comparingLong(event -> event[0]).thenComparingLong(event -> event[1]));
+
+        List<Overallocation> result = new ArrayList<>();
+        TreeSet<Long> active = new TreeSet<>();
+        int i = 0;
+        while (i < count) {
+            long day = events[i][0];
+            for (; i < count && events[i][0] == day; i++) {
+                if (events[i][1] > 0) {
+                    active.add(events[i][2]);
+                } else {
+                    active.remove(events[i][2]);
+                }
+            }
+            if (active.size() > maxConcurrent) {
+                long lastDay = i < count ? events[i][0] - 1 : Long.MAX_VALUE;
+                result.add(new Overallocation(toDate(day), toDate(lastDay), List.copyOf(active)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether adding {@code added} to the {@code existing} assignments makes more than {@code maxConcurrent}
+     * of them run on the same day. Only the existing ranges overlapping the added one matter; they are clipped to
+     * it and swept with a min-heap of end dates.
+     *
+     * @return the other projects running on the first such day, empty if there is none
+     */
+    public static List<Long> conflictsWith(Assignment added, List<Assignment> existing, int maxConcurrent) {
+        long addedStart = startDay(added.start());
+        long addedEnd = endDay(added.end());
+        List<long[]> overlapping = new ArrayList<>();
+        for (Assignment assignment : existing) {
+            long start = Math.max(startDay(assignment.start()), addedStart);
+            long end = Math.min(endDay(assignment.end()), addedEnd);
+            if (start <= end && assignment.projectId() != added.projectId()) {
+                overlapping.add(new long[]{start, end, assignment.projectId()});
+            }
+        }
+        if (overlapping.size() < maxConcurrent) {
+            return List.of();
+        }
+        overlapping.sort(Comparator.comparingLong(range -> range[0]));
+
+        PriorityQueue<long[]> running = new PriorityQueue<>(Comparator.comparingLong(range -> range[1]));
+        for (long[] range : overlapping) {
+            while (!running.isEmpty() && running.peek()[1] < range[0]) {
+                running.poll();
+            }
+            running.add(range);
+            // The added project runs on every day of the clipped ranges, so it counts once more
+            if (running.size() + 1 > maxConcurrent) {
+                return running.stream().map(other -> other[2]).sorted().toList();
+            }
+        }
+        return List.of();
+    }
+
+    private static long startDay(LocalDate date) {
+        return date == null ? Long.MIN_VALUE : date.toEpochDay();
+    }
+
+    private static long endDay(LocalDate date) {
+        return date == null ? Long.MAX_VALUE : date.toEpochDay();
+    }
+
+    private static LocalDate toDate(long day) {
+        return day == Long.MIN_VALUE || day == Long.MAX_VALUE ? null : LocalDate.ofEpochDay(day);
+    }
+}
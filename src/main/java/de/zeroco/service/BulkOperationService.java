@@ -0,0 +1,183 @@
+package de.zeroco.service;
+
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.audit.AuditEvent;
+import de.zeroco.config.CacheConfig;
+import de.zeroco.dto.BulkOperationAuditResponse;
+import de.zeroco.dto.BulkOperationResult;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.model.BulkOperationAudit;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.repository.BulkOperationAuditRepository;
+import de.zeroco.repository.EmployeeRepository;
+import de.zeroco.repository.ProjectRepository;
+import de.zeroco.repository.SalaryView;
+import de.zeroco.repository.VersionView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Set-based mutations for changes that would otherwise take one load, one update and one request per row.
+ * <p>
+ * Every operation is a filter plus a change, executed as one bulk statement. A dry run only counts the matching
+ * rows. Executed operations are recorded in {@link BulkOperationAudit} in the same transaction as the change.
+ * Bulk statements bypass the entity lifecycle, so the cached project views (which embed employee job titles and
+ * versions) are cleared completely afterwards, and the matching rows are read and locked first so that every changed
+ * row is announced with an {@link EntityChangedEvent} (like a merge patch, without a view) in the same transaction
+ * and recorded in the entity change audit log with its values before and after.
+ */
+@Service
+public class BulkOperationService {
+
+    public static final String SALARY_RAISE = "SALARY_RAISE";
+    public static final String JOB_TITLE_REASSIGNMENT = "JOB_TITLE_REASSIGNMENT";
+    public static final String ENDED_PROJECT_CLOSURE = "ENDED_PROJECT_CLOSURE";
+
+    // A typo such as 350 instead of 3.5 must not go through
+    private static final double MAX_PERCENT = 100.0;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BulkOperationAuditRepository auditRepository;
+
+    @Autowired
+    private AuditEntityListener auditEntityListener;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Changes the salary of every employee with the job title by the given percentage (negative to reduce),
+     * rounded to cents. Employees without a salary are left alone.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, allEntries = true, condition = "!#dryRun")
+    @Transactional
+    public BulkOperationResult raiseSalaries(String jobTitle, double percent, boolean dryRun) {
+        requireJobTitle(jobTitle, "jobTitle");
+        if (Double.isNaN(percent) || percent == 0 || percent <= -MAX_PERCENT || percent > MAX_PERCENT) {
+            throw new InvalidRequestException("percent must be non-zero, greater than -" + MAX_PERCENT + " and at most " + MAX_PERCENT + ".");
+        }
+        String parameters = "jobTitle=" + jobTitle + ", percent=" + percent;
+        if (dryRun) {
+            return dryRunResult(SALARY_RAISE, parameters, employeeRepository.countByJobTitleAndSalaryIsNotNull(jobTitle));
+        }
+        List<SalaryView> rows = employeeRepository.lockSalariesByJobTitle(jobTitle);
+        int updated = employeeRepository.multiplySalaryByJobTitle(jobTitle, 1 + percent / 100);
+        // Read back as the database rounded them; the rows are still locked, so these are the same employees
+        Map<Long, Double> raised = new HashMap<>();
+        employeeRepository.lockSalariesByJobTitle(jobTitle).forEach(row -> raised.put(row.getId(), row.getSalary()));
+        publishUpdates(EntityChangedEvent.Type.EMPLOYEE, rows);
+        audit(Employee.class, rows,
+                row -> Map.of("salary", new AuditEvent.FieldChange(row.getSalary(), raised.get(row.getId()))));
+        return record(SALARY_RAISE, parameters, updated);
+    }
+
+    /**
+     * Gives every employee with {@code jobTitle} the job title {@code newJobTitle}.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, allEntries = true, condition = "!#dryRun")
+    @Transactional
+    public BulkOperationResult reassignJobTitle(String jobTitle, String newJobTitle, boolean dryRun) {
+        requireJobTitle(jobTitle, "jobTitle");
+        requireJobTitle(newJobTitle, "newJobTitle");
+        if (jobTitle.equals(newJobTitle)) {
+            throw new InvalidRequestException("newJobTitle must differ from jobTitle.");
+        }
+        String parameters = "jobTitle=" + jobTitle + ", newJobTitle=" + newJobTitle;
+        if (dryRun) {
+            return dryRunResult(JOB_TITLE_REASSIGNMENT, parameters, employeeRepository.countByJobTitle(jobTitle));
+        }
+        List<VersionView> rows = employeeRepository.lockByJobTitle(jobTitle);
+        int updated = employeeRepository.renameJobTitle(jobTitle, newJobTitle);
+        publishUpdates(EntityChangedEvent.Type.EMPLOYEE, rows);
+        audit(Employee.class, rows, row -> Map.of("jobTitle", new AuditEvent.FieldChange(jobTitle, newJobTitle)));
+        return record(JOB_TITLE_REASSIGNMENT, parameters, updated);
+    }
+
+    /**
+     * Closes the open projects that ended before the given date. Closing sets {@code closedAt} and keeps the
+     * employee assignments; projects closed before are not changed again.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, allEntries = true, condition = "!#dryRun")
+    @Transactional
+    public BulkOperationResult closeEndedProjects(LocalDate endedBefore, boolean dryRun) {
+        if (endedBefore == null) {
+            throw new InvalidRequestException("endedBefore is required.");
+        }
+        String parameters = "endedBefore=" + endedBefore;
+        if (dryRun) {
+            return dryRunResult(ENDED_PROJECT_CLOSURE, parameters, projectRepository.countByEndDateBeforeAndClosedAtIsNull(endedBefore));
+        }
+        LocalDateTime closedAt = LocalDateTime.now();
+        List<VersionView> rows = projectRepository.lockOpenProjectsEndedBefore(endedBefore);
+        int closed = projectRepository.closeProjectsEndedBefore(endedBefore, closedAt);
+        publishUpdates(EntityChangedEvent.Type.PROJECT, rows);
+        audit(Project.class, rows, row -> Map.of("closedAt", new AuditEvent.FieldChange(null, closedAt)));
+        return record(ENDED_PROJECT_CLOSURE, parameters, closed);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BulkOperationAuditResponse> getAuditLog(Pageable pageable) {
+        return auditRepository.findAll(pageable).map(BulkOperationAuditResponse::from);
+    }
+
+    private BulkOperationResult dryRunResult(String operation, String parameters, long matching) {
+        return new BulkOperationResult(operation, parameters, true, matching, null);
+    }
+
+    // Each statement increments the version of the rows it changes
+    private void publishUpdates(EntityChangedEvent.Type type, List<? extends VersionView> rows) {
+        for (VersionView row : rows) {
+            eventPublisher.publishEvent(EntityChangedEvent.updated(type, row.getId(), row.getVersion() + 1, null));
+        }
+    }
+
+    // One entity change audit record per row, next to the one BulkOperationAudit record of the operation
+    private <T extends VersionView> void audit(Class<?> entityType, List<T> rows,
+                                               Function<T, Map<String, AuditEvent.FieldChange>> changes) {
+        Map<Long, Map<String, AuditEvent.FieldChange>> changesById = new LinkedHashMap<>();
+        rows.forEach(row -> changesById.put(row.getId(), changes.apply(row)));
+        auditEntityListener.recordBulkUpdate(entityType, changesById);
+    }
+
+    private BulkOperationResult record(String operation, String parameters, int affectedRows) {
+        BulkOperationAudit audit = auditRepository.save(
+                new BulkOperationAudit(operation, parameters, affectedRows, currentUsername(), LocalDateTime.now()));
+        return new BulkOperationResult(operation, parameters, false, affectedRows, audit.getId());
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "system" : authentication.getName();
+    }
+
+    private static void requireJobTitle(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new InvalidRequestException(name + " is required.");
+        }
+        if (value.length() > 100) {
+            throw new InvalidRequestException(name + " must be at most 100 characters.");
+        }
+    }
+}
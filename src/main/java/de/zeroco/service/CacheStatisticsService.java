@@ -0,0 +1,76 @@
+package de.zeroco.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import de.zeroco.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private final SessionFactory sessionFactory;
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Per-region statistics of the Hibernate second-level cache (entity and natural id regions).
+     * Requires {@code hibernate.generate_statistics=true}, otherwise all counters stay at zero.
+     */
+    public List<CacheRegionStats> getSecondLevelCacheStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        List<CacheRegionStats> result = new ArrayList<>(regionNames.length);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                result.add(new CacheRegionStats(regionName, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Statistics of the Spring caches configured in {@link de.zeroco.config.CacheConfig}.
+     * Caffeine does not count explicit puts, so the put count is reported as -1.
+     */
+    public List<CacheRegionStats> getApplicationCacheStats() {
+        List<String> cacheNames = new ArrayList<>(cacheManager.getCacheNames());
+        Collections.sort(cacheNames);
+
+        List<CacheRegionStats> result = new ArrayList<>(cacheNames.size());
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                result.add(new CacheRegionStats(cacheName, stats.hitCount(), stats.missCount(), -1,
+                        nativeCache.estimatedSize()));
+            }
+        }
+        return result;
+    }
+}
@@ -1,69 +1,172 @@
 package de.zeroco.service;
 
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.config.CacheConfig;
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.exception.InvalidRequestException;
 import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.exception.StaleVersionException;
 import de.zeroco.model.Department;
 import de.zeroco.repository.DepartmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class DepartmentService {
 
+    private static final Map<String, MergePatch.Field> PATCHABLE_FIELDS = Map.of(
+            "name", MergePatch.text(100, true),
+            "location", MergePatch.text(100, false));
+
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private AuditEntityListener auditEntityListener;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENT_LIST, key = "'all'")
     @Transactional(readOnly = true)
-    public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+    public List<DepartmentResponse> getAllDepartments() {
+        return departmentRepository.findAll().stream()
+                .map(DepartmentResponse::from)
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public Page<Department> getAllDepartments(Pageable pageable) {
-        return departmentRepository.findAll(pageable);
+    public Page<DepartmentResponse> getAllDepartments(Pageable pageable) {
+        return departmentRepository.findAll(pageable).map(DepartmentResponse::from);
     }
 
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "#id")
     @Transactional(readOnly = true)
-    public Department getDepartmentById(Long id) {
-        return departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+    public DepartmentResponse getDepartmentById(Long id) {
+        return DepartmentResponse.from(findDepartment(id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true)
     @Transactional
-    public Department createDepartment(Department department) {
+    public DepartmentResponse createDepartment(Department department) {
         Optional<Department> existingDepartmentByName = departmentRepository.findByName(department.getName());
         if (existingDepartmentByName.isPresent()) {
-            throw new IllegalArgumentException("Department with name '" + department.getName() + "' already exists.");
+            throw new InvalidRequestException("Department with name '" + department.getName() + "' already exists.");
         }
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        typeaheadService.indexDepartment(savedDepartment);
+        DepartmentResponse response = DepartmentResponse.from(savedDepartment);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityChangedEvent.Type.DEPARTMENT, response.getId(), response.getVersion(), response));
+        return response;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true)
+    })
     @Transactional
-    public Department updateDepartment(Long id, Department departmentDetails) {
-        Department existingDepartment = getDepartmentById(id); // Throws ResourceNotFoundException if not found
+    public DepartmentResponse updateDepartment(Long id, Department departmentDetails) {
+        Department existingDepartment = findDepartment(id); // Throws ResourceNotFoundException if not found
+
+        // A version in the request means "update only if nobody changed it since"; Hibernate re-checks it on flush
+        if (departmentDetails.getVersion() != null && !departmentDetails.getVersion().equals(existingDepartment.getVersion())) {
+            throw new StaleVersionException(Department.class, id);
+        }
 
         // Check if the new name is different and if it already exists for another department
         if (!existingDepartment.getName().equals(departmentDetails.getName())) {
             Optional<Department> departmentByNewName = departmentRepository.findByName(departmentDetails.getName());
             if (departmentByNewName.isPresent() && !departmentByNewName.get().getId().equals(existingDepartment.getId())) {
-                throw new IllegalArgumentException("Department name '" + departmentDetails.getName() + "' is already in use by another department.");
+                throw new InvalidRequestException("Department name '" + departmentDetails.getName() + "' is already in use by another department.");
             }
             existingDepartment.setName(departmentDetails.getName());
         }
 
         existingDepartment.setLocation(departmentDetails.getLocation());
 
-        return departmentRepository.save(existingDepartment);
+        // Flushed so the response carries the incremented version
+        Department savedDepartment = departmentRepository.saveAndFlush(existingDepartment);
+        typeaheadService.indexDepartment(savedDepartment);
+        DepartmentResponse response = DepartmentResponse.from(savedDepartment);
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityChangedEvent.Type.DEPARTMENT, id, response.getVersion(), response));
+        return response;
+    }
+
+    /**
+     * Applies a JSON Merge Patch with one version-guarded {@code UPDATE}, without loading the department. With
+     * {@code app.audit.patch-previous-values} the patched columns are read and locked first for the audit log, one
+     * statement more. A taken name is reported by the unique constraint.
+     *
+     * @param ifMatchVersion version from the {@code If-Match} header, {@code null} if none was sent
+     * @return the new version, or {@code null} if the patch was applied unconditionally
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true)
+    })
+    @Transactional
+    public Long patchDepartment(Long id, Map<String, Object> patch, Long ifMatchVersion) {
+        Long expectedVersion = MergePatch.expectedVersion(patch, ifMatchVersion, Department.class, id);
+        Map<String, Object> changes = MergePatch.changes(patch, PATCHABLE_FIELDS);
+        String newName = (String) changes.get("name");
+
+        Map<String, Object> previous = Map.of();
+        if (auditEntityListener.recordsPatchPreviousValues()) {
+            // Locks the row: the values read are the ones the UPDATE replaces
+            previous = departmentRepository.lockCurrentValues(id, changes.keySet())
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+        }
+        int updated;
+        try {
+            updated = departmentRepository.patch(id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            // uk_departments_name is the only unique constraint a patch can violate
+            throw new InvalidRequestException("Department name '" + newName + "' is already in use by another department.");
+        }
+        if (updated == 0) {
+            if (!departmentRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Department not found with id: " + id);
+            }
+            throw new StaleVersionException(Department.class, id);
+        }
+        auditEntityListener.recordPatch(Department.class, id, previous, changes);
+        if (newName != null) {
+            typeaheadService.indexDepartment(id, newName);
+        }
+        Long newVersion = expectedVersion == null ? null : expectedVersion + 1;
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityChangedEvent.Type.DEPARTMENT, id, newVersion, null));
+        return newVersion;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true)
+    })
     @Transactional
     public void deleteDepartment(Long id) {
-        Department existingDepartment = getDepartmentById(id); // Throws ResourceNotFoundException if not found
+        Department existingDepartment = findDepartment(id); // Throws ResourceNotFoundException if not found
         departmentRepository.delete(existingDepartment);
+        typeaheadService.removeDepartment(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.Type.DEPARTMENT, id));
+    }
+
+    private Department findDepartment(Long id) {
+        return departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
     }
 }
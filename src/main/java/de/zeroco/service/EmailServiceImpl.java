@@ -1,13 +1,17 @@
 package de.zeroco.service;
 
 import de.zeroco.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.env.Environment;
 import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,13 +21,20 @@ public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender javaMailSender;
     private final Environment env;
+    private final Counter registrationSent;
+    private final Counter registrationFailed;
 
+    // Lazy proxy: the mail sender is only resolved for the first e-mail (see StartupConfig)
     @Autowired
-    public EmailServiceImpl(JavaMailSender javaMailSender, Environment env) {
+    public EmailServiceImpl(@Lazy JavaMailSender javaMailSender, Environment env, MeterRegistry meterRegistry) {
         this.javaMailSender = javaMailSender;
         this.env = env;
+        this.registrationSent = dispatchCounter(meterRegistry, "registration", "sent");
+        this.registrationFailed = dispatchCounter(meterRegistry, "registration", "failed");
     }
 
+    // Sent off the request thread: the SMTP round trip no longer holds the caller's thread and DB connection
+    @Async
     @Override
     public void sendRegistrationConfirmationEmail(User user) {
         SimpleMailMessage message = new SimpleMailMessage();
@@ -35,10 +46,20 @@ public class EmailServiceImpl implements EmailService {
 
         try {
             javaMailSender.send(message);
+            registrationSent.increment();
             logger.info("Registration confirmation email sent successfully to {}", user.getEmail());
         } catch (MailException e) {
+            registrationFailed.increment();
             logger.error("Failed to send registration confirmation email to {}: {}", user.getEmail(), e.getMessage());
             // Optionally, rethrow a custom exception or handle accordingly
         }
     }
+
+    private static Counter dispatchCounter(MeterRegistry meterRegistry, String type, String outcome) {
+        return Counter.builder("email.dispatch")
+                .description("E-mails handed to the SMTP server, by outcome")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -1,52 +1,116 @@
 package de.zeroco.service;
 
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.config.CacheConfig;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.dto.EmployeeSearchCriteria;
+import de.zeroco.exception.InvalidRequestException;
 import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.exception.StaleVersionException;
 import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
 import de.zeroco.repository.EmployeeRepository;
+import de.zeroco.repository.EmployeeSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EmployeeService {
 
+    private static final Map<String, MergePatch.Field> PATCHABLE_FIELDS = Map.of(
+            "firstName", MergePatch.text(50, true),
+            "lastName", MergePatch.text(50, true),
+            "email", MergePatch.text(100, true),
+            "phoneNumber", MergePatch.text(20, false),
+            "hireDate", MergePatch.date(),
+            "jobTitle", MergePatch.text(100, false),
+            "salary", MergePatch.decimal());
+
+    private static final Set<String> NAME_FIELDS = Set.of("firstName", "lastName");
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private AuditEntityListener auditEntityListener;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Transactional(readOnly = true)
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public List<EmployeeResponse> getAllEmployees() {
+        return employeeRepository.findAll().stream()
+                .map(EmployeeResponse::from)
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public Page<Employee> getAllEmployees(Pageable pageable) {
-        return employeeRepository.findAll(pageable);
+    public Page<EmployeeResponse> getAllEmployees(Pageable pageable) {
+        return employeeRepository.findAll(pageable).map(EmployeeResponse::from);
     }
 
     @Transactional(readOnly = true)
-    public Employee getEmployeeById(Long id) {
-        return employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    public Page<EmployeeResponse> searchEmployees(EmployeeSearchCriteria criteria, Pageable pageable) {
+        if (criteria.getHireDateFrom() != null && criteria.getHireDateTo() != null
+                && criteria.getHireDateFrom().isAfter(criteria.getHireDateTo())) {
+            throw new InvalidRequestException("hireDateFrom must not be after hireDateTo.");
+        }
+        if (criteria.getMinSalary() != null && criteria.getMaxSalary() != null
+                && criteria.getMinSalary() > criteria.getMaxSalary()) {
+            throw new InvalidRequestException("minSalary must not be greater than maxSalary.");
+        }
+        return employeeRepository.findAll(EmployeeSpecifications.matching(criteria), pageable).map(EmployeeResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public EmployeeResponse getEmployeeById(Long id) {
+        return EmployeeResponse.from(findEmployee(id));
     }
 
     @Transactional
-    public Employee createEmployee(Employee employee) {
+    public EmployeeResponse createEmployee(Employee employee) {
         // Check if email already exists
         Optional<Employee> existingEmployeeByEmail = employeeRepository.findByEmail(employee.getEmail());
         if (existingEmployeeByEmail.isPresent()) {
-            throw new IllegalArgumentException("Employee with email " + employee.getEmail() + " already exists.");
+            throw new InvalidRequestException("Employee with email " + employee.getEmail() + " already exists.");
         }
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        typeaheadService.indexEmployee(savedEmployee);
+        EmployeeResponse response = EmployeeResponse.from(savedEmployee);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityChangedEvent.Type.EMPLOYEE, response.getId(), response.getVersion(), response));
+        return response;
     }
 
     @Transactional
-    public Employee updateEmployee(Long id, Employee employeeDetails) {
-        Employee existingEmployee = getEmployeeById(id); // This will throw ResourceNotFoundException if not found
+    public EmployeeResponse updateEmployee(Long id, Employee employeeDetails) {
+        Employee existingEmployee = findEmployee(id); // This will throw ResourceNotFoundException if not found
+
+        // A version in the request means "update only if nobody changed it since"; Hibernate re-checks it on flush
+        if (employeeDetails.getVersion() != null && !employeeDetails.getVersion().equals(existingEmployee.getVersion())) {
+            throw new StaleVersionException(Employee.class, id);
+        }
 
         // Update fields
         existingEmployee.setFirstName(employeeDetails.getFirstName());
@@ -56,7 +120,7 @@ public class EmployeeService {
         if (!existingEmployee.getEmail().equals(employeeDetails.getEmail())) {
             Optional<Employee> employeeByNewEmail = employeeRepository.findByEmail(employeeDetails.getEmail());
             if (employeeByNewEmail.isPresent() && !employeeByNewEmail.get().getId().equals(existingEmployee.getId())) {
-                throw new IllegalArgumentException("Email " + employeeDetails.getEmail() + " is already in use by another employee.");
+                throw new InvalidRequestException("Email " + employeeDetails.getEmail() + " is already in use by another employee.");
             }
             existingEmployee.setEmail(employeeDetails.getEmail());
         }
@@ -66,12 +130,122 @@ public class EmployeeService {
         existingEmployee.setJobTitle(employeeDetails.getJobTitle());
         existingEmployee.setSalary(employeeDetails.getSalary());
 
-        return employeeRepository.save(existingEmployee);
+        // Flushed so the response carries the incremented version
+        Employee savedEmployee = employeeRepository.saveAndFlush(existingEmployee);
+        typeaheadService.indexEmployee(savedEmployee);
+        evictCachedProjects(savedEmployee);
+        EmployeeResponse response = EmployeeResponse.from(savedEmployee);
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityChangedEvent.Type.EMPLOYEE, id, response.getVersion(), response));
+        return response;
+    }
+
+    /**
+     * Applies a JSON Merge Patch with one version-guarded {@code UPDATE}, without loading the employee. The columns
+     * the patch needs the current values of are read and locked first, one statement more: the patched ones with
+     * {@code app.audit.patch-previous-values} (for the audit log), and both names if one changes (for the
+     * typeahead). A taken email is reported by the unique constraint.
+     *
+     * @param ifMatchVersion version from the {@code If-Match} header, {@code null} if none was sent
+     * @return the new version, or {@code null} if the patch was applied unconditionally
+     */
+    @Transactional
+    public Long patchEmployee(Long id, Map<String, Object> patch, Long ifMatchVersion) {
+        Long expectedVersion = MergePatch.expectedVersion(patch, ifMatchVersion, Employee.class, id);
+        Map<String, Object> changes = MergePatch.changes(patch, PATCHABLE_FIELDS);
+        boolean nameChanged = changes.containsKey("firstName") || changes.containsKey("lastName");
+
+        Set<String> read = new HashSet<>();
+        if (auditEntityListener.recordsPatchPreviousValues()) {
+            read.addAll(changes.keySet());
+        }
+        if (nameChanged) {
+            read.addAll(NAME_FIELDS);
+        }
+        Map<String, Object> previous = Map.of();
+        if (!read.isEmpty()) {
+            // Locks the row: the values read are the ones the UPDATE replaces
+            previous = employeeRepository.lockCurrentValues(id, read)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+        }
+        int updated;
+        try {
+            updated = employeeRepository.patch(id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            // uk_employees_email is the only unique constraint a patch can violate
+            throw new InvalidRequestException("Email " + changes.get("email") + " is already in use by another employee.");
+        }
+        if (updated == 0) {
+            if (!employeeRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Employee not found with id: " + id);
+            }
+            throw new StaleVersionException(Employee.class, id);
+        }
+        auditEntityListener.recordPatch(Employee.class, id, previous, changes);
+        if (nameChanged) {
+            typeaheadService.indexEmployee(id, changes.getOrDefault("firstName", previous.get("firstName"))
+                    + " " + changes.getOrDefault("lastName", previous.get("lastName")));
+        }
+        evictCachedProjectsListing(id);
+        Long newVersion = expectedVersion == null ? null : expectedVersion + 1;
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityChangedEvent.Type.EMPLOYEE, id, newVersion, null));
+        return newVersion;
     }
 
     @Transactional
     public void deleteEmployee(Long id) {
-        Employee existingEmployee = getEmployeeById(id); // This will throw ResourceNotFoundException if not found
+        Employee existingEmployee = findEmployee(id); // This will throw ResourceNotFoundException if not found
+        evictCachedProjects(existingEmployee);
         employeeRepository.delete(existingEmployee);
+        typeaheadService.removeEmployee(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.Type.EMPLOYEE, id));
+    }
+
+    private Employee findEmployee(Long id) {
+        return employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    }
+
+    // Cached project views embed their members, so only the projects of this employee go stale
+    private void evictCachedProjects(Employee employee) {
+        if (employee.getProjects() != null) {
+            evictCachedProjects(employee.getProjects().stream().map(Project::getId).toList());
+        }
+    }
+
+    // Without the loaded employee its projects are not known; the cached views listing it are found by scanning the
+    // cache once the transaction has committed, like the deferred evictions
+    private void evictCachedProjectsListing(Long employeeId) {
+        Cache projects = cacheManager.getCache(CacheConfig.PROJECTS);
+        if (projects == null) {
+            return;
+        }
+        Runnable evict = () -> {
+            if (projects.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+                cache.asMap().values().removeIf(value -> value instanceof ProjectResponse project
+                        && project.getEmployees().stream().anyMatch(member -> employeeId.equals(member.getId())));
+            } else {
+                projects.clear();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private void evictCachedProjects(List<Long> projectIds) {
+        Cache projects = cacheManager.getCache(CacheConfig.PROJECTS);
+        if (projects == null) {
+            return;
+        }
+        for (Long projectId : projectIds) {
+            projects.evict(projectId);
+        }
     }
 }
@@ -0,0 +1,54 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.EntityChangeAuditResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.repository.EntityChangeAuditRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+/**
+ * Queries over the change audit log written by {@code de.zeroco.audit}. Filters are limited to the combinations the
+ * indexes of {@code entity_change_audit} serve: one entity (type and id), one entity type, one user, or none.
+ * Events reach the table asynchronously, a change shows up shortly after its commit.
+ */
+@Service
+public class EntityChangeAuditService {
+
+    private static final Set<String> ENTITY_TYPES = Set.of(
+            Employee.class.getSimpleName(), Project.class.getSimpleName(), Department.class.getSimpleName());
+
+    @Autowired
+    private EntityChangeAuditRepository auditRepository;
+
+    @Transactional(readOnly = true)
+    public Page<EntityChangeAuditResponse> getChanges(String entityType, Long entityId, String changedBy, Pageable pageable) {
+        if (entityType != null && !ENTITY_TYPES.contains(entityType)) {
+            throw new InvalidRequestException("entityType must be one of " + String.join(", ", ENTITY_TYPES.stream().sorted().toList()) + ".");
+        }
+        if (entityId != null && entityType == null) {
+            throw new InvalidRequestException("entityId requires entityType.");
+        }
+        if (changedBy != null && entityType != null) {
+            throw new InvalidRequestException("changedBy cannot be combined with entityType.");
+        }
+
+        if (entityId != null) {
+            return auditRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable).map(EntityChangeAuditResponse::from);
+        }
+        if (entityType != null) {
+            return auditRepository.findByEntityType(entityType, pageable).map(EntityChangeAuditResponse::from);
+        }
+        if (changedBy != null) {
+            return auditRepository.findByChangedBy(changedBy, pageable).map(EntityChangeAuditResponse::from);
+        }
+        return auditRepository.findAll(pageable).map(EntityChangeAuditResponse::from);
+    }
+}
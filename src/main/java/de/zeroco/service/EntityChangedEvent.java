@@ -0,0 +1,63 @@
+package de.zeroco.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonValue;
+import de.zeroco.dto.ProjectResponse;
+
+import java.util.Locale;
+
+/**
+ * Published by {@link EmployeeService}, {@link ProjectService} and {@link DepartmentService} inside the transaction of
+ * every create, update, delete and assignment, by {@link BulkOperationService} for every row a bulk operation changes,
+ * and by {@link ProjectArchiveService} when a finished project is moved to or back from the archive. Listeners that
+ * act on committed changes only use {@code @TransactionalEventListener}.
+ *
+ * @param version    version after the change; {@code null} for deletes, archivals and unconditional patches
+ * @param employeeId the assigned or released employee of an assignment event, whose {@code id} is the project
+ * @param data       the response view after the change if the service built one (creates, updates, assignments,
+ *                   restores)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EntityChangedEvent(Type type, Action action, Long id, Long version, Long employeeId, Object data) {
+
+    public enum Type {
+        EMPLOYEE, PROJECT, DEPARTMENT;
+
+        @JsonValue
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED, ASSIGNED, UNASSIGNED, ARCHIVED, RESTORED
+    }
+
+    public static EntityChangedEvent created(Type type, Long id, Long version, Object data) {
+        return new EntityChangedEvent(type, Action.CREATED, id, version, null, data);
+    }
+
+    public static EntityChangedEvent updated(Type type, Long id, Long version, Object data) {
+        return new EntityChangedEvent(type, Action.UPDATED, id, version, null, data);
+    }
+
+    public static EntityChangedEvent deleted(Type type, Long id) {
+        return new EntityChangedEvent(type, Action.DELETED, id, null, null, null);
+    }
+
+    public static EntityChangedEvent assigned(ProjectResponse project, Long employeeId) {
+        return new EntityChangedEvent(Type.PROJECT, Action.ASSIGNED, project.getId(), project.getVersion(), employeeId, project);
+    }
+
+    public static EntityChangedEvent unassigned(ProjectResponse project, Long employeeId) {
+        return new EntityChangedEvent(Type.PROJECT, Action.UNASSIGNED, project.getId(), project.getVersion(), employeeId, project);
+    }
+
+    public static EntityChangedEvent archived(Long projectId) {
+        return new EntityChangedEvent(Type.PROJECT, Action.ARCHIVED, projectId, null, null, null);
+    }
+
+    public static EntityChangedEvent restored(ProjectResponse project) {
+        return new EntityChangedEvent(Type.PROJECT, Action.RESTORED, project.getId(), project.getVersion(), null, project);
+    }
+}
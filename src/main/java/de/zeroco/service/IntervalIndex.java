@@ -0,0 +1,339 @@
+package de.zeroco.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory interval tree of date ranges by entity id, answering "which ranges overlap [from, to]".
+ * <p>
+ * Ranges are closed (both dates inclusive) and kept in an AVL tree ordered by start date and id; every node also
+ * holds the latest end date of its subtree, so subtrees that end before {@code from} or start after {@code to} are
+ * skipped. An overlap query takes O(log n) per returned id, a put or remove O(log n). A missing start or end date
+ * leaves that side of the range unbounded.
+ */
+public class IntervalIndex {
+
+    private static final long[] NO_IDS = new long[0];
+
+    /**
+     * One indexed range; {@code null} dates are unbounded.
+     */
+    public record Interval(long id, LocalDate start, LocalDate end) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node root;
+    private Map<Long, Node> nodes = new HashMap<>();
+
+    /**
+     * Adds or replaces the range of the given id.
+     */
+    public void put(long id, LocalDate start, LocalDate end) {
+        Node node = new Node(id, startDay(start), endDay(end));
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.put(id, node);
+            if (previous != null) {
+                root = delete(root, previous.start, id);
+            }
+            root = insert(root, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.remove(id);
+            if (previous != null) {
+                root = delete(root, previous.start, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index content in one step. The new tree is built bottom-up from the sorted ranges outside
+     * the lock.
+     */
+    public void replaceAll(List<Interval> intervals) {
+        Node[] sorted = new Node[intervals.size()];
+        Map<Long, Node> newNodes = new HashMap<>(Math.max(16, intervals.size() * 4 / 3 + 1));
+        int size = 0;
+        for (Interval interval : intervals) {
+            Node node = new Node(interval.id(), startDay(interval.start()), endDay(interval.end()));
+            if (newNodes.put(node.id, node) == null) {
+                sorted[size++] = node;
+            }
+        }
+        Arrays.sort(sorted, 0, size, Comparator.<Node>comparingLong(node -> node.start).thenComparingLong(node -> node.id));
+        Node newRoot = build(sorted, 0, size - 1);
+
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            nodes = newNodes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of all ranges overlapping {@code [from, to]}, ordered by start date and id.
+     *
+     * @param from first day of the window, {@code null} for unbounded
+     * @param to   last day of the window, {@code null} for unbounded
+     */
+    public long[] overlapping(LocalDate from, LocalDate to) {
+        long fromDay = startDay(from);
+        long toDay = endDay(to);
+        if (fromDay > toDay) {
+            return NO_IDS;
+        }
+        lock.readLock().lock();
+        try {
+            Collector collector = new Collector();
+            collect(root, fromDay, toDay, collector);
+            return collector.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the range of the id overlaps {@code [from, to]}; {@code false} if it is not indexed.
+     */
+    public boolean overlaps(long id, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(id);
+            return node != null && node.start <= endDay(to) && node.end >= startDay(from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The range of the id, {@code null} if it is not indexed.
+     */
+    public Interval get(long id) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(id);
+            return node == null ? null : new Interval(id, toDate(node.start), toDate(node.end));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // In order, so the ids come out sorted by (start, id)
+    private static void collect(Node node, long fromDay, long toDay, Collector collector) {
+        while (node != null && node.maxEnd >= fromDay) {
+            collect(node.left, fromDay, toDay, collector);
+            if (node.start > toDay) {
+                return; // This node and everything to its right start too late
+            }
+            if (node.end >= fromDay) {
+                collector.add(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added.reset();
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node build(Node[] sorted, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        Node node = sorted[mid];
+        node.left = build(sorted, low, mid - 1);
+        node.right = build(sorted, mid + 1, high);
+        update(node);
+        return node;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static long startDay(LocalDate date) {
+        return date == null ? Long.MIN_VALUE : date.toEpochDay();
+    }
+
+    private static long endDay(LocalDate date) {
+        return date == null ? Long.MAX_VALUE : date.toEpochDay();
+    }
+
+    private static LocalDate toDate(long day) {
+        return day == Long.MIN_VALUE || day == Long.MAX_VALUE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    private static final class Node {
+
+        final long id;
+        final long start;
+        final long end;
+        long maxEnd;
+        int height;
+        Node left;
+        Node right;
+
+        Node(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            reset();
+        }
+
+        Node reset() {
+            left = null;
+            right = null;
+            height = 1;
+            maxEnd = end;
+            return this;
+        }
+    }
+
+    private static final class Collector {
+
+        private long[] ids = new long[16];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toArray() {
+            return size == 0 ? NO_IDS : Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package de.zeroco.service;
+
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.StaleVersionException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396) support for the flat entities of this application.
+ * <p>
+ * A patch is the parsed JSON object: members that are present are changed, {@code null} clears a value and
+ * absent members are left alone. Each entity declares which attributes may be patched and how a JSON value
+ * is converted; anything else in the patch is rejected with an {@link InvalidRequestException}.
+ */
+public final class MergePatch {
+
+    public static final String VERSION = "version";
+
+    /**
+     * Converts the JSON value of one patched attribute, throwing {@link InvalidRequestException} if it is invalid.
+     */
+    @FunctionalInterface
+    public interface Field {
+        Object convert(String name, Object value);
+    }
+
+    private MergePatch() {
+    }
+
+    public static Field text(int maxLength, boolean required) {
+        return (name, value) -> {
+            if (value == null) {
+                if (required) {
+                    throw new InvalidRequestException("Field '" + name + "' cannot be null.");
+                }
+                return null;
+            }
+            if (!(value instanceof String text)) {
+                throw new InvalidRequestException("Field '" + name + "' must be a string.");
+            }
+            if (required && text.isBlank()) {
+                throw new InvalidRequestException("Field '" + name + "' cannot be blank.");
+            }
+            if (text.length() > maxLength) {
+                throw new InvalidRequestException("Field '" + name + "' must be at most " + maxLength + " characters.");
+            }
+            return text;
+        };
+    }
+
+    public static Field date() {
+        return (name, value) -> {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value.toString());
+            } catch (DateTimeParseException ex) {
+                throw new InvalidRequestException("Field '" + name + "' must be an ISO date (yyyy-MM-dd).");
+            }
+        };
+    }
+
+    public static Field decimal() {
+        return (name, value) -> {
+            if (value == null) {
+                return null;
+            }
+            if (!(value instanceof Number number)) {
+                throw new InvalidRequestException("Field '" + name + "' must be a number.");
+            }
+            return number.doubleValue();
+        };
+    }
+
+    /**
+     * Returns the converted attribute values of the patch, in patch order. {@code version} is not an attribute
+     * change, see {@link #expectedVersion(Map, Long, Class, Long)}.
+     */
+    public static Map<String, Object> changes(Map<String, Object> patch, Map<String, Field> fields) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> member : patch.entrySet()) {
+            if (VERSION.equals(member.getKey())) {
+                continue;
+            }
+            Field field = fields.get(member.getKey());
+            if (field == null) {
+                throw new InvalidRequestException("Field '" + member.getKey() + "' cannot be patched.");
+            }
+            changes.put(member.getKey(), field.convert(member.getKey(), member.getValue()));
+        }
+        if (changes.isEmpty()) {
+            throw new InvalidRequestException("The patch does not change any field.");
+        }
+        return changes;
+    }
+
+    /**
+     * The version the client based its patch on: the {@code If-Match} version if given, otherwise a
+     * {@code version} member of the patch, otherwise {@code null} (unconditional update).
+     *
+     * @return {@code null} or the expected version
+     * @throws InvalidRequestException if the version member is not a number
+     * @throws StaleVersionException   if header and body disagree, so one of them is outdated
+     */
+    public static Long expectedVersion(Map<String, Object> patch, Long ifMatchVersion, Class<?> entityType, Long id) {
+        Object bodyVersion = patch.get(VERSION);
+        if (bodyVersion == null) {
+            return ifMatchVersion;
+        }
+        if (!(bodyVersion instanceof Number number)) {
+            throw new InvalidRequestException("Field 'version' must be a number.");
+        }
+        if (ifMatchVersion != null && ifMatchVersion != number.longValue()) {
+            throw new StaleVersionException(entityType, id);
+        }
+        return number.longValue();
+    }
+}
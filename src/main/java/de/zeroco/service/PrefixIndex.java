@@ -0,0 +1,324 @@
+package de.zeroco.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Compact in-memory prefix index mapping normalized name tokens to entity ids.
+ * <p>
+ * Entries are kept as two parallel arrays ({@code tokens} / {@code ids}) sorted by token and then id,
+ * so a prefix lookup is a binary search followed by a linear scan of the matching range. Lookups write
+ * into a caller supplied {@code long[]} and do not allocate. Equal tokens share a single String instance.
+ * <p>
+ * Writes (put/remove) shift the arrays and are O(n); they are expected to be rare compared to lookups.
+ */
+public class PrefixIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final String[] NO_TOKENS = new String[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private String[] tokens = new String[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // Display name and normalized name per indexed id
+    private Map<Long, String[]> names = new HashMap<>();
+
+    /**
+     * Lower-cases the value and strips diacritics, e.g. "Ménard" becomes "menard".
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits an already normalized value into its letter/digit tokens.
+     */
+    public static String[] tokenize(String normalized) {
+        if (normalized == null || normalized.isEmpty()) {
+            return NO_TOKENS;
+        }
+        List<String> result = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return result.toArray(NO_TOKENS);
+    }
+
+    /**
+     * Adds or replaces the entry for the given id.
+     */
+    public void put(long id, String name) {
+        String normalized = normalize(name);
+        String[] newTokens = tokenize(normalized);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            for (String token : newTokens) {
+                insert(token, id);
+            }
+            names.put(id, new String[]{name, normalized});
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index content in one step. The new arrays are built and sorted outside the lock.
+     */
+    public void replaceAll(Map<Long, String> entries) {
+        Map<Long, String[]> newNames = new HashMap<>(Math.max(16, entries.size() * 4 / 3 + 1));
+        Map<String, String> pool = new HashMap<>();
+        List<Object[]> pairs = new ArrayList<>(entries.size() * 2);
+        for (Map.Entry<Long, String> entry : entries.entrySet()) {
+            String normalized = normalize(entry.getValue());
+            for (String token : tokenize(normalized)) {
+                pairs.add(new Object[]{pool.computeIfAbsent(token, t -> t), entry.getKey()});
+            }
+            newNames.put(entry.getKey(), new String[]{entry.getValue(), normalized});
+        }
+        pairs.sort((a, b) -> {
+            int cmp = ((String) a[0]).compareTo((String) b[0]);
+            return cmp != 0 ? cmp : Long.compare((Long) a[1], (Long) b[1]);
+        });
+
+        int capacity = Math.max(INITIAL_CAPACITY, pairs.size());
+        String[] newTokens = new String[capacity];
+        long[] newIds = new long[capacity];
+        for (int i = 0; i < pairs.size(); i++) {
+            newTokens[i] = (String) pairs.get(i)[0];
+            newIds[i] = (Long) pairs.get(i)[1];
+        }
+
+        lock.writeLock().lock();
+        try {
+            tokens = newTokens;
+            ids = newIds;
+            size = pairs.size();
+            names = newNames;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds ids whose name contains a token starting with every one of the given query tokens.
+     * The most selective (longest) query token drives the range scan, the others are checked against
+     * the stored normalized name.
+     *
+     * @param queryTokens normalized query tokens, see {@link #tokenize(String)}
+     * @param out         receives distinct matching ids, at most {@code out.length}
+     * @return number of ids written to {@code out}
+     */
+    public int search(String[] queryTokens, long[] out) {
+        if (queryTokens.length == 0 || out.length == 0) {
+            return 0;
+        }
+        String primary = queryTokens[0];
+        for (String token : queryTokens) {
+            if (token.length() > primary.length()) {
+                primary = token;
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            int found = 0;
+            for (int i = lowerBound(primary, Long.MIN_VALUE); i < size && found < out.length; i++) {
+                if (!tokens[i].startsWith(primary)) {
+                    break;
+                }
+                long id = ids[i];
+                if (!contains(out, found, id) && matchesAll(id, queryTokens, primary)) {
+                    out[found++] = id;
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the display name stored for the id, or {@code null} if it is not indexed.
+     */
+    public String name(long id) {
+        lock.readLock().lock();
+        try {
+            String[] entry = names.get(id);
+            return entry != null ? entry[0] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int entryCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int idCount() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough retained heap size in bytes, assuming compressed oops and compact (Latin-1) strings.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 16L + 4L * tokens.length + 16L + 8L * ids.length;
+            Map<String, Boolean> seen = new IdentityHashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (seen.put(tokens[i], Boolean.TRUE) == null) {
+                    bytes += stringBytes(tokens[i]);
+                }
+            }
+            for (String[] entry : names.values()) {
+                // HashMap node + boxed key + holder array + both strings
+                bytes += 32 + 16 + 24 + stringBytes(entry[0]) + stringBytes(entry[1]);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 24L + 16L + value.length();
+    }
+
+    private boolean matchesAll(long id, String[] queryTokens, String primary) {
+        if (queryTokens.length == 1) {
+            return true;
+        }
+        String[] entry = names.get(id);
+        if (entry == null) {
+            return false;
+        }
+        for (String token : queryTokens) {
+            if (token != primary && !hasTokenWithPrefix(entry[1], token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Checks whether a word in the normalized name starts with the prefix, without splitting the name
+    private static boolean hasTokenWithPrefix(String normalizedName, String prefix) {
+        int from = 0;
+        while ((from = normalizedName.indexOf(prefix, from)) >= 0) {
+            if (from == 0 || !Character.isLetterOrDigit(normalizedName.charAt(from - 1))) {
+                return true;
+            }
+            from++;
+        }
+        return false;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeInternal(long id) {
+        String[] previous = names.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : tokenize(previous[1])) {
+            int index = lowerBound(token, id);
+            if (index < size && ids[index] == id && tokens[index].equals(token)) {
+                System.arraycopy(tokens, index + 1, tokens, index, size - index - 1);
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                tokens[--size] = null;
+            }
+        }
+    }
+
+    private void insert(String token, long id) {
+        int index = lowerBound(token, id);
+        if (index < size && ids[index] == id && tokens[index].equals(token)) {
+            return; // same token twice in one name
+        }
+        if (size == tokens.length) {
+            int capacity = tokens.length + (tokens.length >> 1);
+            tokens = Arrays.copyOf(tokens, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        // Share the String instance with an equal neighbouring token
+        if (index < size && tokens[index].equals(token)) {
+            token = tokens[index];
+        } else if (index > 0 && tokens[index - 1].equals(token)) {
+            token = tokens[index - 1];
+        }
+        System.arraycopy(tokens, index, tokens, index + 1, size - index);
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        tokens[index] = token;
+        ids[index] = id;
+        size++;
+    }
+
+    // First position whose (token, id) is >= the given pair
+    private int lowerBound(String token, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = tokens[mid].compareTo(token);
+            if (cmp == 0) {
+                cmp = Long.compare(ids[mid], id);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,156 @@
+package de.zeroco.service;
+
+import de.zeroco.config.CacheConfig;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.model.ArchivedProject;
+import de.zeroco.model.Project;
+import de.zeroco.repository.ArchivedProjectRepository;
+import de.zeroco.repository.ArchivedProjectRepositoryCustom.ProjectRef;
+import de.zeroco.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cold storage for finished projects. Archived projects and their assignments live in {@code projects_archive} and
+ * {@code project_employee_archive}; {@link ProjectService} and the default project endpoints only see active
+ * projects. Archived ones are read through the {@code includeArchived} paths here and can be restored.
+ */
+@Service
+public class ProjectArchiveService {
+
+    // API sort property -> column; the columns indexed in both tables
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id", "name", "name", "startDate", "start_date", "endDate", "end_date");
+
+    @Autowired
+    private ArchivedProjectRepository archivedProjectRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ProjectCalendarService projectCalendarService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Archives up to {@code limit} projects that ended before the given date, in one short transaction; called
+     * repeatedly by {@code de.zeroco.archive.ProjectArchiver} until fewer come back.
+     *
+     * @return ids of the archived projects
+     */
+    @Transactional
+    public List<Long> archiveEndedProjects(LocalDate endedBefore, int limit) {
+        List<Long> archived = archivedProjectRepository.archiveEndedBefore(endedBefore, limit, LocalDateTime.now());
+        for (Long id : archived) {
+            typeaheadService.removeProject(id);
+            projectCalendarService.archiveProject(id);
+            eventPublisher.publishEvent(EntityChangedEvent.archived(id));
+        }
+        evictCachedProjects(archived);
+        return archived;
+    }
+
+    /**
+     * Moves an archived project and its assignments back to the active tables. Unless its end date is moved past
+     * the archival cut-off with {@code newEndDate}, the next archival run archives it again.
+     */
+    @Transactional
+    public ProjectResponse restoreProject(Long id, LocalDate newEndDate) {
+        ArchivedProject archived = archivedProjectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived project not found with id: " + id));
+        if (newEndDate != null && archived.getStartDate() != null && newEndDate.isBefore(archived.getStartDate())) {
+            throw new InvalidRequestException("endDate must not be before the start date " + archived.getStartDate() + ".");
+        }
+        if (projectRepository.findByName(archived.getName()).isPresent()) {
+            throw new InvalidRequestException("Project name '" + archived.getName() + "' is in use by an active project.");
+        }
+        if (!archivedProjectRepository.restore(id, newEndDate)) {
+            throw new ResourceNotFoundException("Archived project not found with id: " + id); // Restored concurrently
+        }
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+        typeaheadService.indexProject(project);
+        projectCalendarService.indexProject(project);
+        evictCachedProjects(List.of(id));
+        ProjectResponse response = ProjectResponse.from(project);
+        eventPublisher.publishEvent(EntityChangedEvent.restored(response));
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectResponse getProjectIncludingArchived(Long id) {
+        return projectRepository.findById(id).map(ProjectResponse::from)
+                .or(() -> archivedProjectRepository.findById(id).map(ProjectResponse::from))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+    }
+
+    /**
+     * Active and archived projects in one page, sorted by a single property (one of {@code id}, {@code name},
+     * {@code startDate}, {@code endDate}) and then by id.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProjectResponse> getProjectsIncludingArchived(Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        String column = SORT_COLUMNS.get(order.getProperty());
+        if (column == null) {
+            throw new InvalidRequestException("With includeArchived, sortBy must be one of "
+                    + String.join(", ", SORT_COLUMNS.keySet().stream().sorted().toList()) + ".");
+        }
+        List<ProjectRef> refs = archivedProjectRepository.findPageIncludingArchived(
+                column, order.isDescending(), pageable.getOffset(), pageable.getPageSize());
+
+        List<Long> activeIds = new ArrayList<>();
+        List<Long> archivedIds = new ArrayList<>();
+        for (ProjectRef ref : refs) {
+            (ref.archived() ? archivedIds : activeIds).add(ref.id());
+        }
+        Map<Long, ProjectResponse> active = projectRepository.findAllById(activeIds).stream()
+                .map(ProjectResponse::from)
+                .collect(Collectors.toMap(ProjectResponse::getId, Function.identity()));
+        Map<Long, ProjectResponse> archived = archivedProjectRepository.findAllById(archivedIds).stream()
+                .map(ProjectResponse::from)
+                .collect(Collectors.toMap(ProjectResponse::getId, Function.identity()));
+        List<ProjectResponse> content = refs.stream()
+                .map(ref -> (ref.archived() ? archived : active).get(ref.id()))
+                .filter(Objects::nonNull) // Moved between the two reads
+                .toList();
+        return new PageImpl<>(content, pageable, archivedProjectRepository.countIncludingArchived());
+    }
+
+    private void evictCachedProjects(List<Long> ids) {
+        Cache projects = cacheManager.getCache(CacheConfig.PROJECTS);
+        if (projects == null) {
+            return;
+        }
+        for (Long id : ids) {
+            projects.evict(id);
+        }
+    }
+}
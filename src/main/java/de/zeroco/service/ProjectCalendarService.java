@@ -0,0 +1,224 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.model.Project;
+import de.zeroco.repository.ArchivedProjectRepository;
+import de.zeroco.repository.DateRangeView;
+import de.zeroco.repository.EmployeeRepository;
+import de.zeroco.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Staffing calendar: projects whose date range overlaps a window, overall or for one employee. Archived projects are
+ * only included on request, like in the project lists.
+ * <p>
+ * Overlaps are answered by {@link IntervalIndex}es of the active and of the archived projects' date ranges, built
+ * once the application is ready and kept in sync by the create/update/delete paths of {@link ProjectService} and by
+ * {@link ProjectArchiveService}; like the typeahead indexes, changes are applied after the transaction commits.
+ * Until the indexes are built the overlap queries run against the database. Either way the matching projects are
+ * then loaded by id and their dates re-checked, so a change committed a moment ago is never reported with stale dates.
+ */
+@Service
+public class ProjectCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectCalendarService.class);
+
+    public static final int MAX_RESULTS = 1000;
+
+    private static final Comparator<ProjectResponse> BY_START_DATE = Comparator
+            .comparing(ProjectResponse::getStartDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(ProjectResponse::getId);
+
+    private final ProjectRepository projectRepository;
+    private final ArchivedProjectRepository archivedProjectRepository;
+    private final EmployeeRepository employeeRepository;
+
+    private final IntervalIndex index = new IntervalIndex();
+    private final IntervalIndex archivedIndex = new IntervalIndex();
+    private volatile boolean indexReady;
+
+    @Autowired
+    public ProjectCalendarService(ProjectRepository projectRepository, ArchivedProjectRepository archivedProjectRepository,
+                                  EmployeeRepository employeeRepository) {
+        this.projectRepository = projectRepository;
+        this.archivedProjectRepository = archivedProjectRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the interval indexes from the database.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        index.replaceAll(intervals(projectRepository.findAllDateRanges()));
+        archivedIndex.replaceAll(intervals(archivedProjectRepository.findAllDateRanges()));
+        indexReady = true;
+        logger.info("Project calendar index of {} projects and {} archived projects rebuilt in {} ms", index.size(),
+                archivedIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Projects running on at least one day of {@code [from, to]}, ordered by start date. Projects without a start or
+     * end date are open-ended on that side.
+     *
+     * @param includeArchived whether archived projects are included too
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getProjectsActiveBetween(LocalDate from, LocalDate to, boolean includeArchived) {
+        checkWindow(from, to);
+        List<Long> ids;
+        List<Long> archivedIds = List.of();
+        if (indexReady) {
+            ids = toList(index.overlapping(from, to));
+            if (includeArchived) {
+                archivedIds = toList(archivedIndex.overlapping(from, to));
+            }
+        } else {
+            ids = projectRepository.findIdsActiveBetween(from, to);
+            if (includeArchived) {
+                archivedIds = archivedProjectRepository.findIdsActiveBetween(from, to);
+            }
+        }
+        return load(ids, archivedIds, from, to);
+    }
+
+    /**
+     * Projects the employee is assigned to that run on at least one day of {@code [from, to]}, ordered by start date.
+     *
+     * @param includeArchived whether archived projects are included too
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getEmployeeProjectsBetween(Long employeeId, LocalDate from, LocalDate to,
+                                                            boolean includeArchived) {
+        checkWindow(from, to);
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with id: " + employeeId);
+        }
+        List<Long> ids = employeeRepository.findProjectIdsById(employeeId);
+        List<Long> archivedIds = includeArchived ? archivedProjectRepository.findIdsByEmployeeId(employeeId) : List.of();
+        if (indexReady) {
+            // Ids the index does not know yet were created a moment ago, their dates are checked after loading
+            ids = ids.stream().filter(id -> index.overlaps(id, from, to) || !index.contains(id)).toList();
+            archivedIds = archivedIds.stream()
+                    .filter(id -> archivedIndex.overlaps(id, from, to) || !archivedIndex.contains(id))
+                    .toList();
+        }
+        return load(ids, archivedIds, from, to);
+    }
+
+    public void indexProject(Project project) {
+        indexProject(project.getId(), project.getStartDate(), project.getEndDate());
+    }
+
+    // Also called for restored projects, which leave the archive
+    public void indexProject(Long id, LocalDate startDate, LocalDate endDate) {
+        if (id != null) {
+            afterCommit(() -> {
+                archivedIndex.remove(id);
+                index.put(id, startDate, endDate);
+            });
+        }
+    }
+
+    public void removeProject(Long id) {
+        if (id != null) {
+            afterCommit(() -> index.remove(id));
+        }
+    }
+
+    /**
+     * Moves the project to the archived projects, keeping its date range.
+     */
+    public void archiveProject(Long id) {
+        if (id != null) {
+            afterCommit(() -> {
+                IntervalIndex.Interval range = index.get(id);
+                if (range != null) {
+                    archivedIndex.put(id, range.start(), range.end());
+                    index.remove(id);
+                }
+            });
+        }
+    }
+
+    private List<ProjectResponse> load(List<Long> ids, List<Long> archivedIds, LocalDate from, LocalDate to) {
+        if (ids.size() + archivedIds.size() > MAX_RESULTS) {
+            throw new InvalidRequestException("More than " + MAX_RESULTS + " projects overlap " + from + " to " + to
+                    + ", narrow the date range.");
+        }
+        List<ProjectResponse> result = new ArrayList<>(ids.size() + archivedIds.size());
+        if (!ids.isEmpty()) {
+            projectRepository.findAllById(ids).stream().map(ProjectResponse::from).forEach(result::add);
+        }
+        if (!archivedIds.isEmpty()) {
+            archivedProjectRepository.findAllById(archivedIds).stream().map(ProjectResponse::from).forEach(result::add);
+        }
+        return result.stream()
+                .filter(project -> overlaps(project, from, to))
+                .sorted(BY_START_DATE)
+                .toList();
+    }
+
+    private static List<IntervalIndex.Interval> intervals(List<DateRangeView> ranges) {
+        List<IntervalIndex.Interval> intervals = new ArrayList<>(ranges.size());
+        for (DateRangeView range : ranges) {
+            intervals.add(new IntervalIndex.Interval(range.getId(), range.getStartDate(), range.getEndDate()));
+        }
+        return intervals;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private static boolean overlaps(ProjectResponse project, LocalDate from, LocalDate to) {
+        return (project.getStartDate() == null || !project.getStartDate().isAfter(to))
+                && (project.getEndDate() == null || !project.getEndDate().isBefore(from));
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new InvalidRequestException("from and to are required.");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("from must not be after to.");
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
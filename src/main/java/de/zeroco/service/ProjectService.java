@@ -1,49 +1,88 @@
 package de.zeroco.service;
 
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.config.CacheConfig;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.InvalidRequestException;
 import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.exception.StaleVersionException;
 import de.zeroco.model.Employee;
 import de.zeroco.model.Project;
 import de.zeroco.repository.EmployeeRepository;
 import de.zeroco.repository.ProjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProjectService {
 
+    private static final Map<String, MergePatch.Field> PATCHABLE_FIELDS = Map.of(
+            "name", MergePatch.text(100, true),
+            "description", MergePatch.text(65535, false),
+            "startDate", MergePatch.date(),
+            "endDate", MergePatch.date());
+
+    private static final Set<String> DATE_FIELDS = Set.of("startDate", "endDate");
+
     @Autowired
     private ProjectRepository projectRepository;
 
     @Autowired
     private EmployeeRepository employeeRepository; // For assigning/removing employees
 
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ProjectCalendarService projectCalendarService;
+
+    @Autowired
+    private AllocationConflictService allocationConflictService;
+
+    @Autowired
+    private AuditEntityListener auditEntityListener;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
-    public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+    public List<ProjectResponse> getAllProjects() {
+        return projectRepository.findAll().stream()
+                .map(ProjectResponse::from)
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public Page<Project> getAllProjects(Pageable pageable) {
-        return projectRepository.findAll(pageable);
+    public Page<ProjectResponse> getAllProjects(Pageable pageable) {
+        return projectRepository.findAll(pageable).map(ProjectResponse::from);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional(readOnly = true)
-    public Project getProjectById(Long id) {
-        return projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+    public ProjectResponse getProjectById(Long id) {
+        return ProjectResponse.from(findProject(id));
     }
 
     @Transactional
-    public Project createProject(Project project) {
+    public ProjectResponse createProject(Project project) {
         Optional<Project> existingProjectByName = projectRepository.findByName(project.getName());
         if (existingProjectByName.isPresent()) {
-            throw new IllegalArgumentException("Project with name '" + project.getName() + "' already exists.");
+            throw new InvalidRequestException("Project with name '" + project.getName() + "' already exists.");
         }
         // Ensure employees set is handled correctly if provided at creation (usually empty or handled by assignment methods)
         if (project.getEmployees() != null && !project.getEmployees().isEmpty()) {
@@ -53,22 +92,37 @@ public class ProjectService {
             // If employees are to be created with the project, ensure they are managed entities.
             project.getEmployees().clear(); // Or handle appropriately
         }
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        typeaheadService.indexProject(savedProject);
+        projectCalendarService.indexProject(savedProject);
+        ProjectResponse response = ProjectResponse.from(savedProject);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityChangedEvent.Type.PROJECT, response.getId(), response.getVersion(), response));
+        return response;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
-    public Project updateProject(Long id, Project projectDetails) {
-        Project existingProject = getProjectById(id); // Throws ResourceNotFoundException if not found
+    public ProjectResponse updateProject(Long id, Project projectDetails) {
+        Project existingProject = findProject(id); // Throws ResourceNotFoundException if not found
+
+        // A version in the request means "update only if nobody changed it since"; Hibernate re-checks it on flush
+        if (projectDetails.getVersion() != null && !projectDetails.getVersion().equals(existingProject.getVersion())) {
+            throw new StaleVersionException(Project.class, id);
+        }
 
         // Check if the new name is different and if it already exists for another project
         if (!existingProject.getName().equals(projectDetails.getName())) {
             Optional<Project> projectByNewName = projectRepository.findByName(projectDetails.getName());
             if (projectByNewName.isPresent() && !projectByNewName.get().getId().equals(existingProject.getId())) {
-                throw new IllegalArgumentException("Project name '" + projectDetails.getName() + "' is already in use by another project.");
+                throw new InvalidRequestException("Project name '" + projectDetails.getName() + "' is already in use by another project.");
             }
             existingProject.setName(projectDetails.getName());
         }
 
+        if (!Objects.equals(existingProject.getStartDate(), projectDetails.getStartDate())
+                || !Objects.equals(existingProject.getEndDate(), projectDetails.getEndDate())) {
+            allocationConflictService.checkDateChange(id, projectDetails.getStartDate(), projectDetails.getEndDate());
+        }
         existingProject.setDescription(projectDetails.getDescription());
         existingProject.setStartDate(projectDetails.getStartDate());
         existingProject.setEndDate(projectDetails.getEndDate());
@@ -77,36 +131,122 @@ public class ProjectService {
         // rather than directly setting the employees set here, to ensure data integrity and proper handling
         // of the relationship. If projectDetails.getEmployees() is passed, it might contain detached entities.
 
-        return projectRepository.save(existingProject);
+        // Flushed so the response carries the incremented version
+        Project savedProject = projectRepository.saveAndFlush(existingProject);
+        typeaheadService.indexProject(savedProject);
+        projectCalendarService.indexProject(savedProject);
+        ProjectResponse response = ProjectResponse.from(savedProject);
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityChangedEvent.Type.PROJECT, id, response.getVersion(), response));
+        return response;
     }
 
+    /**
+     * Applies a JSON Merge Patch with one version-guarded {@code UPDATE}, without loading the project. The columns
+     * the patch needs the current values of are read and locked first, one statement more: the patched ones with
+     * {@code app.audit.patch-previous-values} (for the audit log), and both dates if one changes (for the staffing
+     * check and the calendar). A taken name is reported by the unique constraint.
+     * Employee assignments are not patchable, see {@link #assignEmployeeToProject(Long, Long)}.
+     *
+     * @param ifMatchVersion version from the {@code If-Match} header, {@code null} if none was sent
+     * @return the new version, or {@code null} if the patch was applied unconditionally
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
+    @Transactional
+    public Long patchProject(Long id, Map<String, Object> patch, Long ifMatchVersion) {
+        Long expectedVersion = MergePatch.expectedVersion(patch, ifMatchVersion, Project.class, id);
+        Map<String, Object> changes = MergePatch.changes(patch, PATCHABLE_FIELDS);
+        String newName = (String) changes.get("name");
+        boolean datesChanged = changes.containsKey("startDate") || changes.containsKey("endDate");
+
+        Set<String> read = new HashSet<>();
+        if (auditEntityListener.recordsPatchPreviousValues()) {
+            read.addAll(changes.keySet());
+        }
+        if (datesChanged) {
+            read.addAll(DATE_FIELDS);
+        }
+        Map<String, Object> previous = Map.of();
+        if (!read.isEmpty()) {
+            // Locks the row: the values read are the ones the UPDATE replaces
+            previous = projectRepository.lockCurrentValues(id, read)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+        }
+        LocalDate startDate = (LocalDate) changes.getOrDefault("startDate", previous.get("startDate"));
+        LocalDate endDate = (LocalDate) changes.getOrDefault("endDate", previous.get("endDate"));
+        if (datesChanged) {
+            allocationConflictService.checkDateChange(id, startDate, endDate);
+        }
+        int updated;
+        try {
+            updated = projectRepository.patch(id, expectedVersion, changes);
+        } catch (DataIntegrityViolationException e) {
+            // uk_projects_name is the only unique constraint a patch can violate
+            throw new InvalidRequestException("Project name '" + newName + "' is already in use by another project.");
+        }
+        if (updated == 0) {
+            if (!projectRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Project not found with id: " + id);
+            }
+            throw new StaleVersionException(Project.class, id);
+        }
+        auditEntityListener.recordPatch(Project.class, id, previous, changes);
+        if (newName != null) {
+            typeaheadService.indexProject(id, newName);
+        }
+        if (datesChanged) {
+            projectCalendarService.indexProject(id, startDate, endDate);
+        }
+        Long newVersion = expectedVersion == null ? null : expectedVersion + 1;
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityChangedEvent.Type.PROJECT, id, newVersion, null));
+        return newVersion;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     @Transactional
     public void deleteProject(Long id) {
-        Project projectToDelete = getProjectById(id); // Throws ResourceNotFoundException if not found
+        Project projectToDelete = findProject(id); // Throws ResourceNotFoundException if not found
         // JPA will handle the removal of entries from the join table (project_employee)
         // due to the @ManyToMany relationship definition.
         // If there are other explicit lifecycle requirements (e.g., unassigning employees manually first),
         // they would be handled here. For now, direct deletion is fine.
         projectRepository.delete(projectToDelete);
+        typeaheadService.removeProject(id);
+        projectCalendarService.removeProject(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.Type.PROJECT, id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project assignEmployeeToProject(Long projectId, Long employeeId) {
-        Project project = getProjectById(projectId);
+    public ProjectResponse assignEmployeeToProject(Long projectId, Long employeeId) {
+        Project project = findProject(projectId);
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
 
+        if (!project.getEmployees().contains(employee)) { // Assigning twice changes nothing
+            allocationConflictService.checkAssignment(project, employeeId);
+        }
         project.addEmployee(employee); // This uses the helper method in Project entity
-        return projectRepository.save(project);
+        // Changing the collection increments the project version on flush
+        ProjectResponse response = ProjectResponse.from(projectRepository.saveAndFlush(project));
+        eventPublisher.publishEvent(EntityChangedEvent.assigned(response, employeeId));
+        return response;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#projectId")
     @Transactional
-    public Project removeEmployeeFromProject(Long projectId, Long employeeId) {
-        Project project = getProjectById(projectId);
+    public ProjectResponse removeEmployeeFromProject(Long projectId, Long employeeId) {
+        Project project = findProject(projectId);
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
 
         project.removeEmployee(employee); // This uses the helper method in Project entity
-        return projectRepository.save(project);
+        ProjectResponse response = ProjectResponse.from(projectRepository.saveAndFlush(project));
+        eventPublisher.publishEvent(EntityChangedEvent.unassigned(response, employeeId));
+        return response;
+    }
+
+    private Project findProject(Long id) {
+        return projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
     }
 }
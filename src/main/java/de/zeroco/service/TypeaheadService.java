@@ -0,0 +1,187 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.TypeaheadIndexStats;
+import de.zeroco.dto.TypeaheadSuggestion;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.repository.DepartmentRepository;
+import de.zeroco.repository.EmployeeRepository;
+import de.zeroco.repository.NameView;
+import de.zeroco.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-process typeahead over employee, project and department names.
+ * <p>
+ * The indexes are built from the repositories once the application is ready and are kept in sync by the
+ * create/update/delete paths of {@link EmployeeService}, {@link ProjectService} and {@link DepartmentService}.
+ * Index changes are applied after the surrounding transaction commits, so rolled back writes never show up.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadService.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    public enum IndexType {
+        EMPLOYEES, PROJECTS, DEPARTMENTS;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static IndexType fromKey(String key) {
+            for (IndexType type : values()) {
+                if (type.key().equalsIgnoreCase(key)) {
+                    return type;
+                }
+            }
+            throw new InvalidRequestException("Unknown typeahead type: " + key);
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final ProjectRepository projectRepository;
+    private final DepartmentRepository departmentRepository;
+
+    private final Map<IndexType, PrefixIndex> indexes = new EnumMap<>(IndexType.class);
+    private volatile long lastRebuiltAt;
+
+    @Autowired
+    public TypeaheadService(EmployeeRepository employeeRepository,
+                            ProjectRepository projectRepository,
+                            DepartmentRepository departmentRepository) {
+        this.employeeRepository = employeeRepository;
+        this.projectRepository = projectRepository;
+        this.departmentRepository = departmentRepository;
+        for (IndexType type : IndexType.values()) {
+            indexes.put(type, new PrefixIndex());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reloads all three indexes from the database.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        indexes.get(IndexType.EMPLOYEES).replaceAll(toMap(employeeRepository.findAllNames()));
+        indexes.get(IndexType.PROJECTS).replaceAll(toMap(projectRepository.findAllNames()));
+        indexes.get(IndexType.DEPARTMENTS).replaceAll(toMap(departmentRepository.findAllNames()));
+        lastRebuiltAt = System.currentTimeMillis();
+        logger.info("Typeahead indexes rebuilt in {} ms", lastRebuiltAt - start);
+    }
+
+    public List<TypeaheadSuggestion> suggest(IndexType type, String query, int limit) {
+        String[] queryTokens = PrefixIndex.tokenize(PrefixIndex.normalize(query));
+        long[] ids = new long[Math.max(1, Math.min(limit, MAX_LIMIT))];
+        PrefixIndex index = indexes.get(type);
+        int found = index.search(queryTokens, ids);
+
+        List<TypeaheadSuggestion> suggestions = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            String name = index.name(ids[i]);
+            if (name != null) { // removed between search and lookup
+                suggestions.add(new TypeaheadSuggestion(type.key(), ids[i], name));
+            }
+        }
+        return suggestions;
+    }
+
+    public List<TypeaheadIndexStats> getStats() {
+        List<TypeaheadIndexStats> stats = new ArrayList<>(indexes.size());
+        indexes.forEach((type, index) -> stats.add(new TypeaheadIndexStats(
+                type.key(), index.idCount(), index.entryCount(), index.estimatedBytes(), lastRebuiltAt)));
+        return stats;
+    }
+
+    public void indexEmployee(Employee employee) {
+        indexEmployee(employee.getId(), employee.getFirstName() + " " + employee.getLastName());
+    }
+
+    public void indexEmployee(Long id, String fullName) {
+        put(IndexType.EMPLOYEES, id, fullName);
+    }
+
+    public void removeEmployee(Long id) {
+        remove(IndexType.EMPLOYEES, id);
+    }
+
+    public void indexProject(Project project) {
+        indexProject(project.getId(), project.getName());
+    }
+
+    public void indexProject(Long id, String name) {
+        put(IndexType.PROJECTS, id, name);
+    }
+
+    public void removeProject(Long id) {
+        remove(IndexType.PROJECTS, id);
+    }
+
+    public void indexDepartment(Department department) {
+        indexDepartment(department.getId(), department.getName());
+    }
+
+    public void indexDepartment(Long id, String name) {
+        put(IndexType.DEPARTMENTS, id, name);
+    }
+
+    public void removeDepartment(Long id) {
+        remove(IndexType.DEPARTMENTS, id);
+    }
+
+    private void put(IndexType type, Long id, String name) {
+        if (id != null) {
+            afterCommit(() -> indexes.get(type).put(id, name));
+        }
+    }
+
+    private void remove(IndexType type, Long id) {
+        if (id != null) {
+            afterCommit(() -> indexes.get(type).remove(id));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Map<Long, String> toMap(List<NameView> views) {
+        Map<Long, String> map = new HashMap<>(Math.max(16, views.size() * 4 / 3 + 1));
+        for (NameView view : views) {
+            map.put(view.getId(), view.getName());
+        }
+        return map;
+    }
+}
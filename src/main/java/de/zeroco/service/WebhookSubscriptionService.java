@@ -0,0 +1,78 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.WebhookSubscriptionRequest;
+import de.zeroco.dto.WebhookSubscriptionResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.model.WebhookSubscription;
+import de.zeroco.repository.WebhookSubscriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Receivers of the employee and project changes relayed from the outbox by {@code de.zeroco.webhook.WebhookRelay}.
+ * A new subscription starts after the newest outbox event, it is not sent the changes made before it existed.
+ */
+@Service
+public class WebhookSubscriptionService {
+
+    private static final Set<String> ENTITY_TYPES = Set.of(
+            EntityChangedEvent.Type.EMPLOYEE.key(), EntityChangedEvent.Type.PROJECT.key());
+
+    @Autowired
+    private WebhookSubscriptionRepository subscriptionRepository;
+
+    @Transactional(readOnly = true)
+    public List<WebhookSubscriptionResponse> getSubscriptions() {
+        return subscriptionRepository.findAll().stream()
+                .map(WebhookSubscriptionResponse::from)
+                .toList();
+    }
+
+    @Transactional
+    public WebhookSubscriptionResponse createSubscription(WebhookSubscriptionRequest request) {
+        validateUrl(request.getUrl());
+        String entityTypes = null;
+        if (request.getEntityTypes() != null && !request.getEntityTypes().isEmpty()) {
+            Set<String> types = new TreeSet<>(request.getEntityTypes());
+            if (!ENTITY_TYPES.containsAll(types)) {
+                throw new InvalidRequestException("entityTypes must be taken from " + String.join(", ", new TreeSet<>(ENTITY_TYPES)) + ".");
+            }
+            entityTypes = String.join(",", types);
+        }
+        if (subscriptionRepository.existsByName(request.getName())) {
+            throw new InvalidRequestException("Webhook subscription " + request.getName() + " already exists.");
+        }
+        String secret = request.getSecret() == null || request.getSecret().isBlank() ? null : request.getSecret();
+        WebhookSubscription subscription = new WebhookSubscription(request.getName(), request.getUrl(), entityTypes, secret,
+                subscriptionRepository.findLatestOutboxId(), LocalDateTime.now());
+        return WebhookSubscriptionResponse.from(subscriptionRepository.save(subscription));
+    }
+
+    @Transactional
+    public void deleteSubscription(Long id) {
+        if (!subscriptionRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Webhook subscription not found with id: " + id);
+        }
+        subscriptionRepository.deleteById(id);
+    }
+
+    private static void validateUrl(String url) {
+        try {
+            URI uri = new URI(url);
+            if (!("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme())) || uri.getHost() == null) {
+                throw new InvalidRequestException("url must be an absolute http or https URL.");
+            }
+        } catch (URISyntaxException e) {
+            throw new InvalidRequestException("url is not a valid URL: " + e.getReason());
+        }
+    }
+}
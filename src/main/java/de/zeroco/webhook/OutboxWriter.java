@@ -0,0 +1,93 @@
+package de.zeroco.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.service.EntityChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every employee and project change to {@code outbox_event}, in the transaction that makes the change: the
+ * row commits with the change or not at all, so the {@link WebhookRelay} never announces a rolled-back change and
+ * never misses a committed one, even if the instance dies right after the commit.
+ * <p>
+ * A plain {@code @EventListener} on purpose: it runs synchronously inside {@code publishEvent}, so a change that
+ * cannot be serialized fails right there. The rows of one transaction are inserted as one JDBC batch just before it
+ * commits (a bulk operation announces thousands of rows); the {@link JdbcTemplate} joins the JPA transaction's
+ * connection. Without a transaction the row is inserted right away.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT =
+            "INSERT INTO outbox_event (entity_type, entity_id, action, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.type() == EntityChangedEvent.Type.DEPARTMENT) {
+            return; // Not announced to subscribers
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Fails the change: committing it without its outbox row would hide it from every subscriber
+            throw new UncheckedIOException(e);
+        }
+        Object[] row = {event.type().key(), event.id(), event.action().name(), payload, Timestamp.valueOf(LocalDateTime.now())};
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT, row);
+            return;
+        }
+        PendingRows pending = (PendingRows) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRows();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.add(row);
+    }
+
+    // The outbox rows of the current transaction, in publishing order; unbound while an inner transaction runs
+    private final class PendingRows implements TransactionSynchronization {
+
+        final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OutboxWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OutboxWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package de.zeroco.webhook;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Body of one webhook request: consecutive outbox events for one subscription, oldest first.
+ *
+ * @param subscription name of the receiving subscription
+ */
+record WebhookBatch(String subscription, List<Event> events) {
+
+    /**
+     * @param id         outbox id, increasing; a receiver that gets a batch again (after a timeout, say) skips the ids
+     *                   it has already processed
+     * @param occurredAt when the change was made
+     * @param change     the {@code EntityChangedEvent} as stored in the outbox
+     */
+    record Event(long id, LocalDateTime occurredAt, @JsonRawValue String change) {
+    }
+}
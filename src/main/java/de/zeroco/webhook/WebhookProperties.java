@@ -0,0 +1,140 @@
+package de.zeroco.webhook;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Outbox relay settings, bound from {@code app.webhooks.*}.
+ */
+@ConfigurationProperties(prefix = "app.webhooks")
+public class WebhookProperties {
+
+    /**
+     * Most events sent to a subscriber in one request.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Batches sent to one subscriber per relay run before the others get their turn again; with the defaults one
+     * subscriber can receive 10,000 events per run.
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * Subscribers delivered to in parallel. A slow receiver only holds up itself.
+     */
+    private int deliveryThreads = 4;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * A receiver not answering within this time counts as a failed delivery, the batch is sent again later.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Wait after the first failed delivery, doubled with every further failure up to {@code max-backoff}.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    /**
+     * How long an instance owns a subscriber while delivering to it; another instance takes over after an expired
+     * lease, so keep it well above {@code max-batches-per-run} times {@code request-timeout}.
+     */
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    /**
+     * How long the relay waits for a missing outbox id (a transaction that has written its row but not committed)
+     * before it delivers the events after it. Ids of rolled-back transactions never show up and delay delivery by
+     * this much once.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Most delivered outbox rows deleted per relay run.
+     */
+    private int purgeBatchSize = 10_000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public int getDeliveryThreads() {
+        return deliveryThreads;
+    }
+
+    public void setDeliveryThreads(int deliveryThreads) {
+        this.deliveryThreads = deliveryThreads;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+}
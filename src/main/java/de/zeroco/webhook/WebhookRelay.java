@@ -0,0 +1,312 @@
+package de.zeroco.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the {@code outbox_event} rows written by {@link OutboxWriter} to the webhook subscriptions.
+ * <p>
+ * Every {@code app.webhooks.poll-interval} the relay leases the subscriptions that are due, then per subscription
+ * reads the outbox after its {@code delivered_offset}, POSTs up to {@code app.webhooks.batch-size} events of the
+ * subscribed types as one {@link WebhookBatch} and moves the offset past them once the receiver answered 2xx. A
+ * failure leaves the offset where it was and retries the same batch after an exponential backoff with jitter.
+ * Delivery is at least once: a receiver may get a batch again and should skip outbox ids it has processed.
+ * <p>
+ * Outbox ids are assigned at insert but become visible at commit, so an id can appear after a higher one was
+ * delivered. The relay therefore stops at a missing id and only passes it after {@code app.webhooks.gap-timeout}
+ * (a rolled-back transaction leaves it missing for good). Rows all subscriptions have received are purged.
+ */
+@Component
+@EnableConfigurationProperties(WebhookProperties.class)
+public class WebhookRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookRelay.class);
+
+    public static final String DELIVERY_HEADER = "X-Webhook-Delivery";
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private static final String DUE = "SELECT id, name, url, entity_types, secret, delivered_offset, failed_attempts "
+            + "FROM webhook_subscription WHERE next_attempt_at <= ? AND (lease_until IS NULL OR lease_until < ?)";
+    private static final String CLAIM = "UPDATE webhook_subscription SET lease_owner = ?, lease_until = ? "
+            + "WHERE id = ? AND (lease_until IS NULL OR lease_until < ?)";
+    private static final String READ = "SELECT id, entity_type, payload, created_at FROM outbox_event WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String ACKNOWLEDGE = "UPDATE webhook_subscription SET delivered_offset = ?, failed_attempts = 0, "
+            + "last_error = NULL WHERE id = ? AND lease_owner = ?";
+    private static final String FAIL = "UPDATE webhook_subscription SET failed_attempts = ?, next_attempt_at = ?, last_error = ?, "
+            + "lease_owner = NULL, lease_until = NULL WHERE id = ? AND lease_owner = ?";
+    private static final String RELEASE = "UPDATE webhook_subscription SET lease_owner = NULL, lease_until = NULL "
+            + "WHERE id = ? AND lease_owner = ?";
+
+    private static final RowMapper<Subscription> SUBSCRIPTION = (rs, rowNum) -> new Subscription(rs.getLong("id"),
+            rs.getString("name"), rs.getString("url"), entityTypes(rs.getString("entity_types")),
+            rs.getString("secret"), rs.getLong("delivered_offset"), rs.getInt("failed_attempts"));
+    private static final RowMapper<OutboxRow> OUTBOX_ROW = (rs, rowNum) -> new OutboxRow(rs.getLong("id"),
+            rs.getString("entity_type"), rs.getString("payload"), rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final String owner = "relay-" + UUID.randomUUID();
+    private final Map<Long, Long> gapsSeenAt = new ConcurrentHashMap<>(); // First missing id -> System.nanoTime()
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final WebhookProperties properties;
+    private final HttpClient httpClient;
+    private final ExecutorService delivery;
+    private final Counter deliveredEvents;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public WebhookRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, WebhookProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+        this.delivery = Executors.newFixedThreadPool(properties.getDeliveryThreads(), deliveryThreadFactory());
+        this.deliveredEvents = Counter.builder("webhook.events.delivered")
+                .description("Outbox events acknowledged by webhook receivers")
+                .register(meterRegistry);
+        this.succeeded = deliveryCounter(meterRegistry, "succeeded");
+        this.failed = deliveryCounter(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.poll-interval:PT0.5S}")
+    public void relay() throws InterruptedException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp leaseUntil = Timestamp.valueOf(LocalDateTime.now().plus(properties.getLeaseDuration()));
+        List<Callable<Void>> deliveries = new ArrayList<>();
+        for (Subscription subscription : jdbcTemplate.query(DUE, SUBSCRIPTION, now, now)) {
+            // Another instance may have claimed it since the query
+            if (jdbcTemplate.update(CLAIM, owner, leaseUntil, subscription.id(), now) == 1) {
+                deliveries.add(() -> {
+                    deliver(subscription);
+                    return null;
+                });
+            }
+        }
+        delivery.invokeAll(deliveries);
+        purge();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        delivery.shutdown();
+        if (!delivery.awaitTermination(5, TimeUnit.SECONDS)) {
+            delivery.shutdownNow();
+        }
+    }
+
+    private void deliver(Subscription subscription) {
+        long offset = subscription.deliveredOffset();
+        int failedAttempts = subscription.failedAttempts();
+        try {
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                List<OutboxRow> rows = jdbcTemplate.query(READ, OUTBOX_ROW, offset, properties.getBatchSize());
+                List<OutboxRow> ready = committedPrefix(offset, rows);
+                if (ready.isEmpty()) {
+                    break;
+                }
+                List<OutboxRow> events = ready.stream().filter(row -> subscription.accepts(row.entityType())).toList();
+                if (!events.isEmpty()) {
+                    post(subscription, events);
+                }
+                offset = ready.get(ready.size() - 1).id();
+                if (jdbcTemplate.update(ACKNOWLEDGE, offset, subscription.id(), owner) == 0) {
+                    return; // Lease expired and taken over, the new owner continues from the stored offset
+                }
+                failedAttempts = 0;
+                deliveredEvents.increment(events.size());
+                if (ready.size() < properties.getBatchSize()) {
+                    break; // Caught up, or waiting for a missing id
+                }
+            }
+            jdbcTemplate.update(RELEASE, subscription.id(), owner);
+        } catch (DeliveryFailedException e) {
+            failed.increment();
+            int attempts = failedAttempts + 1;
+            Duration backoff = backoff(attempts);
+            logger.warn("Webhook delivery to {} failed (attempt {}), retrying in {}: {}",
+                    subscription.name(), attempts, backoff, e.getMessage());
+            jdbcTemplate.update(FAIL, attempts, Timestamp.valueOf(LocalDateTime.now().plus(backoff)),
+                    abbreviate(e.getMessage()), subscription.id(), owner);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Shutting down, the lease expires
+        } catch (DataAccessException e) {
+            logger.error("Webhook relay for {} stopped, retrying after the lease expires", subscription.name(), e);
+        }
+    }
+
+    private void post(Subscription subscription, List<OutboxRow> events) throws DeliveryFailedException, InterruptedException {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new WebhookBatch(subscription.name(), events.stream()
+                    .map(row -> new WebhookBatch.Event(row.id(), row.createdAt(), row.payload()))
+                    .toList()));
+        } catch (JsonProcessingException e) {
+            throw new DeliveryFailedException("Could not serialize the batch: " + e.getOriginalMessage());
+        }
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(subscription.url()))
+                    .timeout(properties.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header(DELIVERY_HEADER, events.get(0).id() + "-" + events.get(events.size() - 1).id())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+            if (subscription.secret() != null) {
+                builder.header(SIGNATURE_HEADER, "sha256=" + sign(subscription.secret(), body));
+            }
+            request = builder.build();
+        } catch (IllegalArgumentException e) {
+            // A URL the request cannot be built for, such as one stored before URLs were validated: fails like an
+            // unreachable receiver, so it is backed off and shows up in last_error
+            throw new DeliveryFailedException("Invalid request: " + e.getMessage());
+        }
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new DeliveryFailedException(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new DeliveryFailedException("HTTP " + response.statusCode());
+        }
+        succeeded.increment();
+    }
+
+    // Rows up to the first id that may still be committed by a running transaction
+    private List<OutboxRow> committedPrefix(long offset, List<OutboxRow> rows) {
+        long expected = offset + 1;
+        int end = 0;
+        for (OutboxRow row : rows) {
+            if (row.id() != expected && !gapTimedOut(expected)) {
+                break;
+            }
+            expected = row.id() + 1;
+            end++;
+        }
+        return rows.subList(0, end);
+    }
+
+    private boolean gapTimedOut(long missingId) {
+        long seenAt = gapsSeenAt.computeIfAbsent(missingId, id -> System.nanoTime());
+        return System.nanoTime() - seenAt >= properties.getGapTimeout().toNanos();
+    }
+
+    // Rows every subscription is past. Without subscriptions no row will ever be delivered, a new subscription starts
+    // after the newest one; that row is kept so the new subscription's offset is followed by the next id, not a gap
+    private void purge() {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS oldest, MAX(id) AS newest FROM outbox_event");
+        Long minOffset = jdbcTemplate.queryForObject("SELECT MIN(delivered_offset) FROM webhook_subscription", Long.class);
+        gapsSeenAt.keySet().removeIf(id -> minOffset == null || id <= minOffset);
+        if (range.get("oldest") == null) {
+            return;
+        }
+        long oldest = ((Number) range.get("oldest")).longValue();
+        long upTo = Math.min(oldest + properties.getPurgeBatchSize(), ((Number) range.get("newest")).longValue()) - 1;
+        if (minOffset != null) {
+            upTo = Math.min(upTo, minOffset);
+        }
+        if (upTo >= oldest) {
+            jdbcTemplate.update("DELETE FROM outbox_event WHERE id <= ?", upTo);
+        }
+    }
+
+    private Duration backoff(int failedAttempts) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        long backoff = failedAttempts > 30 ? max : Math.min(max, initial << (failedAttempts - 1));
+        // Jitter, so receivers coming back are not hit by all their subscriptions at once
+        return Duration.ofMillis(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+    }
+
+    private static Set<String> entityTypes(String column) {
+        return column == null ? Set.of() : Set.of(column.split(","));
+    }
+
+    private static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message == null || message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("webhook.deliveries")
+                .description("Webhook requests, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory deliveryThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "webhook-relay-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @param entityTypes subscribed entity types, empty for all
+     */
+    private record Subscription(long id, String name, String url, Set<String> entityTypes, String secret,
+                                long deliveredOffset, int failedAttempts) {
+
+        boolean accepts(String entityType) {
+            return entityTypes.isEmpty() || entityTypes.contains(entityType);
+        }
+    }
+
+    private record OutboxRow(long id, String entityType, String payload, LocalDateTime createdAt) {
+    }
+
+    private static final class DeliveryFailedException extends Exception {
+
+        DeliveryFailedException(String message) {
+            super(message, null, false, false); // Expected while a receiver is down, no stack trace
+        }
+    }
+}
@@ -0,0 +1,80 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update, including the indexes declared on the
+-- entities at that time. Databases created that way are baselined at this version (spring.flyway.baseline-*);
+-- V1_1__complete_baselined_schema adds what older releases did not create yet.
+-- Plain SQL understood by MySQL 8 and by H2 (tests, benchmarks, data generator).
+
+CREATE TABLE departments (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    name     VARCHAR(100) NOT NULL,
+    location VARCHAR(100),
+    version  BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_departments_name UNIQUE (name)
+);
+
+CREATE TABLE employees (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name   VARCHAR(50)  NOT NULL,
+    last_name    VARCHAR(50)  NOT NULL,
+    email        VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(20),
+    hire_date    DATE,
+    job_title    VARCHAR(100),
+    salary       DOUBLE,
+    version      BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+-- One index plan per supported search filter shape (see EmployeeSpecifications)
+CREATE INDEX idx_employees_job_title_hire_date ON employees (job_title, hire_date);
+CREATE INDEX idx_employees_job_title_salary ON employees (job_title, salary);
+CREATE INDEX idx_employees_hire_date ON employees (hire_date);
+CREATE INDEX idx_employees_salary ON employees (salary);
+
+CREATE TABLE projects (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(100) NOT NULL,
+    description TEXT,
+    start_date  DATE,
+    end_date    DATE,
+    version     BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_projects_name UNIQUE (name)
+);
+
+-- Finished projects (the bulk closing of projects that ended before a date, see V8)
+CREATE INDEX idx_projects_end_date ON projects (end_date);
+
+CREATE TABLE project_employee (
+    project_id  BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    PRIMARY KEY (project_id, employee_id),
+    CONSTRAINT fk_project_employee_project FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT fk_project_employee_employee FOREIGN KEY (employee_id) REFERENCES employees (id)
+);
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(50)  NOT NULL,
+    password   VARCHAR(100) NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    first_name VARCHAR(50)  NOT NULL,
+    last_name  VARCHAR(50)  NOT NULL,
+    roles      VARCHAR(200),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE bulk_operation_audit (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    operation     VARCHAR(50)  NOT NULL,
+    parameters    VARCHAR(500) NOT NULL,
+    affected_rows INT          NOT NULL,
+    performed_by  VARCHAR(50)  NOT NULL,
+    performed_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_bulk_operation_audit_performed_at ON bulk_operation_audit (performed_at);
@@ -0,0 +1,9 @@
+-- Secondary indexes for access paths that had none beyond the primary keys, unique constraints and foreign keys.
+-- Projects of an employee (EmployeeRepository#findProjectIdsById, employee deletion) need none: the primary key of
+-- the join table starts with project_id, but fk_project_employee_employee already indexes employee_id on MySQL and H2.
+
+-- Employee lists sorted or filtered by name (sortBy=lastName, exact last name lookups)
+CREATE INDEX idx_employees_last_name_first_name ON employees (last_name, first_name);
+
+-- Project lists sorted or filtered by start date, and date range queries bounded by the start
+CREATE INDEX idx_projects_start_date ON projects (start_date);
@@ -0,0 +1,21 @@
+-- Committed changes of employees, projects and departments, written in batches by the audit writer (AuditWriter).
+-- Rows are only inserted, never updated.
+CREATE TABLE entity_change_audit (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    action      VARCHAR(10) NOT NULL,
+    changes     TEXT        NOT NULL,
+    changed_by  VARCHAR(50) NOT NULL,
+    changed_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- History of one entity, newest first
+CREATE INDEX idx_entity_change_audit_entity ON entity_change_audit (entity_type, entity_id, changed_at);
+
+-- Changes made by one user, newest first
+CREATE INDEX idx_entity_change_audit_changed_by ON entity_change_audit (changed_by, changed_at);
+
+-- Unfiltered log, newest first
+CREATE INDEX idx_entity_change_audit_changed_at ON entity_change_audit (changed_at);
@@ -0,0 +1,30 @@
+-- Transactional outbox: one row per employee or project change, inserted in the transaction of the change and
+-- read by the webhook relay (WebhookRelay) in id order. Rows every subscription has received are purged.
+CREATE TABLE outbox_event (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    action      VARCHAR(20) NOT NULL,
+    payload     TEXT        NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Receivers of the outbox events. delivered_offset is the id of the last outbox row the receiver acknowledged;
+-- lease_owner/lease_until keep two instances from delivering to the same receiver at once.
+CREATE TABLE webhook_subscription (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    name             VARCHAR(100) NOT NULL,
+    url              VARCHAR(500) NOT NULL,
+    entity_types     VARCHAR(100),
+    secret           VARCHAR(100),
+    delivered_offset BIGINT       NOT NULL,
+    failed_attempts  INT          NOT NULL DEFAULT 0,
+    next_attempt_at  DATETIME(6)  NOT NULL,
+    last_error       VARCHAR(500),
+    lease_owner      VARCHAR(100),
+    lease_until      DATETIME(6),
+    created_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_webhook_subscription_name UNIQUE (name)
+);
@@ -0,0 +1,29 @@
+-- Cold storage for finished projects. ProjectArchiver moves projects whose end date has passed, with their
+-- assignments, out of projects/project_employee in small batches, so the hot tables and their indexes only hold
+-- active data. Ids are kept: a restore moves the rows back unchanged.
+
+CREATE TABLE projects_archive (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description TEXT,
+    start_date  DATE,
+    end_date    DATE,
+    version     BIGINT       NOT NULL,
+    archived_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Sort keys of the project lists with includeArchived (each side of the union is read in index order)
+CREATE INDEX idx_projects_archive_name ON projects_archive (name);
+CREATE INDEX idx_projects_archive_start_date ON projects_archive (start_date);
+CREATE INDEX idx_projects_archive_end_date ON projects_archive (end_date);
+
+-- Deleting an archived project or an employee removes their archived assignments. The foreign key on employee_id
+-- also indexes it for the archived projects of an employee.
+CREATE TABLE project_employee_archive (
+    project_id  BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    PRIMARY KEY (project_id, employee_id),
+    CONSTRAINT fk_project_employee_archive_project FOREIGN KEY (project_id) REFERENCES projects_archive (id) ON DELETE CASCADE,
+    CONSTRAINT fk_project_employee_archive_employee FOREIGN KEY (employee_id) REFERENCES employees (id) ON DELETE CASCADE
+);
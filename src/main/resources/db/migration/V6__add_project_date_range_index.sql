@@ -0,0 +1,8 @@
+-- Date range overlap queries (ProjectRepository#findIdsActiveBetween, used by the staffing calendar until the
+-- in-memory interval index is loaded): "end_date >= from" is the selective bound, since most projects ended before
+-- any window a calendar shows, and start_date in the index checks the other bound without reading the rows. Open
+-- ended projects (end_date IS NULL) are a second range on the same index.
+CREATE INDEX idx_projects_end_date_start_date ON projects (end_date, start_date);
+
+-- Its end_date prefix serves everything V1's single column index did
+DROP INDEX idx_projects_end_date ON projects;
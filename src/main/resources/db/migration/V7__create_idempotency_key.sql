@@ -0,0 +1,19 @@
+-- Idempotency-Key claims and stored responses shared by all instances (app.idempotency.jdbc-enabled). A row is
+-- inserted with a NULL status when a request claims its key, and gets the response when the request completes; a
+-- failed request deletes it. expires_at is the end of the processing timeout while running and of the replay TTL
+-- afterwards. scope_key is a SHA-256 of user, method, path and key, fingerprint one of the request body.
+CREATE TABLE idempotency_key (
+    scope_key    CHAR(64)      NOT NULL,
+    fingerprint  CHAR(64)      NOT NULL,
+    status       INT,
+    content_type VARCHAR(255),
+    location     VARCHAR(2048),
+    etag         VARCHAR(255),
+    body         TEXT,
+    created_at   DATETIME(6)   NOT NULL,
+    expires_at   DATETIME(6)   NOT NULL,
+    PRIMARY KEY (scope_key)
+);
+
+-- Purge of expired rows
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
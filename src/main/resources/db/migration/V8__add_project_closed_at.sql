@@ -0,0 +1,5 @@
+-- Closing a project (BulkOperationService#closeEndedProjects) is a state change: closed_at is set, the assignments
+-- in project_employee are kept as the record of who worked on it. NULL means open. Archived projects carry the
+-- column along.
+ALTER TABLE projects ADD COLUMN closed_at DATETIME(6);
+ALTER TABLE projects_archive ADD COLUMN closed_at DATETIME(6);
@@ -0,0 +1,155 @@
+package de.zeroco.archive;
+
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectArchiveService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Finished projects move to the archive tables with their assignments, are only visible with includeArchived and
+ * can be restored. Projects here end decades ago, so the runs do not touch other tests' projects.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = {"ADMIN"})
+class ProjectArchiveTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectArchiveService archiveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void endedProject_shouldMoveToArchiveWithAssignmentsAndBack() throws Exception {
+        ProjectResponse ended = projectService.createProject(new Project("Archive-" + UUID.randomUUID(), "Finished",
+                LocalDate.of(1989, 1, 1), LocalDate.of(1990, 6, 30)));
+        EmployeeResponse member = employeeService.createEmployee(new Employee("Ada", "Archive",
+                "archive-" + UUID.randomUUID() + "@example.com", null, null, "Engineer", null));
+        projectService.assignEmployeeToProject(ended.getId(), member.getId());
+        ProjectResponse running = projectService.createProject(new Project("Running-" + UUID.randomUUID(), "Open-ended",
+                LocalDate.of(1989, 1, 1), null));
+        Long id = ended.getId();
+
+        List<Long> archived = archiveService.archiveEndedProjects(LocalDate.of(1991, 1, 1), 100);
+
+        assertTrue(archived.contains(id));
+        assertFalse(archived.contains(running.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> projectService.getProjectById(id));
+        mockMvc.perform(get("/api/projects/" + id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/projects/" + id).param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.archivedAt").exists())
+                .andExpect(jsonPath("$.employees[0].id").value(member.getId()));
+        assertEquals(List.of(running.getId(), id), archiveService.getProjectsIncludingArchived(
+                        PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"))).getContent().stream()
+                .map(ProjectResponse::getId)
+                .toList());
+
+        mockMvc.perform(post("/api/projects/" + id + "/restore").param("endDate", "2999-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endDate").value("2999-12-31"))
+                .andExpect(jsonPath("$.employees[0].id").value(member.getId()))
+                .andExpect(jsonPath("$.archivedAt").doesNotExist());
+
+        assertEquals(ended.getName(), projectService.getProjectById(id).getName());
+        mockMvc.perform(post("/api/projects/" + id + "/restore"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void archival_shouldMoveAtMostOneBatchPerCall() {
+        for (int i = 0; i < 3; i++) {
+            projectService.createProject(new Project("Batch-" + UUID.randomUUID(), null,
+                    LocalDate.of(1979, 1, 1), LocalDate.of(1980, 1, 1).plusDays(i)));
+        }
+        LocalDate cutOff = LocalDate.of(1981, 1, 1);
+
+        assertEquals(2, archiveService.archiveEndedProjects(cutOff, 2).size());
+        assertEquals(1, archiveService.archiveEndedProjects(cutOff, 2).size());
+        assertEquals(0, archiveService.archiveEndedProjects(cutOff, 2).size());
+    }
+
+    @Test
+    void archival_shouldSkipProjectsLockedByAnotherTransaction() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(projectService.createProject(new Project("Locked-" + UUID.randomUUID(), null,
+                    LocalDate.of(1969, 1, 1), LocalDate.of(1970, 1, 1).plusDays(i))).getId());
+        }
+        LocalDate cutOff = LocalDate.of(1971, 1, 1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Another archiver holding the oldest project in its batch
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select id from projects where id = ? for update", Long.class, ids.get(0));
+            locked.countDown();
+            await(release);
+        }));
+        try {
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            assertEquals(ids.subList(1, 3), archiveService.archiveEndedProjects(cutOff, 10));
+        } finally {
+            release.countDown();
+            other.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(ids.get(0)), archiveService.archiveEndedProjects(cutOff, 10));
+    }
+
+    @Test
+    void includeArchived_shouldRejectUnindexedSortProperties() {
+        assertThrows(InvalidRequestException.class, () -> archiveService.getProjectsIncludingArchived(
+                PageRequest.of(0, 10, Sort.by("description"))));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package de.zeroco.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventBufferTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void offer_shouldDropAndCount_whenFullAfterWaiting() {
+        AuditEventBuffer buffer = buffer(2, Duration.ofMillis(20));
+
+        assertTrue(buffer.offer(event(1)));
+        assertTrue(buffer.offer(event(2)));
+        long start = System.nanoTime();
+        assertFalse(buffer.offer(event(3)));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20), "waited for room first");
+        assertEquals(2, meterRegistry.get("audit.events").tag("outcome", "accepted").counter().count());
+        assertEquals(1, meterRegistry.get("audit.events").tag("outcome", "dropped").counter().count());
+        assertEquals(2, meterRegistry.get("audit.buffer.size").gauge().value());
+    }
+
+    @Test
+    void drainTo_shouldReturnAvailableEventsInOrder_upToTheBatchSize() throws InterruptedException {
+        AuditEventBuffer buffer = buffer(10, Duration.ZERO);
+        for (long id = 1; id <= 5; id++) {
+            buffer.offer(event(id));
+        }
+        List<AuditEvent> batch = new ArrayList<>();
+
+        assertEquals(3, buffer.drainTo(batch, 3, 0, TimeUnit.MILLISECONDS));
+
+        assertEquals(List.of(1L, 2L, 3L), batch.stream().map(AuditEvent::entityId).toList());
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void drainTo_shouldReturnZero_whenNothingArrivesWithinTheTimeout() throws InterruptedException {
+        assertEquals(0, buffer(10, Duration.ZERO).drainTo(new ArrayList<>(), 10, 10, TimeUnit.MILLISECONDS));
+    }
+
+    private AuditEventBuffer buffer(int capacity, Duration maxEnqueueWait) {
+        AuditProperties properties = new AuditProperties();
+        properties.setCapacity(capacity);
+        properties.setMaxEnqueueWait(maxEnqueueWait);
+        return new AuditEventBuffer(properties, meterRegistry);
+    }
+
+    private static AuditEvent event(long id) {
+        return new AuditEvent("Employee", id, AuditAction.CREATE, Map.of(), "tester", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,62 @@
+package de.zeroco.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AuditWriterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void run_shouldKeepWriting_afterABatchFailedWithAnUnexpectedException() throws InterruptedException {
+        AuditProperties properties = new AuditProperties();
+        properties.setMaxEnqueueWait(Duration.ZERO);
+        AuditEventBuffer buffer = new AuditEventBuffer(properties, meterRegistry);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("Unexpected"))
+                .thenReturn(1);
+        writer = new AuditWriter(buffer, jdbcTemplate, new ObjectMapper(), properties, meterRegistry);
+        writer.start();
+
+        buffer.offer(event(1));
+        awaitCount("failed", 1);
+        buffer.offer(event(2));
+        awaitCount("written", 1);
+
+        assertEquals(1, meterRegistry.get("audit.events").tag("outcome", "failed").counter().count());
+    }
+
+    private void awaitCount(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("audit.events").tag("outcome", outcome).counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "audit.events{outcome=" + outcome + "} did not reach " + expected);
+            Thread.sleep(10);
+        }
+    }
+
+    private static AuditEvent event(long id) {
+        return new AuditEvent("Employee", id, AuditAction.CREATE, Map.of(), "tester", LocalDateTime.now());
+    }
+}
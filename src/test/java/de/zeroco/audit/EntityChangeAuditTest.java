@@ -0,0 +1,166 @@
+package de.zeroco.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.model.Employee;
+import de.zeroco.model.EntityChangeAudit;
+import de.zeroco.model.Project;
+import de.zeroco.repository.EntityChangeAuditRepository;
+import de.zeroco.service.BulkOperationService;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes made through the services end up in {@code entity_change_audit}, written by the background writer.
+ */
+@SpringBootTest
+@WithMockUser(username = "auditor", roles = {"ADMIN"})
+class EntityChangeAuditTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private EntityChangeAuditRepository auditRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void employeeLifecycle_shouldBeAuditedWithDiffsAndUser() throws Exception {
+        String email = "audit-" + UUID.randomUUID() + "@example.com";
+        EmployeeResponse created = employeeService.createEmployee(
+                new Employee("Audit", "Trail", email, null, LocalDate.of(2021, 3, 1), "Developer", 70000.0));
+        Long id = created.getId();
+        employeeService.updateEmployee(id,
+                new Employee("Audit", "Trail", email, null, LocalDate.of(2021, 3, 1), "Developer", 75000.0));
+        employeeService.patchEmployee(id, Map.of("jobTitle", "Lead Developer"), null);
+        employeeService.deleteEmployee(id);
+
+        List<EntityChangeAudit> changes = awaitChanges(id, 4);
+
+        assertEquals(List.of("CREATE", "UPDATE", "PATCH", "DELETE"), changes.stream().map(EntityChangeAudit::getAction).toList());
+        assertTrue(changes.stream().allMatch(change -> "auditor".equals(change.getChangedBy())));
+
+        JsonNode create = objectMapper.readTree(changes.get(0).getChanges());
+        assertEquals(email, create.at("/email/to").asText());
+        assertFalse(create.has("phoneNumber"), "null attributes are left out");
+        assertFalse(create.has("version"));
+
+        JsonNode update = objectMapper.readTree(changes.get(1).getChanges());
+        assertEquals(1, update.size(), () -> "Only the salary changed: " + update);
+        assertEquals(70000.0, update.at("/salary/from").asDouble());
+        assertEquals(75000.0, update.at("/salary/to").asDouble());
+
+        JsonNode patch = objectMapper.readTree(changes.get(2).getChanges());
+        assertEquals("Developer", patch.at("/jobTitle/from").asText());
+        assertEquals("Lead Developer", patch.at("/jobTitle/to").asText());
+
+        JsonNode delete = objectMapper.readTree(changes.get(3).getChanges());
+        assertEquals("Lead Developer", delete.at("/jobTitle/from").asText());
+    }
+
+    @Test
+    void bulkOperation_shouldAuditEveryChangedRow() throws Exception {
+        String jobTitle = "Audit-" + UUID.randomUUID();
+        Long id = employeeService.createEmployee(new Employee("Audit", "Bulk", "audit-" + UUID.randomUUID() + "@example.com",
+                null, null, jobTitle, 61234.56)).getId();
+
+        bulkOperationService.raiseSalaries(jobTitle, 3.5, false);
+        bulkOperationService.reassignJobTitle(jobTitle, "Senior " + jobTitle, false);
+
+        List<EntityChangeAudit> changes = awaitChanges(id, 3);
+        assertEquals(List.of("CREATE", "UPDATE", "UPDATE"), changes.stream().map(EntityChangeAudit::getAction).toList());
+        assertTrue(changes.stream().allMatch(change -> "auditor".equals(change.getChangedBy())));
+
+        JsonNode raise = objectMapper.readTree(changes.get(1).getChanges());
+        assertEquals(61234.56, raise.at("/salary/from").asDouble());
+        assertEquals(63377.77, raise.at("/salary/to").asDouble());
+
+        JsonNode rename = objectMapper.readTree(changes.get(2).getChanges());
+        assertEquals(jobTitle, rename.at("/jobTitle/from").asText());
+        assertEquals("Senior " + jobTitle, rename.at("/jobTitle/to").asText());
+    }
+
+    @Test
+    void assignments_shouldBeAuditedOnTheProject() throws Exception {
+        Long projectId = projectService.createProject(new Project("Audit-" + UUID.randomUUID(), null, null, null)).getId();
+        Long first = employeeService.createEmployee(new Employee("Audit", "First", "audit-" + UUID.randomUUID() + "@example.com",
+                null, null, null, null)).getId();
+        Long second = employeeService.createEmployee(new Employee("Audit", "Second", "audit-" + UUID.randomUUID() + "@example.com",
+                null, null, null, null)).getId();
+
+        projectService.assignEmployeeToProject(projectId, first);
+        projectService.assignEmployeeToProject(projectId, second);
+        projectService.removeEmployeeFromProject(projectId, first);
+
+        List<EntityChangeAudit> changes = awaitChanges("Project", projectId, 4);
+        assertEquals(List.of("CREATE", "ASSIGN", "ASSIGN", "UNASSIGN"), changes.stream().map(EntityChangeAudit::getAction).toList());
+        assertEquals(first, objectMapper.readTree(changes.get(1).getChanges()).at("/employeeId/to").asLong());
+        assertEquals(second, objectMapper.readTree(changes.get(2).getChanges()).at("/employeeId/to").asLong());
+        JsonNode unassign = objectMapper.readTree(changes.get(3).getChanges());
+        assertEquals(first, unassign.at("/employeeId/from").asLong());
+        assertFalse(unassign.at("/employeeId").has("to"));
+        assertTrue(changes.stream().allMatch(change -> "auditor".equals(change.getChangedBy())));
+    }
+
+    @Test
+    void rejectedChange_shouldNotBeAudited() throws Exception {
+        String email = "audit-" + UUID.randomUUID() + "@example.com";
+        Long id = employeeService.createEmployee(new Employee("Audit", "Rejected", email, null, null, null, null)).getId();
+        Employee stale = new Employee("Audit", "Changed", email, null, null, null, null);
+        stale.setVersion(99L);
+
+        assertThrows(RuntimeException.class, () -> employeeService.updateEmployee(id, stale));
+
+        awaitChanges(id, 1);
+        Thread.sleep(300); // Would have been written by now
+        assertEquals(1, changesOf(id).size());
+    }
+
+    private List<EntityChangeAudit> awaitChanges(Long id, int expected) throws InterruptedException {
+        return awaitChanges("Employee", id, expected);
+    }
+
+    private List<EntityChangeAudit> awaitChanges(String entityType, Long id, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<EntityChangeAudit> changes = changesOf(entityType, id);
+        while (changes.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            changes = changesOf(entityType, id);
+        }
+        assertEquals(expected, changes.size(), () -> "Audited changes of " + entityType + " " + id);
+        return changes;
+    }
+
+    private List<EntityChangeAudit> changesOf(Long id) {
+        return changesOf("Employee", id);
+    }
+
+    private List<EntityChangeAudit> changesOf(String entityType, Long id) {
+        return auditRepository.findByEntityTypeAndEntityId(entityType, id,
+                PageRequest.of(0, 10, Sort.by("changedAt").and(Sort.by("id")))).getContent();
+    }
+}
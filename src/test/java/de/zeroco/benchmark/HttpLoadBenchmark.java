@@ -0,0 +1,275 @@
+package de.zeroco.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.DemoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Capacity test of the real REST endpoints: boots the application on a random port against an in-memory H2 database,
+ * seeds a {@link SyntheticDataset} and lets closed-loop clients send a weighted mix of requests. Reports throughput
+ * and p50/p95/p99 latency per endpoint, on the console and in {@code target/load-test-report.json}. Needs no network
+ * and no MySQL, so a change can be measured before and after on the same box.
+ * <p>
+ * Excluded from the regular build, run it with {@code mvn -Pbenchmark test -Dtest=HttpLoadBenchmark}. Tunable with
+ * {@code -Dloadtest.clients} (default 50), {@code -Dloadtest.warmupSeconds} (10), {@code -Dloadtest.seconds} (30),
+ * {@code -Dloadtest.departments} (20), {@code -Dloadtest.employees} (5000), {@code -Dloadtest.projects} (500),
+ * {@code -Dloadtest.membersPerProject} (10), {@code -Dloadtest.seed} (42) and {@code -Dloadtest.mix}, a list of
+ * {@code endpoint=weight} pairs over the endpoints in {@link #DEFAULT_MIX}.
+ */
+@Tag("benchmark")
+class HttpLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 50);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("loadtest.seconds", 30));
+    private static final int DEPARTMENTS = Integer.getInteger("loadtest.departments", 20);
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 5000);
+    private static final int PROJECTS = Integer.getInteger("loadtest.projects", 500);
+    private static final int MEMBERS_PER_PROJECT = Integer.getInteger("loadtest.membersPerProject", 10);
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+
+    /**
+     * Read-heavy, with logins (deliberately slow password hashing) kept rare.
+     */
+    private static final String DEFAULT_MIX = "login=1,list-employees=15,list-projects=10,list-departments=5,"
+            + "employee=35,project=20,create-employee=7,assign=7";
+    private static final int PAGE_SIZE = 20;
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest-secret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong createdEmployees = new AtomicLong();
+
+    private String baseUrl;
+    private String token;
+    private SyntheticDataset dataset;
+
+    @Test
+    void runLoadTest() throws Exception {
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long seedStart = System.nanoTime();
+            dataset = SyntheticDataset.seed(context, DEPARTMENTS, EMPLOYEES, PROJECTS, MEMBERS_PER_PROJECT, SEED,
+                    USERNAME, PASSWORD);
+            Duration seeding = Duration.ofNanos(System.nanoTime() - seedStart);
+            token = login(client);
+
+            Map<String, LatencyRecorder> results = measure(client, mix);
+            report(mix, seeding, results);
+            for (String endpoint : mix.keySet()) {
+                assertTrue(results.get(endpoint).successes() > 0, endpoint + " completed requests");
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Runs {@link #CLIENTS} closed-loop clients for the warm-up and then the measurement period; each picks its next
+     * endpoint by weight. Only the measurement period is recorded.
+     */
+    private Map<String, LatencyRecorder> measure(HttpClient client, Map<String, Integer> mix) throws Exception {
+        List<String> endpoints = new ArrayList<>(mix.keySet());
+        int[] cumulativeWeights = new int[endpoints.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            totalWeight += mix.get(endpoints.get(i));
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weightSum = totalWeight;
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            long measureUntil = measureFrom + MEASUREMENT.toNanos();
+            List<Future<Map<String, LatencyRecorder>>> recorders = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                SplittableRandom random = new SplittableRandom(SEED + i);
+                recorders.add(clients.submit(() -> {
+                    Map<String, LatencyRecorder> recorder = new LinkedHashMap<>();
+                    endpoints.forEach(endpoint -> recorder.put(endpoint, new LatencyRecorder()));
+                    start.await();
+                    long now = System.nanoTime();
+                    while (now < measureUntil) {
+                        int pick = random.nextInt(weightSum);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= pick) {
+                            index++;
+                        }
+                        String endpoint = endpoints.get(index);
+                        HttpRequest request = request(endpoint, random);
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status >= 200 && status < 300;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom && end <= measureUntil) {
+                            recorder.get(endpoint).record(end - now, ok);
+                        }
+                        now = end;
+                    }
+                    return recorder;
+                }));
+            }
+            start.countDown();
+
+            Map<String, LatencyRecorder> total = new LinkedHashMap<>();
+            endpoints.forEach(endpoint -> total.put(endpoint, new LatencyRecorder()));
+            for (Future<Map<String, LatencyRecorder>> recorder : recorders) {
+                recorder.get().forEach((endpoint, latencies) -> total.get(endpoint).add(latencies));
+            }
+            return total;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private HttpRequest request(String endpoint, SplittableRandom random) {
+        return switch (endpoint) {
+            case "login" -> post("/api/auth/login", credentials()).build();
+            case "list-employees" -> get("/api/employees?size=" + PAGE_SIZE + "&page=" + random.nextInt(pages(EMPLOYEES)));
+            case "list-projects" -> get("/api/projects?size=" + PAGE_SIZE + "&page=" + random.nextInt(pages(PROJECTS)));
+            case "list-departments" -> get("/api/departments");
+            case "employee" -> get("/api/employees/" + pick(dataset.employeeIds(), random));
+            case "project" -> get("/api/projects/" + pick(dataset.projectIds(), random));
+            case "create-employee" -> post("/api/employees", newEmployee())
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            case "assign" -> post("/api/projects/" + pick(dataset.projectIds(), random)
+                    + "/employees/" + pick(dataset.employeeIds(), random), "")
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + endpoint);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static int pages(int rows) {
+        return Math.max(1, rows / PAGE_SIZE);
+    }
+
+    private static Long pick(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String newEmployee() {
+        long number = createdEmployees.incrementAndGet();
+        return "{\"firstName\": \"Load\", \"lastName\": \"Test" + number + "\", \"email\": \"loadtest.created" + number
+                + "@example.com\", \"hireDate\": \"2024-01-01\", \"jobTitle\": \"Engineer\", \"salary\": 50000.0}";
+    }
+
+    private String login(HttpClient client) throws Exception {
+        HttpResponse<String> response = client.send(post("/api/auth/login", credentials()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    private String credentials() {
+        return "{\"username\": \"" + USERNAME + "\", \"password\": \"" + PASSWORD + "\"}";
+    }
+
+    private void report(Map<String, Integer> mix, Duration seeding, Map<String, LatencyRecorder> results) throws IOException {
+        System.out.printf("%nLoad test: %d clients, %ds warm-up, %ds measurement, %d departments, %d employees, "
+                        + "%d projects x %d members (seeded in %.1fs), Java %s%n",
+                CLIENTS, WARMUP.toSeconds(), MEASUREMENT.toSeconds(), DEPARTMENTS, EMPLOYEES, PROJECTS,
+                MEMBERS_PER_PROJECT, seeding.toMillis() / 1000.0, Runtime.version());
+        System.out.printf("%-18s %7s %10s %8s %10s %9s %9s %9s%n",
+                "endpoint", "weight", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long totalRequests = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : results.entrySet()) {
+            LatencyRecorder latencies = entry.getValue();
+            double throughput = latencies.successes() / (double) MEASUREMENT.toSeconds();
+            totalRequests += latencies.successes();
+            System.out.printf("%-18s %7d %10d %8d %10.1f %9.1f %9.1f %9.1f%n", entry.getKey(), mix.get(entry.getKey()),
+                    latencies.successes(), latencies.errors(), throughput, latencies.percentileMillis(0.50),
+                    latencies.percentileMillis(0.95), latencies.percentileMillis(0.99));
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", entry.getKey());
+            endpoint.put("weight", mix.get(entry.getKey()));
+            endpoint.put("requests", latencies.successes());
+            endpoint.put("errors", latencies.errors());
+            endpoint.put("throughput", throughput);
+            endpoint.put("p50Millis", latencies.percentileMillis(0.50));
+            endpoint.put("p95Millis", latencies.percentileMillis(0.95));
+            endpoint.put("p99Millis", latencies.percentileMillis(0.99));
+            endpoints.add(endpoint);
+        }
+        System.out.printf("%-18s %7s %10d %8s %10.1f%n", "total", "", totalRequests, "",
+                totalRequests / (double) MEASUREMENT.toSeconds());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("java", Runtime.version().toString());
+        report.put("clients", CLIENTS);
+        report.put("warmupSeconds", WARMUP.toSeconds());
+        report.put("measurementSeconds", MEASUREMENT.toSeconds());
+        report.put("departments", DEPARTMENTS);
+        report.put("employees", EMPLOYEES);
+        report.put("projects", PROJECTS);
+        report.put("membersPerProject", MEMBERS_PER_PROJECT);
+        report.put("seed", SEED);
+        report.put("seedingMillis", seeding.toMillis());
+        report.put("endpoints", endpoints);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File("target/load-test-report.json"), report);
+    }
+}
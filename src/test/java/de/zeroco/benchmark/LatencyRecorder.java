@@ -0,0 +1,60 @@
+package de.zeroco.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of successful requests in nanoseconds, plus an error count. One per client (and endpoint), so no
+ * synchronization; merge them with {@link #add(LatencyRecorder)} once the clients are done.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void record(long latencyNanos, boolean ok) {
+        if (!ok) {
+            errors++;
+            return;
+        }
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        sorted = false;
+    }
+
+    void add(LatencyRecorder other) {
+        if (size + other.size > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+        }
+        System.arraycopy(other.latencies, 0, latencies, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    long successes() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Nearest-rank percentile of the successful requests in milliseconds, {@code NaN} without any.
+     */
+    double percentileMillis(double quantile) {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, size);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(quantile * size) - 1;
+        return latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
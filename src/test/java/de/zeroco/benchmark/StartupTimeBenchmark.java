@@ -0,0 +1,256 @@
+package de.zeroco.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.DemoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Time from JVM launch to the first successful request ({@code POST /api/auth/register}, which needs JPA, security
+ * and the mail sender) for every combination of the startup optimizations: class data sharing archive, lazy
+ * optional beans ({@code app.startup.lazy-optional-beans}), deferred JPA bootstrap and the AOT-processed context.
+ * <p>
+ * Every run is a fresh JVM against its own in-memory H2 database. The application classes are packed into a jar
+ * first, CDS does not archive classes loaded from directories; the archive is created by a training run per mode.
+ * AOT bakes the {@code fast-startup} profile in, so the AOT variants always run with lazy beans and deferred
+ * bootstrap. They need the AOT classes in {@code target/classes} and are skipped (with a note) otherwise.
+ * <p>
+ * Excluded from the regular build, run it with {@code mvn -Pfast-startup package -DskipTests} followed by
+ * {@code mvn -Pbenchmark test -Dtest=StartupTimeBenchmark}. Tunable with {@code -Dstartup.runs} (default 5) per
+ * variant. Results are printed and written to {@code target/startup-benchmark-report.json}.
+ */
+@Tag("benchmark")
+class StartupTimeBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Path WORK_DIRECTORY = Paths.get("target", "startup-benchmark");
+    private static final String AOT_INITIALIZER = "de/zeroco/" + DemoApplication.class.getSimpleName()
+            + "__ApplicationContextInitializer.class";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private String classpath;
+    private int launches;
+
+    @Test
+    void measureTimeToFirstRequest() throws Exception {
+        Files.createDirectories(WORK_DIRECTORY);
+        classpath = classpath();
+        boolean aotAvailable = Files.exists(Paths.get("target", "classes").resolve(AOT_INITIALIZER));
+
+        List<Variant> variants = new ArrayList<>();
+        for (boolean cds : new boolean[]{false, true}) {
+            for (boolean lazy : new boolean[]{false, true}) {
+                for (boolean deferred : new boolean[]{false, true}) {
+                    variants.add(new Variant(false, cds, lazy, deferred));
+                }
+            }
+            if (aotAvailable) {
+                variants.add(new Variant(true, cds, true, true));
+            }
+        }
+        Path jitArchive = train(false);
+        Path aotArchive = aotAvailable ? train(true) : null;
+
+        List<Result> results = new ArrayList<>();
+        for (Variant variant : variants) {
+            Path archive = variant.cds ? (variant.aot ? aotArchive : jitArchive) : null;
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstRequest(variant, archive).toMillis();
+            }
+            Arrays.sort(millis);
+            results.add(new Result(variant, millis[0], millis[RUNS / 2], millis[RUNS - 1]));
+        }
+
+        report(results, aotAvailable);
+        assertTrue(results.stream().allMatch(result -> result.min > 0), "every variant served a request");
+    }
+
+    /**
+     * Jars of the test classpath plus the application classes packed into {@code app.jar}; test classes stay out.
+     */
+    private static String classpath() throws IOException {
+        Path classes = Paths.get("target", "classes");
+        Path appJar = WORK_DIRECTORY.resolve("app.jar");
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(appJar));
+             Stream<Path> files = Files.walk(classes)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                jar.putNextEntry(new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, jar);
+                jar.closeEntry();
+            }
+        }
+        Stream<String> dependencies = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.endsWith(".jar"));
+        return Stream.concat(Stream.of(appJar.toAbsolutePath().toString()), dependencies)
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    /**
+     * Refreshes the context once and exits, dumping the loaded classes into a dynamic CDS archive.
+     */
+    private Path train(boolean aot) throws Exception {
+        Path archive = WORK_DIRECTORY.resolve(aot ? "aot.jsa" : "jit.jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        List<String> command = command(new Variant(aot, false, aot, aot), null, freePort());
+        command.add(1, "-XX:ArchiveClassesAtExit=" + archive);
+        command.add(2, "-Dspring.context.exit=onRefresh");
+        Process process = start(command, "train-" + (aot ? "aot" : "jit"));
+        if (!process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS) || !Files.exists(archive)) {
+            process.destroyForcibly();
+            fail("CDS training run did not create " + archive + ", see " + WORK_DIRECTORY);
+        }
+        return archive;
+    }
+
+    private Duration timeToFirstRequest(Variant variant, Path archive) throws Exception {
+        int port = freePort();
+        List<String> command = command(variant, archive, port);
+        String registration = objectMapper.writeValueAsString(Map.of(
+                "username", "startup", "password", "startup-secret", "email", "startup@example.com",
+                "firstName", "Start", "lastName", "Up"));
+        HttpRequest register = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(registration))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = start(command, variant.name() + "-" + launches);
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                try {
+                    if (client.send(register, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                        return Duration.ofNanos(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                if (!process.isAlive()) {
+                    fail(variant.name() + " exited with " + process.exitValue() + ", see " + WORK_DIRECTORY);
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError(variant.name() + " served no request within " + TIMEOUT.toSeconds() + "s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private List<String> command(Variant variant, Path archive, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        if (variant.aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of("-cp", classpath, DemoApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                // As in the tests: the migrations create the schema, H2 cannot pass validate (TEXT is reported as CLOB)
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=2525",
+                "--logging.level.root=WARN"));
+        if (variant.aot) {
+            command.add("--spring.profiles.active=fast-startup");
+        } else {
+            command.add("--app.startup.lazy-optional-beans=" + variant.lazy);
+            command.add("--spring.data.jpa.repositories.bootstrap-mode=" + (variant.deferred ? "deferred" : "default"));
+        }
+        return command;
+    }
+
+    private Process start(List<String> command, String logName) throws IOException {
+        launches++;
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(WORK_DIRECTORY.resolve(logName + ".log").toFile())
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void report(List<Result> results, boolean aotAvailable) throws IOException {
+        System.out.printf("%nStartup benchmark: time to first successful request, %d runs per variant, Java %s%n",
+                RUNS, Runtime.version());
+        System.out.printf("%-5s %-5s %-5s %-9s %9s %9s %9s%n", "aot", "cds", "lazy", "deferred", "min ms", "p50 ms", "max ms");
+        List<Map<String, Object>> variants = new ArrayList<>();
+        for (Result result : results) {
+            System.out.println(result);
+            Map<String, Object> variant = new LinkedHashMap<>();
+            variant.put("aot", result.variant.aot);
+            variant.put("cds", result.variant.cds);
+            variant.put("lazyOptionalBeans", result.variant.lazy);
+            variant.put("deferredJpaBootstrap", result.variant.deferred);
+            variant.put("minMillis", result.min);
+            variant.put("p50Millis", result.median);
+            variant.put("maxMillis", result.max);
+            variants.add(variant);
+        }
+        if (!aotAvailable) {
+            System.out.println("aot   skipped, build with mvn -Pfast-startup package -DskipTests first");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("java", Runtime.version().toString());
+        report.put("runs", RUNS);
+        report.put("variants", variants);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File("target/startup-benchmark-report.json"), report);
+    }
+
+    private record Variant(boolean aot, boolean cds, boolean lazy, boolean deferred) {
+
+        String name() {
+            return (aot ? "aot" : "jit") + (cds ? "-cds" : "") + (lazy ? "-lazy" : "") + (deferred ? "-deferred" : "");
+        }
+    }
+
+    private record Result(Variant variant, long min, long median, long max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-5s %-5s %-5s %-9s %9d %9d %9d", variant.aot, variant.cds, variant.lazy,
+                    variant.deferred, min, median, max);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package de.zeroco.benchmark;
+
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.model.User;
+import de.zeroco.repository.DepartmentRepository;
+import de.zeroco.repository.EmployeeRepository;
+import de.zeroco.repository.ProjectRepository;
+import de.zeroco.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds a load-test database through the repositories: departments, employees, projects with members and an admin
+ * user. The same seed always produces the same data.
+ */
+final class SyntheticDataset {
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Barbara", "Dennis", "Edsger", "Frances", "Grace",
+            "John", "Ken", "Linus", "Margaret", "Niklaus", "Radia", "Sophie", "Tim"};
+    private static final String[] LAST_NAMES = {"Allen", "Dijkstra", "Hamilton", "Hopper", "Kernighan", "Lamport",
+            "Liskov", "Lovelace", "Perlman", "Ritchie", "Thompson", "Torvalds", "Turing", "Wilson", "Wirth"};
+    private static final String[] JOB_TITLES = {"Engineer", "Senior Engineer", "Designer", "Product Manager",
+            "Analyst", "Accountant", "Recruiter", "Support Specialist"};
+    private static final int BATCH_SIZE = 500;
+
+    private final List<Long> departmentIds = new ArrayList<>();
+    private final List<Long> employeeIds = new ArrayList<>();
+    private final List<Long> projectIds = new ArrayList<>();
+
+    private SyntheticDataset() {
+    }
+
+    /**
+     * @param membersPerProject employees assigned to every project, picked at random
+     */
+    static SyntheticDataset seed(ApplicationContext context, int departments, int employees, int projects,
+                                 int membersPerProject, long seed, String adminUsername, String adminPassword) {
+        SplittableRandom random = new SplittableRandom(seed);
+        SyntheticDataset dataset = new SyntheticDataset();
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(adminPassword);
+        userRepository.save(new User(adminUsername, encodedPassword, adminUsername + "@example.com", "Load", "Test",
+                "ROLE_ADMIN,ROLE_USER"));
+
+        DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+        List<Department> departmentBatch = new ArrayList<>();
+        for (int i = 0; i < departments; i++) {
+            departmentBatch.add(new Department("Department " + i, "Building " + (char) ('A' + i % 26)));
+        }
+        departmentRepository.saveAll(departmentBatch).forEach(department -> dataset.departmentIds.add(department.getId()));
+
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        List<Employee> saved = new ArrayList<>(employees);
+        List<Employee> employeeBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < employees; i++) {
+            employeeBatch.add(employee(random, i));
+            if (employeeBatch.size() == BATCH_SIZE || i == employees - 1) {
+                saved.addAll(employeeRepository.saveAll(employeeBatch));
+                employeeBatch.clear();
+            }
+        }
+        saved.forEach(employee -> dataset.employeeIds.add(employee.getId()));
+
+        ProjectRepository projectRepository = context.getBean(ProjectRepository.class);
+        List<Project> projectBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < projects; i++) {
+            LocalDate start = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500));
+            Project project = new Project("Project " + i, "Synthetic project " + i, start,
+                    random.nextInt(3) == 0 ? null : start.plusDays(30 + random.nextInt(700)));
+            for (int member = 0; member < Math.min(membersPerProject, saved.size()); member++) {
+                project.getEmployees().add(saved.get(random.nextInt(saved.size())));
+            }
+            projectBatch.add(project);
+            if (projectBatch.size() == BATCH_SIZE || i == projects - 1) {
+                projectRepository.saveAll(projectBatch).forEach(p -> dataset.projectIds.add(p.getId()));
+                projectBatch.clear();
+            }
+        }
+        return dataset;
+    }
+
+    private static Employee employee(SplittableRandom random, int index) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new Employee(firstName, lastName,
+                firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + index + "@example.com",
+                "+49 30 " + (1_000_000 + random.nextInt(9_000_000)),
+                LocalDate.of(2010, 1, 1).plusDays(random.nextInt(5000)),
+                JOB_TITLES[random.nextInt(JOB_TITLES.length)],
+                30000.0 + random.nextInt(9000) * 10);
+    }
+
+    List<Long> departmentIds() {
+        return departmentIds;
+    }
+
+    List<Long> employeeIds() {
+        return employeeIds;
+    }
+
+    List<Long> projectIds() {
+        return projectIds;
+    }
+}
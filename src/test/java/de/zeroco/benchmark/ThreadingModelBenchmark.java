@@ -0,0 +1,186 @@
+package de.zeroco.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.DemoApplication;
+import de.zeroco.model.Employee;
+import de.zeroco.repository.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and latency of {@code GET /api/employees} and {@code POST /api/auth/login} with request
+ * handling on platform threads versus virtual threads (the {@code virtual-threads} profile).
+ * <p>
+ * Each threading model gets its own application instance on a random port with the same connection pool size,
+ * so the only difference is the thread that serves the request. The virtual thread run needs Java 21 and is
+ * skipped (with a note in the report) on older JVMs.
+ * <p>
+ * Excluded from the regular build, run it with {@code mvn -Pbenchmark,java21 test}. Tunable with
+ * {@code -Dbenchmark.clients} (default 1000), {@code -Dbenchmark.warmupSeconds} (10) and {@code -Dbenchmark.seconds} (30).
+ */
+@Tag("benchmark")
+class ThreadingModelBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmupSeconds", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "benchmark-secret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareThreadingModels() throws Exception {
+        List<Result> results = new ArrayList<>(run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.addAll(run(true));
+        }
+
+        System.out.printf("%nThreading model benchmark: %d clients, %ds warm-up, %ds measurement, Java %s%n",
+                CLIENTS, WARMUP.toSeconds(), MEASUREMENT.toSeconds(), Runtime.version());
+        System.out.printf("%-10s %-22s %10s %8s %10s %9s %9s%n", "threads", "request", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (Result result : results) {
+            System.out.println(result);
+        }
+        if (Runtime.version().feature() < 21) {
+            System.out.println("virtual    skipped, needs Java 21");
+        }
+        assertTrue(results.stream().allMatch(result -> result.requests > 0), "every scenario completed requests");
+    }
+
+    private List<Result> run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles(virtual ? new String[]{"virtual-threads"} : new String[0])
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.datasource.hikari.connection-timeout=5000",
+                        "--logging.level.root=WARN");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            seedEmployees(context.getBean(EmployeeRepository.class));
+            String token = register(client, baseUrl);
+
+            HttpRequest listEmployees = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees?size=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                    .build();
+
+            return List.of(
+                    measure(mode, "GET /api/employees", client, listEmployees),
+                    measure(mode, "POST /api/auth/login", client, login));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seedEmployees(EmployeeRepository employeeRepository) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(new Employee("First" + i, "Last" + i, "benchmark" + i + "@example.com", null,
+                    LocalDate.of(2020, 1, 1).plusDays(i), "Engineer", 50000.0 + i));
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    private String register(HttpClient client, String baseUrl) throws Exception {
+        String registration = objectMapper.writeValueAsString(Map.of(
+                "username", USERNAME, "password", PASSWORD, "email", "benchmark@example.com",
+                "firstName", "Bench", "lastName", "Mark"));
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(registration))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    private String credentials() {
+        return "{\"username\": \"" + USERNAME + "\", \"password\": \"" + PASSWORD + "\"}";
+    }
+
+    /**
+     * Runs {@link #CLIENTS} closed-loop clients (each sends its next request as soon as the previous one is answered)
+     * for the warm-up and then the measurement period; only the measurement period is recorded.
+     */
+    private static Result measure(String mode, String name, HttpClient client, HttpRequest request) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            long measureUntil = measureFrom + MEASUREMENT.toNanos();
+            List<Future<LatencyRecorder>> recorders = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                recorders.add(clients.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    start.await();
+                    long now = System.nanoTime();
+                    while (now < measureUntil) {
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status >= 200 && status < 300;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom && end <= measureUntil) {
+                            recorder.record(end - now, ok);
+                        }
+                        now = end;
+                    }
+                    return recorder;
+                }));
+            }
+            start.countDown();
+
+            LatencyRecorder total = new LatencyRecorder();
+            for (Future<LatencyRecorder> recorder : recorders) {
+                total.add(recorder.get());
+            }
+            return new Result(mode, name, total.successes(), total.errors(),
+                    total.successes() / (double) MEASUREMENT.toSeconds(),
+                    total.percentileMillis(0.50), total.percentileMillis(0.99));
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private record Result(String mode, String name, long requests, long errors, double throughput, double p50, double p99) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %-22s %10d %8d %10.1f %9.1f %9.1f", mode, name, requests, errors, throughput, p50, p99);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.zeroco.benchmark;
+
+import de.zeroco.DemoApplication;
+import de.zeroco.dto.WebhookSubscriptionRequest;
+import de.zeroco.service.EntityChangedEvent;
+import de.zeroco.service.WebhookSubscriptionService;
+import de.zeroco.webhook.OutboxWriter;
+import de.zeroco.webhook.WebhookReceiver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sustained throughput of the webhook pipeline: producer threads commit employee changes to the outbox (one event per
+ * transaction, like the services) for the measurement period while the relay delivers them to a local
+ * {@link WebhookReceiver}. Reports the outbox write rate, the delivery rate and how long the relay needed to catch up
+ * after the producers stopped; fails below 1,000 delivered events per second.
+ * <p>
+ * Excluded from the regular build, run it with {@code mvn -Pbenchmark test -Dtest=WebhookRelayBenchmark}. Tunable
+ * with {@code -Dbenchmark.producers} (default 8) and {@code -Dbenchmark.seconds} (20).
+ */
+@Tag("benchmark")
+class WebhookRelayBenchmark {
+
+    private static final int PRODUCERS = Integer.getInteger("benchmark.producers", 8);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+    private static final Duration CATCH_UP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Test
+    void sustainedDelivery() throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-webhooks;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--app.webhooks.poll-interval=PT0.1S",
+                        "--logging.level.root=WARN");
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        try (WebhookReceiver receiver = WebhookReceiver.start()) {
+            context.getBean(WebhookSubscriptionService.class).createSubscription(
+                    new WebhookSubscriptionRequest("benchmark", receiver.url(), List.of("employee"), "benchmark-secret"));
+            OutboxWriter outboxWriter = context.getBean(OutboxWriter.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            long start = System.nanoTime();
+            long until = start + MEASUREMENT.toNanos();
+            List<Future<Integer>> produced = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                long firstId = p * 1_000_000_000L;
+                produced.add(producers.submit(() -> {
+                    int count = 0;
+                    while (System.nanoTime() < until) {
+                        long id = firstId + count++;
+                        transaction.executeWithoutResult(status -> outboxWriter.onEntityChanged(EntityChangedEvent.updated(
+                                EntityChangedEvent.Type.EMPLOYEE, id, 1L, Map.of("id", id, "jobTitle", "Engineer"))));
+                    }
+                    return count;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> count : produced) {
+                total += count.get();
+            }
+            long producedAt = System.nanoTime();
+
+            long deadline = producedAt + CATCH_UP_TIMEOUT.toNanos();
+            while (receiver.eventCount() < total && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            long deliveredAt = System.nanoTime();
+
+            double producedPerSecond = total / ((producedAt - start) / 1e9);
+            double deliveredPerSecond = receiver.eventCount() / ((deliveredAt - start) / 1e9);
+            System.out.printf("%nWebhook relay benchmark: %d producers, %ds%n", PRODUCERS, MEASUREMENT.toSeconds());
+            System.out.printf("%-28s %12d%n", "events", total);
+            System.out.printf("%-28s %12.1f%n", "written to outbox / s", producedPerSecond);
+            System.out.printf("%-28s %12.1f%n", "delivered / s", deliveredPerSecond);
+            System.out.printf("%-28s %12d%n", "requests", receiver.requests().size());
+            System.out.printf("%-28s %12.1f%n", "catch-up after writes (ms)", (deliveredAt - producedAt) / 1e6);
+
+            assertEquals(total, receiver.eventCount(), "every committed event delivered");
+            assertTrue(deliveredPerSecond >= 1000, () -> "delivered " + deliveredPerSecond + " events/s");
+        } finally {
+            producers.shutdownNow();
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package de.zeroco.config;
+
+import de.zeroco.dto.DataSourceRouteStats;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.exception.ResourceNotFoundException;
+import de.zeroco.model.Employee;
+import de.zeroco.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two embedded databases stand in for primary and replica. Replication is simulated by copying the primary into the
+ * replica ({@link #replicate()}), so anything written since the last copy is only visible on the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+        "app.datasource.replicas[0].url=" + ReadWriteRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "app.datasource.read-your-writes-window=PT1S"
+})
+class ReadWriteRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicate();
+        routingDataSource.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldBeServedByTheReplica() throws SQLException {
+        login("writer");
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+        long replicaConnections = route("replica-1").getRoutedConnections();
+
+        login("reader");
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(employee.getId()));
+        assertTrue(route("replica-1").getRoutedConnections() > replicaConnections);
+
+        replicate();
+        assertEquals(employee.getEmail(), employeeService.getEmployeeById(employee.getId()).getEmail());
+    }
+
+    @Test
+    void writer_shouldReadItsOwnWritesFromThePrimaryWithinTheWindow() throws InterruptedException {
+        login("writer");
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+
+        assertEquals(employee.getEmail(), employeeService.getEmployeeById(employee.getId()).getEmail());
+        login("reader");
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(employee.getId()));
+
+        Thread.sleep(1_200);
+        login("writer");
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(employee.getId()));
+    }
+
+    @Test
+    void unavailableReplica_shouldFailOverToThePrimaryAndRejoinWhenBack() throws SQLException {
+        login("writer");
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+
+        routingDataSource.checkReplicas();
+        assertFalse(route("replica-1").isHealthy());
+        login("reader");
+        assertEquals(employee.getEmail(), employeeService.getEmployeeById(employee.getId()).getEmail());
+
+        replicate();
+        routingDataSource.checkReplicas();
+        assertTrue(route("replica-1").isHealthy());
+    }
+
+    @Test
+    void routeStats_shouldListPrimaryAndReplicaPools() {
+        login("reader");
+        employeeService.getAllEmployees();
+
+        List<DataSourceRouteStats> stats = routingDataSource.getRouteStats();
+        assertEquals(List.of("primary", "replica-1"), stats.stream().map(DataSourceRouteStats::getName).toList());
+        assertEquals("PRIMARY", stats.get(0).getRole());
+        assertEquals("REPLICA", stats.get(1).getRole());
+        assertTrue(stats.get(1).getActiveConnections() + stats.get(1).getIdleConnections() > 0);
+    }
+
+    /**
+     * Replaces the replica content with a snapshot of the primary (creating the replica database if needed).
+     */
+    private static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private DataSourceRouteStats route(String name) {
+        return routingDataSource.getRouteStats().stream()
+                .filter(route -> route.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_ADMIN"));
+    }
+
+    private static Employee newEmployee() {
+        return new Employee("Ada", "Lovelace", "routing." + UUID.randomUUID() + "@example.com", null,
+                LocalDate.of(2020, 1, 1), "Engineer", 60000.0);
+    }
+}
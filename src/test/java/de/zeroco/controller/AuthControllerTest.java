@@ -74,6 +74,8 @@ class AuthControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(authRequest)))
                 .andExpect(status().isUnauthorized())
-                .andExpect(content().string("Incorrect username or password"));
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.type").value("urn:problem-type:company-management:invalid-credentials"))
+                .andExpect(jsonPath("$.message").value("Incorrect username or password"));
     }
 }
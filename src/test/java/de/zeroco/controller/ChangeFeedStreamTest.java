@@ -0,0 +1,109 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.service.BulkOperationService;
+import de.zeroco.service.DepartmentService;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Subscribes to the change feed through MockMvc and makes changes through the services (real H2 database).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class ChangeFeedStreamTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Test
+    void stream_shouldDeliverCommittedChangesOfTheSubscribedTopicOnly() throws Exception {
+        ProjectResponse project = projectService.createProject(new Project("Feed-" + UUID.randomUUID(), null, null, null));
+        EmployeeResponse employee = employeeService.createEmployee(
+                new Employee("Feed", "Member", "feed-" + UUID.randomUUID() + "@example.com", null, null, null, null));
+
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream").param("topics", "project:" + project.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = stream.getResponse();
+
+        departmentService.createDepartment(new Department("Feed-" + UUID.randomUUID(), "Building F"));
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+
+        String content = awaitContent(response, "\"action\":\"ASSIGNED\"");
+        assertTrue(response.getContentType().startsWith("text/event-stream"));
+        assertTrue(content.contains("\"type\":\"project\""));
+        assertTrue(content.contains("\"employeeId\":" + employee.getId()));
+        assertFalse(content.contains("\"type\":\"department\""), () -> "Only the subscribed project: " + content);
+    }
+
+    @Test
+    void stream_shouldDeliverRowsChangedByBulkOperations() throws Exception {
+        String jobTitle = "Feed-" + UUID.randomUUID();
+        EmployeeResponse employee = employeeService.createEmployee(
+                new Employee("Feed", "Bulk", "feed-" + UUID.randomUUID() + "@example.com", null, null, jobTitle, null));
+
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream").param("topics", "employee:" + employee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        bulkOperationService.reassignJobTitle(jobTitle, "Renamed " + jobTitle, false);
+
+        String content = awaitContent(stream.getResponse(), "\"action\":\"UPDATED\"");
+        assertTrue(content.contains("\"id\":" + employee.getId()));
+        assertTrue(content.contains("\"version\":1"), () -> "Version after the bulk update: " + content);
+    }
+
+    @Test
+    void stream_shouldRejectUnknownTopics() throws Exception {
+        mockMvc.perform(get("/api/changes/stream").param("topics", "salaries"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown topic: salaries")));
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        String received = content;
+        assertTrue(received.contains(expected), () -> "Expected " + expected + " in:\n" + received);
+        return received;
+    }
+}
@@ -0,0 +1,142 @@
+package de.zeroco.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.service.DepartmentService;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ETag / If-None-Match / If-Match round trips against the real (H2) database, without mocked services.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void departmentDetail_shouldRevalidateAndRejectStaleUpdates() throws Exception {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Cond-" + UUID.randomUUID(), "Building A"));
+        String url = "/api/departments/" + department.getId();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("no-store"))));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Department details = new Department(department.getName(), "Building B");
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(details)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // A second writer still holding the old tag must not overwrite the first update
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Department(department.getName(), "Building C"))))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.location").value("Building B"));
+    }
+
+    @Test
+    void updateWithOutdatedVersionInBody_shouldReturnConflict() throws Exception {
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+        employeeService.updateEmployee(employee.getId(), newEmployee(employee.getEmail(), "Lead"));
+
+        Employee stale = newEmployee(employee.getEmail(), "Principal");
+        stale.setVersion(0L);
+        mockMvc.perform(put("/api/employees/" + employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stale)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void projectETag_shouldChangeWhenAssignedEmployeeChanges() throws Exception {
+        ProjectResponse project = projectService.createProject(new Project("Cond-" + UUID.randomUUID(), "Tagged", LocalDate.now(), null));
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        String url = "/api/projects/" + project.getId();
+
+        String before = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, before)).andExpect(status().isNotModified());
+
+        employeeService.updateEmployee(employee.getId(), newEmployee(employee.getEmail(), "Lead"));
+
+        String after = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void listPage_shouldReturnNotModifiedUntilAnElementChanges() throws Exception {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Cond-" + UUID.randomUUID(), "Building A"));
+        String pageTag = mockMvc.perform(get("/api/departments").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/departments").param("size", "1000").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isNotModified());
+        // Same data, different page parameters
+        mockMvc.perform(get("/api/departments").param("size", "999").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isOk());
+
+        departmentService.updateDepartment(department.getId(), new Department(department.getName(), "Building B"));
+        mockMvc.perform(get("/api/departments").param("size", "1000").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+                .andExpect(status().isOk());
+    }
+
+    private static Employee newEmployee() {
+        return newEmployee("cond." + UUID.randomUUID() + "@example.com", "Engineer");
+    }
+
+    private static Employee newEmployee(String email, String jobTitle) {
+        return new Employee("Ada", "Lovelace", email, null, LocalDate.of(2020, 1, 1), jobTitle, 60000.0);
+    }
+}
@@ -1,6 +1,8 @@
 package de.zeroco.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.exception.InvalidRequestException;
 import de.zeroco.exception.ResourceNotFoundException;
 import de.zeroco.model.Department;
 import de.zeroco.service.DepartmentService;
@@ -10,11 +12,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -69,34 +75,54 @@ class DepartmentControllerTest {
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllDepartments_authenticated_shouldReturnListOfDepartments() throws Exception {
-        when(departmentService.getAllDepartments()).thenReturn(List.of(department1, department2));
+        when(departmentService.getAllDepartments(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(DepartmentResponse.from(department1), DepartmentResponse.from(department2))));
         mockMvc.perform(get("/api/departments"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].name", is(department1.getName())));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name", is(department1.getName())));
     }
     
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllDepartments_authenticated_shouldReturnEmptyList() throws Exception {
-        when(departmentService.getAllDepartments()).thenReturn(Collections.emptyList());
+        when(departmentService.getAllDepartments(any(Pageable.class))).thenReturn(Page.empty());
         mockMvc.perform(get("/api/departments"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.content", hasSize(0)));
     }
 
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getDepartmentById_authenticated_shouldReturnDepartment_whenFound() throws Exception {
-        when(departmentService.getDepartmentById(1L)).thenReturn(department1);
+        when(departmentService.getDepartmentById(1L)).thenReturn(DepartmentResponse.from(department1));
         mockMvc.perform(get("/api/departments/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.name", is(department1.getName())));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getDepartmentById_authenticated_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(departmentService.getDepartmentById(1L)).thenReturn(new DepartmentResponse(1L, "HR", "Building A", 3L));
+        mockMvc.perform(get("/api/departments/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void getDepartmentById_authenticated_shouldReturnBody_whenETagIsOutdated() throws Exception {
+        when(departmentService.getDepartmentById(1L)).thenReturn(new DepartmentResponse(1L, "HR", "Building A", 4L));
+        mockMvc.perform(get("/api/departments/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getDepartmentById_authenticated_shouldReturnNotFound_whenNotFound() throws Exception {
@@ -136,7 +162,7 @@ class DepartmentControllerTest {
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void createDepartment_asAdmin_shouldCreateDepartment() throws Exception {
-        when(departmentService.createDepartment(any(Department.class))).thenReturn(department1);
+        when(departmentService.createDepartment(any(Department.class))).thenReturn(DepartmentResponse.from(department1));
         mockMvc.perform(post("/api/departments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(department1)))
@@ -149,7 +175,7 @@ class DepartmentControllerTest {
     void createDepartment_asAdmin_shouldReturnBadRequest_whenNameExists() throws Exception {
         Department newDepartment = new Department("HR", "Building C");
         when(departmentService.createDepartment(any(Department.class)))
-            .thenThrow(new IllegalArgumentException("Department with name '" + newDepartment.getName() + "' already exists."));
+            .thenThrow(new InvalidRequestException("Department with name '" + newDepartment.getName() + "' already exists."));
 
         mockMvc.perform(post("/api/departments")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -164,7 +190,7 @@ class DepartmentControllerTest {
         Department updatedDetails = new Department("Human Resources", "Building A - Renovated");
         updatedDetails.setId(1L);
 
-        when(departmentService.updateDepartment(eq(1L), any(Department.class))).thenReturn(updatedDetails);
+        when(departmentService.updateDepartment(eq(1L), any(Department.class))).thenReturn(DepartmentResponse.from(updatedDetails));
 
         mockMvc.perform(put("/api/departments/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -193,7 +219,7 @@ class DepartmentControllerTest {
     void updateDepartment_asAdmin_shouldReturnBadRequest_whenNameTakenByAnother() throws Exception {
         Department updatedDetails = new Department("Engineering", "Building C"); // Trying to take department2's name
         when(departmentService.updateDepartment(eq(1L), any(Department.class)))
-            .thenThrow(new IllegalArgumentException("Department name '" + updatedDetails.getName() + "' is already in use by another department."));
+            .thenThrow(new InvalidRequestException("Department name '" + updatedDetails.getName() + "' is already in use by another department."));
 
         mockMvc.perform(put("/api/departments/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -202,6 +228,46 @@ class DepartmentControllerTest {
                 .andExpect(jsonPath("$.message", is("Department name '" + updatedDetails.getName() + "' is already in use by another department.")));
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void updateDepartment_asAdmin_shouldReturnPreconditionFailed_whenIfMatchIsOutdated() throws Exception {
+        when(departmentService.getDepartmentById(1L)).thenReturn(new DepartmentResponse(1L, "HR", "Building A", 4L));
+
+        mockMvc.perform(put("/api/departments/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(department1)))
+                .andExpect(status().isPreconditionFailed());
+        verify(departmentService, never()).updateDepartment(anyLong(), any(Department.class));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void updateDepartment_asAdmin_shouldPassIfMatchVersionToService() throws Exception {
+        when(departmentService.getDepartmentById(1L)).thenReturn(new DepartmentResponse(1L, "HR", "Building A", 4L));
+        when(departmentService.updateDepartment(eq(1L), argThat(details -> Long.valueOf(4L).equals(details.getVersion()))))
+                .thenReturn(new DepartmentResponse(1L, "HR", "Building Z", 5L));
+
+        mockMvc.perform(put("/api/departments/1")
+                        .header(HttpHeaders.IF_MATCH, "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Department("HR", "Building Z"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void updateDepartment_asAdmin_shouldReturnConflict_whenBodyVersionIsOutdated() throws Exception {
+        when(departmentService.updateDepartment(eq(1L), any(Department.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Department.class, 1L));
+
+        mockMvc.perform(put("/api/departments/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(department1)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void deleteDepartment_asAdmin_shouldDeleteDepartment() throws Exception {
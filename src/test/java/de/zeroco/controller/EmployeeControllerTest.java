@@ -1,6 +1,9 @@
 package de.zeroco.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.EmployeeSearchCriteria;
+import de.zeroco.exception.InvalidRequestException;
 import de.zeroco.exception.ResourceNotFoundException;
 import de.zeroco.model.Employee;
 import de.zeroco.service.EmployeeService;
@@ -81,7 +84,7 @@ class EmployeeControllerTest {
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllEmployees_authenticated_shouldReturnPageOfEmployees() throws Exception {
-        Page<Employee> employeePage = new PageImpl<>(List.of(employee1, employee2), PageRequest.of(0, 10), 2);
+        Page<EmployeeResponse> employeePage = new PageImpl<>(List.of(EmployeeResponse.from(employee1), EmployeeResponse.from(employee2)), PageRequest.of(0, 10), 2);
         when(employeeService.getAllEmployees(any(Pageable.class))).thenReturn(employeePage);
 
         mockMvc.perform(get("/api/employees")
@@ -100,7 +103,7 @@ class EmployeeControllerTest {
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllEmployees_authenticated_shouldReturnEmptyPage_whenNoEmployees() throws Exception {
-        Page<Employee> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
+        Page<EmployeeResponse> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
         when(employeeService.getAllEmployees(any(Pageable.class))).thenReturn(emptyPage);
 
         mockMvc.perform(get("/api/employees")
@@ -116,7 +119,7 @@ class EmployeeControllerTest {
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllEmployees_shouldPassCorrectPageableToService() throws Exception {
-        Page<Employee> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(1, 5), 0);
+        Page<EmployeeResponse> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(1, 5), 0);
         when(employeeService.getAllEmployees(any(Pageable.class))).thenReturn(emptyPage);
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
@@ -124,8 +127,8 @@ class EmployeeControllerTest {
         mockMvc.perform(get("/api/employees")
                         .param("page", "1")
                         .param("size", "5")
-                        .param("sort", "lastName,desc")
-                        .param("sort", "firstName,asc")) // Example of multi-sort
+                        .param("sortBy", "lastName")
+                        .param("sortDir", "desc"))
                 .andExpect(status().isOk());
 
         verify(employeeService).getAllEmployees(pageableCaptor.capture());
@@ -133,14 +136,47 @@ class EmployeeControllerTest {
 
         assertThat(capturedPageable.getPageNumber()).isEqualTo(1);
         assertThat(capturedPageable.getPageSize()).isEqualTo(5);
-        assertThat(capturedPageable.getSort().getOrderFor("lastName").getDirection()).isEqualTo(Sort.Direction.DESC);
-        assertThat(capturedPageable.getSort().getOrderFor("firstName").getDirection()).isEqualTo(Sort.Direction.ASC);
+        assertThat(capturedPageable.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "lastName"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void searchEmployees_authenticated_shouldPassFiltersToService() throws Exception {
+        Page<EmployeeResponse> employeePage = new PageImpl<>(List.of(EmployeeResponse.from(employee1)), PageRequest.of(0, 10), 1);
+        when(employeeService.searchEmployees(any(EmployeeSearchCriteria.class), any(Pageable.class))).thenReturn(employeePage);
+        ArgumentCaptor<EmployeeSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(EmployeeSearchCriteria.class);
+
+        mockMvc.perform(get("/api/employees/search")
+                        .param("jobTitle", "Developer")
+                        .param("hireDateFrom", "2020-01-01")
+                        .param("minSalary", "60000")
+                        .param("name", "doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].email", is(employee1.getEmail())));
+
+        verify(employeeService).searchEmployees(criteriaCaptor.capture(), any(Pageable.class));
+        assertThat(criteriaCaptor.getValue()).isEqualTo(
+                new EmployeeSearchCriteria("Developer", LocalDate.of(2020, 1, 1), null, 60000.0, null, "doe"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void searchEmployees_authenticated_shouldReturnBadRequest_whenRangeInvalid() throws Exception {
+        when(employeeService.searchEmployees(any(EmployeeSearchCriteria.class), any(Pageable.class)))
+                .thenThrow(new InvalidRequestException("minSalary must not be greater than maxSalary."));
+
+        mockMvc.perform(get("/api/employees/search")
+                        .param("minSalary", "90000")
+                        .param("maxSalary", "10000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("minSalary must not be greater than maxSalary.")));
     }
 
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getEmployeeById_authenticated_shouldReturnEmployee_whenFound() throws Exception {
-        when(employeeService.getEmployeeById(1L)).thenReturn(employee1);
+        when(employeeService.getEmployeeById(1L)).thenReturn(EmployeeResponse.from(employee1));
         mockMvc.perform(get("/api/employees/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -186,7 +222,7 @@ class EmployeeControllerTest {
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void createEmployee_asAdmin_shouldCreateEmployee() throws Exception {
-        when(employeeService.createEmployee(any(Employee.class))).thenReturn(employee1);
+        when(employeeService.createEmployee(any(Employee.class))).thenReturn(EmployeeResponse.from(employee1));
         mockMvc.perform(post("/api/employees")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(employee1)))
@@ -199,7 +235,7 @@ class EmployeeControllerTest {
     void createEmployee_asAdmin_shouldReturnBadRequest_whenEmailExists() throws Exception {
         Employee newEmployee = new Employee("Test", "User", "john.doe@example.com", "11111", LocalDate.now(), "Tester", 50000.0);
         when(employeeService.createEmployee(any(Employee.class)))
-                .thenThrow(new IllegalArgumentException("Employee with email " + newEmployee.getEmail() + " already exists."));
+                .thenThrow(new InvalidRequestException("Employee with email " + newEmployee.getEmail() + " already exists."));
 
         mockMvc.perform(post("/api/employees")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -214,7 +250,7 @@ class EmployeeControllerTest {
         Employee updatedDetails = new Employee("John", "DoeUpdated", "john.doe@example.com", "54321", employee1.getHireDate(), "Senior Developer", 75000.0);
         updatedDetails.setId(1L); // Ensure ID is set for the update target
 
-        when(employeeService.updateEmployee(eq(1L), any(Employee.class))).thenReturn(updatedDetails);
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class))).thenReturn(EmployeeResponse.from(updatedDetails));
 
         mockMvc.perform(put("/api/employees/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -244,7 +280,7 @@ class EmployeeControllerTest {
         Employee updatedDetails = new Employee("John", "Doe", "jane.smith@example.com", "12345", LocalDate.now(), "Developer", 70000.0);
         // Trying to update employee1 (ID 1L) with employee2's email
         when(employeeService.updateEmployee(eq(1L), any(Employee.class)))
-            .thenThrow(new IllegalArgumentException("Email " + updatedDetails.getEmail() + " is already in use by another employee."));
+            .thenThrow(new InvalidRequestException("Email " + updatedDetails.getEmail() + " is already in use by another employee."));
 
         mockMvc.perform(put("/api/employees/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -270,6 +306,7 @@ class EmployeeControllerTest {
         mockMvc.perform(delete("/api/employees/3"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", is("Employee not found with id: 3")))
-                .andExpect(jsonPath("$.deleted", is(false)));
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.title", is("Resource not found")));
     }
 }
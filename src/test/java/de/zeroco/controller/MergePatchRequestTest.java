@@ -0,0 +1,201 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.monitoring.SqlStatements;
+import de.zeroco.repository.ProjectRepository;
+import de.zeroco.service.DepartmentService;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * JSON Merge Patch round trips against the real (H2) database, without mocked services.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class MergePatchRequestTest {
+
+    private static final MediaType MERGE_PATCH_JSON = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void patchWithIfMatch_shouldLockThePatchedColumnsAndUpdateWithoutLoadingTheEntity() throws Throwable {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Patch-" + UUID.randomUUID(), "Building A"));
+        statistics.clear();
+
+        // The locking read of the replaced values for the audit log, then the UPDATE
+        SqlStatements.assertAtMost(2, () -> mockMvc.perform(patch("/api/departments/" + department.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"location\": \"Building B\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\"")));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        mockMvc.perform(get("/api/departments/" + department.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value(department.getName()))
+                .andExpect(jsonPath("$.location").value("Building B"));
+    }
+
+    @Test
+    void patch_shouldClearNullMembersAndKeepAbsentOnes() throws Exception {
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Ada", "Lovelace",
+                "patch." + UUID.randomUUID() + "@example.com", "0123", LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+
+        mockMvc.perform(patch("/api/employees/" + employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phoneNumber\": null, \"salary\": 65000, \"hireDate\": \"2021-02-03\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        EmployeeResponse patched = employeeService.getEmployeeById(employee.getId());
+        assertNull(patched.getPhoneNumber());
+        assertEquals(65000.0, patched.getSalary());
+        assertEquals(LocalDate.of(2021, 2, 3), patched.getHireDate());
+        assertEquals("Engineer", patched.getJobTitle());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    void patchWithOutdatedVersion_shouldBeRejectedWithoutChangingTheRow() throws Exception {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Patch-" + UUID.randomUUID(), "Building A"));
+        String url = "/api/departments/" + department.getId();
+        mockMvc.perform(patch(url).contentType(MERGE_PATCH_JSON).content("{\"location\": \"Building B\", \"version\": 0}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(patch(url).header(HttpHeaders.IF_MATCH, "\"0\"").contentType(MERGE_PATCH_JSON)
+                        .content("{\"location\": \"Building C\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch(url).contentType(MERGE_PATCH_JSON).content("{\"location\": \"Building C\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get(url)).andExpect(jsonPath("$.location").value("Building B"));
+    }
+
+    @Test
+    void invalidPatches_shouldBeRejected() throws Exception {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Patch-" + UUID.randomUUID(), "Building A"));
+        String url = "/api/departments/" + department.getId();
+
+        mockMvc.perform(patch(url).contentType(MERGE_PATCH_JSON).content("{\"name\": null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch(url).contentType(MERGE_PATCH_JSON).content("{\"id\": 42}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch(url).contentType(MERGE_PATCH_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/departments/999999").contentType(MERGE_PATCH_JSON).content("{\"location\": \"x\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchingAnEmployee_shouldRefreshTheCachedProjectsListingThem() throws Exception {
+        ProjectResponse project = projectService.createProject(new Project("Patch-" + UUID.randomUUID(), "Members", LocalDate.now(), null));
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Ada", "Lovelace",
+                "patch." + UUID.randomUUID() + "@example.com", null, LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        String projectTag = mockMvc.perform(get("/api/projects/" + project.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/employees/" + employee.getId()).contentType(MERGE_PATCH_JSON)
+                        .content("{\"lastName\": \"King\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/projects/" + project.getId()).header(HttpHeaders.IF_NONE_MATCH, projectTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].lastName").value("King"));
+
+        // Project tags cover the members, so patching the project is checked against the whole view
+        String currentTag = mockMvc.perform(get("/api/projects/" + project.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch("/api/projects/" + project.getId()).header(HttpHeaders.IF_MATCH, projectTag)
+                        .contentType(MERGE_PATCH_JSON).content("{\"endDate\": \"2030-01-31\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/projects/" + project.getId()).header(HttpHeaders.IF_MATCH, currentTag)
+                        .contentType(MERGE_PATCH_JSON).content("{\"endDate\": \"2030-01-31\"}"))
+                .andExpect(status().isNoContent());
+        assertEquals(LocalDate.of(2030, 1, 31), projectRepository.findById(project.getId()).orElseThrow().getEndDate());
+    }
+
+    @Test
+    void patchingAnEmployee_shouldReportATakenEmailThroughTheUniqueConstraint() throws Throwable {
+        String takenEmail = "patch." + UUID.randomUUID() + "@example.com";
+        employeeService.createEmployee(new Employee("Grace", "Hopper", takenEmail, null, LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Ada", "Lovelace",
+                "patch." + UUID.randomUUID() + "@example.com", null, LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+
+        // The locking read, the UPDATE and the outbox row; the typeahead name and the cached projects need no query
+        SqlStatements.assertAtMost(3, () -> mockMvc.perform(patch("/api/employees/" + employee.getId())
+                        .contentType(MERGE_PATCH_JSON).content("{\"lastName\": \"King\"}"))
+                .andExpect(status().isNoContent()));
+        mockMvc.perform(patch("/api/employees/" + employee.getId()).contentType(MERGE_PATCH_JSON)
+                        .content("{\"email\": \"" + takenEmail + "\"}"))
+                .andExpect(status().isBadRequest());
+
+        EmployeeResponse unchanged = employeeService.getEmployeeById(employee.getId());
+        assertEquals(employee.getEmail(), unchanged.getEmail());
+        assertEquals("King", unchanged.getLastName());
+    }
+
+    @Test
+    void renamingAProject_shouldReportATakenNameThroughTheUniqueConstraint() throws Throwable {
+        ProjectResponse taken = projectService.createProject(new Project("Patch-" + UUID.randomUUID(), null, null, null));
+        ProjectResponse project = projectService.createProject(new Project("Patch-" + UUID.randomUUID(), null, null, null));
+
+        // The locking read and the failing UPDATE, no lookup by name
+        SqlStatements.assertAtMost(2, () -> mockMvc.perform(patch("/api/projects/" + project.getId())
+                        .contentType(MERGE_PATCH_JSON).content("{\"name\": \"" + taken.getName() + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Project name '" + taken.getName() + "' is already in use by another project.")));
+
+        assertEquals(project.getName(), projectService.getProjectById(project.getId()).getName());
+    }
+}
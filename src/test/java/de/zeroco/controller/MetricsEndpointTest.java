@@ -0,0 +1,58 @@
+package de.zeroco.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scrapes the Prometheus endpoint after some traffic and checks that every metric family the dashboards rely on is there.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void prometheus_shouldExposeRequestPoolHibernateCacheAndApplicationMetrics() throws Exception {
+        mockMvc.perform(get("/api/departments")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/departments")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{application=\"demo\"")))
+                .andExpect(content().string(containsString("uri=\"/api/departments\"")))
+                .andExpect(content().string(containsString("jwt_filter_seconds_count{application=\"demo\",outcome=\"rejected\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending{application=\"demo\",pool=\"primary\"")))
+                .andExpect(content().string(containsString("datasource_route_connections_total")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")))
+                .andExpect(content().string(containsString("cache_gets_total{application=\"demo\",cache=\"departmentList\"")))
+                .andExpect(content().string(containsString("email_dispatch_total{application=\"demo\",outcome=\"failed\",type=\"registration\"")))
+                .andExpect(content().string(containsString("db_queries_slow_total")))
+                .andExpect(content().string(containsString("db_statements_count{application=\"demo\",kind=\"request\",name=\"GET /api/departments\"")))
+                .andExpect(content().string(containsString("db_statements_count{application=\"demo\",kind=\"service\",name=\"DepartmentService.getAllDepartments\"")));
+    }
+
+    @Test
+    void prometheusAndHealth_shouldBeReachableWithoutToken_otherEndpointsNot() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,160 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.monitoring.SqlStatements;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * With open-session-in-view disabled every lazy association has to be read inside the service transaction;
+ * a miss would surface as a LazyInitializationException (500) while the response is written. In return the
+ * connection goes back to the pool when the transaction ends, not when the request does.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+class OpenSessionInViewDisabledTest {
+
+    private static final long PAUSE_MILLIS = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void openEntityManagerInView_shouldNotBeRegistered() {
+        assertEquals(0, applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class).length);
+    }
+
+    @Test
+    void projectEndpoints_shouldRenderMembersWithoutAnOpenSession() throws Exception {
+        ProjectResponse project = projectService.createProject(new Project("Osiv-" + UUID.randomUUID(), "Members", LocalDate.now(), null));
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Ada", "Lovelace",
+                "osiv." + UUID.randomUUID() + "@example.com", null, LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+        String url = "/api/projects/" + project.getId();
+
+        mockMvc.perform(post(url + "/employees/" + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].id").value(employee.getId()))
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].email").value(employee.getEmail()));
+        mockMvc.perform(get("/api/projects").param("sortDir", "desc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].employees[0].lastName").value("Lovelace"));
+        mockMvc.perform(get("/api/employees/" + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0));
+        mockMvc.perform(delete(url + "/employees/" + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees").isEmpty())
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void connection_shouldBeReturnedBeforeTheResponseIsFinished() throws Exception {
+        ProjectResponse project = projectService.createProject(new Project("Osiv-" + UUID.randomUUID(), "Members", LocalDate.now(), null));
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Ada", "Lovelace",
+                "osiv." + UUID.randomUUID() + "@example.com", null, LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").tag("pool", "primary").timer();
+        long borrowed = usage.count();
+        double held = usage.totalTime(TimeUnit.MILLISECONDS);
+
+        // The members are loaded lazily by the service; with an open session the connection would stay borrowed
+        // until after the pause at the end of the request
+        ResponsePause.millis = PAUSE_MILLIS;
+        try {
+            mockMvc.perform(get("/api/projects/" + project.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.employees[0].email").value(employee.getEmail()));
+        } finally {
+            ResponsePause.millis = 0;
+        }
+
+        assertTrue(usage.count() > borrowed, "The request borrowed a connection");
+        double heldDuringRequest = usage.totalTime(TimeUnit.MILLISECONDS) - held;
+        assertTrue(heldDuringRequest < PAUSE_MILLIS,
+                () -> "Connections were held for " + heldDuringRequest + " ms during a request pausing " + PAUSE_MILLIS + " ms");
+    }
+
+    @Test
+    void projectPage_shouldLoadMembersInBatchesNotPerProject() throws Throwable {
+        for (int i = 0; i < 6; i++) {
+            ProjectResponse project = projectService.createProject(new Project("Batch-" + UUID.randomUUID(), "Members", LocalDate.now(), null));
+            EmployeeResponse employee = employeeService.createEmployee(new Employee("Grace", "Hopper",
+                    "batch." + UUID.randomUUID() + "@example.com", null, LocalDate.of(2020, 1, 1), "Engineer", 60000.0));
+            projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        }
+
+        // page, count, one batched member fetch; the departments of the members come from the second-level cache
+        SqlStatements.assertNoNPlusOne(() -> SqlStatements.assertAtMost(4, () ->
+                mockMvc.perform(get("/api/projects").param("sortDir", "desc").param("size", "6"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content.length()").value(6))));
+    }
+
+    /**
+     * Pauses requests after the handler has returned and the response body has been written, where an open session
+     * would still hold its connection.
+     */
+    @TestConfiguration
+    static class ResponsePause implements WebMvcConfigurer {
+
+        static volatile long millis;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                       ModelAndView modelAndView) throws InterruptedException {
+                    if (millis > 0) {
+                        Thread.sleep(millis);
+                    }
+                }
+            });
+        }
+    }
+}
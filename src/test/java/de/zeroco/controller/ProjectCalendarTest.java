@@ -0,0 +1,169 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.repository.ArchivedProjectRepository;
+import de.zeroco.repository.ProjectRepository;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectArchiveService;
+import de.zeroco.service.ProjectCalendarService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Date range queries answered by the in-memory interval indexes, which follow project writes and archival. The
+ * projects here run in 1972 (archived ones in 1958), away from other tests' projects; results are still narrowed to the ones created here because projects
+ * without dates overlap every range.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = {"ADMIN"})
+class ProjectCalendarTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectCalendarService calendarService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectArchiveService archiveService;
+
+    @Autowired
+    private ArchivedProjectRepository archivedProjectRepository;
+
+    @Test
+    void activeProjects_shouldFollowCreatesPatchesAndDeletes() {
+        ProjectResponse january = create(LocalDate.of(1972, 1, 1), LocalDate.of(1972, 1, 31));
+        ProjectResponse spring = create(LocalDate.of(1972, 1, 20), LocalDate.of(1972, 4, 30));
+        ProjectResponse openEnded = create(LocalDate.of(1972, 3, 1), null);
+        List<Long> ours = List.of(january.getId(), spring.getId(), openEnded.getId());
+
+        assertEquals(List.of(january.getId(), spring.getId()), activeIds(ours, "1972-01-25", "1972-02-29"));
+        assertEquals(List.of(spring.getId(), openEnded.getId()), activeIds(ours, "1972-03-01", "1972-03-01"));
+        assertEquals(List.of(openEnded.getId()), activeIds(ours, "1999-01-01", "1999-12-31"));
+
+        projectService.patchProject(spring.getId(), Map.of("endDate", "1972-02-15"), null);
+        projectService.deleteProject(january.getId());
+
+        assertEquals(List.of(spring.getId()), activeIds(ours, "1972-01-25", "1972-02-29"));
+        assertEquals(List.of(openEnded.getId()), activeIds(ours, "1972-03-01", "1972-03-01"));
+        // The database query used until the index is loaded finds the same projects
+        assertEquals(List.of(spring.getId(), openEnded.getId()), projectRepository.findIdsActiveBetween(
+                        LocalDate.of(1972, 2, 1), LocalDate.of(1972, 3, 31)).stream()
+                .filter(ours::contains)
+                .sorted()
+                .toList());
+    }
+
+    @Test
+    void employeeProjects_shouldOnlyListAssignedProjectsInTheRange() throws Exception {
+        ProjectResponse march = create(LocalDate.of(1972, 3, 1), LocalDate.of(1972, 3, 31));
+        ProjectResponse summer = create(LocalDate.of(1972, 6, 1), LocalDate.of(1972, 8, 31));
+        create(LocalDate.of(1972, 3, 1), LocalDate.of(1972, 3, 31)); // Not assigned
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Cal", "Endar",
+                "calendar-" + UUID.randomUUID() + "@example.com", null, null, "Engineer", null));
+        projectService.assignEmployeeToProject(march.getId(), employee.getId());
+        projectService.assignEmployeeToProject(summer.getId(), employee.getId());
+
+        mockMvc.perform(get("/api/employees/" + employee.getId() + "/projects")
+                        .param("from", "1972-03-15").param("to", "1972-03-20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(march.getId()));
+        mockMvc.perform(get("/api/employees/" + employee.getId() + "/projects")
+                        .param("from", "1972-03-01").param("to", "1972-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(
+                        march.getId().intValue(), summer.getId().intValue())));
+        mockMvc.perform(get("/api/employees/0/projects").param("from", "1972-03-01").param("to", "1972-03-31"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void archivedProjects_shouldBeListedWithIncludeArchived() throws Exception {
+        ProjectResponse archived = create(LocalDate.of(1958, 1, 1), LocalDate.of(1958, 6, 30));
+        ProjectResponse running = create(LocalDate.of(1958, 1, 1), null);
+        List<Long> ours = List.of(archived.getId(), running.getId());
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Cal", "Endar",
+                "calendar-" + UUID.randomUUID() + "@example.com", null, null, "Engineer", null));
+        projectService.assignEmployeeToProject(archived.getId(), employee.getId());
+        projectService.assignEmployeeToProject(running.getId(), employee.getId());
+
+        assertTrue(archiveService.archiveEndedProjects(LocalDate.of(1959, 1, 1), 100).contains(archived.getId()));
+
+        assertEquals(List.of(running.getId()), activeIds(ours, "1958-03-01", "1958-03-31"));
+        assertEquals(List.of(archived.getId(), running.getId()), activeIds(ours, "1958-03-01", "1958-03-31", true));
+        assertEquals(List.of(archived.getId()), archivedProjectRepository.findIdsActiveBetween(
+                        LocalDate.of(1958, 3, 1), LocalDate.of(1958, 3, 31)).stream()
+                .filter(ours::contains)
+                .toList());
+        mockMvc.perform(get("/api/employees/" + employee.getId() + "/projects")
+                        .param("from", "1958-03-01").param("to", "1958-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(running.getId().intValue())));
+        mockMvc.perform(get("/api/employees/" + employee.getId() + "/projects")
+                        .param("from", "1958-03-01").param("to", "1958-03-31").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(archived.getId().intValue(), running.getId().intValue())))
+                .andExpect(jsonPath("$[0].archivedAt").exists());
+
+        // Restored projects move back to the active ones
+        archiveService.restoreProject(archived.getId(), LocalDate.of(1958, 2, 28));
+        assertEquals(List.of(archived.getId(), running.getId()), activeIds(ours, "1958-02-01", "1958-03-31"));
+        assertEquals(List.of(running.getId()), activeIds(ours, "1958-03-01", "1958-03-31", true));
+        archiveService.archiveEndedProjects(LocalDate.of(1959, 1, 1), 100);
+    }
+
+    @Test
+    void invalidRange_shouldBeRejected() throws Exception {
+        assertThrows(InvalidRequestException.class, () -> calendarService.getProjectsActiveBetween(
+                LocalDate.of(1972, 2, 1), LocalDate.of(1972, 1, 1), false));
+        mockMvc.perform(get("/api/projects/active").param("from", "1972-02-01").param("to", "1972-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ProjectResponse create(LocalDate startDate, LocalDate endDate) {
+        return projectService.createProject(new Project("Calendar-" + UUID.randomUUID(), null, startDate, endDate));
+    }
+
+    private List<Long> activeIds(List<Long> ours, String from, String to) {
+        return activeIds(ours, from, to, false);
+    }
+
+    private List<Long> activeIds(List<Long> ours, String from, String to, boolean includeArchived) {
+        return calendarService.getProjectsActiveBetween(LocalDate.parse(from), LocalDate.parse(to), includeArchived).stream()
+                .map(ProjectResponse::getId)
+                .filter(ours::contains)
+                .toList();
+    }
+}
@@ -1,6 +1,8 @@
 package de.zeroco.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.InvalidRequestException;
 import de.zeroco.exception.ResourceNotFoundException;
 import de.zeroco.model.Employee;
 import de.zeroco.model.Project;
@@ -11,12 +13,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -83,28 +87,28 @@ class ProjectControllerTest {
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllProjects_authenticated_shouldReturnListOfProjects() throws Exception {
-        when(projectService.getAllProjects()).thenReturn(List.of(project1, project2));
+        when(projectService.getAllProjects(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(ProjectResponse.from(project1), ProjectResponse.from(project2))));
         mockMvc.perform(get("/api/projects"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].name", is(project1.getName())));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name", is(project1.getName())));
     }
     
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getAllProjects_authenticated_shouldReturnEmptyList() throws Exception {
-        when(projectService.getAllProjects()).thenReturn(Collections.emptyList());
+        when(projectService.getAllProjects(any(Pageable.class))).thenReturn(Page.empty());
         mockMvc.perform(get("/api/projects"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.content", hasSize(0)));
     }
 
     @Test
     @WithMockUser(username = "user", roles = {"USER"})
     void getProjectById_authenticated_shouldReturnProject_whenFound() throws Exception {
-        when(projectService.getProjectById(1L)).thenReturn(project1);
+        when(projectService.getProjectById(1L)).thenReturn(ProjectResponse.from(project1));
         mockMvc.perform(get("/api/projects/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -141,7 +145,7 @@ class ProjectControllerTest {
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void createProject_asAdmin_shouldCreateProject() throws Exception {
-        when(projectService.createProject(any(Project.class))).thenReturn(project1);
+        when(projectService.createProject(any(Project.class))).thenReturn(ProjectResponse.from(project1));
         mockMvc.perform(post("/api/projects")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(project1)))
@@ -154,7 +158,7 @@ class ProjectControllerTest {
     void createProject_asAdmin_shouldReturnBadRequest_whenNameExists() throws Exception {
         Project newProject = new Project("Alpha Project", "Desc", null, null);
         when(projectService.createProject(any(Project.class)))
-            .thenThrow(new IllegalArgumentException("Project with name '" + newProject.getName() + "' already exists."));
+            .thenThrow(new InvalidRequestException("Project with name '" + newProject.getName() + "' already exists."));
 
         mockMvc.perform(post("/api/projects")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -170,7 +174,7 @@ class ProjectControllerTest {
         Project updatedDetails = new Project("Alpha Project Updated", "New Desc", project1.getStartDate(), project1.getEndDate());
         updatedDetails.setId(1L);
 
-        when(projectService.updateProject(eq(1L), any(Project.class))).thenReturn(updatedDetails);
+        when(projectService.updateProject(eq(1L), any(Project.class))).thenReturn(ProjectResponse.from(updatedDetails));
 
         mockMvc.perform(put("/api/projects/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -220,7 +224,7 @@ class ProjectControllerTest {
         projectWithEmployee.setId(project1.getId());
         projectWithEmployee.setEmployees(Set.of(employee1)); // Simulate the state after employee is added
 
-        when(projectService.assignEmployeeToProject(1L, 101L)).thenReturn(projectWithEmployee);
+        when(projectService.assignEmployeeToProject(1L, 101L)).thenReturn(ProjectResponse.from(projectWithEmployee));
 
         mockMvc.perform(post("/api/projects/1/employees/101"))
                 .andExpect(status().isOk())
@@ -252,7 +256,7 @@ class ProjectControllerTest {
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void removeEmployeeFromProject_asAdmin_shouldRemoveEmployee() throws Exception {
          // project1 initially has no employees in this test's setup
-        when(projectService.removeEmployeeFromProject(1L, 101L)).thenReturn(project1); 
+        when(projectService.removeEmployeeFromProject(1L, 101L)).thenReturn(ProjectResponse.from(project1)); 
 
         mockMvc.perform(delete("/api/projects/1/employees/101"))
                 .andExpect(status().isOk())
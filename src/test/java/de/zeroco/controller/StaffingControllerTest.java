@@ -0,0 +1,151 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.OverallocationResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.service.AllocationConflictService;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Over-allocation checks on assignment, on project date changes and in the report, with the default limit of two
+ * concurrent projects and the check switched on.
+ */
+@SpringBootTest(properties = "app.staffing.check-on-assign=true")
+@AutoConfigureMockMvc
+@WithMockUser(roles = {"ADMIN"})
+class StaffingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AllocationConflictService allocationConflictService;
+
+    @Test
+    void assignment_shouldBeRejectedWhenItExceedsTheConcurrentProjectLimit() throws Exception {
+        EmployeeResponse employee = createEmployee();
+        ProjectResponse first = createProject(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 6, 30));
+        ProjectResponse second = createProject(LocalDate.of(2030, 3, 1), LocalDate.of(2030, 9, 30));
+        ProjectResponse third = createProject(LocalDate.of(2030, 5, 1), null);
+        ProjectResponse later = createProject(LocalDate.of(2030, 7, 1), LocalDate.of(2030, 12, 31));
+        projectService.assignEmployeeToProject(first.getId(), employee.getId());
+        projectService.assignEmployeeToProject(second.getId(), employee.getId());
+
+        mockMvc.perform(post("/api/projects/" + third.getId() + "/employees/" + employee.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("urn:problem-type:company-management:overallocated"));
+        assertTrue(projectService.getProjectById(third.getId()).getEmployees().isEmpty());
+
+        // Overlaps the second project only, the first one has ended by then
+        mockMvc.perform(post("/api/projects/" + later.getId() + "/employees/" + employee.getId()))
+                .andExpect(status().isOk());
+        // Assigning again changes nothing and is not checked
+        mockMvc.perform(post("/api/projects/" + second.getId() + "/employees/" + employee.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void dateChanges_shouldBeRejectedWhenTheyOverallocateAnEmployee() throws Exception {
+        EmployeeResponse employee = createEmployee();
+        ProjectResponse first = createProject(LocalDate.of(2032, 1, 1), LocalDate.of(2032, 3, 31));
+        ProjectResponse second = createProject(LocalDate.of(2032, 2, 1), LocalDate.of(2032, 4, 30));
+        ProjectResponse third = createProject(LocalDate.of(2032, 4, 1), LocalDate.of(2032, 6, 30));
+        projectService.assignEmployeeToProject(first.getId(), employee.getId());
+        projectService.assignEmployeeToProject(second.getId(), employee.getId());
+        projectService.assignEmployeeToProject(third.getId(), employee.getId());
+
+        mockMvc.perform(patch("/api/projects/" + third.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startDate\": \"2032-03-01\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("urn:problem-type:company-management:overallocated"));
+        mockMvc.perform(put("/api/projects/" + third.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(projectJson(third, "2032-03-15", "2032-06-30")))
+                .andExpect(status().isConflict());
+        assertEquals(LocalDate.of(2032, 4, 1), projectService.getProjectById(third.getId()).getStartDate());
+
+        // Still overlapping only the second project
+        mockMvc.perform(patch("/api/projects/" + third.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startDate\": \"2032-04-15\"}"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void openEndedProjects_shouldCountUntilThePlanningHorizon() throws Exception {
+        EmployeeResponse employee = createEmployee();
+        LocalDate today = LocalDate.now();
+        ProjectResponse first = createProject(today.minusMonths(1), null);
+        ProjectResponse second = createProject(today.minusMonths(1), null);
+        ProjectResponse soon = createProject(today.plusMonths(1), today.plusMonths(2));
+        ProjectResponse afterHorizon = createProject(today.plusYears(1), null);
+        projectService.assignEmployeeToProject(first.getId(), employee.getId());
+        projectService.assignEmployeeToProject(second.getId(), employee.getId());
+
+        mockMvc.perform(post("/api/projects/" + soon.getId() + "/employees/" + employee.getId()))
+                .andExpect(status().isConflict());
+        // The open-ended projects count for six months from today, they do not block the employee for good
+        mockMvc.perform(post("/api/projects/" + afterHorizon.getId() + "/employees/" + employee.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void report_shouldListOverlappingPeriodsOfEachEmployee() throws Exception {
+        EmployeeResponse employee = createEmployee();
+        ProjectResponse first = createProject(LocalDate.of(2031, 1, 1), LocalDate.of(2031, 3, 31));
+        ProjectResponse second = createProject(LocalDate.of(2031, 3, 1), LocalDate.of(2031, 4, 30));
+        projectService.assignEmployeeToProject(first.getId(), employee.getId());
+        projectService.assignEmployeeToProject(second.getId(), employee.getId());
+
+        List<OverallocationResponse> periods = allocationConflictService.findOverallocations(1, AllocationConflictService.MAX_RESULTS)
+                .stream()
+                .filter(period -> period.getEmployeeId().equals(employee.getId()))
+                .toList();
+
+        assertEquals(List.of(new OverallocationResponse(employee.getId(), LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 31),
+                List.of(first.getId(), second.getId()))), periods);
+        assertTrue(allocationConflictService.findOverallocations(null, AllocationConflictService.MAX_RESULTS).stream()
+                .noneMatch(period -> period.getEmployeeId().equals(employee.getId())));
+        mockMvc.perform(get("/api/staffing/overallocations").param("maxConcurrent", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private EmployeeResponse createEmployee() {
+        return employeeService.createEmployee(new Employee("Stan", "Staffing",
+                "staffing-" + UUID.randomUUID() + "@example.com", null, null, "Engineer", null));
+    }
+
+    private String projectJson(ProjectResponse project, String startDate, String endDate) {
+        return "{\"name\": \"" + project.getName() + "\", \"startDate\": \"" + startDate + "\", \"endDate\": \"" + endDate + "\"}";
+    }
+
+    private ProjectResponse createProject(LocalDate startDate, LocalDate endDate) {
+        return projectService.createProject(new Project("Staffing-" + UUID.randomUUID(), null, startDate, endDate));
+    }
+}
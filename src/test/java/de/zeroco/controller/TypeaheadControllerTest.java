@@ -0,0 +1,71 @@
+package de.zeroco.controller;
+
+import de.zeroco.dto.TypeaheadIndexStats;
+import de.zeroco.dto.TypeaheadSuggestion;
+import de.zeroco.service.TypeaheadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TypeaheadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TypeaheadService typeaheadService;
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void suggest_authenticated_shouldReturnSuggestions() throws Exception {
+        when(typeaheadService.suggest(TypeaheadService.IndexType.EMPLOYEES, "jo", 10))
+                .thenReturn(List.of(new TypeaheadSuggestion("employees", 1L, "John Doe")));
+
+        mockMvc.perform(get("/api/typeahead/employees").param("q", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is("John Doe")));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void suggest_authenticated_shouldReturnBadRequest_whenTypeUnknown() throws Exception {
+        mockMvc.perform(get("/api/typeahead/customers").param("q", "jo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown typeahead type: customers")));
+        verify(typeaheadService, never()).suggest(any(), any(), eq(10));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void rebuild_asAdmin_shouldRebuildAndReturnStats() throws Exception {
+        when(typeaheadService.getStats())
+                .thenReturn(List.of(new TypeaheadIndexStats("employees", 2, 4, 1024L, 0L)));
+
+        mockMvc.perform(post("/api/typeahead/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", is("employees")))
+                .andExpect(jsonPath("$[0].tokenEntries", is(4)));
+        verify(typeaheadService).rebuild();
+    }
+}
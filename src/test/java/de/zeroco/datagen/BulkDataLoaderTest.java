@@ -0,0 +1,78 @@
+package de.zeroco.datagen;
+
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.model.Employee;
+import de.zeroco.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads into its own in-memory database, the shared test database keeps its row counts.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class BulkDataLoaderTest {
+
+    @Autowired
+    private BulkDataLoader bulkDataLoader;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void load_shouldWriteTheRequestedRowsDeterministicallyAndKeepIndexesAndIdentities() {
+        List<String> indexesBefore = secondaryIndexes();
+
+        BulkLoadResult first = bulkDataLoader.load(spec(2500));
+        BulkLoadResult second = bulkDataLoader.load(spec(2500));
+
+        assertEquals(first.getFirstEmployeeId() + 2500, second.getFirstEmployeeId());
+        assertEquals(2500 * 2, countIn("employees", first.getFirstEmployeeId(), second.getFirstEmployeeId() + 2500));
+        assertEquals(7 * 2, countIn("departments", first.getFirstDepartmentId(), second.getFirstDepartmentId() + 7));
+        assertEquals(120 * 8, jdbcTemplate.queryForObject(
+                "select count(*) from project_employee where project_id between ? and ?", Integer.class,
+                first.getFirstProjectId(), first.getFirstProjectId() + 119));
+        assertEquals(120 * 8, first.getAssignments());
+        assertEquals(names(first), names(second));
+        assertEquals(indexesBefore, secondaryIndexes());
+
+        EmployeeResponse created = employeeService.createEmployee(new Employee("After", "Load", "after.load@example.com",
+                null, LocalDate.of(2024, 1, 1), "Engineer", 50000.0));
+        assertEquals(second.getFirstEmployeeId() + 2500, created.getId());
+    }
+
+    private static DataGeneratorProperties spec(int employees) {
+        DataGeneratorProperties spec = new DataGeneratorProperties();
+        spec.setDepartments(7);
+        spec.setEmployees(employees);
+        spec.setProjects(120);
+        spec.setMembersPerProject(8);
+        spec.setRowsPerStatement(1000);
+        return spec;
+    }
+
+    private int countIn(String table, long fromId, long toIdExclusive) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where id >= ? and id < ?", Integer.class,
+                fromId, toIdExclusive);
+    }
+
+    private List<String> names(BulkLoadResult result) {
+        return jdbcTemplate.queryForList("select first_name || ' ' || last_name || ' ' || job_title from employees "
+                        + "where id >= ? and id < ? order by id", String.class,
+                result.getFirstEmployeeId(), result.getFirstEmployeeId() + result.getEmployees());
+    }
+
+    private List<String> secondaryIndexes() {
+        return jdbcTemplate.queryForList("select index_name from information_schema.indexes "
+                + "where table_name = 'EMPLOYEES' and index_type_name = 'INDEX' order by index_name", String.class);
+    }
+}
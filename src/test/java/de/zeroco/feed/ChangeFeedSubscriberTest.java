@@ -0,0 +1,161 @@
+package de.zeroco.feed;
+
+import de.zeroco.service.EntityChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedSubscriberTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void accepts_shouldMatchCollectionEntityAndAssignedEmployeeTopics() {
+        EntityChangedEvent assignment = new EntityChangedEvent(EntityChangedEvent.Type.PROJECT,
+                EntityChangedEvent.Action.ASSIGNED, 7L, 3L, 42L, null);
+        List<String> topics = ChangeFeed.topicsOf(assignment);
+
+        assertEquals(List.of("projects", "project:7", "employee:42"), topics);
+        assertTrue(subscriber(new RecordingEmitter(), Set.of()).accepts(topics));
+        assertTrue(subscriber(new RecordingEmitter(), Set.of("employee:42")).accepts(topics));
+        assertFalse(subscriber(new RecordingEmitter(), Set.of("project:8", "employees", "departments")).accepts(topics));
+    }
+
+    @Test
+    void offer_shouldWriteFramesInOrder() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.blockWrites();
+        ChangeFeedSubscriber subscriber = subscriber(emitter, Set.of());
+
+        // The first frame is taken by the writer, the other two fill the buffer
+        assertTrue(subscriber.offer(ChangeFeedSubscriber.Frame.event(1, "{}")));
+        emitter.awaitBlocked();
+        assertTrue(subscriber.offer(ChangeFeedSubscriber.Frame.event(2, "{}")));
+        assertTrue(subscriber.offer(ChangeFeedSubscriber.Frame.event(3, "{}")));
+        emitter.unblockWrites();
+
+        emitter.await(3);
+        assertEquals(List.of("1", "2", "3"), emitter.ids());
+    }
+
+    @Test
+    void offer_shouldReportFullBuffer_whileTheClientDoesNotRead() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.blockWrites();
+        ChangeFeedSubscriber subscriber = subscriber(emitter, Set.of());
+
+        assertTrue(subscriber.offer(ChangeFeedSubscriber.Frame.event(1, "{}"))); // Taken by the blocked writer
+        emitter.awaitBlocked();
+        assertTrue(subscriber.offer(ChangeFeedSubscriber.Frame.event(2, "{}")));
+        assertTrue(subscriber.offer(ChangeFeedSubscriber.Frame.event(3, "{}")));
+
+        assertFalse(subscriber.offer(ChangeFeedSubscriber.Frame.event(4, "{}")));
+
+        subscriber.close();
+        emitter.unblockWrites();
+        emitter.awaitCompletion();
+        assertTrue(subscriber.isClosed());
+        assertEquals(1, emitter.sent.size(), "queued frames are dropped on close");
+    }
+
+    @Test
+    void heartbeat_shouldOnlyBeQueuedForIdleStreams() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.blockWrites();
+        ChangeFeedSubscriber subscriber = subscriber(emitter, Set.of());
+        subscriber.offer(ChangeFeedSubscriber.Frame.event(1, "{}"));
+        emitter.awaitBlocked();
+        subscriber.offer(ChangeFeedSubscriber.Frame.event(2, "{}"));
+
+        subscriber.heartbeat(); // Not idle, skipped
+
+        emitter.unblockWrites();
+        emitter.await(2);
+        subscriber.heartbeat(); // Idle
+        emitter.await(3);
+        assertEquals(3, emitter.sent.size());
+    }
+
+    private ChangeFeedSubscriber subscriber(SseEmitter emitter, Set<String> topics) {
+        return new ChangeFeedSubscriber(emitter, topics, 2, executor);
+    }
+
+    /**
+     * Records what would be written; can stall like a client that stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        private final Semaphore written = new Semaphore(0);
+        private int awaited;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        void blockWrites() {
+            release = new CountDownLatch(1);
+        }
+
+        void unblockWrites() {
+            release.countDown();
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        }
+
+        void awaitCompletion() throws InterruptedException {
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+        }
+
+        // Waits until the given total number of frames has been written
+        void await(int frames) throws InterruptedException {
+            assertTrue(written.tryAcquire(frames - awaited, 5, TimeUnit.SECONDS), () -> "written: " + sent.size());
+            awaited = frames;
+            assertEquals(frames, sent.size());
+        }
+
+        // Ids of the events written, in order
+        List<String> ids() {
+            return sent.stream()
+                    .map(builder -> builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()))
+                    .map(text -> text.lines().filter(line -> line.startsWith("id:")).findFirst().orElse("id:").substring(3))
+                    .toList();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            sent.add(builder);
+            written.release();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package de.zeroco.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.exception.SubscriberLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    private static final int MAX_SUBSCRIBERS = 5;
+    private static final int CALLERS = 32;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private ChangeFeed changeFeed;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (changeFeed != null) {
+            changeFeed.shutdown();
+        }
+    }
+
+    @Test
+    void subscribe_shouldNotExceedTheLimitWhenCalledConcurrently() throws Exception {
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setMaxSubscribers(MAX_SUBSCRIBERS);
+        properties.setDeliveryThreads(1);
+        changeFeed = new ChangeFeed(new ObjectMapper(), properties, new SimpleMeterRegistry());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                try {
+                    changeFeed.subscribe(Set.of());
+                    return true;
+                } catch (SubscriberLimitExceededException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int subscribed = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(5, TimeUnit.SECONDS)) {
+                subscribed++;
+            }
+        }
+        assertEquals(MAX_SUBSCRIBERS, subscribed);
+        assertEquals(MAX_SUBSCRIBERS, changeFeed.getSubscriberCount());
+    }
+}
@@ -0,0 +1,213 @@
+package de.zeroco.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.IdempotencyKeyReusedException;
+import de.zeroco.exception.RequestInProgressException;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.repository.EmployeeRepository;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replay of responses to retried POST requests with an {@code Idempotency-Key}, and the store behind it with
+ * in-flight duplicates and a second instance sharing the table.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = {"ADMIN"})
+class IdempotencyKeyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retriedCreate_shouldReplayTheFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = "idempotent-" + UUID.randomUUID() + "@example.com";
+        String body = employeeJson(email);
+
+        MvcResult first = mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED))
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                .andReturn();
+
+        JsonNode created = objectMapper.readTree(first.getResponse().getContentAsString());
+        assertEquals(created.get("id").asLong(),
+                objectMapper.readTree(retry.getResponse().getContentAsString()).get("id").asLong());
+        assertTrue(employeeRepository.findByEmail(email).isPresent());
+
+        // Without the key the duplicate runs again and is rejected
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void keyReusedForAnotherBody_shouldBeRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(employeeJson("reused-" + UUID.randomUUID() + "@example.com")))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(employeeJson("other-" + UUID.randomUUID() + "@example.com")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.type").value("urn:problem-type:company-management:idempotency-key-reused"));
+    }
+
+    @Test
+    void clientError_shouldBeReplayedAndInvalidKeyRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = "{\"firstName\":";
+        mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+        // 4xx responses are final and replayed like any other
+        mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"));
+
+        mockMvc.perform(post("/api/employees").header(IdempotencyFilter.IDEMPOTENCY_KEY, "x".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void retriedAssignment_shouldBeReplayed() throws Exception {
+        EmployeeResponse employee = employeeService.createEmployee(new Employee("Ida", "Empotent",
+                "assign-" + UUID.randomUUID() + "@example.com", null, null, "Engineer", null));
+        ProjectResponse project = projectService.createProject(new Project("Idempotent-" + UUID.randomUUID(), null, null, null));
+        String path = "/api/projects/" + project.getId() + "/employees/" + employee.getId();
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post(path).header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        mockMvc.perform(post(path).header(IdempotencyFilter.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"));
+    }
+
+    @Test
+    void duplicate_shouldWaitForTheRequestInFlight() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(properties(false, Duration.ofSeconds(5)), jdbcTemplate);
+        String scopeKey = UUID.randomUUID().toString();
+        assertNull(store.claim(scopeKey, "fingerprint"));
+
+        CompletableFuture<StoredResponse> duplicate = CompletableFuture.supplyAsync(() -> claim(store, scopeKey, "fingerprint"));
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.claim(scopeKey, "other"));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+
+        StoredResponse response = response("fingerprint", 201);
+        store.complete(scopeKey, response);
+        assertSame(response, duplicate.get(5, TimeUnit.SECONDS));
+        assertSame(response, store.claim(scopeKey, "fingerprint"));
+    }
+
+    @Test
+    void releasedKey_shouldBeClaimedByTheWaitingDuplicate() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(properties(false, Duration.ofSeconds(5)), jdbcTemplate);
+        String scopeKey = UUID.randomUUID().toString();
+        assertNull(store.claim(scopeKey, "fingerprint"));
+
+        CompletableFuture<StoredResponse> duplicate = CompletableFuture.supplyAsync(() -> claim(store, scopeKey, "fingerprint"));
+        Thread.sleep(100);
+        store.release(scopeKey);
+
+        assertNull(duplicate.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void secondInstance_shouldReplayFromTheTable() throws Exception {
+        IdempotencyStore first = new IdempotencyStore(properties(true, Duration.ofMillis(200)), jdbcTemplate);
+        IdempotencyStore second = new IdempotencyStore(properties(true, Duration.ofMillis(200)), jdbcTemplate);
+        // Both columns are CHAR(64) SHA-256 hex digests
+        String scopeKey = digest();
+        String fingerprint = digest();
+        assertNull(first.claim(scopeKey, fingerprint));
+
+        assertThrows(RequestInProgressException.class, () -> second.claim(scopeKey, fingerprint));
+        assertThrows(IdempotencyKeyReusedException.class, () -> second.claim(scopeKey, digest()));
+
+        first.complete(scopeKey, response(fingerprint, 201));
+        StoredResponse replayed = second.claim(scopeKey, fingerprint);
+        assertEquals(201, replayed.status());
+        assertEquals("/api/employees/1", replayed.location());
+        assertEquals("{\"id\":1}", new String(replayed.body(), StandardCharsets.UTF_8));
+    }
+
+    private String employeeJson(String email) throws Exception {
+        return objectMapper.writeValueAsString(new Employee("Ida", "Empotent", email, null, null, "Engineer", null));
+    }
+
+    private static String digest() {
+        return (UUID.randomUUID().toString() + UUID.randomUUID()).replace("-", "");
+    }
+
+    private static StoredResponse claim(IdempotencyStore store, String scopeKey, String fingerprint) {
+        try {
+            return store.claim(scopeKey, fingerprint);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StoredResponse response(String fingerprint, int status) {
+        return new StoredResponse(fingerprint, status, MediaType.APPLICATION_JSON_VALUE, "/api/employees/1", null,
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static IdempotencyProperties properties(boolean jdbcEnabled, Duration waitTimeout) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setJdbcEnabled(jdbcEnabled);
+        properties.setWaitTimeout(waitTimeout);
+        return properties;
+    }
+}
@@ -0,0 +1,60 @@
+package de.zeroco.monitoring;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Statement budget assertions for tests that run against the real data source, e.g.
+ * {@code SqlStatements.assertAtMost(3, () -> projectService.getProjectById(id))}. Statements are counted on the calling
+ * thread, so the code under test has to run synchronously (service calls, MockMvc).
+ */
+public final class SqlStatements {
+
+    /**
+     * Same default as {@code app.sql.n-plus-one-threshold}.
+     */
+    private static final int N_PLUS_ONE_THRESHOLD = 5;
+
+    private SqlStatements() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, ThrowingSupplier<T> call) throws Throwable {
+        try (StatementTracker.Scope scope = StatementTracker.open("assertion")) {
+            T result = call.get();
+            if (scope.getStatementCount() > maxStatements) {
+                fail("Expected at most " + maxStatements + " statement(s), " + scope);
+            }
+            return result;
+        }
+    }
+
+    public static void assertAtMost(int maxStatements, Executable call) throws Throwable {
+        assertAtMost(maxStatements, () -> {
+            call.execute();
+            return null;
+        });
+    }
+
+    public static <T> T assertNoNPlusOne(ThrowingSupplier<T> call) throws Throwable {
+        try (StatementTracker.Scope scope = StatementTracker.open("assertion")) {
+            T result = call.get();
+            Map<String, Integer> repeated = scope.getRepeatedStatements(N_PLUS_ONE_THRESHOLD);
+            if (!repeated.isEmpty()) {
+                fail("Expected no statement repeated with " + N_PLUS_ONE_THRESHOLD + " or more parameter sets, got "
+                        + repeated + ", " + scope);
+            }
+            return result;
+        }
+    }
+
+    public static void assertNoNPlusOne(Executable call) throws Throwable {
+        assertNoNPlusOne(() -> {
+            call.execute();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package de.zeroco.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs plain JDBC through the proxied data source and checks what the scopes count and report.
+ */
+@SpringBootTest
+class StatementTrackerTest {
+
+    private static final String SELECT_BY_ID = "select count(*) from departments where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCountReporter reporter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void scope_shouldCountStatementsAndSpotRepeatsWithDifferentParameters() {
+        try (StatementTracker.Scope outer = StatementTracker.open("outer")) {
+            try (StatementTracker.Scope inner = StatementTracker.open("inner")) {
+                for (long id = 1; id <= 5; id++) {
+                    jdbcTemplate.queryForObject(SELECT_BY_ID, Long.class, id);
+                }
+                assertEquals(5, inner.getStatementCount());
+                assertEquals(5, inner.getRepeatedStatements(5).get(SELECT_BY_ID));
+            }
+            jdbcTemplate.queryForObject(SELECT_BY_ID, Long.class, 1L);
+
+            assertEquals(6, outer.getStatementCount());
+            assertEquals(6, outer.getStatementCounts().get(SELECT_BY_ID));
+            assertEquals(5, outer.getRepeatedStatements(5).get(SELECT_BY_ID));
+        }
+        try (StatementTracker.Scope scope = StatementTracker.open("same parameters")) {
+            for (int i = 0; i < 5; i++) {
+                jdbcTemplate.queryForObject(SELECT_BY_ID, Long.class, 1L);
+            }
+            assertTrue(scope.getRepeatedStatements(2).isEmpty());
+        }
+    }
+
+    @Test
+    void report_shouldFlagARepeatOnceAcrossNestedScopes() {
+        double before = nPlusOneCount();
+        try (StatementTracker.Scope request = StatementTracker.open("request")) {
+            try (StatementTracker.Scope service = StatementTracker.open("service")) {
+                for (long id = 1; id <= 5; id++) {
+                    jdbcTemplate.queryForObject(SELECT_BY_ID, Long.class, id);
+                }
+                reporter.report(service, "service", "StatementTrackerTest.loop");
+            }
+            reporter.report(request, "request", "GET /test");
+        }
+
+        assertEquals(before + 1, nPlusOneCount());
+        assertEquals(5.0, meterRegistry.get("db.statements").tag("name", "GET /test").summary().totalAmount());
+    }
+
+    private double nPlusOneCount() {
+        return meterRegistry.find("db.n_plus_one").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+}
@@ -0,0 +1,158 @@
+package de.zeroco.repository;
+
+import de.zeroco.dto.EmployeeSearchCriteria;
+import de.zeroco.model.Employee;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a synthetic employee table and checks both the search results and that H2 plans each
+ * supported filter shape through one of the indexes created by the schema migrations. The plans are those of the
+ * statements the search sent, captured with datasource-proxy.
+ */
+@DataJpaTest
+class EmployeeSearchIndexTest {
+
+    private static final String[] JOB_TITLES = {"Developer", "Manager", "Designer", "Analyst", "Tester"};
+    private static final int EMPLOYEE_COUNT = 2000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEE_COUNT);
+        LocalDate firstHire = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employees.add(new Employee("First" + i, "Last" + i, "employee" + i + "@example.com", null,
+                    firstHire.plusDays(i), JOB_TITLES[i % JOB_TITLES.length], 40000.0 + (i % 100) * 1000));
+        }
+        employeeRepository.saveAll(employees);
+        entityManager.flush();
+    }
+
+    @Test
+    void search_byJobTitleAndHireDateRange_shouldUseJobTitleHireDateIndex() {
+        LocalDate from = LocalDate.of(2016, 1, 1);
+        LocalDate to = LocalDate.of(2016, 12, 31);
+        Page<Employee> result = search(new EmployeeSearchCriteria("Developer", from, to, null, null, null));
+
+        assertTrue(result.getTotalElements() > 0);
+        assertTrue(result.getContent().stream().allMatch(e -> "Developer".equals(e.getJobTitle())
+                && !e.getHireDate().isBefore(from) && !e.getHireDate().isAfter(to)));
+        assertPlanUses("IDX_EMPLOYEES_JOB_TITLE_HIRE_DATE");
+    }
+
+    @Test
+    void search_byJobTitleAndSalaryBand_shouldUseJobTitleSalaryIndex() {
+        Page<Employee> result = search(new EmployeeSearchCriteria("Manager", null, null, 60000.0, 70000.0, null));
+
+        assertTrue(result.getTotalElements() > 0);
+        assertTrue(result.getContent().stream().allMatch(e -> "Manager".equals(e.getJobTitle())
+                && e.getSalary() >= 60000.0 && e.getSalary() <= 70000.0));
+        assertPlanUses("IDX_EMPLOYEES_JOB_TITLE_SALARY");
+    }
+
+    @Test
+    void search_byHireDateRangeOnly_shouldUseHireDateIndex() {
+        Page<Employee> result = search(new EmployeeSearchCriteria(null, LocalDate.of(2017, 3, 1), LocalDate.of(2017, 3, 31), null, null, null));
+
+        assertEquals(31, result.getTotalElements());
+        assertPlanUses("IDX_EMPLOYEES_HIRE_DATE");
+    }
+
+    @Test
+    void search_bySalaryBandOnly_shouldUseSalaryIndex() {
+        Page<Employee> result = search(new EmployeeSearchCriteria(null, null, null, 138000.0, null, null));
+
+        assertEquals(EMPLOYEE_COUNT / 100 * 2, result.getTotalElements());
+        assertPlanUses("IDX_EMPLOYEES_SALARY");
+    }
+
+    @Test
+    void search_byNameContains_shouldMatchFirstOrLastNameIgnoringCase() {
+        Page<Employee> result = search(new EmployeeSearchCriteria("Developer", null, null, null, null, "LAST123"));
+
+        // Last123x with x in 0..9 plus Last123 itself, filtered down to Developers (index % 5 == 0)
+        assertEquals(List.of("Last1230", "Last1235"),
+                result.getContent().stream().map(Employee::getLastName).sorted().toList());
+    }
+
+    @Test
+    void search_withoutFilters_shouldReturnAllEmployees() {
+        assertEquals(EMPLOYEE_COUNT, search(new EmployeeSearchCriteria()).getTotalElements());
+    }
+
+    private Page<Employee> search(EmployeeSearchCriteria criteria) {
+        StatementCapture.queries.clear();
+        return employeeRepository.findAll(EmployeeSpecifications.matching(criteria), PageRequest.of(0, 100));
+    }
+
+    // Explains the page query the last search ran, with the parameters it was run with
+    private void assertPlanUses(String indexName) {
+        QueryInfo query = StatementCapture.queries.get(0);
+        String plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+                for (ParameterSetOperation parameter : query.getParametersList().get(0)) {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                }
+                try (ResultSet result = explain.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(plan.toUpperCase().contains(indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+    }
+
+    /**
+     * Records the statements sent to the database, with their parameters.
+     */
+    @TestConfiguration
+    static class StatementCapture {
+
+        static final List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .afterQuery((execution, queryInfos) -> queries.addAll(queryInfos))
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
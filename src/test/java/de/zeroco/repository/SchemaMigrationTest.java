@@ -0,0 +1,145 @@
+package de.zeroco.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migrations against the embedded database and checks that the indexes they define exist and are picked
+ * by H2 for the access paths they were added for. Like every test context, this one starts with
+ * {@code ddl-auto=validate}, so it also fails if an entity mapping does not match the migrated schema.
+ */
+@DataJpaTest
+class SchemaMigrationTest {
+
+    private static final int EMPLOYEE_COUNT = 1000;
+    private static final int PROJECT_COUNT = 200;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> employees = new ArrayList<>(EMPLOYEE_COUNT);
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employees.add(new Object[]{"First" + i, "Last" + i, "schema" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into employees (first_name, last_name, email) values (?, ?, ?)", employees);
+
+        List<Object[]> projects = new ArrayList<>(PROJECT_COUNT);
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            projects.add(new Object[]{"Schema project " + i, Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(i))});
+        }
+        jdbcTemplate.batchUpdate("insert into projects (name, start_date) values (?, ?)", projects);
+
+        jdbcTemplate.update("insert into project_employee (project_id, employee_id) "
+                + "select p.id, e.id from projects p join employees e on mod(e.id, 50) = mod(p.id, 50)");
+    }
+
+    @Test
+    void migrate_shouldHaveAppliedEveryMigration() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(flyway.info().all().length, flyway.info().applied().length);
+    }
+
+    @Test
+    void migrate_shouldCreateTheSecondaryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where index_type_name = 'INDEX'", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "IDX_EMPLOYEES_JOB_TITLE_HIRE_DATE", "IDX_EMPLOYEES_JOB_TITLE_SALARY", "IDX_EMPLOYEES_HIRE_DATE",
+                "IDX_EMPLOYEES_SALARY", "IDX_EMPLOYEES_LAST_NAME_FIRST_NAME", "IDX_PROJECTS_START_DATE",
+                "IDX_PROJECTS_END_DATE_START_DATE", "IDX_BULK_OPERATION_AUDIT_PERFORMED_AT",
+                "IDX_PROJECTS_ARCHIVE_NAME", "IDX_PROJECTS_ARCHIVE_START_DATE", "IDX_PROJECTS_ARCHIVE_END_DATE",
+                "IDX_IDEMPOTENCY_KEY_EXPIRES_AT")),
+                () -> "Secondary indexes: " + indexes);
+    }
+
+    @Test
+    void projectEmployee_shouldHaveOneIndexOnEmployeeId() {
+        List<String> indexes = jdbcTemplate.queryForList("select index_name from information_schema.index_columns "
+                + "where table_name = 'PROJECT_EMPLOYEE' and column_name = 'EMPLOYEE_ID' and ordinal_position = 1", String.class);
+
+        assertEquals(1, indexes.size(), () -> "Indexes starting with employee_id: " + indexes);
+    }
+
+    @Test
+    void projects_shouldHaveOneIndexOnEndDate() {
+        List<String> indexes = jdbcTemplate.queryForList("select index_name from information_schema.index_columns "
+                + "where table_name = 'PROJECTS' and column_name = 'END_DATE' and ordinal_position = 1", String.class);
+
+        assertEquals(List.of("IDX_PROJECTS_END_DATE_START_DATE"), indexes);
+    }
+
+    @Test
+    void projectsOfEmployee_shouldUseForeignKeyIndex() {
+        // Created for fk_project_employee_employee, H2 appends a suffix to the constraint name
+        assertPlanUses("FK_PROJECT_EMPLOYEE_EMPLOYEE", "SELECT project_id FROM project_employee WHERE employee_id = 7");
+    }
+
+    @Test
+    void employeesByLastName_shouldUseLastNameIndex() {
+        assertPlanUses("IDX_EMPLOYEES_LAST_NAME_FIRST_NAME", "SELECT * FROM employees WHERE last_name = 'Last7'");
+    }
+
+    @Test
+    void projectsByStartDateRange_shouldUseStartDateIndex() {
+        assertPlanUses("IDX_PROJECTS_START_DATE",
+                "SELECT * FROM projects WHERE start_date BETWEEN DATE '2020-01-01' AND DATE '2020-01-31'");
+    }
+
+    @Test
+    void baseline_shouldCompleteTheSchemaOfTheFirstRelease() {
+        // A database created by ddl-auto=update before there were migrations: no version columns, audit table or indexes
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.execute("CREATE TABLE departments (id BIGINT NOT NULL AUTO_INCREMENT, name VARCHAR(100) NOT NULL UNIQUE, "
+                + "location VARCHAR(100), PRIMARY KEY (id))");
+        legacy.execute("CREATE TABLE employees (id BIGINT NOT NULL AUTO_INCREMENT, first_name VARCHAR(50) NOT NULL, "
+                + "last_name VARCHAR(50) NOT NULL, email VARCHAR(100) NOT NULL UNIQUE, phone_number VARCHAR(20), "
+                + "hire_date DATE, job_title VARCHAR(100), salary DOUBLE, PRIMARY KEY (id))");
+        legacy.execute("CREATE TABLE projects (id BIGINT NOT NULL AUTO_INCREMENT, name VARCHAR(100) NOT NULL UNIQUE, "
+                + "description TEXT, start_date DATE, end_date DATE, PRIMARY KEY (id))");
+        legacy.execute("CREATE TABLE project_employee (project_id BIGINT NOT NULL, employee_id BIGINT NOT NULL, "
+                + "PRIMARY KEY (project_id, employee_id), FOREIGN KEY (project_id) REFERENCES projects (id), "
+                + "FOREIGN KEY (employee_id) REFERENCES employees (id))");
+        legacy.update("insert into employees (first_name, last_name, email) values ('Old', 'Row', 'old@example.com')");
+        try {
+            Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+            assertEquals(0L, legacy.queryForObject("select version from employees", Long.class));
+            assertEquals(0, legacy.queryForObject("select count(*) from bulk_operation_audit", Integer.class));
+            List<String> indexes = legacy.queryForList(
+                    "select index_name from information_schema.indexes where index_type_name = 'INDEX'", String.class);
+            assertTrue(indexes.containsAll(List.of(
+                    "IDX_EMPLOYEES_JOB_TITLE_HIRE_DATE", "IDX_EMPLOYEES_JOB_TITLE_SALARY", "IDX_EMPLOYEES_HIRE_DATE",
+                    "IDX_EMPLOYEES_SALARY", "IDX_PROJECTS_END_DATE_START_DATE", "IDX_BULK_OPERATION_AUDIT_PERFORMED_AT",
+                    "IDX_EMPLOYEES_LAST_NAME_FIRST_NAME", "IDX_PROJECTS_START_DATE")),
+                    () -> "Secondary indexes: " + indexes);
+        } finally {
+            legacy.execute("SHUTDOWN");
+        }
+    }
+
+    private void assertPlanUses(String indexName, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan.toUpperCase().contains(indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,75 @@
+package de.zeroco.service;
+
+import de.zeroco.service.AllocationSweep.Assignment;
+import de.zeroco.service.AllocationSweep.Overallocation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationSweepTest {
+
+    private static final LocalDate MAR_1 = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void overallocations_shouldReportEachPeriodWithItsProjects() {
+        List<Assignment> assignments = List.of(
+                new Assignment(1L, MAR_1, MAR_1.plusDays(30)),              // March
+                new Assignment(2L, MAR_1.plusDays(10), MAR_1.plusDays(19)), // 11th to 20th
+                new Assignment(3L, MAR_1.plusDays(15), null),               // from the 16th on
+                new Assignment(4L, MAR_1.plusDays(31), MAR_1.plusDays(40))); // April, after 1 ended
+
+        assertEquals(List.of(
+                new Overallocation(MAR_1.plusDays(10), MAR_1.plusDays(14), List.of(1L, 2L)),
+                new Overallocation(MAR_1.plusDays(15), MAR_1.plusDays(19), List.of(1L, 2L, 3L)),
+                new Overallocation(MAR_1.plusDays(20), MAR_1.plusDays(30), List.of(1L, 3L)),
+                new Overallocation(MAR_1.plusDays(31), MAR_1.plusDays(40), List.of(3L, 4L))),
+                AllocationSweep.overallocations(assignments, 1));
+        assertEquals(List.of(new Overallocation(MAR_1.plusDays(15), MAR_1.plusDays(19), List.of(1L, 2L, 3L))),
+                AllocationSweep.overallocations(assignments, 2));
+    }
+
+    @Test
+    void overallocations_shouldTreatMissingDatesAsOpen() {
+        List<Assignment> assignments = List.of(
+                new Assignment(1L, null, null),
+                new Assignment(2L, MAR_1, null));
+
+        assertEquals(List.of(new Overallocation(MAR_1, null, List.of(1L, 2L))), AllocationSweep.overallocations(assignments, 1));
+        assertEquals(List.of(), AllocationSweep.overallocations(assignments, 2));
+    }
+
+    @Test
+    void overallocations_shouldNotCountProjectsMeetingAtTheirEnds() {
+        List<Assignment> assignments = List.of(
+                new Assignment(1L, MAR_1, MAR_1.plusDays(9)),
+                new Assignment(2L, MAR_1.plusDays(10), MAR_1.plusDays(19)));
+
+        assertEquals(List.of(), AllocationSweep.overallocations(assignments, 1));
+        assertEquals(List.of(new Overallocation(MAR_1.plusDays(9), MAR_1.plusDays(9), List.of(1L, 2L))),
+                AllocationSweep.overallocations(List.of(assignments.get(0),
+                        new Assignment(2L, MAR_1.plusDays(9), MAR_1.plusDays(19))), 1));
+    }
+
+    @Test
+    void conflictsWith_shouldOnlyFailIfTheAddedRangeExceedsTheLimit() {
+        List<Assignment> existing = List.of(
+                new Assignment(1L, MAR_1, MAR_1.plusDays(9)),
+                new Assignment(2L, MAR_1.plusDays(20), MAR_1.plusDays(29)),
+                new Assignment(3L, MAR_1.plusDays(25), null));
+
+        // Overlaps 1 and 2, but never both on the same day
+        assertEquals(List.of(), AllocationSweep.conflictsWith(
+                new Assignment(9L, MAR_1.plusDays(5), MAR_1.plusDays(22)), existing, 2));
+        // Runs on days where 2 and 3 overlap
+        assertEquals(List.of(2L, 3L), AllocationSweep.conflictsWith(
+                new Assignment(9L, MAR_1.plusDays(5), MAR_1.plusDays(26)), existing, 2));
+        assertEquals(List.of(1L), AllocationSweep.conflictsWith(
+                new Assignment(9L, null, MAR_1), existing, 1));
+        // Already assigned projects are not counted twice
+        assertEquals(List.of(), AllocationSweep.conflictsWith(
+                new Assignment(2L, MAR_1.plusDays(20), MAR_1.plusDays(29)), existing, 2));
+    }
+}
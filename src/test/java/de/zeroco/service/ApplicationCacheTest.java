@@ -0,0 +1,158 @@
+package de.zeroco.service;
+
+import de.zeroco.config.CacheConfig;
+import de.zeroco.dto.CacheRegionStats;
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Department;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the Spring read-through caches of {@link DepartmentService} and {@link ProjectService}
+ * against the real (H2) database: repeated reads must not reach Hibernate and writes must evict exactly
+ * the entries they make stale.
+ */
+@SpringBootTest
+class ApplicationCacheTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getDepartmentById_shouldServeRepeatedReadsFromCache() {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Dept-" + UUID.randomUUID(), "Building A"));
+        DepartmentResponse first = departmentService.getDepartmentById(department.getId());
+        statistics.clear();
+
+        DepartmentResponse second = departmentService.getDepartmentById(department.getId());
+
+        assertSame(first, second);
+        assertEquals(0, statistics.getEntityLoadCount() + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateDepartment_shouldEvictOnlyThatDepartment() {
+        DepartmentResponse updatedOne = departmentService.createDepartment(new Department("Dept-" + UUID.randomUUID(), "Building A"));
+        DepartmentResponse untouched = departmentService.createDepartment(new Department("Dept-" + UUID.randomUUID(), "Building B"));
+        departmentService.getDepartmentById(updatedOne.getId());
+        DepartmentResponse cachedUntouched = departmentService.getDepartmentById(untouched.getId());
+
+        departmentService.updateDepartment(updatedOne.getId(), new Department(updatedOne.getName(), "Building Z"));
+
+        assertEquals("Building Z", departmentService.getDepartmentById(updatedOne.getId()).getLocation());
+        assertSame(cachedUntouched, departmentService.getDepartmentById(untouched.getId()));
+    }
+
+    @Test
+    void createAndDeleteDepartment_shouldEvictDepartmentList() {
+        List<DepartmentResponse> before = departmentService.getAllDepartments();
+        assertSame(before, departmentService.getAllDepartments());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(null));
+
+        DepartmentResponse created = departmentService.createDepartment(new Department("Dept-" + UUID.randomUUID(), "Building C"));
+        List<DepartmentResponse> afterCreate = departmentService.getAllDepartments();
+        assertEquals(before.size() + 1, afterCreate.size());
+        assertTrue(afterCreate.contains(created));
+
+        departmentService.deleteDepartment(created.getId());
+        assertEquals(before.size(), departmentService.getAllDepartments().size());
+    }
+
+    @Test
+    void assignAndRemoveEmployee_shouldEvictProject() {
+        ProjectResponse project = projectService.createProject(new Project("Proj-" + UUID.randomUUID(), "Cached", LocalDate.now(), null));
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+        assertTrue(projectService.getProjectById(project.getId()).getEmployees().isEmpty());
+
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        ProjectResponse assigned = projectService.getProjectById(project.getId());
+        assertEquals(1, assigned.getEmployees().size());
+        assertEquals(employee.getId(), assigned.getEmployees().get(0).getId());
+
+        projectService.removeEmployeeFromProject(project.getId(), employee.getId());
+        assertTrue(projectService.getProjectById(project.getId()).getEmployees().isEmpty());
+    }
+
+    @Test
+    void updateEmployee_shouldEvictProjectsListingTheEmployee() {
+        ProjectResponse project = projectService.createProject(new Project("Proj-" + UUID.randomUUID(), "Cached", LocalDate.now(), null));
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee());
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        assertEquals("Ada", projectService.getProjectById(project.getId()).getEmployees().get(0).getFirstName());
+
+        Employee details = newEmployee();
+        details.setFirstName("Grace");
+        details.setEmail(employee.getEmail());
+        employeeService.updateEmployee(employee.getId(), details);
+
+        assertEquals("Grace", projectService.getProjectById(project.getId()).getEmployees().get(0).getFirstName());
+    }
+
+    @Test
+    void getApplicationCacheStats_shouldReportHitRatioPerCache() {
+        DepartmentResponse department = departmentService.createDepartment(new Department("Dept-" + UUID.randomUUID(), "Building A"));
+        CacheRegionStats before = departmentCacheStats();
+
+        departmentService.getDepartmentById(department.getId());
+        departmentService.getDepartmentById(department.getId());
+        departmentService.getDepartmentById(department.getId());
+
+        CacheRegionStats after = departmentCacheStats();
+        assertEquals(2, after.getHitCount() - before.getHitCount());
+        assertEquals(1, after.getMissCount() - before.getMissCount());
+        assertEquals(1, after.getElementCount());
+        assertEquals(List.of(CacheConfig.DEPARTMENT_LIST, CacheConfig.DEPARTMENTS, CacheConfig.PROJECTS),
+                cacheStatisticsService.getApplicationCacheStats().stream().map(CacheRegionStats::getRegion).toList());
+    }
+
+    private CacheRegionStats departmentCacheStats() {
+        return cacheStatisticsService.getApplicationCacheStats().stream()
+                .filter(stats -> stats.getRegion().equals(CacheConfig.DEPARTMENTS))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Employee newEmployee() {
+        return new Employee("Ada", "Lovelace", "ada." + UUID.randomUUID() + "@example.com", null,
+                LocalDate.of(2020, 1, 1), "Engineer", 60000.0);
+    }
+}
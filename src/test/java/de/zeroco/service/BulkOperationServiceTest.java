@@ -0,0 +1,156 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.BulkOperationResult;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectMemberResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.BulkOperationAudit;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.repository.BulkOperationAuditRepository;
+import de.zeroco.monitoring.SqlStatements;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bulk operations against the real (H2) database.
+ */
+@SpringBootTest
+@WithMockUser(username = "payroll-admin", roles = {"ADMIN"})
+@RecordApplicationEvents
+class BulkOperationServiceTest {
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private BulkOperationAuditRepository auditRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void dryRun_shouldCountMatchingRowsWithoutChangingOrAuditing() {
+        String jobTitle = "Title-" + UUID.randomUUID();
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee(jobTitle, 50000.0));
+        employeeService.createEmployee(newEmployee(jobTitle, null));
+        long audits = auditRepository.count();
+
+        BulkOperationResult result = bulkOperationService.raiseSalaries(jobTitle, 10, true);
+
+        assertTrue(result.isDryRun());
+        assertEquals(1, result.getAffectedRows());
+        assertNull(result.getAuditId());
+        assertEquals(audits, auditRepository.count());
+        assertEquals(50000.0, employeeService.getEmployeeById(employee.getId()).getSalary());
+    }
+
+    @Test
+    void raiseSalaries_shouldUpdateAllMatchingRowsInOneStatementAndAudit() throws Throwable {
+        String jobTitle = "Title-" + UUID.randomUUID();
+        EmployeeResponse first = employeeService.createEmployee(newEmployee(jobTitle, 50000.0));
+        EmployeeResponse second = employeeService.createEmployee(newEmployee(jobTitle, 61234.56));
+        EmployeeResponse other = employeeService.createEmployee(newEmployee("Other-" + UUID.randomUUID(), 40000.0));
+
+        // the locking SELECT, the UPDATE, the SELECT of the new salaries, the audit INSERT and the batched outbox INSERT
+        BulkOperationResult result = SqlStatements.assertAtMost(5, () -> bulkOperationService.raiseSalaries(jobTitle, 3.5, false));
+
+        assertEquals(2, result.getAffectedRows());
+        assertEquals(51750.0, employeeService.getEmployeeById(first.getId()).getSalary());
+        assertEquals(63377.77, employeeService.getEmployeeById(second.getId()).getSalary());
+        assertEquals(1L, employeeService.getEmployeeById(first.getId()).getVersion());
+        assertEquals(40000.0, employeeService.getEmployeeById(other.getId()).getSalary());
+
+        BulkOperationAudit audit = auditRepository.findById(result.getAuditId()).orElseThrow();
+        assertEquals(BulkOperationService.SALARY_RAISE, audit.getOperation());
+        assertEquals(2, audit.getAffectedRows());
+        assertEquals("payroll-admin", audit.getPerformedBy());
+        assertTrue(audit.getParameters().contains(jobTitle));
+        assertEquals(List.of(first.getId() + ":1", second.getId() + ":1"),
+                updates(EntityChangedEvent.Type.EMPLOYEE, first.getId(), second.getId(), other.getId()));
+    }
+
+    @Test
+    void reassignJobTitle_shouldRenameAndRefreshCachedProjectMembers() {
+        String jobTitle = "Title-" + UUID.randomUUID();
+        String newJobTitle = "Renamed-" + UUID.randomUUID();
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee(jobTitle, 50000.0));
+        ProjectResponse project = projectService.createProject(new Project("Bulk-" + UUID.randomUUID(), null, LocalDate.now(), null));
+        projectService.assignEmployeeToProject(project.getId(), employee.getId());
+        assertEquals(jobTitle, projectService.getProjectById(project.getId()).getEmployees().get(0).getJobTitle());
+
+        BulkOperationResult result = bulkOperationService.reassignJobTitle(jobTitle, newJobTitle, false);
+
+        assertEquals(1, result.getAffectedRows());
+        assertEquals(newJobTitle, employeeService.getEmployeeById(employee.getId()).getJobTitle());
+        assertEquals(newJobTitle, projectService.getProjectById(project.getId()).getEmployees().get(0).getJobTitle());
+        assertEquals(List.of(employee.getId() + ":1"), updates(EntityChangedEvent.Type.EMPLOYEE, employee.getId()));
+    }
+
+    @Test
+    void closeEndedProjects_shouldCloseOnlyEndedProjectsAndKeepTheirAssignments() {
+        LocalDate cutOff = LocalDate.of(1990, 1, 1);
+        EmployeeResponse employee = employeeService.createEmployee(newEmployee("Title-" + UUID.randomUUID(), 50000.0));
+        ProjectResponse ended = projectService.createProject(new Project("Bulk-" + UUID.randomUUID(), null, cutOff.minusYears(2), cutOff.minusDays(1)));
+        ProjectResponse running = projectService.createProject(new Project("Bulk-" + UUID.randomUUID(), null, cutOff.minusYears(2), null));
+        projectService.assignEmployeeToProject(ended.getId(), employee.getId());
+        projectService.assignEmployeeToProject(running.getId(), employee.getId());
+        ProjectResponse beforeClose = projectService.getProjectById(ended.getId());
+        assertNull(beforeClose.getClosedAt());
+
+        assertEquals(1, bulkOperationService.closeEndedProjects(cutOff, true).getAffectedRows());
+        BulkOperationResult result = bulkOperationService.closeEndedProjects(cutOff, false);
+
+        assertEquals(1, result.getAffectedRows());
+        ProjectResponse closed = projectService.getProjectById(ended.getId());
+        assertNotNull(closed.getClosedAt());
+        assertEquals(beforeClose.getVersion() + 1, closed.getVersion());
+        assertEquals(List.of(employee.getId()), closed.getEmployees().stream().map(ProjectMemberResponse::getId).toList());
+        assertNull(projectService.getProjectById(running.getId()).getClosedAt());
+        assertEquals(1, projectService.getProjectById(running.getId()).getEmployees().size());
+        // Closed projects are not closed again
+        assertEquals(0, bulkOperationService.closeEndedProjects(cutOff, true).getAffectedRows());
+        assertEquals(BulkOperationService.ENDED_PROJECT_CLOSURE, auditRepository.findById(result.getAuditId()).orElseThrow().getOperation());
+        assertEquals(List.of(ended.getId() + ":" + closed.getVersion()),
+                updates(EntityChangedEvent.Type.PROJECT, ended.getId(), running.getId()));
+    }
+
+    @Test
+    void invalidParameters_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.raiseSalaries("Engineer", 0, true));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.raiseSalaries("Engineer", 350, false));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.raiseSalaries(" ", 5, false));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.reassignJobTitle("Engineer", "Engineer", false));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.closeEndedProjects(null, false));
+    }
+
+    // Update events of the given entities in publishing order, as "id:version"
+    private List<String> updates(EntityChangedEvent.Type type, Long... ids) {
+        List<Long> wanted = List.of(ids);
+        return events.stream(EntityChangedEvent.class)
+                .filter(event -> event.type() == type && event.action() == EntityChangedEvent.Action.UPDATED && wanted.contains(event.id()))
+                .map(event -> event.id() + ":" + event.version())
+                .toList();
+    }
+
+    private static Employee newEmployee(String jobTitle, Double salary) {
+        return new Employee("Ada", "Lovelace", "bulk." + UUID.randomUUID() + "@example.com", null,
+                LocalDate.of(2020, 1, 1), jobTitle, salary);
+    }
+}
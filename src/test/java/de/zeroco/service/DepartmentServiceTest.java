@@ -1,5 +1,7 @@
 package de.zeroco.service;
 
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.dto.DepartmentResponse;
 import de.zeroco.exception.ResourceNotFoundException;
 import de.zeroco.model.Department;
 import de.zeroco.repository.DepartmentRepository;
@@ -9,9 +11,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +30,15 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private TypeaheadService typeaheadService;
+
+    @Mock
+    private AuditEntityListener auditEntityListener;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -41,15 +57,16 @@ class DepartmentServiceTest {
     @Test
     void getAllDepartments_shouldReturnListOfDepartments() {
         when(departmentRepository.findAll()).thenReturn(List.of(department1, department2));
-        List<Department> departments = departmentService.getAllDepartments();
+        List<DepartmentResponse> departments = departmentService.getAllDepartments();
         assertEquals(2, departments.size());
+        assertEquals("Engineering", departments.get(1).getName());
         verify(departmentRepository).findAll();
     }
 
     @Test
     void getAllDepartments_shouldReturnEmptyList() {
         when(departmentRepository.findAll()).thenReturn(Collections.emptyList());
-        List<Department> departments = departmentService.getAllDepartments();
+        List<DepartmentResponse> departments = departmentService.getAllDepartments();
         assertTrue(departments.isEmpty());
         verify(departmentRepository).findAll();
     }
@@ -57,9 +74,10 @@ class DepartmentServiceTest {
     @Test
     void getDepartmentById_shouldReturnDepartment_whenFound() {
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
-        Department found = departmentService.getDepartmentById(1L);
+        DepartmentResponse found = departmentService.getDepartmentById(1L);
         assertNotNull(found);
         assertEquals("HR", found.getName());
+        assertEquals("Building A", found.getLocation());
         verify(departmentRepository).findById(1L);
     }
 
@@ -75,11 +93,12 @@ class DepartmentServiceTest {
         when(departmentRepository.findByName(department1.getName())).thenReturn(Optional.empty());
         when(departmentRepository.save(any(Department.class))).thenReturn(department1);
 
-        Department created = departmentService.createDepartment(department1);
+        DepartmentResponse created = departmentService.createDepartment(department1);
         assertNotNull(created);
         assertEquals(department1.getName(), created.getName());
         verify(departmentRepository).findByName(department1.getName());
         verify(departmentRepository).save(department1);
+        verify(typeaheadService).indexDepartment(department1);
     }
 
     @Test
@@ -96,16 +115,16 @@ class DepartmentServiceTest {
     void updateDepartment_shouldUpdateAndReturnDepartment_whenFoundAndNameNotChangedOrAvailable() {
         Department updatedDetails = new Department("HR", "Building A - Updated");
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
-        // Assuming name is not changed or if changed, it's available (or it's the same department's name)
-        when(departmentRepository.findByName("HR")).thenReturn(Optional.of(department1)); 
-        when(departmentRepository.save(any(Department.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(departmentRepository.saveAndFlush(any(Department.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Department updated = departmentService.updateDepartment(1L, updatedDetails);
+        DepartmentResponse updated = departmentService.updateDepartment(1L, updatedDetails);
 
         assertNotNull(updated);
         assertEquals("Building A - Updated", updated.getLocation());
         verify(departmentRepository).findById(1L);
-        verify(departmentRepository).save(any(Department.class));
+        // The name is unchanged, so it is not looked up again
+        verify(departmentRepository, never()).findByName(anyString());
+        verify(departmentRepository).saveAndFlush(any(Department.class));
     }
     
     @Test
@@ -113,14 +132,14 @@ class DepartmentServiceTest {
         Department updatedDetails = new Department("Human Resources Updated", "Building A");
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1)); // Original name "HR"
         when(departmentRepository.findByName("Human Resources Updated")).thenReturn(Optional.empty()); // New name is available
-        when(departmentRepository.save(any(Department.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(departmentRepository.saveAndFlush(any(Department.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Department updated = departmentService.updateDepartment(1L, updatedDetails);
+        DepartmentResponse updated = departmentService.updateDepartment(1L, updatedDetails);
 
         assertEquals("Human Resources Updated", updated.getName());
         verify(departmentRepository).findById(1L);
         verify(departmentRepository).findByName("Human Resources Updated");
-        verify(departmentRepository).save(any(Department.class));
+        verify(departmentRepository).saveAndFlush(any(Department.class));
     }
 
     @Test
@@ -130,7 +149,7 @@ class DepartmentServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> departmentService.updateDepartment(3L, updatedDetails));
         verify(departmentRepository).findById(3L);
-        verify(departmentRepository, never()).save(any(Department.class));
+        verify(departmentRepository, never()).saveAndFlush(any(Department.class));
     }
 
     @Test
@@ -143,7 +162,19 @@ class DepartmentServiceTest {
         assertThrows(IllegalArgumentException.class, () -> departmentService.updateDepartment(1L, updatedDetails));
         verify(departmentRepository).findById(1L);
         verify(departmentRepository).findByName("Engineering");
-        verify(departmentRepository, never()).save(any(Department.class));
+        verify(departmentRepository, never()).saveAndFlush(any(Department.class));
+    }
+
+    @Test
+    void updateDepartment_shouldThrowOptimisticLockingFailure_whenVersionIsOutdated() {
+        department1.setVersion(4L);
+        Department updatedDetails = new Department("HR", "Building Z");
+        updatedDetails.setVersion(3L);
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department1));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> departmentService.updateDepartment(1L, updatedDetails));
+        assertEquals("Building A", department1.getLocation());
+        verify(departmentRepository, never()).saveAndFlush(any(Department.class));
     }
 
     @Test
@@ -155,6 +186,7 @@ class DepartmentServiceTest {
 
         verify(departmentRepository).findById(1L);
         verify(departmentRepository).delete(department1);
+        verify(typeaheadService).removeDepartment(1L);
     }
 
     @Test
@@ -164,4 +196,104 @@ class DepartmentServiceTest {
         verify(departmentRepository).findById(3L);
         verify(departmentRepository, never()).delete(any(Department.class));
     }
+
+    @Test
+    void patchDepartment_shouldRunOnlyTheVersionGuardedUpdate_whenReplacedValuesAreNotAudited() {
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("location", null);
+        when(departmentRepository.patch(1L, 4L, patch)).thenReturn(1);
+
+        Long newVersion = departmentService.patchDepartment(1L, patch, 4L);
+
+        assertEquals(5L, newVersion);
+        verify(auditEntityListener).recordPatch(Department.class, 1L, Map.of(), patch);
+        verify(departmentRepository, never()).lockCurrentValues(anyLong(), anyCollection());
+        verify(departmentRepository, never()).findById(anyLong());
+        verify(departmentRepository, never()).existsById(anyLong());
+        verifyNoInteractions(typeaheadService);
+    }
+
+    @Test
+    void patchDepartment_shouldLockThePatchedColumnsFirst_whenReplacedValuesAreAudited() {
+        Map<String, Object> patch = Map.of("location", "Building B");
+        Map<String, Object> previous = Map.of("location", "Building A");
+        when(auditEntityListener.recordsPatchPreviousValues()).thenReturn(true);
+        when(departmentRepository.lockCurrentValues(1L, patch.keySet())).thenReturn(Optional.of(previous));
+        when(departmentRepository.patch(1L, 4L, patch)).thenReturn(1);
+
+        assertEquals(5L, departmentService.patchDepartment(1L, patch, 4L));
+        verify(auditEntityListener).recordPatch(Department.class, 1L, previous, patch);
+    }
+
+    @Test
+    void patchDepartment_shouldUseVersionFromPatch_whenNoIfMatchIsSent() {
+        Map<String, Object> patch = new HashMap<>(Map.of("location", "Building C", "version", 2));
+        when(departmentRepository.patch(1L, 2L, Map.of("location", "Building C"))).thenReturn(1);
+
+        assertEquals(3L, departmentService.patchDepartment(1L, patch, null));
+    }
+
+    @Test
+    void patchDepartment_shouldReindexName_whenNameChanges() {
+        Map<String, Object> patch = Map.of("name", "People");
+        when(departmentRepository.patch(1L, null, patch)).thenReturn(1);
+
+        assertNull(departmentService.patchDepartment(1L, patch, null));
+        verify(typeaheadService).indexDepartment(1L, "People");
+        verify(departmentRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void patchDepartment_shouldThrowIllegalArgumentException_whenNameIsTaken() {
+        Map<String, Object> patch = Map.of("name", "Engineering");
+        when(departmentRepository.patch(1L, null, patch)).thenThrow(new DataIntegrityViolationException("uk_departments_name"));
+
+        assertThrows(IllegalArgumentException.class, () -> departmentService.patchDepartment(1L, patch, null));
+        verify(departmentRepository, never()).findByName(anyString());
+        verify(auditEntityListener, never()).recordPatch(any(), any(), anyMap(), anyMap());
+        verifyNoInteractions(typeaheadService);
+    }
+
+    @Test
+    void patchDepartment_shouldRejectUnknownReadOnlyAndInvalidFields() {
+        Map<String, Object> nullName = new HashMap<>();
+        nullName.put("name", null);
+
+        assertThrows(IllegalArgumentException.class, () -> departmentService.patchDepartment(1L, Map.of("id", 7), null));
+        assertThrows(IllegalArgumentException.class, () -> departmentService.patchDepartment(1L, Map.of("budget", 1), null));
+        assertThrows(IllegalArgumentException.class, () -> departmentService.patchDepartment(1L, nullName, null));
+        assertThrows(IllegalArgumentException.class, () -> departmentService.patchDepartment(1L, Map.of("location", 5), null));
+        assertThrows(IllegalArgumentException.class, () -> departmentService.patchDepartment(1L, Map.of("version", 1), null));
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void patchDepartment_shouldThrowOptimisticLockingFailure_whenIfMatchAndBodyVersionDisagree() {
+        Map<String, Object> patch = Map.of("location", "Building C", "version", 1);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> departmentService.patchDepartment(1L, patch, 2L));
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void patchDepartment_shouldDistinguishMissingFromOutdated() {
+        Map<String, Object> patch = Map.of("location", "Building C");
+        when(departmentRepository.patch(anyLong(), eq(0L), eq(patch))).thenReturn(0);
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.existsById(3L)).thenReturn(false);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> departmentService.patchDepartment(1L, patch, 0L));
+        assertThrows(ResourceNotFoundException.class, () -> departmentService.patchDepartment(3L, patch, 0L));
+        verify(auditEntityListener, never()).recordPatch(any(), any(), anyMap(), anyMap());
+    }
+
+    @Test
+    void patchDepartment_shouldReportAMissingDepartmentFromTheLockingRead() {
+        Map<String, Object> patch = Map.of("location", "Building C");
+        when(auditEntityListener.recordsPatchPreviousValues()).thenReturn(true);
+        when(departmentRepository.lockCurrentValues(3L, patch.keySet())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> departmentService.patchDepartment(3L, patch, 0L));
+        verify(departmentRepository, never()).patch(anyLong(), any(), anyMap());
+    }
 }
@@ -1,7 +1,14 @@
 package de.zeroco.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.ProjectMemberResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.dto.EmployeeSearchCriteria;
 import de.zeroco.exception.ResourceNotFoundException;
 import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
 import de.zeroco.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,11 +16,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +42,18 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private TypeaheadService typeaheadService;
+
+    @Mock
+    private AuditEntityListener auditEntityListener;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -42,7 +72,7 @@ class EmployeeServiceTest {
     @Test
     void getAllEmployees_shouldReturnListOfEmployees() {
         when(employeeRepository.findAll()).thenReturn(List.of(employee1, employee2));
-        List<Employee> employees = employeeService.getAllEmployees();
+        List<EmployeeResponse> employees = employeeService.getAllEmployees();
         assertEquals(2, employees.size());
         verify(employeeRepository).findAll();
     }
@@ -50,15 +80,39 @@ class EmployeeServiceTest {
     @Test
     void getAllEmployees_shouldReturnEmptyList() {
         when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
-        List<Employee> employees = employeeService.getAllEmployees();
+        List<EmployeeResponse> employees = employeeService.getAllEmployees();
         assertTrue(employees.isEmpty());
         verify(employeeRepository).findAll();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchEmployees_shouldQueryRepositoryWithSpecification() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Employee> page = new PageImpl<>(List.of(employee1), pageable, 1);
+        when(employeeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
+
+        Page<EmployeeResponse> result = employeeService.searchEmployees(
+                new EmployeeSearchCriteria("Developer", null, null, 50000.0, null, null), pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(employeeRepository).findAll(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchEmployees_shouldThrowIllegalArgumentException_whenHireDateRangeEmpty() {
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria(
+                null, LocalDate.of(2023, 1, 1), LocalDate.of(2022, 1, 1), null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees(criteria, PageRequest.of(0, 10)));
+        verify(employeeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void getEmployeeById_shouldReturnEmployee_whenFound() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee1));
-        Employee found = employeeService.getEmployeeById(1L);
+        EmployeeResponse found = employeeService.getEmployeeById(1L);
         assertNotNull(found);
         assertEquals("john.doe@example.com", found.getEmail());
         verify(employeeRepository).findById(1L);
@@ -76,11 +130,12 @@ class EmployeeServiceTest {
         when(employeeRepository.findByEmail(employee1.getEmail())).thenReturn(Optional.empty());
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee1);
 
-        Employee created = employeeService.createEmployee(employee1);
+        EmployeeResponse created = employeeService.createEmployee(employee1);
         assertNotNull(created);
         assertEquals(employee1.getEmail(), created.getEmail());
         verify(employeeRepository).findByEmail(employee1.getEmail());
         verify(employeeRepository).save(employee1);
+        verify(typeaheadService).indexEmployee(employee1);
     }
 
     @Test
@@ -97,16 +152,17 @@ class EmployeeServiceTest {
     void updateEmployee_shouldUpdateAndReturnEmployee_whenFoundAndEmailNotChangedOrAvailable() {
         Employee updatedDetails = new Employee("John", "DoeUpdated", "john.doe@example.com", "54321", LocalDate.now().minusDays(10), "Senior Developer", 75000.0);
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee1)); // employee1 has original details
-        when(employeeRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(employee1)); // Email not changed, belongs to current user
-        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Employee updated = employeeService.updateEmployee(1L, updatedDetails);
+        EmployeeResponse updated = employeeService.updateEmployee(1L, updatedDetails);
 
         assertNotNull(updated);
-        assertEquals("John DoeUpdated", updated.getLastName());
+        assertEquals("DoeUpdated", updated.getLastName());
         assertEquals(75000.0, updated.getSalary());
         verify(employeeRepository).findById(1L);
-        verify(employeeRepository).save(any(Employee.class));
+        // The email is unchanged, so it is not looked up again
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(employeeRepository).saveAndFlush(any(Employee.class));
     }
     
     @Test
@@ -114,14 +170,30 @@ class EmployeeServiceTest {
         Employee updatedDetails = new Employee("John", "Doe", "john.new@example.com", "12345", LocalDate.now(), "Developer", 70000.0);
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee1));
         when(employeeRepository.findByEmail("john.new@example.com")).thenReturn(Optional.empty()); // New email is available
-        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Employee updated = employeeService.updateEmployee(1L, updatedDetails);
+        EmployeeResponse updated = employeeService.updateEmployee(1L, updatedDetails);
 
         assertEquals("john.new@example.com", updated.getEmail());
         verify(employeeRepository).findById(1L);
         verify(employeeRepository).findByEmail("john.new@example.com");
-        verify(employeeRepository).save(any(Employee.class));
+        verify(employeeRepository).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void updateEmployee_shouldEvictCachedProjectsOfTheEmployee() {
+        Project project = new Project("Alpha Project", "Desc Alpha", LocalDate.now(), null);
+        project.setId(10L);
+        project.addEmployee(employee1);
+        Cache projectCache = mock(Cache.class);
+        when(cacheManager.getCache("projects")).thenReturn(projectCache);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee1));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        employeeService.updateEmployee(1L, new Employee("John", "Doe", "john.doe@example.com", "12345", LocalDate.now(), "Lead", 80000.0));
+
+        verify(projectCache).evict(10L);
+        verifyNoMoreInteractions(projectCache);
     }
 
 
@@ -132,7 +204,7 @@ class EmployeeServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(3L, updatedDetails));
         verify(employeeRepository).findById(3L);
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
     }
 
     @Test
@@ -145,7 +217,7 @@ class EmployeeServiceTest {
         assertThrows(IllegalArgumentException.class, () -> employeeService.updateEmployee(1L, updatedDetails));
         verify(employeeRepository).findById(1L);
         verify(employeeRepository).findByEmail("jane.smith@example.com");
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
     }
 
     @Test
@@ -157,6 +229,7 @@ class EmployeeServiceTest {
 
         verify(employeeRepository).findById(1L);
         verify(employeeRepository).delete(employee1);
+        verify(typeaheadService).removeEmployee(1L);
     }
 
     @Test
@@ -166,4 +239,43 @@ class EmployeeServiceTest {
         verify(employeeRepository).findById(3L);
         verify(employeeRepository, never()).delete(any(Employee.class));
     }
+
+    @Test
+    void patchEmployee_shouldReindexNameAndEvictProjectsListingTheEmployee_withoutFurtherQueries() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cached = Caffeine.newBuilder().build();
+        cached.put(10L, project(10L, 1L));
+        cached.put(11L, project(11L, 2L));
+        Cache projects = mock(Cache.class);
+        when(projects.getNativeCache()).thenReturn(cached);
+        when(cacheManager.getCache("projects")).thenReturn(projects);
+        Map<String, Object> patch = Map.of("lastName", "Smith");
+        Map<String, Object> previous = Map.of("firstName", "John", "lastName", "Doe");
+        when(employeeRepository.lockCurrentValues(1L, Set.of("firstName", "lastName"))).thenReturn(Optional.of(previous));
+        when(employeeRepository.patch(1L, 3L, patch)).thenReturn(1);
+
+        assertEquals(4L, employeeService.patchEmployee(1L, patch, 3L));
+
+        verify(typeaheadService).indexEmployee(1L, "John Smith");
+        assertEquals(Set.of(11L), cached.asMap().keySet(), "Only the project listing the employee is evicted");
+        verify(auditEntityListener).recordPatch(Employee.class, 1L, previous, patch);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(employeeRepository, never()).findProjectIdsById(anyLong());
+    }
+
+    @Test
+    void patchEmployee_shouldThrowIllegalArgumentException_whenEmailIsTaken() {
+        Map<String, Object> patch = Map.of("email", "jane.smith@example.com");
+        when(employeeRepository.patch(1L, null, patch)).thenThrow(new DataIntegrityViolationException("uk_employees_email"));
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.patchEmployee(1L, patch, null));
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(auditEntityListener, never()).recordPatch(any(), any(), anyMap(), anyMap());
+        verifyNoInteractions(typeaheadService, eventPublisher);
+    }
+
+    private static ProjectResponse project(Long id, Long memberId) {
+        return new ProjectResponse(id, "Project " + id, null, null, null, 0L,
+                List.of(new ProjectMemberResponse(memberId, "First", "Last", memberId + "@example.com", null, 0L)));
+    }
 }
@@ -0,0 +1,127 @@
+package de.zeroco.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+
+    private IntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IntervalIndex();
+        index.put(1L, JAN_1, JAN_1.plusDays(30));            // January
+        index.put(2L, JAN_1.plusDays(20), JAN_1.plusDays(70)); // late January to mid March
+        index.put(3L, JAN_1.plusDays(60), null);               // from March on, open-ended
+        index.put(4L, null, JAN_1.minusDays(1));               // ended before 2024
+    }
+
+    @Test
+    void overlapping_shouldReturnRangesTouchingTheWindowInStartOrder() {
+        assertArrayEquals(new long[]{1L, 2L}, index.overlapping(JAN_1.plusDays(25), JAN_1.plusDays(40)));
+        assertArrayEquals(new long[]{2L, 3L}, index.overlapping(JAN_1.plusDays(60), JAN_1.plusDays(60)));
+        assertArrayEquals(new long[]{3L}, index.overlapping(LocalDate.of(2999, 1, 1), LocalDate.of(2999, 12, 31)));
+        assertArrayEquals(new long[]{4L}, index.overlapping(LocalDate.of(1900, 1, 1), JAN_1.minusDays(1)));
+    }
+
+    @Test
+    void overlapping_shouldIncludeBothBoundaryDays() {
+        assertArrayEquals(new long[]{1L, 2L}, index.overlapping(JAN_1.plusDays(30), JAN_1.plusDays(30)));
+        assertArrayEquals(new long[]{4L, 1L}, index.overlapping(JAN_1.minusDays(1), JAN_1));
+        assertArrayEquals(new long[0], index.overlapping(JAN_1.plusDays(10), JAN_1));
+    }
+
+    @Test
+    void put_shouldMoveTheRangeOfAnIndexedId() {
+        index.put(1L, JAN_1.plusDays(100), JAN_1.plusDays(110));
+
+        assertArrayEquals(new long[0], index.overlapping(JAN_1, JAN_1.plusDays(10)));
+        assertArrayEquals(new long[]{3L, 1L}, index.overlapping(JAN_1.plusDays(105), JAN_1.plusDays(105)));
+        assertTrue(index.overlaps(1L, JAN_1.plusDays(110), JAN_1.plusDays(200)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void get_shouldReturnTheRangeWithUnboundedSidesAsNull() {
+        assertEquals(new IntervalIndex.Interval(2L, JAN_1.plusDays(20), JAN_1.plusDays(70)), index.get(2L));
+        assertEquals(new IntervalIndex.Interval(3L, JAN_1.plusDays(60), null), index.get(3L));
+        assertEquals(new IntervalIndex.Interval(4L, null, JAN_1.minusDays(1)), index.get(4L));
+        assertNull(index.get(99L));
+    }
+
+    @Test
+    void remove_shouldDropTheRange() {
+        index.remove(2L);
+        index.remove(99L);
+
+        assertArrayEquals(new long[]{1L}, index.overlapping(JAN_1.plusDays(25), JAN_1.plusDays(40)));
+        assertFalse(index.contains(2L));
+        assertFalse(index.overlaps(2L, JAN_1, JAN_1.plusDays(365)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void randomChanges_shouldMatchALinearScan() {
+        Random random = new Random(42);
+        Map<Long, LocalDate[]> expected = new HashMap<>();
+        List<IntervalIndex.Interval> initial = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDate[] range = randomRange(random);
+            expected.put(id, range);
+            initial.add(new IntervalIndex.Interval(id, range[0], range[1]));
+        }
+        index.replaceAll(initial);
+
+        for (int i = 0; i < 5000; i++) {
+            long id = 1 + random.nextInt(800);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                LocalDate[] range = randomRange(random);
+                index.put(id, range[0], range[1]);
+                expected.put(id, range);
+            }
+            if (i % 50 == 0) {
+                LocalDate[] window = randomRange(random);
+                LocalDate from = window[0] != null ? window[0] : JAN_1;
+                LocalDate to = window[1] != null && !window[1].isBefore(from) ? window[1] : from.plusDays(7);
+                assertArrayEquals(linearScan(expected, from, to), index.overlapping(from, to), "Window " + from + " to " + to);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+    }
+
+    private static LocalDate[] randomRange(Random random) {
+        LocalDate start = random.nextInt(20) == 0 ? null : JAN_1.plusDays(random.nextInt(730));
+        LocalDate end = random.nextInt(10) == 0 ? null
+                : (start != null ? start : JAN_1).plusDays(random.nextInt(120));
+        return new LocalDate[]{start, end};
+    }
+
+    // Sorted like the index: by start date (open starts first), then id
+    private static long[] linearScan(Map<Long, LocalDate[]> ranges, LocalDate from, LocalDate to) {
+        return ranges.entrySet().stream()
+                .filter(entry -> (entry.getValue()[0] == null || !entry.getValue()[0].isAfter(to))
+                        && (entry.getValue()[1] == null || !entry.getValue()[1].isBefore(from)))
+                .sorted((a, b) -> {
+                    long startA = a.getValue()[0] == null ? Long.MIN_VALUE : a.getValue()[0].toEpochDay();
+                    long startB = b.getValue()[0] == null ? Long.MIN_VALUE : b.getValue()[0].toEpochDay();
+                    int cmp = Long.compare(startA, startB);
+                    return cmp != 0 ? cmp : Long.compare(a.getKey(), b.getKey());
+                })
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+    }
+}
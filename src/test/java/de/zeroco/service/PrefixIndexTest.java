@@ -0,0 +1,90 @@
+package de.zeroco.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(1L, "John Doe");
+        index.put(2L, "Jane Doe");
+        index.put(3L, "Jörg Müller");
+    }
+
+    private long[] search(String query, int limit) {
+        long[] out = new long[limit];
+        int found = index.search(PrefixIndex.tokenize(PrefixIndex.normalize(query)), out);
+        long[] result = Arrays.copyOf(out, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Test
+    void normalize_shouldLowerCaseAndStripDiacritics() {
+        assertEquals("jorg muller", PrefixIndex.normalize("Jörg Müller"));
+        assertArrayEquals(new String[]{"anne", "marie", "o", "neil"}, PrefixIndex.tokenize("anne-marie o'neil"));
+    }
+
+    @Test
+    void search_shouldMatchAnyNameToken() {
+        assertArrayEquals(new long[]{1L, 2L, 3L}, search("j", 10));
+        assertArrayEquals(new long[]{1L, 2L}, search("do", 10));
+        assertArrayEquals(new long[]{3L}, search("MUL", 10));
+    }
+
+    @Test
+    void search_shouldRequireEveryQueryToken() {
+        assertArrayEquals(new long[]{2L}, search("doe ja", 10));
+        assertArrayEquals(new long[0], search("jane muller", 10));
+    }
+
+    @Test
+    void search_shouldReturnEachIdOnceAndRespectLimit() {
+        index.put(4L, "Anna Annabel");
+        assertArrayEquals(new long[]{4L}, search("ann", 10));
+        assertEquals(2, search("j", 2).length);
+    }
+
+    @Test
+    void put_shouldReplacePreviousTokens() {
+        index.put(1L, "Johnny Walker");
+        assertArrayEquals(new long[]{2L}, search("doe", 10));
+        assertArrayEquals(new long[]{1L}, search("walk", 10));
+        assertEquals("Johnny Walker", index.name(1L));
+        assertEquals(6, index.entryCount());
+    }
+
+    @Test
+    void remove_shouldDropAllEntriesOfId() {
+        index.remove(2L);
+        assertArrayEquals(new long[]{1L}, search("doe", 10));
+        assertNull(index.name(2L));
+        assertEquals(2, index.idCount());
+        assertEquals(4, index.entryCount());
+    }
+
+    @Test
+    void replaceAll_shouldSwapContent() {
+        Map<Long, String> names = new HashMap<>();
+        for (long id = 1; id <= 1000; id++) {
+            names.put(id, "Employee " + id);
+        }
+        index.replaceAll(names);
+
+        assertEquals(1000, index.idCount());
+        assertEquals(2000, index.entryCount());
+        assertArrayEquals(new long[]{100L, 1000L}, search("employee 100", 10));
+        assertArrayEquals(new long[0], search("john", 10));
+        assertTrue(index.estimatedBytes() > 0);
+    }
+}
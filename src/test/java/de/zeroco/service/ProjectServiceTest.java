@@ -1,5 +1,8 @@
 package de.zeroco.service;
 
+import de.zeroco.audit.AuditEntityListener;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.exception.OverallocationException;
 import de.zeroco.exception.ResourceNotFoundException;
 import de.zeroco.model.Employee;
 import de.zeroco.model.Project;
@@ -8,13 +11,18 @@ import de.zeroco.repository.ProjectRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -28,6 +36,21 @@ class ProjectServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private TypeaheadService typeaheadService;
+
+    @Mock
+    private ProjectCalendarService projectCalendarService;
+
+    @Mock
+    private AllocationConflictService allocationConflictService;
+
+    @Mock
+    private AuditEntityListener auditEntityListener;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private EmployeeRepository employeeRepository;
 
@@ -53,7 +76,7 @@ class ProjectServiceTest {
     @Test
     void getAllProjects_shouldReturnListOfProjects() {
         when(projectRepository.findAll()).thenReturn(List.of(project1, project2));
-        List<Project> projects = projectService.getAllProjects();
+        List<ProjectResponse> projects = projectService.getAllProjects();
         assertEquals(2, projects.size());
         verify(projectRepository).findAll();
     }
@@ -61,7 +84,7 @@ class ProjectServiceTest {
     @Test
     void getAllProjects_shouldReturnEmptyList() {
         when(projectRepository.findAll()).thenReturn(Collections.emptyList());
-        List<Project> projects = projectService.getAllProjects();
+        List<ProjectResponse> projects = projectService.getAllProjects();
         assertTrue(projects.isEmpty());
         verify(projectRepository).findAll();
     }
@@ -69,12 +92,25 @@ class ProjectServiceTest {
     @Test
     void getProjectById_shouldReturnProject_whenFound() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
-        Project found = projectService.getProjectById(1L);
+        ProjectResponse found = projectService.getProjectById(1L);
         assertNotNull(found);
         assertEquals("Alpha Project", found.getName());
         verify(projectRepository).findById(1L);
     }
 
+    @Test
+    void getProjectById_shouldCopyAssignedEmployeesIntoImmutableResponse() {
+        project1.addEmployee(employee1);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
+
+        ProjectResponse found = projectService.getProjectById(1L);
+
+        assertEquals(1, found.getEmployees().size());
+        assertEquals(101L, found.getEmployees().get(0).getId());
+        assertEquals("Test", found.getEmployees().get(0).getFirstName());
+        assertThrows(UnsupportedOperationException.class, () -> found.getEmployees().clear());
+    }
+
     @Test
     void getProjectById_shouldThrowResourceNotFoundException_whenNotFound() {
         when(projectRepository.findById(3L)).thenReturn(Optional.empty());
@@ -87,12 +123,14 @@ class ProjectServiceTest {
         when(projectRepository.findByName(project1.getName())).thenReturn(Optional.empty());
         when(projectRepository.save(any(Project.class))).thenReturn(project1);
 
-        Project created = projectService.createProject(project1); // project1 has an empty employees set by default
+        ProjectResponse created = projectService.createProject(project1); // project1 has an empty employees set by default
         assertNotNull(created);
         assertEquals(project1.getName(), created.getName());
         assertTrue(created.getEmployees().isEmpty()); // Check that employees set is empty as per service logic
         verify(projectRepository).findByName(project1.getName());
         verify(projectRepository).save(project1);
+        verify(typeaheadService).indexProject(project1);
+        verify(projectCalendarService).indexProject(project1);
     }
 
     @Test
@@ -109,15 +147,16 @@ class ProjectServiceTest {
     void updateProject_shouldUpdateAndReturnProject_whenFoundAndNameNotChangedOrAvailable() {
         Project updatedDetails = new Project("Alpha Project", "Updated Description", project1.getStartDate(), project1.getEndDate());
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
-        when(projectRepository.findByName("Alpha Project")).thenReturn(Optional.of(project1)); // Name not changed
-        when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectRepository.saveAndFlush(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Project updated = projectService.updateProject(1L, updatedDetails);
+        ProjectResponse updated = projectService.updateProject(1L, updatedDetails);
 
         assertNotNull(updated);
         assertEquals("Updated Description", updated.getDescription());
         verify(projectRepository).findById(1L);
-        verify(projectRepository).save(any(Project.class));
+        // The name is unchanged, so it is not looked up again
+        verify(projectRepository, never()).findByName(anyString());
+        verify(projectRepository).saveAndFlush(any(Project.class));
     }
     
     @Test
@@ -125,14 +164,14 @@ class ProjectServiceTest {
         Project updatedDetails = new Project("Alpha Project New Name", "Description for Alpha", LocalDate.now(), LocalDate.now().plusMonths(6));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project1)); // Original name "Alpha Project"
         when(projectRepository.findByName("Alpha Project New Name")).thenReturn(Optional.empty()); // New name is available
-        when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectRepository.saveAndFlush(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Project updated = projectService.updateProject(1L, updatedDetails);
+        ProjectResponse updated = projectService.updateProject(1L, updatedDetails);
         
         assertEquals("Alpha Project New Name", updated.getName());
         verify(projectRepository).findById(1L);
         verify(projectRepository).findByName("Alpha Project New Name");
-        verify(projectRepository).save(any(Project.class));
+        verify(projectRepository).saveAndFlush(any(Project.class));
     }
 
     @Test
@@ -142,7 +181,7 @@ class ProjectServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> projectService.updateProject(3L, updatedDetails));
         verify(projectRepository).findById(3L);
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
     
     @Test
@@ -155,7 +194,49 @@ class ProjectServiceTest {
         assertThrows(IllegalArgumentException.class, () -> projectService.updateProject(1L, updatedDetails));
         verify(projectRepository).findById(1L);
         verify(projectRepository).findByName("Beta Project");
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
+    }
+
+    @Test
+    void updateProject_shouldNotSave_whenNewDatesWouldOverallocateAnEmployee() {
+        LocalDate endDate = project1.getStartDate().plusYears(1);
+        Project updatedDetails = new Project("Alpha Project", "Description for Alpha", project1.getStartDate(), endDate);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
+        doThrow(new OverallocationException("over-allocated")).when(allocationConflictService)
+                .checkDateChange(1L, project1.getStartDate(), endDate);
+
+        assertThrows(OverallocationException.class, () -> projectService.updateProject(1L, updatedDetails));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
+    }
+
+    @Test
+    void patchProject_shouldCheckAndIndexTheResultingDateRange() {
+        LocalDate startDate = LocalDate.of(2030, 1, 1);
+        LocalDate endDate = LocalDate.of(2030, 12, 31);
+        Map<String, Object> patch = Map.of("endDate", endDate.toString());
+        Map<String, Object> previous = new HashMap<>();
+        previous.put("startDate", startDate);
+        previous.put("endDate", null);
+        when(projectRepository.lockCurrentValues(1L, Set.of("startDate", "endDate"))).thenReturn(Optional.of(previous));
+        when(projectRepository.patch(1L, null, Map.of("endDate", endDate))).thenReturn(1);
+
+        assertNull(projectService.patchProject(1L, patch, null));
+
+        InOrder inOrder = inOrder(allocationConflictService, projectRepository);
+        inOrder.verify(allocationConflictService).checkDateChange(1L, startDate, endDate);
+        inOrder.verify(projectRepository).patch(1L, null, Map.of("endDate", endDate));
+        verify(projectCalendarService).indexProject(1L, startDate, endDate);
+    }
+
+    @Test
+    void patchProject_shouldReportATakenNameThroughTheUniqueConstraint_withoutLoadingAnyProject() {
+        Map<String, Object> patch = Map.of("name", "Project Beta");
+        when(projectRepository.patch(1L, null, patch)).thenThrow(new DataIntegrityViolationException("uk_projects_name"));
+
+        assertThrows(IllegalArgumentException.class, () -> projectService.patchProject(1L, patch, null));
+        verify(projectRepository, never()).lockCurrentValues(anyLong(), anyCollection());
+        verify(projectRepository, never()).findByName(anyString());
+        verifyNoInteractions(typeaheadService);
     }
 
     @Test
@@ -167,6 +248,8 @@ class ProjectServiceTest {
 
         verify(projectRepository).findById(1L);
         verify(projectRepository).delete(project1);
+        verify(typeaheadService).removeProject(1L);
+        verify(projectCalendarService).removeProject(1L);
     }
 
     @Test
@@ -182,15 +265,28 @@ class ProjectServiceTest {
     void assignEmployeeToProject_shouldAddEmployeeAndSaveProject() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
         when(employeeRepository.findById(101L)).thenReturn(Optional.of(employee1));
-        when(projectRepository.save(any(Project.class))).thenReturn(project1);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(project1);
 
-        Project updatedProject = projectService.assignEmployeeToProject(1L, 101L);
+        ProjectResponse updatedProject = projectService.assignEmployeeToProject(1L, 101L);
 
-        assertTrue(updatedProject.getEmployees().contains(employee1));
+        assertEquals(1, updatedProject.getEmployees().size());
+        assertEquals(employee1.getId(), updatedProject.getEmployees().get(0).getId());
         assertTrue(employee1.getProjectsInternal().contains(project1)); // Check bidirectional link via internal getter
         verify(projectRepository).findById(1L);
         verify(employeeRepository).findById(101L);
-        verify(projectRepository).save(project1);
+        verify(allocationConflictService).checkAssignment(project1, 101L);
+        verify(projectRepository).saveAndFlush(project1);
+    }
+
+    @Test
+    void assignEmployeeToProject_shouldNotSave_whenEmployeeWouldBeOverallocated() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
+        when(employeeRepository.findById(101L)).thenReturn(Optional.of(employee1));
+        doThrow(new OverallocationException("over-allocated")).when(allocationConflictService).checkAssignment(project1, 101L);
+
+        assertThrows(OverallocationException.class, () -> projectService.assignEmployeeToProject(1L, 101L));
+        assertTrue(project1.getEmployees().isEmpty());
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 
     @Test
@@ -201,7 +297,7 @@ class ProjectServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> projectService.assignEmployeeToProject(3L, 101L));
         verify(projectRepository).findById(3L);
         verify(employeeRepository, never()).findById(anyLong());
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 
     @Test
@@ -212,7 +308,7 @@ class ProjectServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> projectService.assignEmployeeToProject(1L, 999L));
         verify(projectRepository).findById(1L);
         verify(employeeRepository).findById(999L);
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 
     @Test
@@ -223,15 +319,15 @@ class ProjectServiceTest {
 
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project1));
         when(employeeRepository.findById(101L)).thenReturn(Optional.of(employee1));
-        when(projectRepository.save(any(Project.class))).thenReturn(project1);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(project1);
 
-        Project updatedProject = projectService.removeEmployeeFromProject(1L, 101L);
+        ProjectResponse updatedProject = projectService.removeEmployeeFromProject(1L, 101L);
 
         assertFalse(updatedProject.getEmployees().contains(employee1));
         assertFalse(employee1.getProjectsInternal().contains(project1)); // Check bidirectional link
         verify(projectRepository).findById(1L);
         verify(employeeRepository).findById(101L);
-        verify(projectRepository).save(project1);
+        verify(projectRepository).saveAndFlush(project1);
     }
     
     @Test
@@ -241,7 +337,7 @@ class ProjectServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> projectService.removeEmployeeFromProject(3L, 101L));
         verify(projectRepository).findById(3L);
         verify(employeeRepository, never()).findById(anyLong());
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 
     @Test
@@ -252,6 +348,6 @@ class ProjectServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> projectService.removeEmployeeFromProject(1L, 999L));
         verify(projectRepository).findById(1L);
         verify(employeeRepository).findById(999L);
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
     }
 }
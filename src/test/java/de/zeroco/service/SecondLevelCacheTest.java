@@ -0,0 +1,146 @@
+package de.zeroco.service;
+
+import de.zeroco.dto.CacheRegionStats;
+import de.zeroco.dto.DepartmentResponse;
+import de.zeroco.dto.ProjectResponse;
+import de.zeroco.model.Department;
+import de.zeroco.model.Project;
+import de.zeroco.repository.DepartmentRepository;
+import de.zeroco.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the real (H2) database and uses Hibernate's prepared statement counter
+ * to prove which lookups are answered by the second-level cache. Lookups go through the repositories,
+ * the service methods are additionally cached by Spring (see ApplicationCacheTest).
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private DepartmentResponse department;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        department = departmentService.createDepartment(new Department("Cache-" + UUID.randomUUID(), "Building C"));
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_acrossTransactions_shouldHitDatabaseOnlyOnce() {
+        departmentRepository.findById(department.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        Department cached = departmentRepository.findById(department.getId()).orElseThrow();
+        departmentRepository.findById(department.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(department.getName(), cached.getName());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(Department.class.getName()).getHitCount());
+    }
+
+    @Test
+    void findById_withinOneTransaction_shouldNotHitDatabaseWhenCached() {
+        departmentRepository.findById(department.getId()); // warm the cache
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            departmentRepository.findById(department.getId());
+            departmentRepository.findById(department.getId());
+        });
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByName_shouldResolveNaturalIdFromCache() {
+        departmentRepository.findById(department.getId());
+        transactionTemplate.executeWithoutResult(status -> departmentRepository.findByName(department.getName()));
+        statistics.clear();
+
+        Department byName = transactionTemplate.execute(status ->
+                departmentRepository.findByName(department.getName()).orElseThrow());
+
+        assertEquals(department.getId(), byName.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    void updateDepartment_shouldRefreshCachedNaturalId() {
+        String newName = "Renamed-" + UUID.randomUUID();
+        departmentService.updateDepartment(department.getId(), new Department(newName, "Building D"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(departmentRepository.findByName(department.getName()).isEmpty());
+            assertEquals(department.getId(), departmentRepository.findByName(newName).orElseThrow().getId());
+        });
+        assertEquals("Building D", departmentRepository.findById(department.getId()).orElseThrow().getLocation());
+    }
+
+    @Test
+    void findProjectById_acrossTransactions_shouldHitDatabaseOnlyOnce() {
+        ProjectResponse project = projectService.createProject(
+                new Project("Cache-" + UUID.randomUUID(), "Cached project", LocalDate.now(), null));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+
+        projectRepository.findById(project.getId());
+        assertTrue(projectRepository.findById(project.getId()).isPresent());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getSecondLevelCacheStats_shouldReportEntityAndNaturalIdRegions() {
+        departmentRepository.findById(department.getId());
+        departmentRepository.findById(department.getId());
+
+        CacheRegionStats departmentRegion = cacheStatisticsService.getSecondLevelCacheStats().stream()
+                .filter(stats -> stats.getRegion().equals(Department.class.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, departmentRegion.getHitCount());
+        assertEquals(1, departmentRegion.getMissCount());
+        assertEquals(0.5, departmentRegion.getHitRatio());
+        assertTrue(cacheStatisticsService.getSecondLevelCacheStats().stream()
+                .anyMatch(stats -> stats.getRegion().equals(Department.class.getName() + "##NaturalId")));
+    }
+}
@@ -0,0 +1,109 @@
+package de.zeroco.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for a webhook receiver (payroll, directory): records every request on a random loopback port and
+ * answers 204, or 503 for the next {@link #failNext(int) n} requests.
+ */
+public final class WebhookReceiver implements AutoCloseable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger eventCount = new AtomicInteger();
+
+    private WebhookReceiver() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hooks", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static WebhookReceiver start() throws IOException {
+        return new WebhookReceiver();
+    }
+
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/hooks";
+    }
+
+    public void failNext(int count) {
+        failuresLeft.set(count);
+    }
+
+    /**
+     * Requests answered with 2xx, in arrival order.
+     */
+    public List<Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    public int failedRequests() {
+        return failed.get();
+    }
+
+    /**
+     * Events of all accepted requests, in arrival order.
+     */
+    public List<JsonNode> events() {
+        List<JsonNode> events = new ArrayList<>();
+        for (Request request : requests) {
+            request.json().get("events").forEach(events::add);
+        }
+        return events;
+    }
+
+    public int eventCount() {
+        return eventCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readAllBytes();
+            if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                failed.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            JsonNode json = objectMapper.readTree(bytes);
+            requests.add(new Request(exchange.getRequestHeaders().getFirst(WebhookRelay.DELIVERY_HEADER),
+                    exchange.getRequestHeaders().getFirst(WebhookRelay.SIGNATURE_HEADER), bytes, json));
+            eventCount.addAndGet(json.get("events").size());
+            exchange.sendResponseHeaders(204, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @param delivery  the {@code X-Webhook-Delivery} header (first and last outbox id)
+     * @param signature the {@code X-Webhook-Signature} header, {@code null} for unsigned subscriptions
+     */
+    public record Request(String delivery, String signature, byte[] body, JsonNode json) {
+    }
+}
@@ -0,0 +1,220 @@
+package de.zeroco.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.zeroco.dto.EmployeeResponse;
+import de.zeroco.dto.WebhookSubscriptionRequest;
+import de.zeroco.exception.InvalidRequestException;
+import de.zeroco.model.Employee;
+import de.zeroco.model.Project;
+import de.zeroco.model.WebhookSubscription;
+import de.zeroco.repository.WebhookSubscriptionRepository;
+import de.zeroco.service.BulkOperationService;
+import de.zeroco.service.EmployeeService;
+import de.zeroco.service.ProjectService;
+import de.zeroco.service.WebhookSubscriptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes made through the services reach a {@link WebhookReceiver} through the outbox and the relay.
+ */
+@SpringBootTest
+class WebhookRelayTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private WebhookSubscriptionService subscriptionService;
+
+    @Autowired
+    private WebhookSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebhookReceiver receiver;
+    private Long subscriptionId;
+
+    @BeforeEach
+    void startReceiver() throws Exception {
+        receiver = WebhookReceiver.start();
+    }
+
+    @AfterEach
+    void stopReceiver() {
+        if (subscriptionId != null) {
+            subscriptionService.deleteSubscription(subscriptionId);
+        }
+        receiver.close();
+    }
+
+    @Test
+    void committedChanges_shouldBeDeliveredInOrderSignedAndFiltered() throws Exception {
+        subscribe(List.of("employee"), "s3cret");
+        Long first = createEmployee().getId();
+        employeeService.patchEmployee(first, Map.of("jobTitle", "Lead Developer"), null);
+        projectService.createProject(new Project("Webhook " + UUID.randomUUID(), "Not subscribed", null, null));
+        Long second = createEmployee().getId();
+
+        List<JsonNode> events = awaitEmployeeEvent(second);
+
+        assertEquals(List.of(first + ":CREATED", first + ":UPDATED", second + ":CREATED"), events.stream()
+                .map(event -> event.at("/change/id").asLong() + ":" + event.at("/change/action").asText())
+                .toList());
+        assertTrue(events.stream().allMatch(event -> "employee".equals(event.at("/change/type").asText())),
+                () -> "Only subscribed types: " + events);
+        assertEquals("Developer", events.get(0).at("/change/data/jobTitle").asText());
+        assertTrue(events.get(1).at("/change/data").isMissingNode(), "patches carry no view");
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).get("id").asLong() > events.get(i - 1).get("id").asLong(), "outbox order");
+        }
+        for (WebhookReceiver.Request request : receiver.requests()) {
+            assertEquals("sha256=" + hmac("s3cret", request.body()), request.signature());
+            assertNotNull(request.delivery());
+        }
+    }
+
+    @Test
+    void bulkOperation_shouldAnnounceEveryChangedRow() throws Exception {
+        subscribe(List.of("employee"), null);
+        String jobTitle = "Hook-" + UUID.randomUUID();
+        Long first = employeeService.createEmployee(new Employee("Web", "Hook", "hook-" + UUID.randomUUID() + "@example.com",
+                null, null, jobTitle, 50000.0)).getId();
+        Long second = employeeService.createEmployee(new Employee("Web", "Hook", "hook-" + UUID.randomUUID() + "@example.com",
+                null, null, jobTitle, 60000.0)).getId();
+
+        bulkOperationService.raiseSalaries(jobTitle, 5, false);
+        Long last = createEmployee().getId();
+
+        List<JsonNode> events = awaitEmployeeEvent(last);
+        assertEquals(List.of(first + ":UPDATED:1", second + ":UPDATED:1"), events.stream()
+                .filter(event -> "UPDATED".equals(event.at("/change/action").asText()))
+                .map(event -> event.at("/change/id").asLong() + ":UPDATED:" + event.at("/change/version").asLong())
+                .toList());
+    }
+
+    @Test
+    void failedDelivery_shouldBeRetriedUntilAcknowledged() throws Exception {
+        receiver.failNext(2);
+        subscribe(null, null);
+        Long id = createEmployee().getId();
+
+        List<JsonNode> events = awaitEmployeeEvent(id);
+        long eventId = events.get(events.size() - 1).get("id").asLong();
+
+        assertEquals(2, receiver.failedRequests());
+        WebhookSubscription subscription = awaitOffset(eventId);
+        assertEquals(0, subscription.getFailedAttempts());
+        assertNull(subscription.getLastError());
+    }
+
+    @Test
+    void malformedUrl_shouldFailTheDeliveryWithBackoff() throws Exception {
+        subscribe(null, null);
+        jdbcTemplate.update("UPDATE webhook_subscription SET url = ? WHERE id = ?", "http://bad host/hooks", subscriptionId);
+        createEmployee();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        WebhookSubscription subscription = subscriptionRepository.findById(subscriptionId).orElseThrow();
+        while (subscription.getFailedAttempts() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            subscription = subscriptionRepository.findById(subscriptionId).orElseThrow();
+        }
+        assertEquals(1, subscription.getFailedAttempts());
+        assertTrue(subscription.getLastError().startsWith("Invalid request"), subscription.getLastError());
+    }
+
+    @Test
+    void rolledBackChange_shouldNotBeDelivered() throws Exception {
+        subscribe(null, null);
+        Long rolledBack = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = createEmployee().getId();
+            status.setRollbackOnly();
+            return id;
+        });
+        Long committed = createEmployee().getId();
+
+        List<JsonNode> events = awaitEmployeeEvent(committed); // Passes the missing outbox id after the gap timeout
+
+        assertTrue(events.stream().noneMatch(event -> isEmployee(event, rolledBack)), () -> "Delivered: " + events);
+    }
+
+    @Test
+    void createSubscription_shouldRejectUnknownEntityTypesAndUrls() {
+        assertThrows(InvalidRequestException.class, () -> subscriptionService.createSubscription(
+                new WebhookSubscriptionRequest("hooks-" + UUID.randomUUID(), receiver.url(), List.of("department"), null)));
+        assertThrows(InvalidRequestException.class, () -> subscriptionService.createSubscription(
+                new WebhookSubscriptionRequest("hooks-" + UUID.randomUUID(), "ftp://example.com/hooks", null, null)));
+    }
+
+    private void subscribe(List<String> entityTypes, String secret) {
+        subscriptionId = subscriptionService.createSubscription(
+                new WebhookSubscriptionRequest("hooks-" + UUID.randomUUID(), receiver.url(), entityTypes, secret)).getId();
+    }
+
+    private EmployeeResponse createEmployee() {
+        return employeeService.createEmployee(new Employee("Web", "Hook", "hook-" + UUID.randomUUID() + "@example.com",
+                null, null, "Developer", null));
+    }
+
+    private List<JsonNode> awaitEmployeeEvent(Long employeeId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<JsonNode> events = receiver.events();
+        while (events.stream().noneMatch(event -> isEmployee(event, employeeId)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = receiver.events();
+        }
+        List<JsonNode> received = events;
+        assertTrue(received.stream().anyMatch(event -> isEmployee(event, employeeId)), () -> "Received: " + received);
+        return received;
+    }
+
+    private WebhookSubscription awaitOffset(long eventId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        WebhookSubscription subscription = subscriptionRepository.findById(subscriptionId).orElseThrow();
+        while (subscription.getDeliveredOffset() < eventId && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            subscription = subscriptionRepository.findById(subscriptionId).orElseThrow();
+        }
+        assertTrue(subscription.getDeliveredOffset() >= eventId, "delivered offset recorded");
+        return subscription;
+    }
+
+    private static boolean isEmployee(JsonNode event, Long id) {
+        return "employee".equals(event.at("/change/type").asText()) && event.at("/change/id").asLong() == id;
+    }
+
+    private static String hmac(String secret, byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body));
+    }
+}